@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.api.graph;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+
+import org.apache.hugegraph.core.GraphManager;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.api.API;
+import org.apache.hugegraph.api.filter.CompressInterceptor.Compress;
+import org.apache.hugegraph.backend.query.Condition;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.schema.PropertyKey;
+import org.apache.hugegraph.structure.HugeElement;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.HugeKeys;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.hugegraph.util.Log;
+import com.codahale.metrics.annotation.Timed;
+
+/**
+ * Full-text search of the vertices or edges by a search index, the results
+ * are sorted by the BM25 relevance score of the keyword in descending order.
+ */
+@Path("graphs/{graph}/search")
+@Singleton
+@Tag(name = "SearchAPI")
+public class SearchAPI extends API {
+
+    private static final Logger LOG = Log.logger(SearchAPI.class);
+
+    @GET
+    @Timed
+    @Compress
+    @Path("vertices")
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=vertex_read"})
+    public String vertices(@Context GraphManager manager,
+                           @PathParam("graph") String graph,
+                           @QueryParam("label") String label,
+                           @QueryParam("property") String property,
+                           @QueryParam("keyword") String keyword,
+                           @QueryParam("limit") @DefaultValue("100")
+                           long limit) {
+        LOG.debug("Graph [{}] search vertices by label: {}, property: {}, " +
+                  "keyword: {}, limit: {}",
+                  graph, label, property, keyword, limit);
+
+        HugeGraph g = graph(manager, graph);
+        ConditionQuery query = new ConditionQuery(HugeType.VERTEX);
+        if (label != null) {
+            query.eq(HugeKeys.LABEL, g.vertexLabel(label).id());
+        }
+        return search(manager, g, query, property, keyword, limit);
+    }
+
+    @GET
+    @Timed
+    @Compress
+    @Path("edges")
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=edge_read"})
+    public String edges(@Context GraphManager manager,
+                        @PathParam("graph") String graph,
+                        @QueryParam("label") String label,
+                        @QueryParam("property") String property,
+                        @QueryParam("keyword") String keyword,
+                        @QueryParam("limit") @DefaultValue("100")
+                        long limit) {
+        LOG.debug("Graph [{}] search edges by label: {}, property: {}, " +
+                  "keyword: {}, limit: {}",
+                  graph, label, property, keyword, limit);
+
+        HugeGraph g = graph(manager, graph);
+        ConditionQuery query = new ConditionQuery(HugeType.EDGE);
+        if (label != null) {
+            query.eq(HugeKeys.LABEL, g.edgeLabel(label).id());
+        }
+        return search(manager, g, query, property, keyword, limit);
+    }
+
+    private static String search(GraphManager manager, HugeGraph g,
+                                 ConditionQuery query, String property,
+                                 String keyword, long limit) {
+        E.checkArgument(property != null && !property.isEmpty(),
+                        "The property of search can't be empty");
+        E.checkArgument(keyword != null && !keyword.isEmpty(),
+                        "The keyword of search can't be empty");
+        E.checkArgument(limit > 0L && limit <= Query.DEFAULT_CAPACITY,
+                        "The limit must be in range (0, %s], but got: %s",
+                        Query.DEFAULT_CAPACITY, limit);
+
+        PropertyKey pk = g.propertyKey(property);
+        query.query(Condition.textContains(pk.id(), keyword));
+        query.limit(limit);
+
+        Iterator<? extends Element> results = query.resultType().isVertex() ?
+                                              g.vertices(query) :
+                                              g.edges(query);
+        List<Map<String, Object>> matched = new ArrayList<>();
+        try {
+            while (results.hasNext()) {
+                HugeElement element = (HugeElement) results.next();
+                Map<String, Object> result = InsertionOrderUtil.newMap();
+                result.put(query.resultType().isVertex() ?
+                           "vertex" : "edge", element);
+                result.put("score", query.score(element.id()));
+                matched.add(result);
+            }
+        } finally {
+            CloseableIterator.closeIterator(results);
+            if (g.tx().isOpen()) {
+                g.tx().close();
+            }
+        }
+        String name = query.resultType().isVertex() ? "vertices" : "edges";
+        return manager.serializer(g).writeList(name, matched);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.api.job;
+
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+
+import org.apache.hugegraph.api.filter.StatusFilter.Status;
+import org.apache.hugegraph.api.job.GremlinAPI.GremlinRequest;
+import org.apache.hugegraph.core.GraphManager;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.api.API;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.job.BulkLoadJob;
+import org.apache.hugegraph.job.JobBuilder;
+import org.apache.hugegraph.util.Log;
+import com.codahale.metrics.annotation.Timed;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Bulk load vertices and edges into the backend by SST files (RocksDB only):
+ * schedule a job to run the gremlin script which loads the data, the data
+ * committed by the script is sorted into SST files instead of written through
+ * write-batch, and is ingested into the store after the script is finished.
+ * The data is discarded if the script fails, and the writes of the other
+ * requests are not affected by the bulk loading.
+ */
+@Path("graphs/{graph}/jobs/bulkload")
+@Singleton
+@Tag(name = "BulkLoadAPI")
+public class BulkLoadAPI extends API {
+
+    private static final Logger LOG = Log.logger(BulkLoadAPI.class);
+
+    @POST
+    @Timed
+    @Status(Status.CREATED)
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin"})
+    public Map<String, Id> post(@Context GraphManager manager,
+                                @PathParam("graph") String graph,
+                                GremlinRequest request) {
+        LOG.debug("Graph [{}] schedule bulk load job: {}", graph, request);
+        checkCreatingBody(request);
+
+        HugeGraph g = graph(manager, graph);
+        request.aliase(graph, "graph");
+        JobBuilder<Object> builder = JobBuilder.of(g);
+        builder.name(request.name())
+               .input(request.toJson())
+               .job(new BulkLoadJob());
+        return ImmutableMap.of("task_id", builder.schedule().id());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.api.job;
+
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+
+import org.apache.hugegraph.api.filter.StatusFilter.Status;
+import org.apache.hugegraph.core.GraphManager;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.api.API;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.stats.IndexLabelStats;
+import org.apache.hugegraph.schema.IndexLabel;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.Log;
+import com.codahale.metrics.annotation.Timed;
+import com.google.common.collect.ImmutableMap;
+
+@Path("graphs/{graph}/jobs/statistics")
+@Singleton
+@Tag(name = "StatisticsAPI")
+public class StatisticsAPI extends API {
+
+    private static final Logger LOG = Log.logger(StatisticsAPI.class);
+
+    @PUT
+    @Timed
+    @Path("vertexlabels/{name}")
+    @Status(Status.ACCEPTED)
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=index_label_read"})
+    public Map<String, Id> vertexLabelCollect(@Context GraphManager manager,
+                                              @PathParam("graph") String graph,
+                                              @PathParam("name") String name) {
+        LOG.debug("Graph [{}] collect statistics of vertex label: {}",
+                  graph, name);
+
+        HugeGraph g = graph(manager, graph);
+        return ImmutableMap.of("task_id",
+                               g.collectIndexStatistics(g.vertexLabel(name)));
+    }
+
+    @PUT
+    @Timed
+    @Path("edgelabels/{name}")
+    @Status(Status.ACCEPTED)
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=index_label_read"})
+    public Map<String, Id> edgeLabelCollect(@Context GraphManager manager,
+                                            @PathParam("graph") String graph,
+                                            @PathParam("name") String name) {
+        LOG.debug("Graph [{}] collect statistics of edge label: {}",
+                  graph, name);
+
+        HugeGraph g = graph(manager, graph);
+        return ImmutableMap.of("task_id",
+                               g.collectIndexStatistics(g.edgeLabel(name)));
+    }
+
+    @PUT
+    @Timed
+    @Path("indexlabels/{name}")
+    @Status(Status.ACCEPTED)
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=index_label_read"})
+    public Map<String, Id> indexLabelCollect(@Context GraphManager manager,
+                                             @PathParam("graph") String graph,
+                                             @PathParam("name") String name) {
+        LOG.debug("Graph [{}] collect statistics of index label: {}",
+                  graph, name);
+
+        HugeGraph g = graph(manager, graph);
+        return ImmutableMap.of("task_id",
+                               g.collectIndexStatistics(g.indexLabel(name)));
+    }
+
+    @GET
+    @Timed
+    @Path("indexlabels/{name}")
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=index_label_read"})
+    public String indexLabelStatistics(@Context GraphManager manager,
+                                       @PathParam("graph") String graph,
+                                       @PathParam("name") String name) {
+        LOG.debug("Graph [{}] get statistics of index label: {}",
+                  graph, name);
+
+        HugeGraph g = graph(manager, graph);
+        IndexLabel indexLabel = g.indexLabel(name);
+        IndexLabelStats stats = g.indexStatistics(indexLabel.id());
+        E.checkArgument(stats != null,
+                        "The statistics of index label '%s' have not " +
+                        "been collected", name);
+        return manager.serializer(g).writeMap(stats.asMap());
+    }
+}
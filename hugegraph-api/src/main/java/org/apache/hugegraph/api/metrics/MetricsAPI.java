@@ -35,6 +35,7 @@ import jakarta.ws.rs.core.Context;
 
 import org.apache.hugegraph.core.GraphManager;
 import org.apache.hugegraph.metrics.MetricsModule;
+import org.apache.hugegraph.metrics.PrometheusFormatter;
 import org.apache.hugegraph.metrics.ServerReporter;
 import org.apache.hugegraph.metrics.SystemMetrics;
 import org.slf4j.Logger;
@@ -96,6 +97,25 @@ public class MetricsAPI extends API {
         return JsonUtil.toJson(results);
     }
 
+    @GET
+    @Timed
+    @Path("prometheus")
+    @Produces(PrometheusFormatter.CONTENT_TYPE)
+    @RolesAllowed({"admin", "$owner= $action=metrics_read"})
+    public String prometheus(@Context GraphManager manager) {
+        PrometheusFormatter formatter = new PrometheusFormatter();
+        formatter.appendServerMetrics(ServerReporter.instance());
+        for (String graph : manager.graphs()) {
+            HugeGraph g = manager.graph(graph);
+            try {
+                formatter.appendBackendMetrics(graph, g.metadata(null, "metrics"));
+            } catch (Throwable e) {
+                LOG.debug("Failed to get backend metrics of '{}'", graph, e);
+            }
+        }
+        return formatter.toString();
+    }
+
     @GET
     @Timed
     @Produces(APPLICATION_JSON_WITH_CHARSET)
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.api.profile;
+
+import java.util.List;
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+
+import org.apache.hugegraph.core.GraphManager;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.api.API;
+import org.apache.hugegraph.backend.query.Condition;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.schema.PropertyKey;
+import org.apache.hugegraph.traversal.optimize.TraversalUtil;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.HugeKeys;
+import org.apache.hugegraph.util.Log;
+import com.codahale.metrics.annotation.Timed;
+
+/**
+ * Explain how the vertices or edges are queried by index, including the
+ * matched indexes, the count of ids estimated by the index statistics and
+ * the strategy to join the indexes, the store is not queried.
+ */
+@Path("graphs/{graph}/explain")
+@Singleton
+@Tag(name = "ExplainAPI")
+public class ExplainAPI extends API {
+
+    private static final Logger LOG = Log.logger(ExplainAPI.class);
+
+    @GET
+    @Timed
+    @Path("vertices")
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=vertex_read"})
+    public String vertices(@Context GraphManager manager,
+                           @PathParam("graph") String graph,
+                           @QueryParam("label") String label,
+                           @QueryParam("properties") String properties) {
+        LOG.debug("Graph [{}] explain vertices query by label: {}, " +
+                  "properties: {}", graph, label, properties);
+
+        HugeGraph g = graph(manager, graph);
+        ConditionQuery query = new ConditionQuery(HugeType.VERTEX);
+        if (label != null) {
+            query.eq(HugeKeys.LABEL, g.vertexLabel(label).id());
+        }
+        return explain(manager, g, query, properties);
+    }
+
+    @GET
+    @Timed
+    @Path("edges")
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=edge_read"})
+    public String edges(@Context GraphManager manager,
+                        @PathParam("graph") String graph,
+                        @QueryParam("label") String label,
+                        @QueryParam("properties") String properties) {
+        LOG.debug("Graph [{}] explain edges query by label: {}, " +
+                  "properties: {}", graph, label, properties);
+
+        HugeGraph g = graph(manager, graph);
+        ConditionQuery query = new ConditionQuery(HugeType.EDGE);
+        if (label != null) {
+            query.eq(HugeKeys.LABEL, g.edgeLabel(label).id());
+        }
+        return explain(manager, g, query, properties);
+    }
+
+    private static String explain(GraphManager manager, HugeGraph g,
+                                  ConditionQuery query, String properties) {
+        Map<String, Object> props = parseProperties(properties);
+        for (Map.Entry<String, Object> prop : props.entrySet()) {
+            PropertyKey pk = g.propertyKey(prop.getKey());
+            Object value = prop.getValue();
+            Condition condition;
+            // Convert relational operator like P.gt()/P.lt()
+            if (value instanceof String &&
+                ((String) value).startsWith(TraversalUtil.P_CALL)) {
+                condition = TraversalUtil.parsePredicate(pk, (String) value);
+            } else {
+                condition = Condition.eq(pk.id(), pk.validValueOrThrow(value));
+            }
+            query.query(condition);
+        }
+
+        List<Map<String, Object>> plans = g.explainIndexQuery(query);
+        return manager.serializer(g).writeList("plans", plans);
+    }
+}
@@ -205,6 +205,49 @@ public class GraphsAPI extends API {
         return ImmutableMap.of(name, "snapshot_resumed");
     }
 
+    @PUT
+    @Timed
+    @Path("{name}/backup_create")
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$name"})
+    public Object createBackup(@Context GraphManager manager,
+                               @PathParam("name") String name) {
+        LOG.debug("Create backup for graph '{}'", name);
+
+        HugeGraph g = graph(manager, name);
+        return ImmutableMap.of(name, g.createBackup());
+    }
+
+    @GET
+    @Timed
+    @Path("{name}/backups")
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$name"})
+    public Object listBackups(@Context GraphManager manager,
+                              @PathParam("name") String name) {
+        LOG.debug("List backups of graph '{}'", name);
+
+        HugeGraph g = graph(manager, name);
+        return ImmutableMap.of("backups", g.listBackups());
+    }
+
+    @PUT
+    @Timed
+    @Path("{name}/backup_restore")
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$name"})
+    public Object restoreBackup(@Context GraphManager manager,
+                                @PathParam("name") String name,
+                                @QueryParam("backup_id") String backupId) {
+        LOG.debug("Restore graph '{}' from backup '{}'", name, backupId);
+        E.checkArgument(backupId != null && !backupId.isEmpty(),
+                        "The backup id can't be empty");
+
+        HugeGraph g = graph(manager, name);
+        g.restoreBackup(backupId);
+        return ImmutableMap.of(name, "backup_restored");
+    }
+
     @PUT
     @Timed
     @Path("{name}/compact")
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.api.traversers;
+
+import static org.apache.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_ELEMENTS_LIMIT;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+
+import org.apache.hugegraph.core.GraphManager;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.Condition;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.schema.PropertyKey;
+import org.apache.hugegraph.traversal.algorithm.KneighborTraverser;
+import org.apache.hugegraph.traversal.algorithm.records.KneighborRecords;
+import org.apache.hugegraph.traversal.algorithm.steps.EdgeStep;
+import org.apache.hugegraph.traversal.optimize.TraversalUtil;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.HugeKeys;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.hugegraph.util.Log;
+import com.codahale.metrics.annotation.Timed;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Query the k nearest vertices of a vector by the vector index, filtered by
+ * the label and properties, then expand the k-neighbors of each nearest
+ * vertex if the step is specified.
+ */
+@Path("graphs/{graph}/traversers/vectorsearch")
+@Singleton
+@Tag(name = "VectorSearchAPI")
+public class VectorSearchAPI extends TraverserAPI {
+
+    private static final Logger LOG = Log.logger(VectorSearchAPI.class);
+
+    @POST
+    @Timed
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    public String post(@Context GraphManager manager,
+                       @PathParam("graph") String graph,
+                       Request request) {
+        E.checkArgumentNotNull(request, "The request body can't be null");
+        E.checkArgumentNotNull(request.property,
+                               "The property of request can't be null");
+        E.checkArgument(request.vector != null && !request.vector.isEmpty(),
+                        "The vector of request can't be null or empty");
+        E.checkArgument(request.k > 0,
+                        "The k of request must be > 0, but got %s", request.k);
+
+        LOG.debug("Graph [{}] get nearest vertices by request: {}",
+                  graph, request);
+
+        HugeGraph g = graph(manager, graph);
+        ConditionQuery query = new ConditionQuery(HugeType.VERTEX);
+        if (request.vertexLabel != null) {
+            query.eq(HugeKeys.LABEL, g.vertexLabel(request.vertexLabel).id());
+        }
+        if (request.properties != null) {
+            for (Map.Entry<String, Object> prop :
+                 request.properties.entrySet()) {
+                query.query(condition(g, prop.getKey(), prop.getValue()));
+            }
+        }
+
+        float[] vector = new float[request.vector.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = request.vector.get(i).floatValue();
+        }
+        Id propertyKey = g.propertyKey(request.property).id();
+        Map<Id, Double> nearest = g.nearestVertices(query, propertyKey,
+                                                    vector, request.k);
+
+        List<Object> results = new ArrayList<>(nearest.size());
+        for (Map.Entry<Id, Double> e : nearest.entrySet()) {
+            results.add(ImmutableMap.of("id", e.getKey(),
+                                        "similarity", e.getValue()));
+        }
+        Map<String, Object> response = InsertionOrderUtil.newMap();
+        response.put("nearest", results);
+
+        Set<Id> ids = new HashSet<>(nearest.keySet());
+        if (request.step != null) {
+            EdgeStep step = step(g, request.step);
+            Set<Id> neighbors = InsertionOrderUtil.newSet();
+            try (KneighborTraverser traverser = new KneighborTraverser(g)) {
+                for (Id source : nearest.keySet()) {
+                    KneighborRecords records = traverser.customizedKneighbor(
+                                               source, step, request.maxDepth,
+                                               request.limit);
+                    neighbors.addAll(records.ids(request.limit));
+                }
+            }
+            response.put("kneighbor", neighbors);
+            ids.addAll(neighbors);
+        }
+
+        if (request.withVertex && !ids.isEmpty()) {
+            List<Object> vertices = new ArrayList<>(ids.size());
+            g.vertices(ids.toArray()).forEachRemaining(vertices::add);
+            response.put("vertices", vertices);
+        }
+        return manager.serializer(g).writeMap(response);
+    }
+
+    private static Condition condition(HugeGraph g, String key, Object value) {
+        PropertyKey pk = g.propertyKey(key);
+        // Convert relational operator like P.gt()/P.lt()
+        if (value instanceof String &&
+            ((String) value).startsWith(TraversalUtil.P_CALL)) {
+            return TraversalUtil.parsePredicate(pk, (String) value);
+        }
+        return Condition.eq(pk.id(), pk.validValueOrThrow(value));
+    }
+
+    private static class Request {
+
+        @JsonProperty("vertex_label")
+        public String vertexLabel;
+        @JsonProperty("properties")
+        public Map<String, Object> properties;
+        @JsonProperty("property")
+        public String property;
+        @JsonProperty("vector")
+        public List<Number> vector;
+        @JsonProperty("k")
+        public int k = 10;
+        @JsonProperty("step")
+        public TraverserAPI.Step step;
+        @JsonProperty("max_depth")
+        public int maxDepth = 1;
+        @JsonProperty("limit")
+        public int limit = Integer.parseInt(DEFAULT_ELEMENTS_LIMIT);
+        @JsonProperty("with_vertex")
+        public boolean withVertex = false;
+
+        @Override
+        public String toString() {
+            return String.format("VectorSearchRequest{vertexLabel=%s," +
+                                 "properties=%s,property=%s,vector=%s,k=%s," +
+                                 "step=%s,maxDepth=%s,limit=%s," +
+                                 "withVertex=%s}", this.vertexLabel,
+                                 this.properties, this.property, this.vector,
+                                 this.k, this.step, this.maxDepth, this.limit,
+                                 this.withVertex);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -67,7 +68,9 @@ import org.apache.hugegraph.backend.cache.Cache;
 import org.apache.hugegraph.backend.cache.CacheManager;
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.query.ConditionQuery;
 import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.backend.stats.IndexLabelStats;
 import org.apache.hugegraph.backend.store.BackendFeatures;
 import org.apache.hugegraph.backend.store.BackendStoreInfo;
 import org.apache.hugegraph.backend.store.raft.RaftGroupManager;
@@ -384,6 +387,27 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         return this.hugegraph.rebuildIndex(schema);
     }
 
+    @Override
+    public Id collectIndexStatistics(SchemaElement schema) {
+        if (schema.type() == HugeType.INDEX_LABEL) {
+            verifySchemaPermission(HugePermission.READ, schema);
+        } else {
+            SchemaLabel label = (SchemaLabel) schema;
+            for (Id il : label.indexLabels()) {
+                IndexLabel indexLabel = this.hugegraph.indexLabel(il);
+                verifySchemaPermission(HugePermission.READ, indexLabel);
+            }
+        }
+        return this.hugegraph.collectIndexStatistics(schema);
+    }
+
+    @Override
+    public IndexLabelStats indexStatistics(Id indexLabel) {
+        verifySchemaPermission(HugePermission.READ,
+                               this.hugegraph.indexLabel(indexLabel));
+        return this.hugegraph.indexStatistics(indexLabel);
+    }
+
     @Override
     public Collection<IndexLabel> indexLabels() {
         Collection<IndexLabel> labels = this.hugegraph.indexLabels();
@@ -481,6 +505,27 @@ public final class HugeGraphAuthProxy implements HugeGraph {
                                     this.hugegraph.vertices(query));
     }
 
+    @Override
+    public List<Map<String, Object>> explainIndexQuery(ConditionQuery query) {
+        ResourceType resType;
+        if (query.resultType().isVertex()) {
+            resType = ResourceType.VERTEX;
+        } else {
+            assert query.resultType().isEdge();
+            resType = ResourceType.EDGE;
+        }
+        this.verifyPermission(HugePermission.READ, resType);
+        return this.hugegraph.explainIndexQuery(query);
+    }
+
+    @Override
+    public Map<Id, Double> nearestVertices(ConditionQuery query,
+                                           Id propertyKey,
+                                           float[] vector, int k) {
+        this.verifyPermission(HugePermission.READ, ResourceType.VERTEX);
+        return this.hugegraph.nearestVertices(query, propertyKey, vector, k);
+    }
+
     @Override
     public Iterator<Vertex> vertices(Object... objects) {
         return verifyElemPermission(HugePermission.READ,
@@ -770,6 +815,24 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         this.hugegraph.resumeSnapshot();
     }
 
+    @Override
+    public String createBackup() {
+        this.verifyPermission(HugePermission.WRITE, ResourceType.STATUS);
+        return this.hugegraph.createBackup();
+    }
+
+    @Override
+    public List<String> listBackups() {
+        this.verifyPermission(HugePermission.READ, ResourceType.STATUS);
+        return this.hugegraph.listBackups();
+    }
+
+    @Override
+    public void restoreBackup(String backupId) {
+        this.verifyPermission(HugePermission.WRITE, ResourceType.STATUS);
+        this.hugegraph.restoreBackup(backupId);
+    }
+
     @Override
     public void create(String configPath, Id server, NodeRole role) {
         this.verifyPermission(HugePermission.WRITE, ResourceType.STATUS);
@@ -578,6 +578,7 @@ public final class GraphManager {
             String exp = String.format("%s.%s", key, "expire");
             String size = String.format("%s.%s", key, "size");
             String cap = String.format("%s.%s", key, "capacity");
+            String rate = String.format("%s.%s", key, "hit-rate");
 
             // Avoid registering multiple times
             if (names.stream().anyMatch(name -> name.endsWith(hits))) {
@@ -589,6 +590,11 @@ public final class GraphManager {
             MetricsUtil.registerGauge(Cache.class, exp, () -> cache.expire());
             MetricsUtil.registerGauge(Cache.class, size, () -> cache.size());
             MetricsUtil.registerGauge(Cache.class, cap, () -> cache.capacity());
+            MetricsUtil.registerGauge(Cache.class, rate, () -> {
+                long hit = cache.hits();
+                long total = hit + cache.miss();
+                return total == 0L ? 0.0D : (double) hit / total;
+            });
         }
     }
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.Sets;
+
+/**
+ * Format the server metrics and the backend metrics of graphs into the
+ * Prometheus text exposition format(version 0.0.4)
+ */
+public class PrometheusFormatter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; " +
+                                              "charset=utf-8";
+
+    private static final String BACKEND_PREFIX = "hugegraph_backend_";
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1L);
+
+    private final StringBuilder builder;
+    // Each metric family can only be declared by "# TYPE" once
+    private final Set<String> declared;
+    /*
+     * The samples of backend metric families, the samples of all graphs
+     * must be grouped under one family, so they are output at the end
+     */
+    private final Map<String, StringBuilder> backendFamilies;
+
+    public PrometheusFormatter() {
+        this.builder = new StringBuilder();
+        this.declared = Sets.newHashSet();
+        this.backendFamilies = new LinkedHashMap<>();
+    }
+
+    public PrometheusFormatter appendServerMetrics(ServerReporter reporter) {
+        for (Map.Entry<String, Gauge<?>> e : reporter.gauges().entrySet()) {
+            Object value = e.getValue().getValue();
+            if (value instanceof Number) {
+                String name = sanitize(e.getKey());
+                this.type(name, "gauge");
+                this.sample(name, null, ((Number) value).doubleValue());
+            }
+        }
+        for (Map.Entry<String, Counter> e : reporter.counters().entrySet()) {
+            String name = sanitize(e.getKey());
+            this.type(name, "gauge");
+            this.sample(name, null, e.getValue().getCount());
+        }
+        for (Map.Entry<String, Histogram> e : reporter.histograms().entrySet()) {
+            Histogram histogram = e.getValue();
+            this.summary(sanitize(e.getKey()), histogram.getSnapshot(),
+                         histogram.getCount(), 1.0D);
+        }
+        for (Map.Entry<String, Meter> e : reporter.meters().entrySet()) {
+            Meter meter = e.getValue();
+            String name = sanitize(e.getKey());
+            this.type(name + "_total", "counter");
+            this.sample(name + "_total", null, meter.getCount());
+            this.type(name + "_m1_rate", "gauge");
+            this.sample(name + "_m1_rate", null, meter.getOneMinuteRate());
+        }
+        for (Map.Entry<String, Timer> e : reporter.timers().entrySet()) {
+            Timer timer = e.getValue();
+            // The durations of timer are in nanoseconds, convert to seconds
+            this.summary(sanitize(e.getKey()) + "_seconds",
+                         timer.getSnapshot(), timer.getCount(),
+                         1.0D / NANOS_PER_SECOND);
+        }
+        return this;
+    }
+
+    /**
+     * Append the numeric leaves of nested backend metrics of a graph, the
+     * path of each leaf is joined as the metric name, like:
+     * hugegraph_backend_servers_local_mem_used{graph="hugegraph"} 10.5
+     * The samples of the same metric of different graphs are grouped together.
+     */
+    public PrometheusFormatter appendBackendMetrics(String graph,
+                                                    Map<String, ?> metrics) {
+        this.appendBackendMetrics(graph, BACKEND_PREFIX, metrics);
+        return this;
+    }
+
+    private void appendBackendMetrics(String graph, String prefix,
+                                      Map<String, ?> metrics) {
+        for (Map.Entry<String, ?> e : metrics.entrySet()) {
+            String name = prefix + sanitize(e.getKey());
+            Object value = e.getValue();
+            if (value instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, ?> children = (Map<String, ?>) value;
+                this.appendBackendMetrics(graph, name + "_", children);
+            } else if (value instanceof Number) {
+                StringBuilder samples = this.backendFamilies.computeIfAbsent(
+                                        name, k -> new StringBuilder());
+                sample(samples, name, "graph=\"" + escape(graph) + "\"",
+                       ((Number) value).doubleValue());
+            }
+        }
+    }
+
+    private void summary(String name, Snapshot snapshot,
+                         long count, double factor) {
+        this.type(name, "summary");
+        this.sample(name, "quantile=\"0.5\"", snapshot.getMedian() * factor);
+        this.sample(name, "quantile=\"0.75\"",
+                    snapshot.get75thPercentile() * factor);
+        this.sample(name, "quantile=\"0.95\"",
+                    snapshot.get95thPercentile() * factor);
+        this.sample(name, "quantile=\"0.99\"",
+                    snapshot.get99thPercentile() * factor);
+        this.sample(name, "quantile=\"0.999\"",
+                    snapshot.get999thPercentile() * factor);
+        this.sample(name + "_count", null, count);
+    }
+
+    private void type(String name, String type) {
+        if (this.declared.add(name)) {
+            this.builder.append("# TYPE ").append(name).append(' ')
+                        .append(type).append('\n');
+        }
+    }
+
+    private void sample(String name, String labels, double value) {
+        sample(this.builder, name, labels, value);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(this.builder);
+        for (Map.Entry<String, StringBuilder> e :
+             this.backendFamilies.entrySet()) {
+            String name = e.getKey();
+            if (this.declared.contains(name)) {
+                // Skip the conflicted family declared by server metrics
+                continue;
+            }
+            sb.append("# HELP ").append(name)
+              .append(" The backend metric of graphs\n");
+            sb.append("# TYPE ").append(name).append(" gauge\n");
+            sb.append(e.getValue());
+        }
+        return sb.toString();
+    }
+
+    private static void sample(StringBuilder builder, String name,
+                               String labels, double value) {
+        builder.append(name);
+        if (labels != null) {
+            builder.append('{').append(labels).append('}');
+        }
+        builder.append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        } else if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return String.valueOf((long) value);
+        }
+        return String.valueOf(value);
+    }
+
+    public static String sanitize(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') ||
+                c == '_' || c == ':' || (c >= '0' && c <= '9' && i > 0)) {
+                sb.append(c);
+            } else {
+                sb.append('_');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"")
+                    .replace("\n", "\\n");
+    }
+}
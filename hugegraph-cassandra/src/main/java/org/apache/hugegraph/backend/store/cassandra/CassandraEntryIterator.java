@@ -33,9 +33,13 @@ import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.PagingState;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.ListenableFuture;
 
 public class CassandraEntryIterator extends BackendEntryIterator {
 
+    // Fetch the next page in background when the local rows are fewer
+    private static final int PREFETCH_THRESHOLD = 100;
+
     private final ResultSet results;
     private final Iterator<Row> rows;
     private final BiFunction<BackendEntry, Row, BackendEntry> merger;
@@ -43,6 +47,8 @@ public class CassandraEntryIterator extends BackendEntryIterator {
     private int fetchedPageSize;
     private long expected;
     private BackendEntry next;
+    // The fetching of the next page, at most one page is fetched ahead
+    private ListenableFuture<ResultSet> prefetching;
 
     public CassandraEntryIterator(ResultSet results, Query query,
            BiFunction<BackendEntry, Row, BackendEntry> merger) {
@@ -53,6 +59,7 @@ public class CassandraEntryIterator extends BackendEntryIterator {
 
         this.fetchedPageSize = results.getAvailableWithoutFetching();
         this.next = null;
+        this.prefetching = null;
 
         if (query.paging()) {
             assert query.offset() == 0L;
@@ -89,7 +96,10 @@ public class CassandraEntryIterator extends BackendEntryIterator {
 
     @Override
     public void close() throws Exception {
-        // pass
+        if (this.prefetching != null && !this.prefetching.isDone()) {
+            // Don't fetch the page which will never be consumed
+            this.prefetching.cancel(true);
+        }
     }
 
     @Override
@@ -104,7 +114,9 @@ public class CassandraEntryIterator extends BackendEntryIterator {
             // Limit expected count, due to rows.hasNext() will fetch next page
             this.expected--;
             Row row = this.rows.next();
-            if (this.query.paging()) {
+            if (!this.query.paging()) {
+                this.prefetchNextPage();
+            } else {
                 // Update fetchedPageSize if auto fetch the next page
                 if (this.expected > 0L && this.availableLocal() == 0) {
                     if (this.rows.hasNext()) {
@@ -191,6 +203,26 @@ public class CassandraEntryIterator extends BackendEntryIterator {
         return new PageState(position, offset, count);
     }
 
+    /**
+     * Fetch the next page asynchronously while consuming the current page,
+     * it's not used by paging query since the page state depends on the
+     * rows fetched to local.
+     * The fetching is triggered once the local rows drop to the threshold,
+     * which is at most half of the page so that small pages are prefetched,
+     * and no more page is fetched until the previous fetching is done.
+     */
+    private void prefetchNextPage() {
+        if (this.prefetching != null && !this.prefetching.isDone()) {
+            return;
+        }
+        int available = this.availableLocal();
+        int threshold = Math.min(PREFETCH_THRESHOLD, this.fetchedPageSize / 2);
+        if (available <= threshold && this.expected > available &&
+            !this.results.isFullyFetched()) {
+            this.prefetching = this.results.fetchMoreResults();
+        }
+    }
+
     private int availableLocal() {
         return this.results.getAvailableWithoutFetching();
     }
@@ -132,4 +132,57 @@ public class CassandraOptions extends OptionHolder {
                     positiveInt(),
                     12 * 60 * 60
             );
+
+    public static final ConfigOption<Integer> PREPARED_STATEMENT_CACHE_SIZE =
+            new ConfigOption<>(
+                    "cassandra.prepared_statement_cache_size",
+                    "The max number of prepared write statements cached " +
+                    "by each graph store, the statements with the same " +
+                    "query string are bound to the cached prepared " +
+                    "statement, the least recently used ones are evicted " +
+                    "when it's full, 0 means disable prepared statements.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    1000
+            );
+
+    public static final ConfigOption<String> BATCH_MODE =
+            new ConfigOption<>(
+                    "cassandra.batch_mode",
+                    "The mode of committing the statements of a transaction, " +
+                    "'logged' means one LOGGED batch across all partitions, " +
+                    "'unlogged' means grouping statements by partition " +
+                    "token into UNLOGGED batches executed asynchronously, " +
+                    "which is faster but not atomic across partitions.",
+                    allowValues("logged", "unlogged"),
+                    "logged"
+            );
+
+    public static final ConfigOption<Integer> UNLOGGED_BATCH_SIZE =
+            new ConfigOption<>(
+                    "cassandra.unlogged_batch_size",
+                    "The max number of statements in an UNLOGGED batch " +
+                    "of the same partition.",
+                    rangeInt(1, 65535),
+                    100
+            );
+
+    public static final ConfigOption<Integer> MAX_INFLIGHT_REQUESTS =
+            new ConfigOption<>(
+                    "cassandra.max_inflight_requests",
+                    "The max number of in-flight asynchronous requests of " +
+                    "a session when committing in 'unlogged' batch mode " +
+                    "or querying with multiple statements.",
+                    rangeInt(1, 32768),
+                    128
+            );
+
+    public static final ConfigOption<Integer> SCAN_PARALLELISM =
+            new ConfigOption<>(
+                    "cassandra.scan_parallelism",
+                    "The number of token ranges queried concurrently when " +
+                    "scanning a whole table without limit, like full scans " +
+                    "of vertices/edges, 0 means scan through one cursor.",
+                    rangeInt(0, 1024),
+                    0
+            );
 }
@@ -19,38 +19,67 @@
 
 package org.apache.hugegraph.backend.store.cassandra;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
 
 import org.apache.hugegraph.backend.BackendException;
 import org.apache.hugegraph.backend.store.BackendSession.AbstractBackendSession;
 import org.apache.hugegraph.backend.store.BackendSessionPool;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.Log;
 import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Cluster.Builder;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.Configuration;
 import com.datastax.driver.core.Metadata;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ProtocolOptions.Compression;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.SocketOptions;
 import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.Token;
+import com.datastax.driver.core.exceptions.DriverException;
 import com.datastax.driver.core.exceptions.InvalidQueryException;
+import com.google.common.util.concurrent.MoreExecutors;
 
 public class CassandraSessionPool extends BackendSessionPool {
 
+    private static final Logger LOG = Log.logger(CassandraSessionPool.class);
+
     private static final int SECOND = 1000;
+    private static final String BATCH_MODE_UNLOGGED = "unlogged";
 
     private Cluster cluster;
     private final String keyspace;
+    /*
+     * Prepared write statements of this store, keyed by the query string,
+     * the least recently used ones are evicted once the capacity is reached
+     */
+    private final Map<String, PreparedStatement> preparedStatements;
 
     public CassandraSessionPool(HugeConfig config,
                                 String keyspace, String store) {
         super(config, keyspace + "/" + store);
         this.cluster = null;
         this.keyspace = keyspace;
+        int capacity = config.get(
+                       CassandraOptions.PREPARED_STATEMENT_CACHE_SIZE);
+        this.preparedStatements = Collections.synchronizedMap(
+                                  new LruMap<>(capacity));
     }
 
     @Override
@@ -99,6 +128,8 @@ public class CassandraSessionPool extends BackendSessionPool {
         builder.withCompression(Compression.valueOf(compression.toUpperCase()));
 
         this.cluster = builder.build();
+        // The prepared statements are bound to the old cluster if reopen
+        this.preparedStatements.clear();
     }
 
     @Override
@@ -129,6 +160,7 @@ public class CassandraSessionPool extends BackendSessionPool {
         if (this.cluster != null && !this.cluster.isClosed()) {
             this.cluster.close();
         }
+        this.preparedStatements.clear();
     }
 
     public final boolean clusterConnected() {
@@ -146,13 +178,30 @@ public class CassandraSessionPool extends BackendSessionPool {
         private com.datastax.driver.core.Session session;
         private BatchStatement batch;
 
+        private final int preparedCacheSize;
+        private final boolean unloggedBatch;
+        private final int unloggedBatchSize;
+        private final int maxInflightRequests;
+        private final int scanParallelism;
+
         public Session() {
             this.session = null;
             this.batch = new BatchStatement(); // LOGGED
+
+            HugeConfig conf = CassandraSessionPool.this.config();
+            this.preparedCacheSize = conf.get(
+                 CassandraOptions.PREPARED_STATEMENT_CACHE_SIZE);
+            this.unloggedBatch = BATCH_MODE_UNLOGGED.equals(
+                                 conf.get(CassandraOptions.BATCH_MODE));
+            this.unloggedBatchSize = conf.get(
+                                     CassandraOptions.UNLOGGED_BATCH_SIZE);
+            this.maxInflightRequests = conf.get(
+                                       CassandraOptions.MAX_INFLIGHT_REQUESTS);
+            this.scanParallelism = conf.get(CassandraOptions.SCAN_PARALLELISM);
         }
 
         public BatchStatement add(Statement statement) {
-            return this.batch.add(statement);
+            return this.batch.add(this.prepare(statement));
         }
 
         @Override
@@ -162,12 +211,133 @@ public class CassandraSessionPool extends BackendSessionPool {
 
         @Override
         public ResultSet commit() {
+            if (this.unloggedBatch) {
+                this.commitUnlogged();
+                return null;
+            }
             ResultSet rs = this.session.execute(this.batch);
             // Clear batch if execute() successfully (retained if failed)
             this.batch.clear();
             return rs;
         }
 
+        /**
+         * Group the statements by partition token into UNLOGGED batches,
+         * each batch is routed to the replicas of its partition by the
+         * token-aware policy, and the batches are executed asynchronously
+         * with bounded in-flight requests. The statements without routing
+         * key (not prepared) are executed one by one asynchronously.
+         * NOTE: all the statements share the same write timestamp, so the
+         * conflicts are resolved like a LOGGED batch, but it's not atomic.
+         */
+        private void commitUnlogged() {
+            Configuration conf = cluster().getConfiguration();
+            ProtocolVersion version = conf.getProtocolOptions()
+                                          .getProtocolVersion();
+            CodecRegistry registry = conf.getCodecRegistry();
+            Metadata metadata = this.metadata();
+
+            Map<Token, List<Statement>> partitions = new LinkedHashMap<>();
+            List<Statement> requests = new ArrayList<>();
+            for (Statement statement : this.batch.getStatements()) {
+                ByteBuffer routingKey = statement.getRoutingKey(version,
+                                                                registry);
+                if (routingKey == null) {
+                    requests.add(statement);
+                    continue;
+                }
+                Token token = metadata.newToken(routingKey);
+                partitions.computeIfAbsent(token, t -> new ArrayList<>())
+                          .add(statement);
+            }
+            for (List<Statement> statements : partitions.values()) {
+                int size = statements.size();
+                for (int i = 0, j; i < size; i = j) {
+                    j = Math.min(i + this.unloggedBatchSize, size);
+                    if (j - i == 1) {
+                        requests.add(statements.get(i));
+                        continue;
+                    }
+                    BatchStatement batch = new BatchStatement(
+                                           BatchStatement.Type.UNLOGGED);
+                    batch.addAll(statements.subList(i, j));
+                    requests.add(batch);
+                }
+            }
+
+            long timestamp = conf.getPolicies().getTimestampGenerator().next();
+            Semaphore inflight = new Semaphore(this.maxInflightRequests);
+            List<ResultSetFuture> results = new ArrayList<>(requests.size());
+            for (Statement request : requests) {
+                request.setDefaultTimestamp(timestamp);
+                inflight.acquireUninterruptibly();
+                ResultSetFuture future = this.session.executeAsync(request);
+                future.addListener(inflight::release,
+                                   MoreExecutors.directExecutor());
+                results.add(future);
+            }
+
+            DriverException error = null;
+            for (ResultSetFuture future : results) {
+                try {
+                    future.getUninterruptibly();
+                } catch (DriverException e) {
+                    if (error == null) {
+                        error = e;
+                    }
+                }
+            }
+            if (error != null) {
+                // Retain the batch if failed, it may be partially written
+                throw error;
+            }
+            this.batch.clear();
+        }
+
+        /**
+         * Bind the values of a built statement to the cached prepared
+         * statement with the same query string, return the original
+         * statement if it can't be prepared
+         */
+        private Statement prepare(Statement statement) {
+            if (this.preparedCacheSize <= 0 ||
+                !(statement instanceof RegularStatement)) {
+                return statement;
+            }
+            RegularStatement regular = (RegularStatement) statement;
+            Configuration conf = cluster().getConfiguration();
+            CodecRegistry registry = conf.getCodecRegistry();
+            if (!regular.hasValues(registry) ||
+                regular.usesNamedValues()) {
+                return statement;
+            }
+
+            String cql = regular.getQueryString(registry);
+            PreparedStatement prepared = preparedStatements.get(cql);
+            if (prepared == null) {
+                try {
+                    prepared = this.session.prepare(cql);
+                } catch (DriverException e) {
+                    LOG.debug("Failed to prepare statement: {}", cql, e);
+                    return statement;
+                }
+                preparedStatements.put(cql, prepared);
+            }
+
+            /*
+             * The values are serialized by the codecs inferred from the
+             * java types, which are the same as the unprepared statement
+             */
+            ByteBuffer[] values = regular.getValues(conf.getProtocolOptions()
+                                                        .getProtocolVersion(),
+                                                    registry);
+            BoundStatement bound = prepared.bind();
+            for (int i = 0; i < values.length; i++) {
+                bound.setBytesUnsafe(i, values[i]);
+            }
+            return bound;
+        }
+
         public void commitAsync() {
             Collection<Statement> statements = this.batch.getStatements();
 
@@ -197,6 +367,11 @@ public class CassandraSessionPool extends BackendSessionPool {
             return this.execute(statement);
         }
 
+        public ResultSetFuture queryAsync(Statement statement) {
+            assert !this.hasChanges();
+            return this.session.executeAsync(statement);
+        }
+
         public ResultSet execute(Statement statement) {
             return this.session.execute(statement);
         }
@@ -268,9 +443,35 @@ public class CassandraSessionPool extends BackendSessionPool {
             return CassandraSessionPool.this.cluster.getMetadata();
         }
 
+        public int maxInflightRequests() {
+            return this.maxInflightRequests;
+        }
+
+        public int scanParallelism() {
+            return this.scanParallelism;
+        }
+
         public int aggregateTimeout() {
             HugeConfig conf = CassandraSessionPool.this.config();
             return conf.get(CassandraOptions.AGGR_TIMEOUT);
         }
     }
+
+    private static class LruMap<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 4186385946364052391L;
+
+        private final int capacity;
+
+        public LruMap(int capacity) {
+            // Order by access to evict the least recently used one
+            super(16, 0.75F, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return this.size() > this.capacity;
+        }
+    }
 }
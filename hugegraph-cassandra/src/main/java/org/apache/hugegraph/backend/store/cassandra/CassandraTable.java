@@ -19,12 +19,16 @@
 
 package org.apache.hugegraph.backend.store.cassandra;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -47,6 +51,7 @@ import org.apache.hugegraph.backend.store.Shard;
 import org.apache.hugegraph.exception.NotFoundException;
 import org.apache.hugegraph.exception.NotSupportException;
 import org.apache.hugegraph.iterator.ExtendableIterator;
+import org.apache.hugegraph.iterator.FlatMapperIterator;
 import org.apache.hugegraph.iterator.WrappedIterator;
 import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.type.define.HugeKeys;
@@ -57,8 +62,10 @@ import com.datastax.driver.core.ColumnDefinitions.Definition;
 import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.PagingState;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.TokenRange;
 import com.datastax.driver.core.exceptions.DriverException;
 import com.datastax.driver.core.exceptions.PagingStateException;
 import com.datastax.driver.core.querybuilder.Clause;
@@ -114,11 +121,11 @@ public abstract class CassandraTable
     public Number queryNumber(CassandraSessionPool.Session session,
                               Query query) {
         Aggregate aggregate = query.aggregateNotNull();
-        Iterator<Number> results = this.query(query, statement -> {
+        Iterator<Number> results = this.query(session, query, statement -> {
             // Set request timeout to a large value
             int timeout = session.aggregateTimeout();
             statement.setReadTimeoutMillis(timeout * 1000);
-            return session.query(statement);
+            return session.queryAsync(statement);
         }, (q, rs) -> {
                 Row row = rs.one();
                 if (row == null) {
@@ -132,11 +139,13 @@ public abstract class CassandraTable
     @Override
     public Iterator<BackendEntry> query(CassandraSessionPool.Session session,
                                         Query query) {
-        return this.query(query, session::query, this::results2Entries);
+        return this.query(session, query, session::queryAsync,
+                          this::results2Entries);
     }
 
-    protected <R> Iterator<R> query(Query query,
-                                    Function<Statement, ResultSet> fetcher,
+    protected <R> Iterator<R> query(CassandraSessionPool.Session session,
+                                    Query query,
+                                    Function<Statement, ResultSetFuture> fetcher,
                                     BiFunction<Query, ResultSet, Iterator<R>>
                                     parser) {
         ExtendableIterator<R> rs = new ExtendableIterator<>();
@@ -147,10 +156,29 @@ public abstract class CassandraTable
         }
 
         List<Select> selects = this.query2Select(this.table(), query);
+        int parallelism = session.maxInflightRequests();
+        if (this.scanByTokenRanges(session, query, selects)) {
+            selects = this.splitByTokenRanges(session, selects.get(0));
+            parallelism = session.scanParallelism();
+        }
         try {
-            for (Select select : selects) {
-                ResultSet results = fetcher.apply(select);
-                rs.extend(parser.apply(query, results));
+            if (selects.size() > 1 && !query.paging()) {
+                /*
+                 * Execute the selects asynchronously with bounded in-flight
+                 * requests, and consume the results in order
+                 */
+                Iterator<ResultSet> resultSets = resultSetFutures(
+                                                 query, selects, fetcher,
+                                                 parallelism);
+                rs.extend(new FlatMapperIterator<>(resultSets, results -> {
+                    return parser.apply(query, results);
+                }));
+            } else {
+                for (Select select : selects) {
+                    ResultSet results = fetcher.apply(select)
+                                               .getUninterruptibly();
+                    rs.extend(parser.apply(query, results));
+                }
             }
         } catch (DriverException e) {
             LOG.debug("Failed to query [{}], detail statement: {}",
@@ -168,6 +196,62 @@ public abstract class CassandraTable
         return rs;
     }
 
+    /**
+     * Whether to scan the whole table by token ranges concurrently, it's
+     * just used by the query without any condition, limit and paging
+     */
+    protected boolean scanByTokenRanges(CassandraSessionPool.Session session,
+                                        Query query, List<Select> selects) {
+        if (session.scanParallelism() <= 0 || selects.size() != 1) {
+            return false;
+        }
+        if (query.idsSize() > 0 || query.conditionsSize() > 0 ||
+            !query.noLimit() || query.paging() || query.offset() > 0L) {
+            return false;
+        }
+        if (!query.orders().isEmpty()) {
+            return false;
+        }
+        // Just the count of ranges can be summed up
+        Aggregate aggregate = query.aggregate();
+        return aggregate == null || aggregate.countAll();
+    }
+
+    /**
+     * Split a select of whole table into selects of the token ranges, the
+     * ranges are sorted, so the results are in the same order as scanning
+     * through one cursor
+     */
+    protected List<Select> splitByTokenRanges(
+                           CassandraSessionPool.Session session,
+                           Select select) {
+        List<TokenRange> ranges = new ArrayList<>();
+        for (TokenRange range : session.metadata().getTokenRanges()) {
+            ranges.addAll(range.unwrap());
+        }
+        Collections.sort(ranges);
+
+        String[] cols = this.pkColumnName().stream()
+                                           .map(CassandraTable::formatKey)
+                                           .toArray(String[]::new);
+        List<Select> selects = new ArrayList<>(ranges.size());
+        for (TokenRange range : ranges) {
+            Select rangeSelect = cloneSelect(select, this.table());
+            Object start = QueryBuilder.raw(range.getStart().toString());
+            rangeSelect.where(QueryBuilder.gt(QueryBuilder.token(cols),
+                                              start));
+            // The range ends with the minimum token extends to the end
+            if (range.getEnd().compareTo(range.getStart()) > 0) {
+                Object end = QueryBuilder.raw(range.getEnd().toString());
+                rangeSelect.where(QueryBuilder.lte(QueryBuilder.token(cols),
+                                                   end));
+            }
+            selects.add(rangeSelect);
+        }
+        LOG.debug("Split select {} into {} token ranges", select, ranges.size());
+        return selects;
+    }
+
     protected List<Select> query2Select(String table, Query query) {
         // Build query
         Selection selection = QueryBuilder.select();
@@ -679,4 +763,63 @@ public abstract class CassandraTable
     public boolean isOlap() {
         return false;
     }
+
+    private static Iterator<ResultSet> resultSetFutures(
+                                       Query query, List<Select> selects,
+                                       Function<Statement, ResultSetFuture>
+                                       fetcher, int parallelism) {
+        return new ResultSetFutures(query, selects, fetcher, parallelism);
+    }
+
+    private static class ResultSetFutures implements Iterator<ResultSet> {
+
+        private final Query query;
+        private final Iterator<Select> selects;
+        private final Function<Statement, ResultSetFuture> fetcher;
+        private final int parallelism;
+        private final Deque<ResultSetFuture> inflight;
+
+        public ResultSetFutures(Query query, List<Select> selects,
+                                Function<Statement, ResultSetFuture> fetcher,
+                                int parallelism) {
+            assert parallelism > 0;
+            this.query = query;
+            this.selects = selects.iterator();
+            this.fetcher = fetcher;
+            this.parallelism = parallelism;
+            this.inflight = new ArrayDeque<>(parallelism);
+            this.submit();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.inflight.isEmpty();
+        }
+
+        @Override
+        public ResultSet next() {
+            ResultSetFuture future = this.inflight.poll();
+            if (future == null) {
+                throw new NoSuchElementException();
+            }
+            ResultSet results;
+            try {
+                results = future.getUninterruptibly();
+            } catch (DriverException e) {
+                this.inflight.forEach(f -> f.cancel(true));
+                this.inflight.clear();
+                throw new BackendException("Failed to query [%s]", e,
+                                           this.query);
+            }
+            this.submit();
+            return results;
+        }
+
+        private void submit() {
+            while (this.inflight.size() < this.parallelism &&
+                   this.selects.hasNext()) {
+                this.inflight.add(this.fetcher.apply(this.selects.next()));
+            }
+        }
+    }
 }
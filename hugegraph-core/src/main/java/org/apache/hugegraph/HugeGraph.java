@@ -23,10 +23,13 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.hugegraph.auth.AuthManager;
 import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.ConditionQuery;
 import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.backend.stats.IndexLabelStats;
 import org.apache.hugegraph.backend.store.BackendFeatures;
 import org.apache.hugegraph.backend.store.BackendStoreInfo;
 import org.apache.hugegraph.backend.store.raft.RaftGroupManager;
@@ -55,6 +58,7 @@ import org.apache.hugegraph.schema.SchemaLabel;
 import org.apache.hugegraph.schema.SchemaManager;
 import org.apache.hugegraph.schema.VertexLabel;
 import org.apache.hugegraph.structure.HugeFeatures;
+import org.apache.hugegraph.traversal.optimize.HugeAggregateStepStrategy;
 import org.apache.hugegraph.traversal.optimize.HugeCountStepStrategy;
 import org.apache.hugegraph.traversal.optimize.HugeGraphStepStrategy;
 import org.apache.hugegraph.traversal.optimize.HugeVertexStepStrategy;
@@ -128,6 +132,10 @@ public interface HugeGraph extends Graph {
 
     Id rebuildIndex(SchemaElement schema);
 
+    Id collectIndexStatistics(SchemaElement schema);
+
+    IndexLabelStats indexStatistics(Id indexLabel);
+
     Collection<IndexLabel> indexLabels();
 
     IndexLabel indexLabel(String label);
@@ -166,6 +174,11 @@ public interface HugeGraph extends Graph {
 
     Iterator<Vertex> vertices(Query query);
 
+    List<Map<String, Object>> explainIndexQuery(ConditionQuery query);
+
+    Map<Id, Double> nearestVertices(ConditionQuery query, Id propertyKey,
+                                    float[] vector, int k);
+
     Iterator<Vertex> adjacentVertex(Object id);
 
     boolean checkAdjacentVertexExist();
@@ -221,6 +234,12 @@ public interface HugeGraph extends Graph {
 
     void resumeSnapshot();
 
+    String createBackup();
+
+    List<String> listBackups();
+
+    void restoreBackup(String backupId);
+
     void create(String configPath, Id server, NodeRole role);
 
     void drop();
@@ -319,7 +338,8 @@ public interface HugeGraph extends Graph {
                                         .clone();
         strategies.addStrategies(HugeVertexStepStrategy.instance(),
                                  HugeGraphStepStrategy.instance(),
-                                 HugeCountStepStrategy.instance());
+                                 HugeCountStepStrategy.instance(),
+                                 HugeAggregateStepStrategy.instance());
         TraversalStrategies.GlobalCache.registerStrategies(clazz, strategies);
     }
 }
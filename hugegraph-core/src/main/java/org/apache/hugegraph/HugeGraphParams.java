@@ -22,8 +22,11 @@ package org.apache.hugegraph;
 import org.apache.hugegraph.backend.LocalCounter;
 import org.apache.hugegraph.backend.store.BackendFeatures;
 import org.apache.hugegraph.backend.store.BackendStore;
+import org.apache.hugegraph.backend.stats.IndexStatistics;
 import org.apache.hugegraph.backend.store.ram.RamTable;
 import org.apache.hugegraph.backend.tx.GraphTransaction;
+import org.apache.hugegraph.backend.tx.ExistenceFilters;
+import org.apache.hugegraph.backend.tx.IndexChangeLog;
 import org.apache.hugegraph.backend.tx.SchemaTransaction;
 import org.apache.hugegraph.task.ServerInfoManager;
 import org.apache.hugegraph.type.define.GraphMode;
@@ -32,6 +35,7 @@ import org.apache.hugegraph.analyzer.Analyzer;
 import org.apache.hugegraph.backend.serializer.AbstractSerializer;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.event.EventHub;
+import org.apache.hugegraph.job.system.ExpiredSweeper;
 import com.google.common.util.concurrent.RateLimiter;
 
 /**
@@ -92,4 +96,12 @@ public interface HugeGraphParams {
     RateLimiter readRateLimiter();
 
     RamTable ramtable();
+
+    IndexStatistics indexStatistics();
+
+    IndexChangeLog indexChangeLog();
+
+    ExpiredSweeper expiredSweeper();
+
+    ExistenceFilters existenceFilters();
 }
@@ -22,6 +22,7 @@ package org.apache.hugegraph;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
@@ -40,14 +41,20 @@ import org.apache.hugegraph.backend.cache.CachedSchemaTransaction;
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.id.IdGenerator;
 import org.apache.hugegraph.backend.id.SnowflakeIdGenerator;
+import org.apache.hugegraph.backend.query.ConditionQuery;
 import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.backend.store.raft.RaftBackendStoreProvider;
 import org.apache.hugegraph.backend.store.raft.RaftGroupManager;
+import org.apache.hugegraph.backend.stats.IndexLabelStats;
+import org.apache.hugegraph.backend.stats.IndexStatistics;
 import org.apache.hugegraph.backend.store.ram.RamTable;
+import org.apache.hugegraph.backend.tx.ExistenceFilters;
 import org.apache.hugegraph.backend.tx.GraphTransaction;
+import org.apache.hugegraph.backend.tx.IndexChangeLog;
 import org.apache.hugegraph.backend.tx.SchemaTransaction;
 import org.apache.hugegraph.config.CoreOptions;
 import org.apache.hugegraph.io.HugeGraphIoRegistry;
+import org.apache.hugegraph.job.system.ExpiredSweeper;
 import org.apache.hugegraph.rpc.RpcServiceConfig4Client;
 import org.apache.hugegraph.rpc.RpcServiceConfig4Server;
 import org.apache.hugegraph.task.ServerInfoManager;
@@ -79,6 +86,7 @@ import org.apache.hugegraph.analyzer.AnalyzerFactory;
 import org.apache.hugegraph.backend.serializer.AbstractSerializer;
 import org.apache.hugegraph.backend.serializer.SerializerFactory;
 import org.apache.hugegraph.backend.store.BackendFeatures;
+import org.apache.hugegraph.backend.store.BackendMetrics;
 import org.apache.hugegraph.backend.store.BackendProviderFactory;
 import org.apache.hugegraph.backend.store.BackendStore;
 import org.apache.hugegraph.backend.store.BackendStoreInfo;
@@ -164,6 +172,10 @@ public class StandardHugeGraph implements HugeGraph {
     private final TinkerPopTransaction tx;
 
     private final RamTable ramtable;
+    private final IndexStatistics indexStatistics;
+    private final IndexChangeLog indexChangeLog;
+    private final ExpiredSweeper expiredSweeper;
+    private final ExistenceFilters existenceFilters;
 
     public StandardHugeGraph(HugeConfig config) {
         this.params = new StandardHugeGraphParams();
@@ -190,6 +202,10 @@ public class StandardHugeGraph implements HugeGraph {
         } else {
             this.ramtable = null;
         }
+        this.indexStatistics = new IndexStatistics();
+        this.indexChangeLog = new IndexChangeLog();
+        this.expiredSweeper = new ExpiredSweeper(this.params);
+        this.existenceFilters = new ExistenceFilters(this.params);
 
         this.taskManager = TaskManager.instance();
 
@@ -356,6 +372,10 @@ public class StandardHugeGraph implements HugeGraph {
         LockUtil.lock(this.name, LockUtil.GRAPH_LOCK);
         try {
             this.storeProvider.clear();
+            this.indexStatistics.clear();
+            this.indexChangeLog.clear();
+            this.existenceFilters.clear();
+            this.expiredSweeper.clear();
         } finally {
             LockUtil.unlock(this.name, LockUtil.GRAPH_LOCK);
             this.loadGraphStore().close();
@@ -373,6 +393,10 @@ public class StandardHugeGraph implements HugeGraph {
         LockUtil.lock(this.name, LockUtil.GRAPH_LOCK);
         try {
             this.storeProvider.truncate();
+            this.indexStatistics.clear();
+            this.indexChangeLog.clear();
+            this.existenceFilters.clear();
+            this.expiredSweeper.clear();
             // TOOD: remove this after serverinfo saved in etcd
             this.serverStarted(this.serverInfoManager().selfServerId(),
                                this.serverInfoManager().selfServerRole());
@@ -417,6 +441,36 @@ public class StandardHugeGraph implements HugeGraph {
         LOG.info("Graph '{}' has resumed from snapshot", this.name);
     }
 
+    @Override
+    public String createBackup() {
+        String backupId;
+        LockUtil.lock(this.name, LockUtil.GRAPH_LOCK);
+        try {
+            backupId = this.storeProvider.createBackup();
+        } finally {
+            LockUtil.unlock(this.name, LockUtil.GRAPH_LOCK);
+        }
+        LOG.info("Graph '{}' has created backup '{}'", this.name, backupId);
+        return backupId;
+    }
+
+    @Override
+    public List<String> listBackups() {
+        return this.storeProvider.listBackups();
+    }
+
+    @Override
+    public void restoreBackup(String backupId) {
+        LockUtil.lock(this.name, LockUtil.GRAPH_LOCK);
+        try {
+            this.storeProvider.restoreBackup(backupId);
+        } finally {
+            LockUtil.unlock(this.name, LockUtil.GRAPH_LOCK);
+        }
+        LOG.info("Graph '{}' has restored from backup '{}'",
+                 this.name, backupId);
+    }
+
     private void clearVertexCache() {
         Future<?> future = this.graphEventHub.notify(Events.CACHE, "clear",
                                                      HugeType.VERTEX);
@@ -659,6 +713,19 @@ public class StandardHugeGraph implements HugeGraph {
         return this.graphTransaction().queryVertices(query);
     }
 
+    @Override
+    public List<Map<String, Object>> explainIndexQuery(ConditionQuery query) {
+        return this.graphTransaction().explainIndexQuery(query);
+    }
+
+    @Override
+    public Map<Id, Double> nearestVertices(ConditionQuery query,
+                                           Id propertyKey,
+                                           float[] vector, int k) {
+        return this.graphTransaction().queryNearestVertices(query, propertyKey,
+                                                            vector, k);
+    }
+
     @Override
     public Iterator<Vertex> adjacentVertex(Object id) {
         return this.graphTransaction().queryAdjacentVertices(id);
@@ -895,6 +962,16 @@ public class StandardHugeGraph implements HugeGraph {
         return this.schemaTransaction().rebuildIndex(schema);
     }
 
+    @Override
+    public Id collectIndexStatistics(SchemaElement schema) {
+        return this.schemaTransaction().collectIndexStatistics(schema);
+    }
+
+    @Override
+    public IndexLabelStats indexStatistics(Id indexLabel) {
+        return this.indexStatistics.get(indexLabel);
+    }
+
     @Override
     public Collection<IndexLabel> indexLabels() {
         return this.schemaTransaction().getIndexLabels();
@@ -1015,7 +1092,21 @@ public class StandardHugeGraph implements HugeGraph {
 
     @Override
     public <T> T metadata(HugeType type, String meta, Object... args) {
-        return this.graphTransaction().metadata(type, meta, args);
+        T metadata = this.graphTransaction().metadata(type, meta, args);
+        if (type == null && "metrics".equals(meta) &&
+            this.existenceFilters.enabled()) {
+            // Append the metrics of existence filters to the backend ones
+            @SuppressWarnings("unchecked")
+            Map<String, Object> backend = (Map<String, Object>) metadata;
+            Map<String, Object> metrics = InsertionOrderUtil.newMap();
+            metrics.putAll(backend);
+            metrics.put(BackendMetrics.EXISTENCE_FILTER,
+                        this.existenceFilters.metrics());
+            @SuppressWarnings("unchecked")
+            T result = (T) metrics;
+            return result;
+        }
+        return metadata;
     }
 
     @Override
@@ -1276,6 +1367,26 @@ public class StandardHugeGraph implements HugeGraph {
         public RamTable ramtable() {
             return StandardHugeGraph.this.ramtable;
         }
+
+        @Override
+        public IndexStatistics indexStatistics() {
+            return StandardHugeGraph.this.indexStatistics;
+        }
+
+        @Override
+        public IndexChangeLog indexChangeLog() {
+            return StandardHugeGraph.this.indexChangeLog;
+        }
+
+        @Override
+        public ExpiredSweeper expiredSweeper() {
+            return StandardHugeGraph.this.expiredSweeper;
+        }
+
+        @Override
+        public ExistenceFilters existenceFilters() {
+            return StandardHugeGraph.this.existenceFilters;
+        }
     }
 
     private class TinkerPopTransaction extends AbstractThreadLocalTransaction {
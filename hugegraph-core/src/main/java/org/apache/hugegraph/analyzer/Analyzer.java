@@ -19,9 +19,19 @@
 
 package org.apache.hugegraph.analyzer;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 public interface Analyzer {
 
     Set<String> segment(String text);
+
+    /**
+     * Split the text into words in order, a word may occur more than once,
+     * which is used to count the term frequency of search index
+     */
+    default List<String> tokenize(String text) {
+        return new ArrayList<>(this.segment(text));
+    }
 }
@@ -19,6 +19,7 @@
 
 package org.apache.hugegraph.analyzer;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -58,6 +59,13 @@ public class AnsjAnalyzer implements Analyzer {
 
     @Override
     public Set<String> segment(String text) {
+        Set<String> result = InsertionOrderUtil.newSet();
+        result.addAll(this.tokenize(text));
+        return result;
+    }
+
+    @Override
+    public List<String> tokenize(String text) {
         Result terms = null;
         switch (this.analysis) {
             case "BaseAnalysis":
@@ -78,7 +86,7 @@ public class AnsjAnalyzer implements Analyzer {
         }
 
         assert terms != null;
-        Set<String> result = InsertionOrderUtil.newSet();
+        List<String> result = new ArrayList<>();
         for (Term term : terms) {
             result.add(term.getName());
         }
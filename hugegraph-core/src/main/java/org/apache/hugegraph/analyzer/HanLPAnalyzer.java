@@ -19,6 +19,7 @@
 
 package org.apache.hugegraph.analyzer;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -71,6 +72,13 @@ public class HanLPAnalyzer implements Analyzer {
 
     @Override
     public Set<String> segment(String text) {
+        Set<String> result = InsertionOrderUtil.newSet();
+        result.addAll(this.tokenize(text));
+        return result;
+    }
+
+    @Override
+    public List<String> tokenize(String text) {
         List<Term> terms;
         switch (this.tokenizer) {
             case "standard":
@@ -97,7 +105,7 @@ public class HanLPAnalyzer implements Analyzer {
         }
 
         assert terms != null;
-        Set<String> result = InsertionOrderUtil.newSet();
+        List<String> result = new ArrayList<>();
         for (Term term : terms) {
             result.add(term.word);
         }
@@ -20,6 +20,7 @@
 package org.apache.hugegraph.analyzer;
 
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -66,6 +67,13 @@ public class JcsegAnalyzer implements Analyzer {
     @Override
     public Set<String> segment(String text) {
         Set<String> result = InsertionOrderUtil.newSet();
+        result.addAll(this.tokenize(text));
+        return result;
+    }
+
+    @Override
+    public List<String> tokenize(String text) {
+        List<String> result = new ArrayList<>();
         try {
             ISegment segmentor = this.type.factory.create(CONFIG, DIC);
             segmentor.reset(new StringReader(text));
@@ -19,6 +19,7 @@
 
 package org.apache.hugegraph.analyzer;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -54,6 +55,13 @@ public class JiebaAnalyzer implements Analyzer {
     @Override
     public Set<String> segment(String text) {
         Set<String> result = InsertionOrderUtil.newSet();
+        result.addAll(this.tokenize(text));
+        return result;
+    }
+
+    @Override
+    public List<String> tokenize(String text) {
+        List<String> result = new ArrayList<>();
         for (SegToken token : JIEBA_SEGMENTER.process(text, this.segMode)) {
             result.add(token.word);
         }
@@ -21,6 +21,8 @@ package org.apache.hugegraph.analyzer;
 
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.hugegraph.HugeException;
@@ -45,6 +47,13 @@ public class SmartCNAnalyzer implements Analyzer {
     @Override
     public Set<String> segment(String text) {
         Set<String> result = InsertionOrderUtil.newSet();
+        result.addAll(this.tokenize(text));
+        return result;
+    }
+
+    @Override
+    public List<String> tokenize(String text) {
+        List<String> result = new ArrayList<>();
         Reader reader = new StringReader(text);
         try (TokenStream tokenStream = ANALYZER.tokenStream("text", reader)) {
             tokenStream.reset();
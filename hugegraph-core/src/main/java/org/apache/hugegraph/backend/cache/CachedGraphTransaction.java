@@ -21,13 +21,15 @@ package org.apache.hugegraph.backend.cache;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
-import org.apache.hugegraph.backend.cache.CachedBackendStore.QueryId;
+import org.apache.hugegraph.backend.id.EdgeId;
+import org.apache.hugegraph.backend.query.ConditionQuery;
 import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.backend.store.BackendMutation;
 import org.apache.hugegraph.backend.store.BackendStore;
@@ -36,6 +38,7 @@ import org.apache.hugegraph.HugeGraphParams;
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.query.IdQuery;
 import org.apache.hugegraph.backend.query.QueryResults;
+import org.apache.hugegraph.backend.tx.GraphIndexTransaction;
 import org.apache.hugegraph.backend.tx.GraphTransaction;
 import org.apache.hugegraph.config.CoreOptions;
 import org.apache.hugegraph.config.HugeConfig;
@@ -45,24 +48,26 @@ import org.apache.hugegraph.exception.NotSupportException;
 import org.apache.hugegraph.iterator.ExtendableIterator;
 import org.apache.hugegraph.iterator.ListIterator;
 import org.apache.hugegraph.perf.PerfUtil.Watched;
+import org.apache.hugegraph.schema.EdgeLabel;
 import org.apache.hugegraph.schema.IndexLabel;
 import org.apache.hugegraph.structure.HugeEdge;
 import org.apache.hugegraph.structure.HugeVertex;
 import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.HugeKeys;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.Events;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
 public final class CachedGraphTransaction extends GraphTransaction {
 
     private static final int MAX_CACHE_PROPS_PER_VERTEX = 10000;
-    private static final int MAX_CACHE_EDGES_PER_QUERY = 100;
     private static final float DEFAULT_LEVEL_RATIO = 0.001f;
     private static final long AVG_VERTEX_ENTRY_SIZE = 40L;
     private static final long AVG_EDGE_ENTRY_SIZE = 100L;
 
     private final Cache<Id, Object> verticesCache;
-    private final Cache<Id, Object> edgesCache;
+    private final QueryResultCache edgesCache;
 
     private EventListener storeEventListener;
     private EventListener cacheEventListener;
@@ -81,8 +86,11 @@ public final class CachedGraphTransaction extends GraphTransaction {
         type = conf.get(CoreOptions.EDGE_CACHE_TYPE);
         capacity = conf.get(CoreOptions.EDGE_CACHE_CAPACITY);
         expire = conf.get(CoreOptions.EDGE_CACHE_EXPIRE);
-        this.edgesCache = this.cache("edge", type, capacity,
-                                     AVG_EDGE_ENTRY_SIZE, expire);
+        int maxEdges = conf.get(CoreOptions.EDGE_CACHE_MAX_EDGES_PER_QUERY);
+        this.edgesCache = new QueryResultCache(
+                          this.cache("edge", type, capacity,
+                                     AVG_EDGE_ENTRY_SIZE, expire),
+                          maxEdges);
 
         this.listenChanges();
     }
@@ -168,11 +176,20 @@ public final class CachedGraphTransaction extends GraphTransaction {
                     }
                 } else if (type.isEdge()) {
                     /*
-                     * Invalidate edge cache via clear instead of invalidate
+                     * Invalidate edge cache by the changed edge labels
                      * because of the cacheKey is QueryId not EdgeId
                      */
-                    // this.edgesCache.invalidate(id);
-                    this.edgesCache.clear();
+                    Object arg2 = args[2];
+                    if (arg2 != null && arg2.getClass().isArray()) {
+                        this.edgesCache.invalidateLabels(labels(arg2));
+                    } else {
+                        this.edgesCache.clear();
+                        this.edgesCache.invalidateAll();
+                    }
+                } else if (type == HugeType.INDEX_LABEL) {
+                    // Invalidate index cache by the changed index labels
+                    GraphIndexTransaction.invalidateCachedIndexes(
+                                          this.params(), labels(args[2]));
                 }
                 return true;
             } else if (Cache.ACTION_CLEAR.equals(args[0])) {
@@ -189,6 +206,21 @@ public final class CachedGraphTransaction extends GraphTransaction {
         }
     }
 
+    private static List<Id> labels(Object array) {
+        E.checkArgument(array != null && array.getClass().isArray(),
+                        "Expect Id[], but got: %s", array);
+        int size = Array.getLength(array);
+        List<Id> labels = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Object id = Array.get(array, i);
+            E.checkArgument(id instanceof Id,
+                            "Expect instance of Id in array, " +
+                            "but got '%s'", id.getClass());
+            labels.add((Id) id);
+        }
+        return labels;
+    }
+
     private void unlistenChanges() {
         // Unlisten store event
         this.store().provider().unlisten(this.storeEventListener);
@@ -214,6 +246,8 @@ public final class CachedGraphTransaction extends GraphTransaction {
         }
         if (type == null || type == HugeType.EDGE) {
             this.edgesCache.clear();
+            // Let the results being queried meanwhile be stale
+            this.edgesCache.invalidateAll();
         }
 
         if (notify) {
@@ -226,7 +260,7 @@ public final class CachedGraphTransaction extends GraphTransaction {
     }
 
     private boolean enableCacheEdge() {
-        return this.edgesCache.capacity() > 0L;
+        return this.edgesCache.cache().capacity() > 0L;
     }
 
     private boolean needCacheVertex(HugeVertex vertex) {
@@ -319,24 +353,25 @@ public final class CachedGraphTransaction extends GraphTransaction {
             return super.queryEdgesFromBackend(query);
         }
 
-        Id cacheKey = new QueryId(query);
-        Object value = this.edgesCache.get(cacheKey);
-        @SuppressWarnings("unchecked")
-        Collection<HugeEdge> edges = (Collection<HugeEdge>) value;
-        if (value != null) {
+        Collection<Id> labels = edgeLabels(query);
+        List<HugeEdge> edges = this.edgesCache.get(query, labels);
+        if (edges != null) {
             for (HugeEdge edge : edges) {
                 if (edge.expired()) {
-                    this.edgesCache.invalidate(cacheKey);
-                    value = null;
+                    this.edgesCache.invalidate(query);
+                    edges = null;
+                    break;
                 }
             }
         }
 
-        if (value != null) {
-            // Not cached or the cache expired
+        if (edges != null) {
+            // Cached and the cache not expired
             return edges.iterator();
         }
 
+        // Get the version before querying, the changes meanwhile are missed
+        long version = this.edgesCache.version(labels);
         Iterator<HugeEdge> rs = super.queryEdgesFromBackend(query);
 
         /*
@@ -344,17 +379,14 @@ public final class CachedGraphTransaction extends GraphTransaction {
          * there may be super node and too many edges in a query,
          * try fetch a few of the head results and determine whether to cache.
          */
-        final int tryMax = 1 + MAX_CACHE_EDGES_PER_QUERY;
+        final int tryMax = 1 + this.edgesCache.maxResultSize();
         edges = new ArrayList<>(tryMax);
         for (int i = 0; rs.hasNext() && i < tryMax; i++) {
             edges.add(rs.next());
         }
 
-        if (edges.size() == 0) {
-            this.edgesCache.update(cacheKey, Collections.emptyList());
-        } else if (edges.size() <= MAX_CACHE_EDGES_PER_QUERY) {
-            this.edgesCache.update(cacheKey, edges);
-        }
+        // Only cache the edges less than max size
+        this.edgesCache.update(query, version, edges);
 
         return new ExtendableIterator<>(edges.iterator(), rs);
     }
@@ -368,7 +400,10 @@ public final class CachedGraphTransaction extends GraphTransaction {
         Id[] vertexIds = new Id[updates.size() + deletions.size()];
         int vertexOffset = 0;
 
-        int edgesInTxSize = this.edgesInTxSize();
+        Set<Id> edgeLabels = new HashSet<>();
+        for (HugeEdge edge : this.edgesInTxChanged()) {
+            edgeLabels.add(edge.schemaLabel().id());
+        }
 
         try {
             super.commitMutation2Backend(mutations);
@@ -398,17 +433,33 @@ public final class CachedGraphTransaction extends GraphTransaction {
                 }
             }
 
+            if (this.enableCacheEdge()) {
+                boolean verticesChanged = !updates.isEmpty() ||
+                                          !deletions.isEmpty();
+                this.invalidateEdgesCache(edgeLabels, verticesChanged);
+            }
+        }
+    }
+
+    private void invalidateEdgesCache(Set<Id> edgeLabels,
+                                      boolean verticesChanged) {
+        if (verticesChanged) {
             /*
-             * Update edge cache if any vertex or edge changed
              * For vertex change, the edges linked with should also be updated
-             * Before we find a more precise strategy, just clear all the edge cache now
+             * since the adjacent vertices of the cached edges may have been
+             * loaded, just clear all the edge cache now
              */
-            boolean invalidEdgesCache = (edgesInTxSize + updates.size() + deletions.size()) > 0;
-            if (invalidEdgesCache && this.enableCacheEdge()) {
-                // TODO: Use a more precise strategy to update the edge cache
-                this.edgesCache.clear();
-                this.notifyChanges(Cache.ACTION_CLEARED, HugeType.EDGE);
-            }
+            this.edgesCache.clear();
+            this.edgesCache.invalidateAll();
+            this.notifyChanges(Cache.ACTION_CLEARED, HugeType.EDGE);
+        } else if (!edgeLabels.isEmpty()) {
+            /*
+             * Invalidate edge cache by the labels of the changed edges, the
+             * cached results of other labels are still valid
+             */
+            this.edgesCache.invalidateLabels(edgeLabels);
+            this.notifyChanges(Cache.ACTION_INVALIDED, HugeType.EDGE,
+                               edgeLabels.toArray(new Id[0]));
         }
     }
 
@@ -421,8 +472,51 @@ public final class CachedGraphTransaction extends GraphTransaction {
             if (indexLabel.baseType() == HugeType.EDGE_LABEL) {
                 // TODO: Use a more precise strategy to update the edge cache
                 this.edgesCache.clear();
+                this.edgesCache.invalidateAll();
                 this.notifyChanges(Cache.ACTION_CLEARED, HugeType.EDGE);
             }
         }
     }
+
+    @Override
+    public void removeEdges(EdgeLabel edgeLabel) {
+        try {
+            super.removeEdges(edgeLabel);
+        } finally {
+            // The edges may be removed by label without being queried
+            if (this.enableCacheEdge()) {
+                Id[] labels = new Id[]{edgeLabel.id()};
+                this.edgesCache.invalidateLabels(Arrays.asList(labels));
+                this.notifyChanges(Cache.ACTION_INVALIDED, HugeType.EDGE,
+                                   labels);
+            }
+        }
+    }
+
+    private static Collection<Id> edgeLabels(Query query) {
+        if (query.conditionsSize() == 0) {
+            // Query edges by ids, the label is a part of the edge id
+            Set<Id> labels = new HashSet<>();
+            for (Id id : query.ids()) {
+                if (!(id instanceof EdgeId)) {
+                    return null;
+                }
+                labels.add(((EdgeId) id).edgeLabelId());
+            }
+            return labels.isEmpty() ? null : labels;
+        }
+        if (!(query instanceof ConditionQuery)) {
+            return null;
+        }
+        // The results of the query without label depend on all labels
+        Object label = ((ConditionQuery) query).condition(HugeKeys.LABEL);
+        if (label instanceof Id) {
+            return ImmutableList.of((Id) label);
+        } else if (label instanceof Collection) {
+            @SuppressWarnings("unchecked")
+            Collection<Id> labels = (Collection<Id>) label;
+            return labels;
+        }
+        return null;
+    }
 }
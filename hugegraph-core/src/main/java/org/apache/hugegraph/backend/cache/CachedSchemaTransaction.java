@@ -287,6 +287,14 @@ public final class CachedSchemaTransaction extends SchemaTransaction {
         this.notifyChanges(Cache.ACTION_INVALIDED, schema.type(), schema.id());
     }
 
+    @Override
+    protected void removeSchemaName(SchemaElement schema) {
+        super.removeSchemaName(schema);
+
+        Id prefixedName = generateId(schema.type(), schema.name());
+        this.nameCache.invalidate(prefixedName);
+    }
+
     @Override
     protected <T extends SchemaElement> List<T> getAllSchema(HugeType type) {
         Boolean cachedAll = this.cachedTypes().getOrDefault(type, false);
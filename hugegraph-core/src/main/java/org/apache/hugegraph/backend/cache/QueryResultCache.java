@@ -0,0 +1,242 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+import org.apache.hugegraph.backend.cache.CachedBackendStore.QueryId;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.iterator.WrappedIterator;
+import org.apache.hugegraph.util.E;
+
+/**
+ * The cache of query results which is invalidated by the versions of labels
+ * instead of being cleared by any change. The version of a label (like an
+ * index label or an edge label) is increased after the changes of it are
+ * committed, and a cached result is stale once the version of the labels it
+ * depends on has been increased since it was fetched.
+ * The memory of the cache is bounded by both the capacity(items) of the
+ * underlying cache and the max size of the results of each query.
+ * NOTE: the results are cached as a list with the version at the head, so
+ * that they can be serialized by the off-heap cache.
+ */
+public final class QueryResultCache {
+
+    private final Cache<Id, Object> cache;
+    private final Versions versions;
+    private final int maxResultSize;
+
+    public QueryResultCache(Cache<Id, Object> cache, int maxResultSize) {
+        E.checkNotNull(cache, "cache");
+        E.checkArgument(maxResultSize >= 0,
+                        "The max result size must be >= 0, but got %s",
+                        maxResultSize);
+        this.cache = cache;
+        this.maxResultSize = maxResultSize;
+
+        // Share the versions by all the transactions with the cache
+        Versions versions = cache.attachment();
+        if (versions == null) {
+            versions = cache.attachment(new Versions());
+        }
+        this.versions = versions;
+    }
+
+    public Cache<Id, Object> cache() {
+        return this.cache;
+    }
+
+    public int maxResultSize() {
+        return this.maxResultSize;
+    }
+
+    public long size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Get the version of the labels, which must be got before querying
+     * the results to be cached
+     * @param labels the labels the results depend on, null means all labels
+     * @return the sum of the versions of the labels
+     */
+    public long version(Collection<Id> labels) {
+        if (labels == null) {
+            return this.versions.all.get();
+        }
+        long version = this.versions.epoch.get();
+        for (Id label : labels) {
+            version += this.versions.version(label).get();
+        }
+        return version;
+    }
+
+    /**
+     * Get the cached results of a query
+     * @return the results, or null if not cached or the results are stale
+     */
+    public <V> List<V> get(Query query, Collection<Id> labels) {
+        Id key = new QueryId(query);
+        Object value = this.cache.get(key);
+        if (value == null) {
+            return null;
+        }
+        List<?> results = (List<?>) value;
+        assert !results.isEmpty();
+        if (((Number) results.get(0)).longValue() != this.version(labels)) {
+            // The labels have been changed since the results were cached
+            this.cache.invalidate(key);
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        List<V> list = (List<V>) results.subList(1, results.size());
+        return list;
+    }
+
+    /**
+     * Cache the results of a query if they are not too many
+     * @param version the version of the labels got before querying
+     */
+    public boolean update(Query query, long version, Collection<?> results) {
+        if (results.size() > this.maxResultSize) {
+            return false;
+        }
+        List<Object> value = new ArrayList<>(results.size() + 1);
+        value.add(version);
+        value.addAll(results);
+        return this.cache.update(new QueryId(query), value);
+    }
+
+    /**
+     * Wrap the results of a query, which will be cached after all of them
+     * have been iterated if they are not too many
+     * @param version the version of the labels got before querying
+     * @param sizer the size of each result, like the number of ids
+     */
+    public <V> Iterator<V> caching(Query query, long version,
+                                   Iterator<V> results, ToIntFunction<V> sizer) {
+        return new CachingIterator<>(query, version, results, sizer);
+    }
+
+    public void invalidate(Query query) {
+        this.cache.invalidate(new QueryId(query));
+    }
+
+    /**
+     * Let the cached results of the labels be stale, should be called
+     * after the changes of the labels are committed
+     */
+    public void invalidateLabels(Collection<Id> labels) {
+        if (labels.isEmpty()) {
+            return;
+        }
+        for (Id label : labels) {
+            this.versions.version(label).incrementAndGet();
+        }
+        this.versions.all.incrementAndGet();
+    }
+
+    /**
+     * Let all the cached results be stale, like the labels unknown changed
+     */
+    public void invalidateAll() {
+        this.versions.epoch.incrementAndGet();
+        this.versions.all.incrementAndGet();
+    }
+
+    public void clear() {
+        this.cache.clear();
+    }
+
+    private class CachingIterator<V> extends WrappedIterator<V> {
+
+        private final Query query;
+        private final long version;
+        private final Iterator<V> results;
+        private final ToIntFunction<V> sizer;
+        private List<V> fetched;
+        private long size;
+
+        public CachingIterator(Query query, long version,
+                               Iterator<V> results, ToIntFunction<V> sizer) {
+            this.query = query;
+            this.version = version;
+            this.results = results;
+            this.sizer = sizer;
+            this.fetched = new ArrayList<>();
+            this.size = 0L;
+        }
+
+        @Override
+        protected Iterator<?> originIterator() {
+            return this.results;
+        }
+
+        @Override
+        protected boolean fetch() {
+            assert this.current == none();
+            if (!this.results.hasNext()) {
+                if (this.fetched != null) {
+                    update(this.query, this.version, this.fetched);
+                    this.fetched = null;
+                }
+                return false;
+            }
+            this.current = this.results.next();
+            if (this.fetched != null) {
+                this.size += this.sizer.applyAsInt(this.current);
+                if (this.size <= QueryResultCache.this.maxResultSize) {
+                    this.fetched.add(this.current);
+                } else {
+                    // Too many results to be cached
+                    this.fetched = null;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class Versions {
+
+        private final Map<Id, AtomicLong> versions;
+        // Increased by any change, for the results depend on all labels
+        private final AtomicLong all;
+        // Increased by the changes of unknown labels
+        private final AtomicLong epoch;
+
+        public Versions() {
+            this.versions = new ConcurrentHashMap<>();
+            this.all = new AtomicLong();
+            this.epoch = new AtomicLong();
+        }
+
+        public AtomicLong version(Id label) {
+            return this.versions.computeIfAbsent(label, k -> new AtomicLong());
+        }
+    }
+}
@@ -27,7 +27,6 @@ import java.util.function.Function;
 import org.apache.commons.lang.NotImplementedException;
 import org.apache.hugegraph.backend.query.ConditionQuery;
 import org.apache.hugegraph.backend.query.Query;
-import org.apache.hugegraph.backend.store.BackendEntry;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 
 import org.apache.hugegraph.backend.id.Id;
@@ -137,13 +136,13 @@ public abstract class IdHolder {
     public static class BatchIdHolder extends IdHolder
                                       implements CIter<IdHolder> {
 
-        private final Iterator<BackendEntry> entries;
+        // The backend entries of index, or the ids of joint indexes
+        private final Iterator<?> entries;
         private final Function<Long, Set<Id>> fetcher;
         private long count;
         private PageIds currentBatch;
 
-        public BatchIdHolder(ConditionQuery query,
-                             Iterator<BackendEntry> entries,
+        public BatchIdHolder(Query query, Iterator<?> entries,
                              Function<Long, Set<Id>> fetcher) {
             super(query);
             this.entries = entries;
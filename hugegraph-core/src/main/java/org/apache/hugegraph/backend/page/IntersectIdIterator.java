@@ -0,0 +1,225 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.page;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.page.IdHolder.BatchIdHolder;
+import org.apache.hugegraph.iterator.WrappedIterator;
+import org.apache.hugegraph.util.Bytes;
+import org.apache.hugegraph.util.E;
+
+/**
+ * Intersect the ids of several index queries by leapfrog join, the ids of
+ * each holder must be sorted by the key which the backend stores them with.
+ * Only one batch of ids of each holder is kept in memory, and the position
+ * in a batch is advanced by galloping search.
+ */
+public class IntersectIdIterator extends WrappedIterator<Id> {
+
+    private final List<Cursor> cursors;
+
+    public IntersectIdIterator(List<BatchIdHolder> holders, long batchSize,
+                               Function<Id, byte[]> sortKey) {
+        E.checkArgument(holders != null && holders.size() > 1,
+                        "The holders of IntersectIdIterator must be " +
+                        "more than one");
+        E.checkArgument(batchSize > 0L,
+                        "Invalid batch size value: %s", batchSize);
+        E.checkArgumentNotNull(sortKey, "The sort key function of " +
+                               "IntersectIdIterator can't be null");
+        this.cursors = new ArrayList<>(holders.size());
+        for (BatchIdHolder holder : holders) {
+            this.cursors.add(new Cursor(holder, batchSize, sortKey));
+        }
+    }
+
+    @Override
+    protected Iterator<?> originIterator() {
+        return this.cursors.iterator();
+    }
+
+    @Override
+    protected boolean fetch() {
+        assert this.current == none();
+        /*
+         * Seek each cursor to the largest key seen so far in turn, until
+         * all the cursors stop at the same key
+         */
+        byte[] target = null;
+        int matched = 0;
+        for (int i = 0; matched < this.cursors.size();
+             i = (i + 1) % this.cursors.size()) {
+            Cursor cursor = this.cursors.get(i);
+            if (!cursor.seek(target)) {
+                this.close();
+                return false;
+            }
+            if (target == null || Bytes.compare(cursor.key(), target) > 0) {
+                target = cursor.key();
+                matched = 1;
+            } else {
+                matched++;
+            }
+        }
+
+        Cursor first = this.cursors.get(0);
+        this.current = first.id();
+        first.skip();
+        return true;
+    }
+
+    @Override
+    public void close() {
+        for (Cursor cursor : this.cursors) {
+            cursor.holder.close();
+        }
+    }
+
+    private static class Cursor {
+
+        private final BatchIdHolder holder;
+        private final long batchSize;
+        private final Function<Id, byte[]> sortKey;
+
+        private Id[] ids;
+        private byte[][] keys;
+        private int position;
+        private Id lastId;
+        private byte[] lastKey;
+
+        public Cursor(BatchIdHolder holder, long batchSize,
+                      Function<Id, byte[]> sortKey) {
+            this.holder = holder;
+            this.batchSize = batchSize;
+            this.sortKey = sortKey;
+            this.ids = new Id[0];
+            this.keys = new byte[0][];
+            this.position = 0;
+            this.lastId = null;
+            this.lastKey = null;
+        }
+
+        public Id id() {
+            return this.ids[this.position];
+        }
+
+        public byte[] key() {
+            return this.keys[this.position];
+        }
+
+        public void skip() {
+            this.position++;
+        }
+
+        /**
+         * Move to the first id not less than the target key, return false
+         * if there is no such id
+         */
+        public boolean seek(byte[] target) {
+            while (true) {
+                if (this.position >= this.keys.length && !this.fetchBatch()) {
+                    return false;
+                }
+                if (target == null) {
+                    return true;
+                }
+                int last = this.keys.length - 1;
+                if (Bytes.compare(this.keys[last], target) < 0) {
+                    // Skip the whole batch
+                    this.position = this.keys.length;
+                    continue;
+                }
+                this.position = this.gallop(target);
+                return true;
+            }
+        }
+
+        private int gallop(byte[] target) {
+            int low = this.position;
+            int high = this.position;
+            int step = 1;
+            // Find the range (low, high] which contains the target
+            while (Bytes.compare(this.keys[high], target) < 0) {
+                low = high;
+                high = Math.min(high + step, this.keys.length - 1);
+                step <<= 1;
+            }
+            if (low == high) {
+                return high;
+            }
+            // Binary search for the first key not less than target
+            low++;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (Bytes.compare(this.keys[mid], target) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return high;
+        }
+
+        private boolean fetchBatch() {
+            if (!this.holder.hasNext()) {
+                return false;
+            }
+            Set<Id> batch = this.holder.fetchNext(null, this.batchSize).ids();
+            if (batch.isEmpty()) {
+                return false;
+            }
+            List<Id> ids = new ArrayList<>(batch.size());
+            List<byte[]> keys = new ArrayList<>(batch.size());
+            for (Id id : batch) {
+                byte[] key = this.sortKey.apply(id);
+                if (this.lastKey != null) {
+                    int cmp = Bytes.compare(key, this.lastKey);
+                    if (cmp == 0) {
+                        // The same id with different expired time
+                        continue;
+                    }
+                    if (cmp < 0) {
+                        throw new BackendException(
+                                  "The ids of index query are not in order: " +
+                                  "'%s' is after '%s'", id, this.lastId);
+                    }
+                }
+                ids.add(id);
+                keys.add(key);
+                this.lastId = id;
+                this.lastKey = key;
+            }
+            if (ids.isEmpty()) {
+                return this.fetchBatch();
+            }
+            this.ids = ids.toArray(new Id[0]);
+            this.keys = keys.toArray(new byte[0][]);
+            this.position = 0;
+            return true;
+        }
+    }
+}
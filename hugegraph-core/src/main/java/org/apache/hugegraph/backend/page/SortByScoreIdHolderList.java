@@ -0,0 +1,214 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.page;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.page.IdHolder.FixedIdHolder;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.structure.HugeIndex.Posting;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Merge the ids matched by each word of a search query into one IdHolder,
+ * the ids are sorted by the BM25 score computed from the postings of the
+ * words, the ids without posting are scored with the term frequency 1 and
+ * the average field length.
+ */
+public class SortByScoreIdHolderList extends IdHolderList {
+
+    private static final long serialVersionUID = -2906290451284539736L;
+
+    private static final double K1 = 1.2D;
+    private static final double B = 0.75D;
+
+    private final List<IdHolder> mergedHolders;
+    private final long documents;
+
+    /**
+     * @param paging    whether the query is in paging, the ids are not
+     *                  merged and sorted if it is
+     * @param documents the number of the indexed elements, or a value <= 0
+     *                  if unknown, then the number of the matched elements
+     *                  is used instead
+     */
+    public SortByScoreIdHolderList(boolean paging, long documents) {
+        super(paging);
+        this.mergedHolders = new ArrayList<>();
+        this.documents = documents;
+    }
+
+    @Override
+    public boolean add(IdHolder holder) {
+        return this.add(holder, ImmutableMap.of());
+    }
+
+    public boolean add(IdHolder holder, Map<Id, Posting> postings) {
+        if (this.paging()) {
+            return super.add(holder);
+        }
+        this.mergedHolders.add(holder);
+
+        if (super.isEmpty()) {
+            Query parent = holder.query().originQuery();
+            super.add(new SortByScoreIdHolder(parent));
+        }
+        SortByScoreIdHolder sortHolder = (SortByScoreIdHolder) this.get(0);
+        sortHolder.merge(holder, postings);
+        return true;
+    }
+
+    public static double idf(long documents, long df) {
+        return Math.log(1.0D + (documents - df + 0.5D) / (df + 0.5D));
+    }
+
+    public static double score(double idf, int tf, double length,
+                               double avgLength) {
+        double norm = 1.0D - B + B * length / avgLength;
+        return idf * tf * (K1 + 1.0D) / (tf + K1 * norm);
+    }
+
+    private class SortByScoreIdHolder extends FixedIdHolder {
+
+        // The postings of each word, the posting may be null if unknown
+        private final List<Map<Id, Posting>> terms;
+        private final Set<Id> candidates;
+        private Set<Id> sortedIds;
+
+        public SortByScoreIdHolder(Query parent) {
+            super(new MergedQuery(parent), ImmutableSet.of());
+            this.terms = new ArrayList<>();
+            this.candidates = InsertionOrderUtil.newSet();
+            this.sortedIds = null;
+        }
+
+        public void merge(IdHolder holder, Map<Id, Posting> postings) {
+            Map<Id, Posting> term = InsertionOrderUtil.newMap();
+            for (Id id : holder.all()) {
+                term.put(id, postings.get(id));
+                this.candidates.add(id);
+                Query.checkForceCapacity(this.candidates.size());
+            }
+            this.terms.add(term);
+            this.sortedIds = null;
+        }
+
+        @Override
+        public boolean keepOrder() {
+            return true;
+        }
+
+        @Override
+        public Set<Id> all() {
+            if (this.sortedIds == null) {
+                this.sortedIds = this.rank();
+            }
+            return this.sortedIds;
+        }
+
+        private Set<Id> rank() {
+            // Estimate the average field length by the matched elements
+            Map<Id, Integer> lengths = InsertionOrderUtil.newMap();
+            for (Map<Id, Posting> term : this.terms) {
+                for (Map.Entry<Id, Posting> e : term.entrySet()) {
+                    if (e.getValue() != null) {
+                        lengths.putIfAbsent(e.getKey(),
+                                            e.getValue().fieldLength());
+                    }
+                }
+            }
+            double avgLength = lengths.values().stream()
+                                      .mapToInt(Integer::intValue)
+                                      .average().orElse(1.0D);
+            if (avgLength <= 0.0D) {
+                avgLength = 1.0D;
+            }
+            long documents = Math.max(SortByScoreIdHolderList.this.documents,
+                                      this.candidates.size());
+
+            Map<Id, Double> scores = InsertionOrderUtil.newMap();
+            for (Id id : this.candidates) {
+                scores.put(id, 0.0D);
+            }
+            for (Map<Id, Posting> term : this.terms) {
+                double idf = idf(documents, term.size());
+                for (Map.Entry<Id, Posting> e : term.entrySet()) {
+                    Posting posting = e.getValue();
+                    int tf = posting == null ? 1 : posting.termFrequency();
+                    double length = posting == null ?
+                                    avgLength : posting.fieldLength();
+                    double score = score(idf, tf, length, avgLength);
+                    scores.merge(e.getKey(), score, Double::sum);
+                }
+            }
+
+            // Sort by score in descending order, keep the order if equal
+            List<Map.Entry<Id, Double>> entries = new ArrayList<>(
+                                                  scores.entrySet());
+            entries.sort(Collections.reverseOrder(Map.Entry.comparingByValue()));
+
+            ConditionQuery origin = this.originConditionQuery();
+            Set<Id> ids = InsertionOrderUtil.newSet(entries.size());
+            for (Map.Entry<Id, Double> e : entries) {
+                ids.add(e.getKey());
+                if (origin != null) {
+                    origin.recordScore(e.getKey(), e.getValue());
+                }
+            }
+            return ids;
+        }
+
+        private ConditionQuery originConditionQuery() {
+            Query parent = this.query.originQuery();
+            if (!(parent instanceof ConditionQuery)) {
+                return null;
+            }
+            ConditionQuery origin = ((ConditionQuery) parent)
+                                    .originConditionQuery();
+            return origin != null ? origin : (ConditionQuery) parent;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s{merged:%s}",
+                                 this.getClass().getSimpleName(), this.query);
+        }
+    }
+
+    private class MergedQuery extends Query {
+
+        public MergedQuery(Query parent) {
+            super(parent.resultType(), parent);
+        }
+
+        @Override
+        public String toString() {
+            return SortByScoreIdHolderList.this.mergedHolders.toString();
+        }
+    }
+}
@@ -54,12 +54,81 @@ public class Aggregate {
         return this.func.defaultValue();
     }
 
+    public Accumulator accumulator() {
+        return new Accumulator(this.func);
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", this.func.string(),
                              this.column == null ? "*" : this.column);
     }
 
+    /**
+     * Accumulate the values of a property, the result is the same as the
+     * gremlin steps count()/min()/max()/sum()/mean() on these values, or
+     * null if there is no value (except count)
+     */
+    public static class Accumulator {
+
+        private final AggregateFunc func;
+        private Number result;
+        private long count;
+
+        public Accumulator(AggregateFunc func) {
+            this.func = func;
+            this.result = null;
+            this.count = 0L;
+        }
+
+        /**
+         * Add a value which is owned by the number of elements
+         */
+        public void add(Number value, long count) {
+            assert count > 0L;
+            switch (this.func) {
+                case COUNT:
+                    break;
+                case MIN:
+                    this.result = this.result == null ? value :
+                                  NumberHelper.min(this.result, value);
+                    break;
+                case MAX:
+                    this.result = this.result == null ? value :
+                                  NumberHelper.max(this.result, value);
+                    break;
+                case SUM:
+                case AVG:
+                    Number sum = NumberHelper.mul(value, count);
+                    this.result = this.result == null ? sum :
+                                  NumberHelper.add(this.result, sum);
+                    break;
+                default:
+                    throw new AssertionError(String.format(
+                              "Unsupported aggregate function '%s'",
+                              this.func));
+            }
+            this.count += count;
+        }
+
+        public long count() {
+            return this.count;
+        }
+
+        public Number result() {
+            if (this.func == AggregateFunc.COUNT) {
+                return this.count;
+            }
+            if (this.result == null) {
+                return null;
+            }
+            if (this.func == AggregateFunc.AVG) {
+                return NumberHelper.div(this.result, this.count, true);
+            }
+            return this.result;
+        }
+    }
+
     public enum AggregateFunc {
 
         COUNT("count", 0L, NumberHelper::add),
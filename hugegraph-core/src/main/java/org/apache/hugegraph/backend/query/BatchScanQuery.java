@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.structure.HugeElement;
+import org.apache.hugegraph.util.Bytes;
+import org.apache.hugegraph.util.E;
+
+/**
+ * A batch of id prefix or id range scans, like the scans of the adjacent
+ * edges of several owner vertices. The scans are sorted by the start ids,
+ * so that the backend store can execute them one by one in the order of
+ * the keys (like seeking an iterator forward from one scan to the next).
+ */
+public final class BatchScanQuery extends Query {
+
+    private final List<Query> scans;
+
+    public BatchScanQuery(Query originQuery, Collection<Query> scans) {
+        super(originQuery.resultType(), originQuery);
+        E.checkArgument(!scans.isEmpty(), "The scans can't be empty");
+        List<Query> sorted = new ArrayList<>(scans.size());
+        for (Query scan : scans) {
+            E.checkArgument(scan instanceof IdPrefixQuery ||
+                            scan instanceof IdRangeQuery,
+                            "Expect IdPrefixQuery or IdRangeQuery, " +
+                            "but got %s", scan.getClass().getSimpleName());
+            sorted.add(scan);
+        }
+        sorted.sort((q1, q2) -> Bytes.compare(start(q1).asBytes(),
+                                              start(q2).asBytes()));
+        this.scans = Collections.unmodifiableList(sorted);
+        this.copyBasic(originQuery);
+    }
+
+    public List<Query> scans() {
+        return this.scans;
+    }
+
+    @Override
+    public boolean empty() {
+        return false;
+    }
+
+    @Override
+    public boolean test(HugeElement element) {
+        for (Query scan : this.scans) {
+            if (scan.test(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public BatchScanQuery copy() {
+        return (BatchScanQuery) super.copy();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(super.toString());
+        assert sb.length() > 0;
+        sb.deleteCharAt(sb.length() - 1); // Remove the last "`"
+        sb.append(" batch of ").append(this.scans.size()).append(" scans");
+        sb.append("`");
+        return sb.toString();
+    }
+
+    private static Id start(Query scan) {
+        if (scan instanceof IdPrefixQuery) {
+            return ((IdPrefixQuery) scan).start();
+        }
+        assert scan instanceof IdRangeQuery;
+        return ((IdRangeQuery) scan).start();
+    }
+}
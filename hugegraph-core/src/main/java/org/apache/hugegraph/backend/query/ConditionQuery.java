@@ -79,6 +79,7 @@ public class ConditionQuery extends IdQuery {
     private OptimizedType optimizedType = OptimizedType.NONE;
     private ResultsFilter resultsFilter = null;
     private Element2IndexValueMap element2IndexValueMap = null;
+    private Map<Id, Double> scores = null;
 
     public ConditionQuery(HugeType resultType) {
         super(resultType);
@@ -174,6 +175,24 @@ public class ConditionQuery extends IdQuery {
         this.element2IndexValueMap().addIndexValue(propertyId, id, indexValue);
     }
 
+    public void recordScore(Id id, double score) {
+        if (this.scores == null) {
+            this.scores = new HashMap<>();
+        }
+        this.scores.put(id, score);
+    }
+
+    /**
+     * Get the relevance score of an element matched by search index,
+     * return null if the element is not ranked
+     */
+    public Double score(Id id) {
+        if (this.scores == null) {
+            return null;
+        }
+        return this.scores.get(id);
+    }
+
     public void selectedIndexField(Id indexField) {
         this.element2IndexValueMap().selectedIndexField(indexField);
     }
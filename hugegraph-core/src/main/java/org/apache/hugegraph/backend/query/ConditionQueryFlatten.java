@@ -41,6 +41,11 @@ import com.google.common.collect.ImmutableSet;
 
 public final class ConditionQueryFlatten {
 
+    // The keys of which IN condition is kept if the store supports IN
+    public static final Set<HugeKeys> IN_KEYS = ImmutableSet.of(
+        HugeKeys.OWNER_VERTEX, HugeKeys.ID
+    );
+
     private static final Set<HugeKeys> SPECIAL_KEYS = ImmutableSet.of(
         HugeKeys.LABEL
     );
@@ -51,6 +56,15 @@ public final class ConditionQueryFlatten {
 
     public static List<ConditionQuery> flatten(ConditionQuery query,
                                                boolean supportIn) {
+        return flatten(query, supportIn ? IN_KEYS : ImmutableSet.of());
+    }
+
+    /**
+     * Flatten the query, the IN conditions of the specified keys are kept
+     * @param inKeys the keys of which IN condition is supported by the store
+     */
+    public static List<ConditionQuery> flatten(ConditionQuery query,
+                                               Set<HugeKeys> inKeys) {
         if (query.isFlattened() && !query.mayHasDupKeys(SPECIAL_KEYS)) {
             return flattenRelations(query);
         }
@@ -60,7 +74,7 @@ public final class ConditionQueryFlatten {
         // Flatten IN/NOT_IN if needed
         List<Condition> conditions = InsertionOrderUtil.newList();
         for (Condition condition : query.conditions()) {
-            Condition cond = flattenIn(condition, supportIn);
+            Condition cond = flattenIn(condition, inKeys);
             if (cond == null) {
                 // Process 'XX in []'
                 return ImmutableList.of();
@@ -98,14 +112,15 @@ public final class ConditionQueryFlatten {
         return queries;
     }
 
-    private static Condition flattenIn(Condition condition, boolean supportIn) {
+    private static Condition flattenIn(Condition condition,
+                                       Set<HugeKeys> inKeys) {
         switch (condition.type()) {
             case RELATION:
                 Relation relation = (Relation) condition;
                 switch (relation.relation()) {
                     case IN:
                         // Flatten IN if needed
-                        return convIn2Or(relation, supportIn);
+                        return convIn2Or(relation, inKeys);
                     case NOT_IN:
                         // Flatten NOT_IN if needed
                         return convNotin2And(relation);
@@ -117,19 +132,20 @@ public final class ConditionQueryFlatten {
                 }
             case AND:
                 Condition.And and = (Condition.And) condition;
-                return new Condition.And(flattenIn(and.left(), supportIn),
-                                         flattenIn(and.right(), supportIn));
+                return new Condition.And(flattenIn(and.left(), inKeys),
+                                         flattenIn(and.right(), inKeys));
             case OR:
                 Condition.Or or = (Condition.Or) condition;
-                return new Condition.Or(flattenIn(or.left(), supportIn),
-                                        flattenIn(or.right(), supportIn));
+                return new Condition.Or(flattenIn(or.left(), inKeys),
+                                        flattenIn(or.right(), inKeys));
             default:
                 throw new AssertionError(String.format("Wrong condition type: '%s'",
                                                        condition.type()));
         }
     }
 
-    private static Condition convIn2Or(Relation relation, boolean supportIn) {
+    private static Condition convIn2Or(Relation relation,
+                                       Set<HugeKeys> inKeys) {
         assert relation.relation() == Condition.RelationType.IN;
         Object key = relation.key();
         Object valueObject = relation.value();
@@ -141,8 +157,8 @@ public final class ConditionQueryFlatten {
                         "Too many conditions(%s) each query", values.size());
 
         // Keep IN condition if IN query is supported and necessary
-        if (supportIn && relation.isSysprop() && values.size() > 1 &&
-            (key == HugeKeys.OWNER_VERTEX || key == HugeKeys.ID)) {
+        if (relation.isSysprop() && values.size() > 1 &&
+            inKeys.contains(key)) {
             // TODO: Should not rely on HugeKeys here, improve key judgment
             // Just mark flatten
             return new Condition.FlattenSyspropRelation((SyspropRelation) relation);
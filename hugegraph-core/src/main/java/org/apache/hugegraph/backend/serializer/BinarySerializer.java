@@ -19,11 +19,14 @@
 
 package org.apache.hugegraph.backend.serializer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang.NotImplementedException;
 
@@ -37,6 +40,7 @@ import org.apache.hugegraph.backend.store.BackendEntry;
 import org.apache.hugegraph.backend.store.BackendEntry.BackendColumn;
 import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.util.*;
+import org.apache.hugegraph.backend.query.BatchScanQuery;
 import org.apache.hugegraph.backend.query.Condition;
 import org.apache.hugegraph.backend.query.Condition.RangeConditions;
 import org.apache.hugegraph.backend.query.ConditionQuery;
@@ -73,6 +77,12 @@ import org.apache.hugegraph.util.StringEncoding;
 
 public class BinarySerializer extends AbstractSerializer {
 
+    // The leading byte of a search index column value with a posting
+    private static final byte POSTING_MARKER = (byte) 0xff;
+    // The counts 4 bytes + the digest of the text 8 bytes
+    private static final int POSTING_LEN = BytesBuffer.INT_LEN +
+                                           BytesBuffer.LONG_LEN;
+
     /*
      * Id is stored in column name if keyWithIdPrefix=true like RocksDB,
      * else stored in rowkey like HBase.
@@ -342,6 +352,9 @@ public class BinarySerializer extends AbstractSerializer {
     }
 
     protected byte[] formatIndexName(HugeIndex index) {
+        if (index.type().isBitmapIndex()) {
+            return this.formatBitmapIndexName(index);
+        }
         BytesBuffer buffer;
         Id elemId = index.elementId();
         if (!this.indexWithIdPrefix) {
@@ -371,8 +384,23 @@ public class BinarySerializer extends AbstractSerializer {
     protected void parseIndexName(HugeGraph graph, ConditionQuery query,
                                   BinaryBackendEntry entry,
                                   HugeIndex index, Object fieldValues) {
+        if (index.type().isBitmapIndex()) {
+            this.parseBitmapIndexName(entry, index);
+            return;
+        }
+        boolean search = index.type().isSearchIndex();
         for (BackendColumn col : entry.columns()) {
-            if (indexFieldValuesUnmatched(col.value, fieldValues)) {
+            byte[] value = col.value;
+            HugeIndex.Posting posting = null;
+            if (search && hasPosting(value)) {
+                BytesBuffer buffer = BytesBuffer.wrap(value);
+                buffer.read();
+                posting = HugeIndex.Posting.decode(buffer.readInt(),
+                                                   buffer.readLong());
+                value = buffer.remaining() > 0 ?
+                        buffer.read(buffer.remaining()) : null;
+            }
+            if (indexFieldValuesUnmatched(value, fieldValues)) {
                 // Skip if field-values is not matched (just the same hash)
                 continue;
             }
@@ -383,6 +411,55 @@ public class BinarySerializer extends AbstractSerializer {
             Id elemId = buffer.readId();
             long expiredTime = index.hasTtl() ? buffer.readVLong() : 0L;
             index.elementIds(elemId, expiredTime);
+            if (posting != null) {
+                index.posting(elemId, posting);
+            }
+        }
+    }
+
+    private static byte[] formatPosting(HugeIndex.Posting posting,
+                                        byte[] fieldValues) {
+        int length = fieldValues == null ? 0 : fieldValues.length;
+        BytesBuffer buffer = BytesBuffer.allocate(1 + POSTING_LEN + length);
+        buffer.write(POSTING_MARKER);
+        buffer.writeInt(posting.encodeCounts());
+        buffer.writeLong(posting.fieldDigest());
+        if (fieldValues != null) {
+            buffer.write(fieldValues);
+        }
+        return buffer.bytes();
+    }
+
+    private static boolean hasPosting(byte[] value) {
+        // The marker is never the leading byte of an UTF-8 field-values
+        return value != null && value.length > POSTING_LEN &&
+               value[0] == POSTING_MARKER;
+    }
+
+    private byte[] formatBitmapIndexName(HugeIndex index) {
+        // Write the chunk of element-id instead, the low bits are the value
+        Id indexId = index.id();
+        int idLen = 1 + indexId.length() + BytesBuffer.LONG_LEN;
+        BytesBuffer buffer = BytesBuffer.allocate(idLen);
+        if (this.indexWithIdPrefix) {
+            buffer.writeIndexId(indexId, index.type());
+        }
+        buffer.writeLong(BitmapChunk.chunk(index.elementId()));
+        return buffer.bytes();
+    }
+
+    private void parseBitmapIndexName(BinaryBackendEntry entry,
+                                      HugeIndex index) {
+        for (BackendColumn col : entry.columns()) {
+            BytesBuffer buffer = BytesBuffer.wrap(col.name);
+            if (this.indexWithIdPrefix) {
+                buffer.readIndexId(index.type());
+            }
+            long chunk = buffer.readLong();
+            Iterator<Id> ids = BitmapChunk.elementIds(chunk, col.value);
+            while (ids.hasNext()) {
+                index.elementIds(ids.next(), 0L);
+            }
         }
     }
 
@@ -539,11 +616,21 @@ public class BinarySerializer extends AbstractSerializer {
             Id id = index.id();
             HugeType type = index.type();
             byte[] value = null;
-            if (!type.isNumericIndex() && indexIdLengthExceedLimit(id)) {
+            if (type.isBitmapIndex()) {
+                // Save the low bits of element-id, see BitmapChunk
+                value = BitmapChunk.offset(index.elementId());
+            } else if (!type.isNumericIndex() &&
+                       indexIdLengthExceedLimit(id)) {
                 id = index.hashId();
                 // Save field-values as column value if the key is a hash string
                 value = StringEncoding.encode(index.fieldValues().toString());
             }
+            HugeIndex.Posting posting = index.posting(index.elementId());
+            if (posting != null) {
+                assert type.isSearchIndex();
+                // Save the posting used to rank the search results
+                value = formatPosting(posting, value);
+            }
 
             entry = newBackendEntry(type, id);
             if (index.indexLabel().olap()) {
@@ -607,6 +694,11 @@ public class BinarySerializer extends AbstractSerializer {
     @Override
     protected Query writeQueryEdgeCondition(Query query) {
         ConditionQuery cq = (ConditionQuery) query;
+        Object owner = cq.condition(HugeKeys.OWNER_VERTEX);
+        if (owner instanceof Collection) {
+            // Query the adjacent edges of a batch of vertices by IN condition
+            return this.writeQueryEdgeBatchCondition(cq, (Collection<?>) owner);
+        }
         if (cq.hasRangeCondition()) {
             return this.writeQueryEdgeRangeCondition(cq);
         } else {
@@ -614,6 +706,24 @@ public class BinarySerializer extends AbstractSerializer {
         }
     }
 
+    private Query writeQueryEdgeBatchCondition(ConditionQuery cq,
+                                               Collection<?> owners) {
+        // Remove duplicate vertices like the stores which support IN query
+        Set<Object> vertices = new HashSet<>(owners);
+        List<Query> scans = new ArrayList<>(vertices.size());
+        for (Object vertex : vertices) {
+            ConditionQuery query = cq.copy();
+            query.unsetCondition(HugeKeys.OWNER_VERTEX);
+            query.eq(HugeKeys.OWNER_VERTEX, vertex);
+            Query scan = this.writeQueryEdgeCondition(query);
+            E.checkState(scan != null,
+                         "Can't serialize edge query of vertex '%s': %s",
+                         vertex, cq);
+            scans.add(scan);
+        }
+        return new BatchScanQuery(cq, scans);
+    }
+
     private Query writeQueryEdgeRangeCondition(ConditionQuery cq) {
         List<Condition> sortValues = cq.syspropConditions(HugeKeys.SORT_VALUES);
         E.checkArgument(sortValues.size() >= 1 && sortValues.size() <= 2,
@@ -717,7 +827,7 @@ public class BinarySerializer extends AbstractSerializer {
             return this.writeRangeIndexQuery(cq);
         } else {
             assert type.isSearchIndex() || type.isSecondaryIndex() ||
-                   type.isUniqueIndex();
+                   type.isUniqueIndex() || type.isBitmapIndex();
             // Convert secondary-index or search-index query to id query
             return this.writeStringIndexQuery(cq);
         }
@@ -900,7 +1010,8 @@ public class BinarySerializer extends AbstractSerializer {
                                             boolean equal) {
         boolean withEnding = type.isRangeIndex() || equal;
         Id id = HugeIndex.formatIndexId(type, indexLabel, fieldValues);
-        if (!type.isNumericIndex() && indexIdLengthExceedLimit(id)) {
+        if (!type.isNumericIndex() && !type.isBitmapIndex() &&
+            indexIdLengthExceedLimit(id)) {
             id = HugeIndex.formatIndexHashId(type, indexLabel, fieldValues);
         }
         BytesBuffer buffer = BytesBuffer.allocate(1 + id.length());
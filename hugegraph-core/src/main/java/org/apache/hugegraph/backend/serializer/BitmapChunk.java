@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.serializer;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.util.Bytes;
+
+/**
+ * class BitmapChunk is a util for the posting lists of bitmap index.
+ * The element ids of an index value are split into chunks by the high bits,
+ * each chunk is stored as a column whose value is a log of the add/remove
+ * operations on the low 16 bits, and which is appended by the string-append
+ * merge operator of the store without reading the chunk back. When reading,
+ * the log is replayed into a bitmap, so that re-adding or removing an id
+ * repeatedly is idempotent. A log may start with a snapshot of the bitmap,
+ * the store folds a log grown larger than its bitmap by compact(), and
+ * deletes a chunk once its bitmap becomes empty.
+ */
+public final class BitmapChunk {
+
+    public static final int CHUNK_BITS = 16;
+    public static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    // The delimiter inserted between operands by the string-append operator
+    public static final byte DELIMITER = ',';
+    public static final String MERGE_OPERATOR = "stringappend";
+
+    private static final byte OP_ADD = 0x01;
+    private static final byte OP_REMOVE = 0x02;
+    // Operation 1 byte + length 2 bytes + bytes of the bitmap
+    private static final byte OP_BITMAP = 0x03;
+    // Operation 1 byte + offset 2 bytes
+    private static final int OPERAND_LEN = 1 + BytesBuffer.SHORT_LEN;
+    private static final int RECORD_LEN = OPERAND_LEN + 1;
+
+    private BitmapChunk() {
+        // pass
+    }
+
+    public static long chunk(Id elementId) {
+        return elementId.asLong() >>> CHUNK_BITS;
+    }
+
+    public static byte[] offset(Id elementId) {
+        int offset = (int) (elementId.asLong() & (CHUNK_SIZE - 1));
+        return new byte[]{(byte) (offset >>> 8), (byte) offset};
+    }
+
+    public static Id elementId(long chunk, int offset) {
+        assert offset >= 0 && offset < CHUNK_SIZE;
+        return IdGenerator.of((chunk << CHUNK_BITS) | offset);
+    }
+
+    public static byte[] addOperand(byte[] offset) {
+        return operand(OP_ADD, offset);
+    }
+
+    public static byte[] removeOperand(byte[] offset) {
+        return operand(OP_REMOVE, offset);
+    }
+
+    private static byte[] operand(byte op, byte[] offset) {
+        assert offset.length == BytesBuffer.SHORT_LEN;
+        return new byte[]{op, offset[0], offset[1]};
+    }
+
+    public static BitSet replay(byte[] log) {
+        if (log == null || log.length == 0) {
+            return new BitSet();
+        }
+        BitSet bitmap;
+        int i = 0;
+        if (log[0] == OP_BITMAP) {
+            // The snapshot written by compact() can only be the first record
+            int length = log.length < OPERAND_LEN ? -1 :
+                         ((log[1] & 0xff) << 8) | (log[2] & 0xff);
+            if (length < 0 || OPERAND_LEN + length > log.length) {
+                throw new BackendException("Invalid bitmap chunk snapshot " +
+                                           "with length %s: %s", log.length,
+                                           Bytes.toHex(log));
+            }
+            i = OPERAND_LEN + length;
+            bitmap = BitSet.valueOf(Arrays.copyOfRange(log, OPERAND_LEN, i));
+            // Skip the delimiter before the following operands
+            i++;
+        } else {
+            bitmap = new BitSet();
+        }
+        if (i < log.length && (log.length - i + 1) % RECORD_LEN != 0) {
+            throw new BackendException("Invalid bitmap chunk with length %s: %s",
+                                       log.length, Bytes.toHex(log));
+        }
+        for (; i < log.length; i += RECORD_LEN) {
+            int offset = ((log[i + 1] & 0xff) << 8) | (log[i + 2] & 0xff);
+            if (log[i] == OP_ADD) {
+                bitmap.set(offset);
+            } else if (log[i] == OP_REMOVE) {
+                bitmap.clear(offset);
+            } else {
+                throw new BackendException("Invalid bitmap chunk operation " +
+                                           "0x%s at %s", Bytes.toHex(
+                                           new byte[]{log[i]}), i);
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * Fold the log of a chunk into the smaller one of a snapshot and a log
+     * of add operations, return null if no element id is left in the chunk
+     */
+    public static byte[] compact(byte[] log) {
+        BitSet bitmap = replay(log);
+        int size = bitmap.cardinality();
+        if (size == 0) {
+            return null;
+        }
+        byte[] bytes = bitmap.toByteArray();
+        if (OPERAND_LEN + bytes.length < size * RECORD_LEN - 1) {
+            byte[] snapshot = new byte[OPERAND_LEN + bytes.length];
+            snapshot[0] = OP_BITMAP;
+            snapshot[1] = (byte) (bytes.length >>> 8);
+            snapshot[2] = (byte) bytes.length;
+            System.arraycopy(bytes, 0, snapshot, OPERAND_LEN, bytes.length);
+            return snapshot;
+        }
+        byte[] adds = new byte[size * RECORD_LEN - 1];
+        int i = 0;
+        for (int offset = bitmap.nextSetBit(0); offset >= 0;
+             offset = bitmap.nextSetBit(offset + 1)) {
+            if (i > 0) {
+                adds[i - 1] = DELIMITER;
+            }
+            adds[i] = OP_ADD;
+            adds[i + 1] = (byte) (offset >>> 8);
+            adds[i + 2] = (byte) offset;
+            i += RECORD_LEN;
+        }
+        return adds;
+    }
+
+    public static Iterator<Id> elementIds(long chunk, byte[] log) {
+        BitSet bitmap = replay(log);
+        return new Iterator<Id>() {
+
+            private int offset = bitmap.nextSetBit(0);
+
+            @Override
+            public boolean hasNext() {
+                return this.offset >= 0;
+            }
+
+            @Override
+            public Id next() {
+                if (this.offset < 0) {
+                    throw new NoSuchElementException();
+                }
+                Id id = BitmapChunk.elementId(chunk, this.offset);
+                this.offset = bitmap.nextSetBit(this.offset + 1);
+                return id;
+            }
+        };
+    }
+
+    public static byte[] sortKey(Id elementId) {
+        // Consistent with the order of chunk columns and offsets in a chunk
+        BytesBuffer buffer = BytesBuffer.allocate(BytesBuffer.LONG_LEN);
+        return buffer.writeLong(elementId.asLong()).bytes();
+    }
+}
@@ -34,7 +34,9 @@ import org.apache.hugegraph.backend.id.IdGenerator;
 import org.apache.hugegraph.schema.PropertyKey;
 import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.type.define.Cardinality;
+import org.apache.hugegraph.type.define.Compression;
 import org.apache.hugegraph.type.define.DataType;
+import org.apache.hugegraph.type.define.SerialEnum;
 import org.apache.hugegraph.util.*;
 import org.apache.hugegraph.backend.serializer.BinaryBackendEntry.BinaryId;
 import org.apache.hugegraph.util.Blob;
@@ -78,6 +80,9 @@ public final class BytesBuffer extends OutputStream {
     public static final int BUF_EDGE_ID = 128;
     public static final int BUF_PROPERTY = 64;
 
+    // The property values smaller than it are not worth to be compressed
+    public static final int COMPRESS_MIN_SIZE = 64;
+
     public static final byte[] BYTES_EMPTY = new byte[0];
 
     private ByteBuffer buffer;
@@ -526,6 +531,55 @@ public final class BytesBuffer extends OutputStream {
     }
 
     public BytesBuffer writeProperty(PropertyKey pkey, Object value) {
+        Compression compression = pkey.compression();
+        if (!compression.none()) {
+            return this.writeCompressedProperty(pkey, compression, value);
+        }
+        return this.writeRawProperty(pkey, value);
+    }
+
+    public Object readProperty(PropertyKey pkey) {
+        if (!pkey.compression().none()) {
+            return this.readCompressedProperty(pkey);
+        }
+        return this.readRawProperty(pkey);
+    }
+
+    /**
+     * Write the value of a property key with compression, the value is
+     * prefixed with the code of the compression actually applied, since
+     * the small or incompressible values are written uncompressed
+     */
+    private BytesBuffer writeCompressedProperty(PropertyKey pkey,
+                                                Compression compression,
+                                                Object value) {
+        BytesBuffer raw = BytesBuffer.allocate(BUF_PROPERTY);
+        raw.writeRawProperty(pkey, value);
+        byte[] bytes = raw.bytes();
+        if (bytes.length >= COMPRESS_MIN_SIZE) {
+            byte[] compressed = compression.compress(bytes);
+            if (compressed.length < bytes.length) {
+                this.write(compression.code());
+                this.writeBigBytes(compressed);
+                return this;
+            }
+        }
+        this.write(Compression.NONE.code());
+        this.write(bytes);
+        return this;
+    }
+
+    private Object readCompressedProperty(PropertyKey pkey) {
+        Compression compression = SerialEnum.fromCode(Compression.class,
+                                                      this.read());
+        if (compression.none()) {
+            return this.readRawProperty(pkey);
+        }
+        byte[] bytes = compression.decompress(this.readBigBytes());
+        return BytesBuffer.wrap(bytes).readRawProperty(pkey);
+    }
+
+    private BytesBuffer writeRawProperty(PropertyKey pkey, Object value) {
         if (pkey.cardinality() == Cardinality.SINGLE) {
             this.writeProperty(pkey.dataType(), value);
             return this;
@@ -541,7 +595,7 @@ public final class BytesBuffer extends OutputStream {
         return this;
     }
 
-    public Object readProperty(PropertyKey pkey) {
+    private Object readRawProperty(PropertyKey pkey) {
         if (pkey.cardinality() == Cardinality.SINGLE) {
             return this.readProperty(pkey.dataType());
         }
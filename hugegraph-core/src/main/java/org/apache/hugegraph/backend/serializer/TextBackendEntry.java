@@ -21,6 +21,7 @@ package org.apache.hugegraph.backend.serializer;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -191,12 +192,12 @@ public class TextBackendEntry implements BackendEntry, Cloneable {
                 this.column(col.getKey(), newValue);
                 continue;
             }
-            List<Object> values = new ArrayList<>();
             @SuppressWarnings("unchecked")
             List<Object> oldValues = JsonUtil.fromJson(oldValue, List.class);
             @SuppressWarnings("unchecked")
             List<Object> newValues = JsonUtil.fromJson(newValue, List.class);
-            values.addAll(oldValues);
+            // Replace the old value of the same element id
+            List<Object> values = removeElementIds(oldValues, newValues);
             values.addAll(newValues);
             // Update the old value
             this.column(col.getKey(), JsonUtil.toJson(values));
@@ -226,13 +227,38 @@ public class TextBackendEntry implements BackendEntry, Cloneable {
             List<Object> oldValues = JsonUtil.fromJson(oldValue, List.class);
             @SuppressWarnings("unchecked")
             List<Object> newValues = JsonUtil.fromJson(newValue, List.class);
-            List<Object> values = new ArrayList<>(oldValues);
-            values.removeAll(newValues);
+            List<Object> values = removeElementIds(oldValues, newValues);
             // Update the old value
             this.column(col.getKey(), JsonUtil.toJson(values));
         }
     }
 
+    private static List<Object> removeElementIds(List<Object> values,
+                                                 List<Object> removed) {
+        /*
+         * The element id may be written with the expired time or posting,
+         * so compare the element id only
+         */
+        Set<Object> ids = new HashSet<>();
+        for (Object value : removed) {
+            ids.add(elementId(value));
+        }
+        List<Object> results = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (!ids.contains(elementId(value))) {
+                results.add(value);
+            }
+        }
+        return results;
+    }
+
+    private static Object elementId(Object value) {
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).get(HugeKeys.ID.string());
+        }
+        return value;
+    }
+
     @Override
     public String toString() {
         return String.format("%s: %s", this.id, this.columns.toString());
@@ -22,6 +22,7 @@ package org.apache.hugegraph.backend.serializer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -68,7 +69,6 @@ import org.apache.hugegraph.type.define.IndexType;
 import org.apache.hugegraph.type.define.SchemaStatus;
 import org.apache.hugegraph.type.define.WriteType;
 import org.apache.hugegraph.util.E;
-import com.google.common.collect.ImmutableMap;
 
 public class TextSerializer extends AbstractSerializer {
 
@@ -371,7 +371,8 @@ public class TextSerializer extends AbstractSerializer {
             entry.column(formatSyspropName(HugeKeys.INDEX_LABEL_ID),
                          writeId(index.indexLabelId()));
             entry.column(formatSyspropName(HugeKeys.ELEMENT_IDS),
-                         writeElementId(index.elementId(), index.expiredTime()));
+                         writeElementId(index.elementId(), index.expiredTime(),
+                                        index.posting(index.elementId())));
             entry.subId(index.elementId());
         }
         return entry;
@@ -396,7 +397,8 @@ public class TextSerializer extends AbstractSerializer {
         IndexLabel indexLabel = IndexLabel.label(graph, readId(indexLabelId));
         HugeIndex index = new HugeIndex(graph, indexLabel);
         index.fieldValues(JsonUtil.fromJson(indexValues, Object.class));
-        for (IdWithExpiredTime elemId : readElementIds(elemIds)) {
+        for (Object value : JsonUtil.fromJson(elemIds, Object[].class)) {
+            IdWithExpiredTime elemId = readElementId(value);
             long expiredTime = elemId.expiredTime();
             Id id;
             if (indexLabel.queryType().isEdge()) {
@@ -405,6 +407,10 @@ public class TextSerializer extends AbstractSerializer {
                 id = elemId.id();
             }
             index.elementIds(id, expiredTime);
+            HugeIndex.Posting posting = readPosting(value);
+            if (posting != null) {
+                index.posting(id, posting);
+            }
         }
         // Memory backend might return empty BackendEntry
         return index;
@@ -843,45 +849,66 @@ public class TextSerializer extends AbstractSerializer {
         return ids;
     }
 
-    private static String writeElementId(Id id, long expiredTime) {
+    private static String writeElementId(Id id, long expiredTime,
+                                         HugeIndex.Posting posting) {
         Object[] array = new Object[1];
         Object idValue = id.number() ? id.asLong() : id.asString();
-        if (expiredTime <= 0L) {
+        if (expiredTime <= 0L && posting == null) {
             array[0] = id;
         } else {
-            array[0] = ImmutableMap.of(HugeKeys.ID.string(), idValue,
-                                       HugeKeys.EXPIRED_TIME.string(),
-                                       expiredTime);
+            Map<String, Object> map = new HashMap<>();
+            map.put(HugeKeys.ID.string(), idValue);
+            if (expiredTime > 0L) {
+                map.put(HugeKeys.EXPIRED_TIME.string(), expiredTime);
+            }
+            if (posting != null) {
+                map.put(HugeKeys.POSTING.string(),
+                        new Object[]{posting.encodeCounts(),
+                                     posting.fieldDigest()});
+            }
+            array[0] = map;
         }
         return JsonUtil.toJson(array);
     }
 
-    private static IdWithExpiredTime[] readElementIds(String str) {
-        Object[] values = JsonUtil.fromJson(str, Object[].class);
-        IdWithExpiredTime[] ids = new IdWithExpiredTime[values.length];
-        for (int i = 0; i < values.length; i++) {
-            Object idValue;
-            long expiredTime;
-            if (values[i] instanceof Map) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> map = (Map<String, Object>) values[i];
-                idValue = map.get(HugeKeys.ID.string());
-                expiredTime = ((Number) map.get(
-                              HugeKeys.EXPIRED_TIME.string())).longValue();
-            } else {
-                idValue = values[i];
-                expiredTime = 0L;
+    private static IdWithExpiredTime readElementId(Object value) {
+        Object idValue;
+        long expiredTime = 0L;
+        if (value instanceof Map) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> map = (Map<String, Object>) value;
+            idValue = map.get(HugeKeys.ID.string());
+            Object expired = map.get(HugeKeys.EXPIRED_TIME.string());
+            if (expired != null) {
+                expiredTime = ((Number) expired).longValue();
             }
-            Id id;
-            if (idValue instanceof Number) {
-                id = IdGenerator.of(((Number) idValue).longValue());
-            } else {
-                assert idValue instanceof String;
-                id = IdGenerator.of(idValue.toString());
-            }
-            ids[i] = new IdWithExpiredTime(id, expiredTime);
+        } else {
+            idValue = value;
         }
-        return ids;
+        Id id;
+        if (idValue instanceof Number) {
+            id = IdGenerator.of(((Number) idValue).longValue());
+        } else {
+            assert idValue instanceof String;
+            id = IdGenerator.of(idValue.toString());
+        }
+        return new IdWithExpiredTime(id, expiredTime);
+    }
+
+    private static HugeIndex.Posting readPosting(Object value) {
+        if (!(value instanceof Map)) {
+            return null;
+        }
+        Object posting = ((Map<?, ?>) value).get(HugeKeys.POSTING.string());
+        if (posting == null) {
+            return null;
+        }
+        // The posting is saved as [counts, digest]
+        List<?> values = (List<?>) posting;
+        E.checkState(values.size() == 2,
+                     "Invalid posting of search index: %s", posting);
+        return HugeIndex.Posting.decode(((Number) values.get(0)).intValue(),
+                                        ((Number) values.get(1)).longValue());
     }
 
     private static String writeLong(long value) {
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.stats;
+
+/**
+ * Count-min sketch to estimate the frequency of values, the estimated
+ * frequency is never less than the actual one, and exceeds it by at most
+ * (total / width) with the probability (1 - 0.5 ^ depth).
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final long[][] counters;
+
+    public CountMinSketch(int depth, int width) {
+        assert depth > 0 && width > 0;
+        this.depth = depth;
+        this.width = width;
+        this.counters = new long[depth][width];
+    }
+
+    public void add(String value) {
+        this.addHash(HyperLogLog.hash(value));
+    }
+
+    public void addHash(long hash) {
+        for (int i = 0; i < this.depth; i++) {
+            this.counters[i][this.index(hash, i)]++;
+        }
+    }
+
+    public long estimate(String value) {
+        return this.estimateHash(HyperLogLog.hash(value));
+    }
+
+    public long estimateHash(long hash) {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < this.depth; i++) {
+            min = Math.min(min, this.counters[i][this.index(hash, i)]);
+        }
+        return min;
+    }
+
+    private int index(long hash, int row) {
+        // Derive the hash of each row from the two halves of the hash
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> Integer.SIZE);
+        int combined = h1 + row * h2;
+        return (combined & Integer.MAX_VALUE) % this.width;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.stats;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Equi-depth histogram of numeric values, the bucket boundaries are the
+ * sorted values of a uniform sample (reservoir sampling), so that each
+ * bucket contains about the same number of values.
+ */
+public class Histogram {
+
+    private final double[] bounds;
+
+    private Histogram(double[] bounds) {
+        this.bounds = bounds;
+    }
+
+    public int buckets() {
+        return this.bounds.length;
+    }
+
+    public double min() {
+        return this.bounds.length == 0 ? Double.NaN : this.bounds[0];
+    }
+
+    public double max() {
+        int size = this.bounds.length;
+        return size == 0 ? Double.NaN : this.bounds[size - 1];
+    }
+
+    /**
+     * Estimate the fraction of values in the range, null means unbounded
+     */
+    public double fraction(Double low, boolean lowInclusive,
+                           Double high, boolean highInclusive) {
+        if (this.bounds.length == 0) {
+            return 0.0D;
+        }
+        int from = low == null ? 0 : this.rank(low, !lowInclusive);
+        int to = high == null ? this.bounds.length :
+                 this.rank(high, highInclusive);
+        if (to <= from) {
+            return 0.0D;
+        }
+        return (double) (to - from) / this.bounds.length;
+    }
+
+    /**
+     * The number of bounds less than (or equal to if inclusive) the value
+     */
+    private int rank(double value, boolean inclusive) {
+        int low = 0;
+        int high = this.bounds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            double bound = this.bounds[mid];
+            if (bound < value || (inclusive && bound == value)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public static class Builder {
+
+        private final double[] samples;
+        private final Random random;
+        private long count;
+
+        public Builder(int buckets) {
+            assert buckets > 0;
+            this.samples = new double[buckets];
+            // Fixed seed to make the statistics reproducible
+            this.random = new Random(buckets);
+            this.count = 0L;
+        }
+
+        public void add(double value) {
+            if (this.count < this.samples.length) {
+                this.samples[(int) this.count] = value;
+            } else {
+                long index = (long) (this.random.nextDouble() *
+                                     (this.count + 1));
+                if (index < this.samples.length) {
+                    this.samples[(int) index] = value;
+                }
+            }
+            this.count++;
+        }
+
+        public Histogram build() {
+            int size = (int) Math.min(this.count, this.samples.length);
+            double[] bounds = Arrays.copyOf(this.samples, size);
+            Arrays.sort(bounds);
+            return new Histogram(bounds);
+        }
+    }
+}
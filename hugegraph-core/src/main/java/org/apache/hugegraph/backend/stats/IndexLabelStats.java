@@ -0,0 +1,257 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.stats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.Condition;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.schema.IndexLabel;
+import org.apache.hugegraph.structure.HugeElement;
+import org.apache.hugegraph.structure.HugeProperty;
+import org.apache.hugegraph.type.define.HugeKeys;
+import org.apache.hugegraph.type.define.IndexType;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.hugegraph.util.NumericUtil;
+
+/**
+ * The statistics of an index label collected from the indexed elements:
+ *  - the number of indexed elements and the number of distinct values,
+ *    estimated by HyperLogLog
+ *  - the frequency of each index value (including the prefix values of
+ *    a composite secondary index), estimated by count-min sketch
+ *  - the histogram of the values of a range index
+ *
+ * The statistics are used to estimate the number of element ids matched by
+ * an index query without touching the store.
+ */
+public class IndexLabelStats {
+
+    public static final long UNKNOWN = -1L;
+
+    private static final int HLL_PRECISION = 12;
+    private static final int CMS_DEPTH = 4;
+    private static final int CMS_WIDTH = 2048;
+    private static final int HISTOGRAM_BUCKETS = 1024;
+
+    private final Id indexLabel;
+    private final IndexType indexType;
+    private final long elements;
+    private final long distinctValues;
+    private final CountMinSketch frequencies;
+    private final Histogram histogram;
+    private final long collectTime;
+
+    private IndexLabelStats(Collector collector) {
+        this.indexLabel = collector.indexLabel.id();
+        this.indexType = collector.indexLabel.indexType();
+        this.elements = collector.elements;
+        this.distinctValues = Math.min(collector.distinctValues.cardinality(),
+                                       collector.elements);
+        this.frequencies = collector.frequencies;
+        this.histogram = collector.histogram == null ? null :
+                         collector.histogram.build();
+        this.collectTime = System.currentTimeMillis();
+    }
+
+    public Id indexLabel() {
+        return this.indexLabel;
+    }
+
+    public long elements() {
+        return this.elements;
+    }
+
+    public long distinctValues() {
+        return this.distinctValues;
+    }
+
+    public long collectTime() {
+        return this.collectTime;
+    }
+
+    /**
+     * Estimate the number of element ids matched by the index query which
+     * is constructed for this index label, return UNKNOWN if can't estimate
+     */
+    public long estimate(ConditionQuery query) {
+        switch (this.indexType) {
+            case SECONDARY:
+            case BITMAP:
+                Object value = query.condition(HugeKeys.FIELD_VALUES);
+                if (!(value instanceof String)) {
+                    return UNKNOWN;
+                }
+                return this.frequencies.estimate((String) value);
+            case RANGE_INT:
+            case RANGE_FLOAT:
+            case RANGE_LONG:
+            case RANGE_DOUBLE:
+                return this.estimateRange(query);
+            default:
+                return UNKNOWN;
+        }
+    }
+
+    private long estimateRange(ConditionQuery query) {
+        Double low = null;
+        Double high = null;
+        boolean lowInclusive = false;
+        boolean highInclusive = false;
+        for (Condition.Relation r : query.relations()) {
+            if (r.key() != HugeKeys.FIELD_VALUES) {
+                continue;
+            }
+            if (!(r.value() instanceof Number)) {
+                return UNKNOWN;
+            }
+            Number number = (Number) r.value();
+            double value = number.doubleValue();
+            switch (r.relation()) {
+                case EQ:
+                    return this.frequencies.estimate(numberKey(number));
+                case GT:
+                case GTE:
+                    if (low == null || value > low) {
+                        low = value;
+                        lowInclusive = r.relation() == Condition.RelationType.GTE;
+                    }
+                    break;
+                case LT:
+                case LTE:
+                    if (high == null || value < high) {
+                        high = value;
+                        highInclusive = r.relation() == Condition.RelationType.LTE;
+                    }
+                    break;
+                default:
+                    return UNKNOWN;
+            }
+        }
+        if (this.histogram == null) {
+            return UNKNOWN;
+        }
+        double fraction = this.histogram.fraction(low, lowInclusive,
+                                                  high, highInclusive);
+        return Math.round(fraction * this.elements);
+    }
+
+    public Map<String, Object> asMap() {
+        Map<String, Object> map = InsertionOrderUtil.newMap();
+        map.put("index_label", this.indexLabel.asObject());
+        map.put("index_type", this.indexType.string());
+        map.put("elements", this.elements);
+        map.put("distinct_values", this.distinctValues);
+        if (this.histogram != null && this.histogram.buckets() > 0) {
+            map.put("min_value", this.histogram.min());
+            map.put("max_value", this.histogram.max());
+        }
+        map.put("collect_time", this.collectTime);
+        return map;
+    }
+
+    private static String numberKey(Number number) {
+        return Double.toString(number.doubleValue());
+    }
+
+    /**
+     * Collect the statistics of an index label by the indexed elements,
+     * the index values are computed in the same way as the index is built
+     */
+    public static class Collector {
+
+        private final IndexLabel indexLabel;
+        private final HyperLogLog distinctValues;
+        private final CountMinSketch frequencies;
+        private final Histogram.Builder histogram;
+        private long elements;
+
+        public Collector(IndexLabel indexLabel) {
+            this.indexLabel = indexLabel;
+            this.distinctValues = new HyperLogLog(HLL_PRECISION);
+            this.frequencies = new CountMinSketch(CMS_DEPTH, CMS_WIDTH);
+            this.histogram = indexLabel.indexType().isRange() ?
+                             new Histogram.Builder(HISTOGRAM_BUCKETS) : null;
+            this.elements = 0L;
+        }
+
+        public void add(HugeElement element) {
+            List<Object> values = new ArrayList<>();
+            for (Id field : this.indexLabel.indexFields()) {
+                HugeProperty<Object> property = element.getProperty(field);
+                if (property == null) {
+                    // Not indexed from the first null field
+                    break;
+                }
+                values.add(property.value());
+            }
+            if (values.isEmpty()) {
+                return;
+            }
+            this.elements++;
+
+            switch (this.indexLabel.indexType()) {
+                case RANGE_INT:
+                case RANGE_FLOAT:
+                case RANGE_LONG:
+                case RANGE_DOUBLE:
+                    Number number = NumericUtil.convertToNumber(values.get(0));
+                    String key = numberKey(number);
+                    this.distinctValues.add(key);
+                    this.frequencies.add(key);
+                    this.histogram.add(number.doubleValue());
+                    break;
+                case SECONDARY:
+                case BITMAP:
+                    if (values.size() == 1 &&
+                        values.get(0) instanceof Collection) {
+                        // Each item of a collection value is indexed
+                        for (Object item : (Collection<?>) values.get(0)) {
+                            key = ConditionQuery.concatValues(item);
+                            this.distinctValues.add(key);
+                            this.frequencies.add(key);
+                        }
+                        break;
+                    }
+                    // Each prefix of the values is indexed
+                    for (int i = 0, n = values.size(); i < n; i++) {
+                        key = ConditionQuery.concatValues(
+                                             values.subList(0, i + 1));
+                        this.frequencies.add(key);
+                        if (i == n - 1) {
+                            this.distinctValues.add(key);
+                        }
+                    }
+                    break;
+                default:
+                    this.distinctValues.add(ConditionQuery.concatValues(values));
+                    break;
+            }
+        }
+
+        public IndexLabelStats build() {
+            return new IndexLabelStats(this);
+        }
+    }
+}
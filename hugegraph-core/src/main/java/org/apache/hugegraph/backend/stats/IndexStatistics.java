@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.stats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.schema.IndexLabel;
+
+/**
+ * The statistics of the index labels of a graph, which are refreshed by
+ * the collect-statistics job and used by the index query planner.
+ *
+ * NOTE: the statistics are kept in memory of each server, they are just
+ * hints for choosing the indexes and are never used to filter the results.
+ */
+public class IndexStatistics {
+
+    private final Map<Id, IndexLabelStats> statistics;
+
+    public IndexStatistics() {
+        this.statistics = new ConcurrentHashMap<>();
+    }
+
+    public IndexLabelStats get(Id indexLabel) {
+        return this.statistics.get(indexLabel);
+    }
+
+    public void put(IndexLabelStats stats) {
+        this.statistics.put(stats.indexLabel(), stats);
+    }
+
+    public void remove(Id indexLabel) {
+        this.statistics.remove(indexLabel);
+    }
+
+    public void clear() {
+        this.statistics.clear();
+    }
+
+    /**
+     * Estimate the number of element ids matched by the index query of the
+     * index label, return UNKNOWN if there are no statistics of it
+     */
+    public long estimate(IndexLabel indexLabel, ConditionQuery query) {
+        IndexLabelStats stats = this.statistics.get(indexLabel.id());
+        if (stats == null) {
+            return IndexLabelStats.UNKNOWN;
+        }
+        return stats.estimate(query);
+    }
+}
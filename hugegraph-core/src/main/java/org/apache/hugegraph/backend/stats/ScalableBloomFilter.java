@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.stats;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.Funnels;
+
+/**
+ * Scalable bloom filter to check whether a value may have been added, it
+ * adds a filter of double capacity and half false positive probability when
+ * the current one is full, so the total false positive probability is kept
+ * under the expected one however many values are added.
+ *
+ * NOTE: it never returns false for an added value, and it's thread safe.
+ */
+public class ScalableBloomFilter {
+
+    private static final Funnel<CharSequence> FUNNEL =
+                         Funnels.stringFunnel(StandardCharsets.UTF_8);
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5D;
+
+    private final List<BloomFilter<CharSequence>> filters;
+    private long capacity;
+    private double fpp;
+
+    private BloomFilter<CharSequence> current;
+    private long currentSize;
+    private volatile long size;
+
+    public ScalableBloomFilter(long expectedInsertions, double fpp) {
+        assert expectedInsertions > 0L : expectedInsertions;
+        assert fpp > 0.0D && fpp < 1.0D : fpp;
+        this.filters = new CopyOnWriteArrayList<>();
+        this.capacity = expectedInsertions;
+        // The sum of fpp * (1 + TIGHTENING + TIGHTENING ^ 2 + ...)
+        this.fpp = fpp * (1.0D - TIGHTENING);
+        this.current = this.newFilter();
+        this.currentSize = 0L;
+        this.size = 0L;
+    }
+
+    public synchronized void add(String value) {
+        if (this.mightContain(value)) {
+            return;
+        }
+        if (this.currentSize >= this.capacity) {
+            this.capacity *= GROWTH;
+            this.fpp *= TIGHTENING;
+            this.current = this.newFilter();
+            this.currentSize = 0L;
+        }
+        this.current.put(value);
+        this.currentSize++;
+        this.size++;
+    }
+
+    public boolean mightContain(String value) {
+        for (BloomFilter<CharSequence> filter : this.filters) {
+            if (filter.mightContain(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of added values, the ones which were regarded as
+     * added already (may be false positive) are not counted
+     */
+    public long size() {
+        return this.size;
+    }
+
+    public int filters() {
+        return this.filters.size();
+    }
+
+    private BloomFilter<CharSequence> newFilter() {
+        BloomFilter<CharSequence> filter = BloomFilter.create(FUNNEL,
+                                                              this.capacity,
+                                                              this.fpp);
+        this.filters.add(filter);
+        return filter;
+    }
+}
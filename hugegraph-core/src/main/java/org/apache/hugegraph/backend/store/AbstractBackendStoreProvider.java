@@ -19,6 +19,8 @@
 
 package org.apache.hugegraph.backend.store;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
@@ -32,15 +34,19 @@ import org.apache.hugegraph.config.CoreOptions;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.event.EventHub;
 import org.apache.hugegraph.event.EventListener;
+import org.apache.hugegraph.util.DateUtil;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.Events;
 import org.apache.hugegraph.util.Log;
+import com.google.common.collect.ImmutableList;
 
 public abstract class AbstractBackendStoreProvider
                 implements BackendStoreProvider {
 
     private static final Logger LOG = Log.logger(AbstractBackendStoreProvider.class);
 
+    private static final String BACKUP_PREFIX = "backup";
+
     private String graph = null;
 
     private final EventHub storeEventHub = new EventHub("store");
@@ -177,6 +183,42 @@ public abstract class AbstractBackendStoreProvider
         }
     }
 
+    @Override
+    public String createBackup() {
+        // The backup id is shared by all stores to restore them together
+        String backupId = String.valueOf(DateUtil.now().getTime());
+        for (BackendStore store : this.stores.values()) {
+            store.createBackup(BACKUP_PREFIX, backupId);
+        }
+        return backupId;
+    }
+
+    @Override
+    public List<String> listBackups() {
+        // Only the backups which exist in all stores can be restored
+        List<String> backupIds = null;
+        for (BackendStore store : this.stores.values()) {
+            List<String> ids = store.listBackups(BACKUP_PREFIX);
+            if (backupIds == null) {
+                backupIds = new ArrayList<>(ids);
+            } else {
+                backupIds.retainAll(ids);
+            }
+        }
+        return backupIds == null ? ImmutableList.of() : backupIds;
+    }
+
+    @Override
+    public void restoreBackup(String backupId) {
+        E.checkArgument(this.listBackups().contains(backupId),
+                        "The backup '%s' doesn't exist", backupId);
+        for (BackendStore store : this.stores.values()) {
+            store.restoreBackup(BACKUP_PREFIX, backupId);
+        }
+        // The data is replaced, let the caches be cleared like truncating
+        this.notifyAndWaitEvent(Events.STORE_TRUNCATE);
+    }
+
     @Override
     public BackendStore loadSchemaStore(HugeConfig config) {
         String name = SCHEMA_STORE;
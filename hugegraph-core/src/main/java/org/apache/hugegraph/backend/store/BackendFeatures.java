@@ -47,6 +47,16 @@ public interface BackendFeatures {
 
     boolean supportsQueryWithRangeCondition();
 
+    /**
+     * Whether the adjacent edges of a batch of vertices can be queried by
+     * one query with an IN condition of the owner vertices, it's supported
+     * by the stores which support IN condition and the stores which can
+     * scan the edges of each vertex in the order of the keys
+     */
+    default boolean supportsQueryEdgesByBatch() {
+        return this.supportsQueryWithInCondition();
+    }
+
     boolean supportsQueryWithContains();
 
     boolean supportsQueryWithContainsKey();
@@ -57,6 +67,14 @@ public interface BackendFeatures {
 
     boolean supportsQuerySortByInputIds();
 
+    default boolean supportsQueryIndexSortedById() {
+        return false;
+    }
+
+    default boolean supportsBitmapIndex() {
+        return false;
+    }
+
     boolean supportsDeleteEdgeByLabel();
 
     boolean supportsUpdateVertexProperty();
@@ -45,5 +45,8 @@ public interface BackendMetrics {
 
     String EXCEPTION = "exception";
 
+    // Existence filter related metrics, appended by the graph
+    String EXISTENCE_FILTER = "existence_filter";
+
     Map<String, Object> metrics();
 }
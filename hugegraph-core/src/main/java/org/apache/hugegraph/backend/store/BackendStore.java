@@ -20,6 +20,7 @@
 package org.apache.hugegraph.backend.store;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.hugegraph.backend.id.Id;
@@ -176,6 +177,19 @@ public interface BackendStore {
         throw new UnsupportedOperationException("resumeSnapshot");
     }
 
+    default Map<String, Object> createBackup(String backupPrefix,
+                                             String backupId) {
+        throw new UnsupportedOperationException("createBackup");
+    }
+
+    default List<String> listBackups(String backupPrefix) {
+        throw new UnsupportedOperationException("listBackups");
+    }
+
+    default void restoreBackup(String backupPrefix, String backupId) {
+        throw new UnsupportedOperationException("restoreBackup");
+    }
+
     enum TxState {
         BEGIN, COMMITTING, COMMITT_FAIL, ROLLBACKING, ROLLBACK_FAIL, CLEAN
     }
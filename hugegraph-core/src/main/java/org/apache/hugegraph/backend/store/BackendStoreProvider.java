@@ -19,6 +19,8 @@
 
 package org.apache.hugegraph.backend.store;
 
+import java.util.List;
+
 import com.alipay.remoting.rpc.RpcServer;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.event.EventHub;
@@ -66,6 +68,12 @@ public interface BackendStoreProvider {
 
     void resumeSnapshot();
 
+    String createBackup();
+
+    List<String> listBackups();
+
+    void restoreBackup(String backupId);
+
     void listen(EventListener listener);
 
     void unlisten(EventListener listener);
@@ -320,6 +320,8 @@ public abstract class InMemoryDBStore
                                  new InMemoryDBTables.Edge(HugeType.EDGE_IN));
             registerTableManager(HugeType.SECONDARY_INDEX,
                                  new InMemoryDBTables.SecondaryIndex());
+            registerTableManager(HugeType.BITMAP_INDEX,
+                                 new InMemoryDBTables.BitmapIndex());
             registerTableManager(HugeType.RANGE_INT_INDEX,
                                  InMemoryDBTables.RangeIndex.rangeInt());
             registerTableManager(HugeType.RANGE_FLOAT_INDEX,
@@ -452,6 +454,11 @@ public abstract class InMemoryDBStore
             return true;
         }
 
+        @Override
+        public boolean supportsBitmapIndex() {
+            return true;
+        }
+
         @Override
         public boolean supportsDeleteEdgeByLabel() {
             return false;
@@ -98,14 +98,16 @@ public class InMemoryDBTable extends BackendTable<BackendSession,
 
     @Override
     public void insert(BackendSession session, TextBackendEntry entry) {
-        if (!this.store.containsKey(entry.id())) {
-            this.store.put(entry.id(), entry);
-        } else {
+        // Update atomically since the entry may be written concurrently
+        this.store.compute(entry.id(), (id, origin) -> {
+            if (origin == null) {
+                return entry;
+            }
             // Merge columns if the entry exists
-            BackendEntry origin = this.store.get(entry.id());
             // TODO: Compatible with BackendEntry
             origin.merge(entry);
-        }
+            return origin;
+        });
     }
 
     @Override
@@ -116,22 +118,23 @@ public class InMemoryDBTable extends BackendTable<BackendSession,
 
     @Override
     public void append(BackendSession session, TextBackendEntry entry) {
-        BackendEntry parent = this.store.get(entry.id());
-        if (parent == null) {
-            this.store.put(entry.id(), entry);
-        } else {
+        this.store.compute(entry.id(), (id, parent) -> {
+            if (parent == null) {
+                return entry;
+            }
             // TODO: Compatible with BackendEntry
             ((TextBackendEntry) parent).append(entry);
-        }
+            return parent;
+        });
     }
 
     @Override
     public void eliminate(BackendSession session, TextBackendEntry entry) {
-        BackendEntry parent = this.store.get(entry.id());
-        // TODO: Compatible with BackendEntry
-        if (parent != null) {
+        this.store.computeIfPresent(entry.id(), (id, parent) -> {
+            // TODO: Compatible with BackendEntry
             ((TextBackendEntry) parent).eliminate(entry);
-        }
+            return parent;
+        });
     }
 
     @Override
@@ -406,11 +406,18 @@ public class InMemoryDBTables {
             String indexLabel = entry.column(HugeKeys.INDEX_LABEL_ID);
             E.checkState(indexLabel != null, "Expect index label");
 
+            /*
+             * The prefix ends with the splitor, so that the index of another
+             * index label whose stored id shares the prefix is kept
+             */
+            Id indexLabelId = IdGenerator.of(Long.parseLong(indexLabel));
+            String prefix = HugeIndex.formatIndexId(entry.type(), indexLabelId,
+                                                    null).asString();
             Iterator<Entry<Id, BackendEntry>> iter;
             for (iter = this.store().entrySet().iterator(); iter.hasNext();) {
                 Entry<Id, BackendEntry> e = iter.next();
                 // Delete if prefix with index label
-                if (e.getKey().asString().startsWith(indexLabel)) {
+                if (e.getKey().asString().startsWith(prefix)) {
                     iter.remove();
                 }
             }
@@ -431,6 +438,17 @@ public class InMemoryDBTables {
         }
     }
 
+    public static class BitmapIndex extends SecondaryIndex {
+
+        /*
+         * The ids are kept in the same layout as secondary index, the
+         * memory backend only emulates bitmap index for tests
+         */
+        public BitmapIndex() {
+            super(HugeType.BITMAP_INDEX);
+        }
+    }
+
     public static class RangeIndex extends InMemoryDBTable {
 
         protected RangeIndex(HugeType type) {
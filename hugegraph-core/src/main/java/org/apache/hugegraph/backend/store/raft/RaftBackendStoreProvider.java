@@ -19,6 +19,7 @@
 
 package org.apache.hugegraph.backend.store.raft;
 
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Future;
 
@@ -252,6 +253,23 @@ public class RaftBackendStoreProvider implements BackendStoreProvider {
         throw new UnsupportedOperationException("resumeSnapshot");
     }
 
+    @Override
+    public String createBackup() {
+        // Backup the local stores of current node
+        return this.provider.createBackup();
+    }
+
+    @Override
+    public List<String> listBackups() {
+        return this.provider.listBackups();
+    }
+
+    @Override
+    public void restoreBackup(String backupId) {
+        // Restoring a single node would make it diverge from the raft log
+        throw new UnsupportedOperationException("restoreBackup");
+    }
+
     @Override
     public void listen(EventListener listener) {
         this.provider.listen(listener);
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.tx;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.HugeGraphParams;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.backend.stats.ScalableBloomFilter;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.job.EphemeralJobBuilder;
+import org.apache.hugegraph.job.system.BuildExistenceFilterJob;
+import org.apache.hugegraph.schema.EdgeLabel;
+import org.apache.hugegraph.schema.IndexLabel;
+import org.apache.hugegraph.schema.VertexLabel;
+import org.apache.hugegraph.structure.HugeElement;
+import org.apache.hugegraph.structure.HugeProperty;
+import org.apache.hugegraph.structure.HugeVertex;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.hugegraph.util.Log;
+
+/**
+ * The bloom filters of the vertex ids and the unique index values of a graph,
+ * which skip the existence checks of the new customized vertex ids and unique
+ * values, since almost all of them are new while loading data in bulk, and
+ * each check costs a query of the backend. The ids of the vertices of all
+ * labels are kept, since a customized id may be the same as an id generated
+ * for a vertex of another label.
+ *
+ * A filter is built in background by scanning the backend when it's used for
+ * the first time, and the checks query the backend until it's built. The
+ * values are added to the filters after they are committed, so a filter never
+ * misses the values which are committed while it's being built.
+ *
+ * NOTE: the filters are kept in memory of each server, and the removed values
+ * are never removed from the filters, which just cause false positives.
+ */
+public class ExistenceFilters {
+
+    private static final Logger LOG = Log.logger(ExistenceFilters.class);
+
+    private static final String VERTEX = "vertex";
+    private static final String UNIQUE_INDEX = "unique_index_";
+
+    private final HugeGraphParams graph;
+    private final boolean enabled;
+    private final long capacity;
+    private final double fpp;
+
+    private final Map<String, Filter> filters;
+
+    public ExistenceFilters(HugeGraphParams graph) {
+        HugeConfig config = graph.configuration();
+        this.graph = graph;
+        this.enabled = config.get(CoreOptions.EXISTENCE_FILTER_ENABLE);
+        this.capacity = config.get(CoreOptions.EXISTENCE_FILTER_CAPACITY);
+        this.fpp = config.get(CoreOptions.EXISTENCE_FILTER_FPP);
+        this.filters = new ConcurrentHashMap<>();
+    }
+
+    public boolean enabled() {
+        return this.enabled;
+    }
+
+    public boolean mightContainVertex(Id vertex) {
+        return this.mightContain(VERTEX, null, vertex.asString());
+    }
+
+    public void addVertex(Id vertex) {
+        this.add(VERTEX, vertex.asString());
+    }
+
+    public void vertexFalsePositives(int count) {
+        this.falsePositives(VERTEX, count);
+    }
+
+    public boolean mightContainUniqueValue(Id indexLabel, String value) {
+        return this.mightContain(UNIQUE_INDEX + indexLabel, indexLabel, value);
+    }
+
+    public void addUniqueValue(Id indexLabel, String value) {
+        this.add(UNIQUE_INDEX + indexLabel, value);
+    }
+
+    public void uniqueValueFalsePositive(Id indexLabel) {
+        this.falsePositives(UNIQUE_INDEX + indexLabel, 1);
+    }
+
+    public void remove(Id indexLabel) {
+        this.filters.remove(UNIQUE_INDEX + indexLabel);
+    }
+
+    public void clear() {
+        this.filters.clear();
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = InsertionOrderUtil.newMap();
+        for (Map.Entry<String, Filter> e : this.filters.entrySet()) {
+            metrics.put(e.getKey(), e.getValue().metrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * Build the filter by scanning the backend, which is called by the
+     * build job scheduled when the filter is used for the first time
+     * @param key   the key of the filter
+     * @return      the number of values scanned
+     */
+    public long build(String key) {
+        Filter filter = this.filters.get(key);
+        if (filter == null || filter.ready) {
+            // The filter has been cleared or built
+            return 0L;
+        }
+        try {
+            long count = filter.indexLabel == null ?
+                         this.scanVertices(filter) :
+                         this.scanUniqueValues(filter);
+            filter.ready = true;
+            return count;
+        } catch (Throwable e) {
+            // Build it again when it's used next time
+            this.filters.remove(key, filter);
+            throw e;
+        }
+    }
+
+    private boolean mightContain(String key, Id indexLabel, String value) {
+        Filter filter = this.filters.get(key);
+        if (filter == null) {
+            Filter newFilter = new Filter(indexLabel);
+            filter = this.filters.putIfAbsent(key, newFilter);
+            if (filter == null) {
+                filter = newFilter;
+                this.scheduleBuild(key, filter);
+            }
+        }
+        return filter.mightContain(value);
+    }
+
+    private void add(String key, String value) {
+        // The values committed before the filter exists will be scanned
+        Filter filter = this.filters.get(key);
+        if (filter != null) {
+            filter.values.add(value);
+        }
+    }
+
+    private void falsePositives(String key, int count) {
+        Filter filter = this.filters.get(key);
+        if (filter != null && filter.ready) {
+            filter.falsePositives.add(count);
+        }
+    }
+
+    private void scheduleBuild(String key, Filter filter) {
+        try {
+            EphemeralJobBuilder.<Long>of(this.graph.graph())
+                               .name("build_existence_filter")
+                               .job(new BuildExistenceFilterJob(this, key))
+                               .schedule();
+        } catch (Throwable e) {
+            this.filters.remove(key, filter);
+            LOG.warn("Failed to schedule building existence filter '{}'",
+                     key, e);
+        }
+    }
+
+    private long scanVertices(Filter filter) {
+        GraphTransaction tx = this.graph.graphTransaction();
+        long[] count = new long[]{0L};
+        for (VertexLabel label : this.graph.schemaTransaction()
+                                           .getVertexLabels()) {
+            if (label.hidden()) {
+                continue;
+            }
+            // Include the expired ones which are not deleted yet
+            tx.traverseVerticesByLabel(label, vertex -> {
+                filter.values.add(((HugeVertex) vertex).id().asString());
+                count[0]++;
+            }, true);
+        }
+        return count[0];
+    }
+
+    private long scanUniqueValues(Filter filter) {
+        SchemaTransaction schema = this.graph.schemaTransaction();
+        IndexLabel indexLabel = schema.getIndexLabel(filter.indexLabel);
+        if (indexLabel == null) {
+            // The index label has been removed
+            return 0L;
+        }
+        GraphTransaction tx = this.graph.graphTransaction();
+        long[] count = new long[]{0L};
+        if (indexLabel.baseType() == HugeType.VERTEX_LABEL) {
+            VertexLabel label = schema.getVertexLabel(indexLabel.baseValue());
+            tx.traverseVerticesByLabel(label, vertex -> {
+                filter.values.add(uniqueValue(indexLabel,
+                                              (HugeElement) vertex));
+                count[0]++;
+            }, true);
+        } else {
+            assert indexLabel.baseType() == HugeType.EDGE_LABEL;
+            EdgeLabel label = schema.getEdgeLabel(indexLabel.baseValue());
+            tx.traverseEdgesByLabel(label, edge -> {
+                filter.values.add(uniqueValue(indexLabel,
+                                              (HugeElement) edge));
+                count[0]++;
+            }, true);
+        }
+        return count[0];
+    }
+
+    /**
+     * Get the value of the unique index of an element, the same as the
+     * field values of the index written by GraphIndexTransaction
+     */
+    protected static String uniqueValue(IndexLabel indexLabel,
+                                        HugeElement element) {
+        List<Object> values = new ArrayList<>(indexLabel.indexFields().size());
+        for (Id field : indexLabel.indexFields()) {
+            HugeProperty<Object> property = element.getProperty(field);
+            values.add(property == null ? ConditionQuery.INDEX_VALUE_NULL :
+                                          property.value());
+        }
+        return ConditionQuery.concatValues(values);
+    }
+
+    private class Filter {
+
+        private final Id indexLabel;
+        private final ScalableBloomFilter values;
+        private volatile boolean ready;
+
+        private final LongAdder checks;
+        private final LongAdder negatives;
+        private final LongAdder falsePositives;
+
+        public Filter(Id indexLabel) {
+            this.indexLabel = indexLabel;
+            this.values = new ScalableBloomFilter(
+                          ExistenceFilters.this.capacity,
+                          ExistenceFilters.this.fpp);
+            this.ready = false;
+            this.checks = new LongAdder();
+            this.negatives = new LongAdder();
+            this.falsePositives = new LongAdder();
+        }
+
+        public boolean mightContain(String value) {
+            if (!this.ready) {
+                return true;
+            }
+            this.checks.increment();
+            if (this.values.mightContain(value)) {
+                return true;
+            }
+            this.negatives.increment();
+            return false;
+        }
+
+        public Map<String, Object> metrics() {
+            long checks = this.checks.sum();
+            long negatives = this.negatives.sum();
+            long falsePositives = this.falsePositives.sum();
+            long positives = checks - negatives;
+            Map<String, Object> metrics = InsertionOrderUtil.newMap();
+            metrics.put("ready", this.ready);
+            metrics.put("values", this.values.size());
+            metrics.put("filters", this.values.filters());
+            metrics.put("checks", checks);
+            metrics.put("negatives", negatives);
+            metrics.put("false_positives", falsePositives);
+            // The rate of the values not existing among the positive ones
+            metrics.put("false_positive_rate", positives == 0L ? 0.0D :
+                        (double) falsePositives / positives);
+            return metrics;
+        }
+    }
+}
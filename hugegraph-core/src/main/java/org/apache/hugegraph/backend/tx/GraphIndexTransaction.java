@@ -21,8 +21,10 @@ package org.apache.hugegraph.backend.tx;
 
 import java.nio.CharBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -34,9 +36,11 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hugegraph.backend.page.PageIds;
 import org.apache.hugegraph.backend.page.PageState;
 import org.apache.hugegraph.backend.store.BackendEntry;
+import org.apache.hugegraph.backend.store.BackendMutation;
 import org.apache.hugegraph.backend.store.BackendStore;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -46,14 +50,19 @@ import org.apache.hugegraph.HugeException;
 import org.apache.hugegraph.HugeGraph;
 import org.apache.hugegraph.HugeGraphParams;
 import org.apache.hugegraph.analyzer.Analyzer;
+import org.apache.hugegraph.backend.cache.Cache;
+import org.apache.hugegraph.backend.cache.CacheManager;
+import org.apache.hugegraph.backend.cache.QueryResultCache;
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.page.IdHolder;
 import org.apache.hugegraph.backend.page.IdHolder.BatchIdHolder;
 import org.apache.hugegraph.backend.page.IdHolder.FixedIdHolder;
 import org.apache.hugegraph.backend.page.IdHolder.PagingIdHolder;
 import org.apache.hugegraph.backend.page.IdHolderList;
+import org.apache.hugegraph.backend.page.IntersectIdIterator;
 import org.apache.hugegraph.backend.page.PageInfo;
-import org.apache.hugegraph.backend.page.SortByCountIdHolderList;
+import org.apache.hugegraph.backend.page.SortByScoreIdHolderList;
+import org.apache.hugegraph.backend.query.Aggregate;
 import org.apache.hugegraph.backend.query.Condition;
 import org.apache.hugegraph.backend.query.Condition.RangeConditions;
 import org.apache.hugegraph.backend.query.Condition.Relation;
@@ -63,16 +72,22 @@ import org.apache.hugegraph.backend.query.ConditionQuery.OptimizedType;
 import org.apache.hugegraph.backend.query.ConditionQueryFlatten;
 import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.backend.query.QueryResults;
-import org.apache.hugegraph.backend.serializer.AbstractSerializer;
+import org.apache.hugegraph.backend.serializer.BitmapChunk;
+import org.apache.hugegraph.backend.serializer.BytesBuffer;
+import org.apache.hugegraph.backend.stats.IndexLabelStats;
+import org.apache.hugegraph.backend.stats.IndexStatistics;
 import org.apache.hugegraph.config.CoreOptions;
 import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.event.EventListener;
 import org.apache.hugegraph.exception.NoIndexException;
 import org.apache.hugegraph.exception.NotAllowException;
 import org.apache.hugegraph.exception.NotSupportException;
+import org.apache.hugegraph.iterator.MapperIterator;
 import org.apache.hugegraph.iterator.Metadatable;
 import org.apache.hugegraph.job.EphemeralJob;
 import org.apache.hugegraph.job.EphemeralJobBuilder;
 import org.apache.hugegraph.job.system.DeleteExpiredJob;
+import org.apache.hugegraph.job.system.ExpiredSweeper;
 import org.apache.hugegraph.perf.PerfUtil.Watched;
 import org.apache.hugegraph.schema.IndexLabel;
 import org.apache.hugegraph.schema.PropertyKey;
@@ -86,15 +101,20 @@ import org.apache.hugegraph.structure.HugeVertex;
 import org.apache.hugegraph.task.HugeTask;
 import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.type.define.Action;
+import org.apache.hugegraph.type.define.DataType;
 import org.apache.hugegraph.type.define.HugeKeys;
 import org.apache.hugegraph.type.define.IndexType;
+import org.apache.hugegraph.type.define.SchemaStatus;
 import org.apache.hugegraph.util.CollectionUtil;
 import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.Events;
 import org.apache.hugegraph.util.InsertionOrderUtil;
 import org.apache.hugegraph.util.LockUtil;
 import org.apache.hugegraph.util.LongEncoding;
 import org.apache.hugegraph.util.NumericUtil;
+import org.apache.hugegraph.util.VectorUtil;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
 public class GraphIndexTransaction extends AbstractTransaction {
@@ -106,6 +126,15 @@ public class GraphIndexTransaction extends AbstractTransaction {
     private final Analyzer textAnalyzer;
     private final int indexIntersectThresh;
 
+    // The results of index queries, it's null if the cache is disabled
+    private final QueryResultCache indexesCache;
+    private EventListener storeEventListener;
+
+    // The unique index values to be added to the existence filters
+    private Map<Id, Set<String>> addedUniqueValues;
+    // The index labels changed in tx, to invalidate the cached results
+    private Set<Id> changedIndexLabels;
+
     public GraphIndexTransaction(HugeGraphParams graph, BackendStore store) {
         super(graph, store);
 
@@ -115,6 +144,122 @@ public class GraphIndexTransaction extends AbstractTransaction {
         final HugeConfig conf = graph.configuration();
         this.indexIntersectThresh =
              conf.get(CoreOptions.QUERY_INDEX_INTERSECT_THRESHOLD);
+
+        long capacity = conf.get(CoreOptions.INDEX_CACHE_CAPACITY);
+        if (capacity > 0L) {
+            // The system store and graph store have different index labels
+            String name = indexCacheName(graph, store);
+            Cache<Id, Object> cache = CacheManager.instance().cache(name,
+                                                                    capacity);
+            // Convert the unit from seconds to milliseconds
+            cache.expire(conf.get(CoreOptions.INDEX_CACHE_EXPIRE) * 1000L);
+            cache.enableMetrics(true);
+            int maxIds = conf.get(CoreOptions.INDEX_CACHE_MAX_IDS_PER_QUERY);
+            this.indexesCache = new QueryResultCache(cache, maxIds);
+            this.listenChanges();
+        } else {
+            this.indexesCache = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            super.close();
+        } finally {
+            if (this.storeEventListener != null) {
+                this.store().provider().unlisten(this.storeEventListener);
+            }
+        }
+    }
+
+    private void listenChanges() {
+        // Listen store event: "store.init", "store.clear", ...
+        Set<String> storeEvents = ImmutableSet.of(Events.STORE_INIT,
+                                                  Events.STORE_CLEAR,
+                                                  Events.STORE_TRUNCATE);
+        this.storeEventListener = event -> {
+            if (storeEvents.contains(event.name())) {
+                LOG.debug("Graph {} clear index cache on event '{}'",
+                          this.graph(), event.name());
+                this.indexesCache.clear();
+                this.indexesCache.invalidateAll();
+                return true;
+            }
+            return false;
+        };
+        this.store().provider().listen(this.storeEventListener);
+    }
+
+    @Override
+    protected void reset() {
+        super.reset();
+
+        // It's null when called by super AbstractTransaction()
+        if (this.addedUniqueValues == null ||
+            !this.addedUniqueValues.isEmpty()) {
+            this.addedUniqueValues = new HashMap<>();
+        }
+        if (this.changedIndexLabels == null ||
+            !this.changedIndexLabels.isEmpty()) {
+            this.changedIndexLabels = new HashSet<>();
+        }
+    }
+
+    @Override
+    protected void commitMutation2Backend(BackendMutation... mutations) {
+        try {
+            super.commitMutation2Backend(mutations);
+        } finally {
+            this.invalidateCachedIndexes();
+        }
+    }
+
+    /**
+     * Let the cached results of the index labels changed in tx be stale,
+     * should be called after the index mutation is committed
+     */
+    protected void invalidateCachedIndexes() {
+        if (this.indexesCache == null || this.changedIndexLabels.isEmpty()) {
+            return;
+        }
+        this.indexesCache.invalidateLabels(this.changedIndexLabels);
+        // Notify other servers to invalidate by the cache notifier
+        Id[] indexLabels = this.changedIndexLabels.toArray(new Id[0]);
+        this.params().graphEventHub().notify(Events.CACHE,
+                                             Cache.ACTION_INVALIDED,
+                                             HugeType.INDEX_LABEL,
+                                             indexLabels);
+        this.changedIndexLabels = new HashSet<>();
+    }
+
+    /**
+     * Let the cached results of the index labels changed by other servers
+     * be stale, the index labels of the graph store and the system store
+     * are cached separately
+     */
+    public static void invalidateCachedIndexes(HugeGraphParams graph,
+                                               Collection<Id> indexLabels) {
+        for (BackendStore store : ImmutableList.of(graph.loadGraphStore(),
+                                                   graph.loadSystemStore())) {
+            String name = indexCacheName(graph, store);
+            Cache<Id, Object> cache = CacheManager.instance()
+                                                  .<Object>caches().get(name);
+            if (cache != null) {
+                new QueryResultCache(cache, 0).invalidateLabels(indexLabels);
+            }
+        }
+    }
+
+    private static String indexCacheName(HugeGraphParams graph,
+                                         BackendStore store) {
+        return "index-" + graph.name() + "-" + store.store();
+    }
+
+    private void recordIndexLabelChanged(Id indexLabel) {
+        if (this.indexesCache != null) {
+            this.changedIndexLabels.add(indexLabel);
+        }
     }
 
     protected Id asyncRemoveIndexLeft(ConditionQuery query,
@@ -164,6 +309,7 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
         // Update index(only property, no edge) of a vertex
         for (Id id : vertex.schemaLabel().indexLabels()) {
+            this.recordIndexChange(id, vertex);
             this.updateIndex(id, vertex, removed);
         }
     }
@@ -172,10 +318,19 @@ public class GraphIndexTransaction extends AbstractTransaction {
     public void updateEdgeIndex(HugeEdge edge, boolean removed) {
         // Update index of an edge
         for (Id id : edge.schemaLabel().indexLabels()) {
+            this.recordIndexChange(id, edge);
             this.updateIndex(id, edge, removed);
         }
     }
 
+    private void recordIndexChange(Id indexLabel, HugeElement element) {
+        // Let the online rebuild job re-index the element written meanwhile
+        IndexChangeLog changeLog = this.params().indexChangeLog();
+        if (changeLog.tracking()) {
+            changeLog.record(indexLabel, element.id());
+        }
+    }
+
     private void updateVertexOlapIndex(HugeVertex vertex, boolean removed) {
         Set<Id> propKeys = vertex.getPropertyKeys();
         E.checkArgument(propKeys.size() == 1,
@@ -248,14 +403,16 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 E.checkState(nnPropValues.size() == 1,
                              "Expect only one property in search index");
                 value = nnPropValues.get(0);
-                Set<String> words =
-                            this.segmentWords(propertyValueToString(value));
-                for (String word : words) {
-                    this.updateIndex(indexLabel, word, element.id(),
-                                     expiredTime, removed);
+                Map<String, HugeIndex.Posting> postings =
+                        this.segmentPostings(propertyValueToString(value));
+                for (Map.Entry<String, HugeIndex.Posting> e :
+                     postings.entrySet()) {
+                    this.updateIndex(indexLabel, e.getKey(), element.id(),
+                                     expiredTime, removed, e.getValue());
                 }
                 break;
             case SECONDARY:
+            case BITMAP:
                 // Secondary index maybe include multi prefix index
                 if (isCollectionIndex(nnPropValues)) {
                     /*
@@ -282,6 +439,16 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 this.updateIndex(indexLabel, value, element.id(),
                                  expiredTime, removed);
                 break;
+            case VECTOR:
+                E.checkState(nnPropValues.size() == 1,
+                             "Expect only one property in vector index");
+                float[] vector = VectorUtil.toVector(nnPropValues.get(0));
+                for (String bucket : VectorUtil.buckets(indexLabel.id(),
+                                                        vector)) {
+                    this.updateIndex(indexLabel, bucket, element.id(),
+                                     expiredTime, removed);
+                }
+                break;
             case UNIQUE:
                 value = ConditionQuery.concatValues(allPropValues);
                 assert !"".equals(value);
@@ -294,6 +461,11 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 }
                 this.updateIndex(indexLabel, value, element.id(),
                                  expiredTime, removed);
+                if (!removed && this.params().existenceFilters().enabled()) {
+                    this.addedUniqueValues.computeIfAbsent(indexLabel.id(),
+                                                           k -> new HashSet<>())
+                                          .add(value.toString());
+                }
                 break;
             default:
                 throw new AssertionError(String.format(
@@ -303,10 +475,21 @@ public class GraphIndexTransaction extends AbstractTransaction {
 
     private void updateIndex(IndexLabel indexLabel, Object propValue,
                              Id elementId, long expiredTime, boolean removed) {
+        this.updateIndex(indexLabel, propValue, elementId,
+                         expiredTime, removed, null);
+    }
+
+    private void updateIndex(IndexLabel indexLabel, Object propValue,
+                             Id elementId, long expiredTime, boolean removed,
+                             HugeIndex.Posting posting) {
         HugeIndex index = new HugeIndex(this.graph(), indexLabel);
         index.fieldValues(propValue);
         index.elementIds(elementId, expiredTime);
+        if (posting != null) {
+            index.posting(elementId, posting);
+        }
 
+        this.recordIndexLabelChanged(indexLabel.id());
         if (removed) {
             this.doEliminate(this.serializer.writeIndex(index));
         } else {
@@ -316,8 +499,31 @@ public class GraphIndexTransaction extends AbstractTransaction {
 
     private boolean existUniqueValue(IndexLabel indexLabel,
                                      Object value, Id id) {
-        return !this.hasEliminateInTx(indexLabel, value, id) &&
-               this.existUniqueValueInStore(indexLabel, value);
+        if (this.hasEliminateInTx(indexLabel, value, id)) {
+            return false;
+        }
+        ExistenceFilters filters = this.params().existenceFilters();
+        if (!filters.enabled()) {
+            return this.existUniqueValueInStore(indexLabel, value);
+        }
+        if (!filters.mightContainUniqueValue(indexLabel.id(),
+                                             value.toString())) {
+            // The value has never been added
+            return false;
+        }
+        boolean exist = this.existUniqueValueInStore(indexLabel, value);
+        if (!exist) {
+            filters.uniqueValueFalsePositive(indexLabel.id());
+        }
+        return exist;
+    }
+
+    protected void addExistenceValues(ExistenceFilters filters) {
+        for (Map.Entry<Id, Set<String>> e : this.addedUniqueValues.entrySet()) {
+            for (String value : e.getValue()) {
+                filters.addUniqueValue(e.getKey(), value);
+            }
+        }
     }
 
     private boolean hasEliminateInTx(IndexLabel indexLabel, Object value,
@@ -357,6 +563,124 @@ public class GraphIndexTransaction extends AbstractTransaction {
         return exist;
     }
 
+    /**
+     * Aggregate the values of a property by scanning the entries of a range
+     * index on it, the elements are not loaded since the index entries
+     * carry the values and the owner ids already.
+     * @param query     original condition query with the label condition
+     *                  and the conditions of the aggregated property only
+     * @param aggregate the aggregate function and the aggregated property
+     * @return          the accumulated result, or null if the query can't
+     *                  be answered by a range index
+     */
+    @Watched(prefix = "index")
+    public Aggregate.Accumulator queryAggregate(ConditionQuery query,
+                                                Aggregate aggregate) {
+        if (!query.noLimitAndOffset() || query.paging()) {
+            return null;
+        }
+        // Like `between` which has range conditions joined with AND
+        List<ConditionQuery> flattenQueries = ConditionQueryFlatten.flatten(
+                                              query);
+        if (flattenQueries.size() != 1) {
+            return null;
+        }
+        query = flattenQueries.get(0);
+        Id label = query.condition(HugeKeys.LABEL);
+        if (label == null || query.syspropConditions().size() != 1) {
+            return null;
+        }
+
+        SchemaTransaction schema = this.params().schemaTransaction();
+        PropertyKey pkey = schema.getPropertyKey(aggregate.column());
+        // The values of byte property are stored as int in range index
+        if (pkey == null || pkey.olap() || !pkey.cardinality().single() ||
+            !pkey.dataType().isNumber() || pkey.dataType() == DataType.BYTE) {
+            return null;
+        }
+        for (Condition condition : query.conditions()) {
+            if (!condition.isRelation()) {
+                return null;
+            }
+            Relation r = (Relation) condition;
+            RelationType type = r.relation();
+            if (r.isSysprop() ? type != RelationType.EQ :
+                !pkey.id().equals(r.key()) ||
+                !(type == RelationType.EQ || type.isRangeType())) {
+                return null;
+            }
+        }
+        if (query.userpropConditions().size() > 2) {
+            return null;
+        }
+
+        SchemaLabel schemaLabel = query.resultType().isVertex() ?
+                                  schema.getVertexLabel(label) :
+                                  schema.getEdgeLabel(label);
+        if (schemaLabel == null) {
+            return null;
+        }
+        List<Id> fields = ImmutableList.of(pkey.id());
+        IndexLabel indexLabel = null;
+        for (Id id : schemaLabel.indexLabels()) {
+            IndexLabel il = schema.getIndexLabel(id);
+            if (il.indexType().isRange() && il.status().ok() &&
+                il.indexFields().equals(fields)) {
+                indexLabel = il;
+                break;
+            }
+        }
+        if (indexLabel == null) {
+            return null;
+        }
+
+        ConditionQuery rangeQuery = query.copy();
+        if (rangeQuery.userpropConditions().isEmpty()) {
+            // Scan all the entries of the range index
+            Number min = NumericUtil.minValueOf(pkey.dataType().clazz());
+            rangeQuery.query(Condition.gte(pkey.id(), min));
+        }
+        ConditionQuery indexQuery = constructQuery(rangeQuery, indexLabel);
+        if (indexQuery == null) {
+            return null;
+        }
+        indexQuery.limit(Query.NO_LIMIT);
+        indexQuery.capacity(Query.NO_CAPACITY);
+
+        Aggregate.Accumulator accumulator = aggregate.accumulator();
+        Iterator<BackendEntry> entries = null;
+        LockUtil.Locks locks = new LockUtil.Locks(this.graphName());
+        try {
+            locks.lockReads(LockUtil.INDEX_LABEL_DELETE, indexLabel.id());
+            locks.lockReads(LockUtil.INDEX_LABEL_REBUILD, indexLabel.id());
+
+            entries = super.query(indexQuery).iterator();
+            while (entries.hasNext()) {
+                HugeIndex index = this.serializer.readIndex(graph(), indexQuery,
+                                                            entries.next());
+                this.removeExpiredIndexIfNeeded(index, query.showExpired());
+                int size = index.elementIds().size();
+                if (size == 0) {
+                    continue;
+                }
+                Object value = indexLabel.validValue(index.fieldValues());
+                accumulator.add((Number) value, size);
+                /*
+                 * The range index entries are sorted by the value, so the
+                 * first one is the min value. NOTE: the entries can't be
+                 * scanned in reverse order, so max() scans all of them.
+                 */
+                if (aggregate.func() == Aggregate.AggregateFunc.MIN) {
+                    break;
+                }
+            }
+        } finally {
+            locks.unlock();
+            CloseableIterator.closeIterator(entries);
+        }
+        return accumulator;
+    }
+
     /**
      * Composite index, an index involving multiple columns.
      * Single index, an index involving only one column.
@@ -514,9 +838,13 @@ public class GraphIndexTransaction extends AbstractTransaction {
     @Watched(prefix = "index")
     private IdHolderList doSearchIndex(ConditionQuery query,
                                        MatchedIndex index) {
-        query = this.constructSearchQuery(query, index);
-        // Sorted by matched count
-        IdHolderList holders = new SortByCountIdHolderList(query.paging());
+        // The digest of the indexed text of each element for each search field
+        Map<Id, Map<Id, Long>> textDigests = new HashMap<>();
+        query = this.constructSearchQuery(query, index, textDigests);
+        // Sorted by relevance score if not in paging
+        SortByScoreIdHolderList holders = new SortByScoreIdHolderList(
+                                          query.paging(),
+                                          this.indexedElements(index));
         List<ConditionQuery> flatten = ConditionQueryFlatten.flatten(query);
         for (ConditionQuery q : flatten) {
             if (!q.noLimit() && flatten.size() > 1) {
@@ -525,6 +853,26 @@ public class GraphIndexTransaction extends AbstractTransaction {
             }
             IndexQueries queries = index.constructIndexQueries(q);
             assert !query.paging() || queries.size() <= 1;
+            if (!query.paging() && queries.size() == 1 &&
+                queries.one().getKey().indexType().isSearch()) {
+                // Read the postings of the word to rank the ids by score
+                IndexLabel indexLabel = queries.one().getKey();
+                ConditionQuery indexQuery = queries.one().getValue();
+                Map<Id, HugeIndex.Posting> postings =
+                        this.doSearchIndexQuery(indexLabel, indexQuery);
+                Map<Id, Long> digests = textDigests.computeIfAbsent(
+                                        indexLabel.indexField(),
+                                        k -> new HashMap<>());
+                for (Map.Entry<Id, HugeIndex.Posting> e :
+                     postings.entrySet()) {
+                    if (e.getValue() != null) {
+                        digests.put(e.getKey(), e.getValue().fieldDigest());
+                    }
+                }
+                holders.add(new FixedIdHolder(indexQuery, postings.keySet()),
+                            postings);
+                continue;
+            }
             IdHolder holder = this.doSingleOrJointIndex(queries);
             // NOTE: ids will be merged into one IdHolder if not in paging
             holders.add(holder);
@@ -532,6 +880,55 @@ public class GraphIndexTransaction extends AbstractTransaction {
         return holders;
     }
 
+    @Watched(prefix = "index")
+    private Map<Id, HugeIndex.Posting> doSearchIndexQuery(
+                                       IndexLabel indexLabel,
+                                       ConditionQuery query) {
+        /*
+         * Read the posting list of the word up to the capacity instead of
+         * the limit, so that the top ranked ids can be returned by limit
+         */
+        long capacity = query.capacity() == Query.NO_CAPACITY ?
+                        Query.DEFAULT_CAPACITY : query.capacity();
+        query.limit(Query.NO_LIMIT);
+
+        Iterator<BackendEntry> entries = null;
+        LockUtil.Locks locks = new LockUtil.Locks(this.graphName());
+        try {
+            locks.lockReads(LockUtil.INDEX_LABEL_DELETE, indexLabel.id());
+            locks.lockReads(LockUtil.INDEX_LABEL_REBUILD, indexLabel.id());
+
+            // NOTE: the posting may be null if it is not stored
+            Map<Id, HugeIndex.Posting> postings = InsertionOrderUtil.newMap();
+            entries = super.query(query).iterator();
+            while (postings.size() < capacity && entries.hasNext()) {
+                HugeIndex index = this.serializer.readIndex(graph(), query,
+                                                            entries.next());
+                this.removeExpiredIndexIfNeeded(index, query.showExpired());
+                for (Id id : index.elementIds()) {
+                    postings.put(id, index.posting(id));
+                }
+            }
+            return postings;
+        } finally {
+            locks.unlock();
+            CloseableIterator.closeIterator(entries);
+        }
+    }
+
+    private long indexedElements(MatchedIndex index) {
+        // The count of indexed elements is known if statistics are collected
+        IndexStatistics statistics = this.params().indexStatistics();
+        long elements = IndexLabelStats.UNKNOWN;
+        for (IndexLabel il : index.indexLabels()) {
+            IndexLabelStats stats = statistics.get(il.id());
+            if (il.indexType().isSearch() && stats != null) {
+                elements = Math.max(elements, stats.elements());
+            }
+        }
+        return elements;
+    }
+
     @Watched(prefix = "index")
     private IdHolder doSingleOrJointIndex(IndexQueries queries) {
         if (queries.size() == 1) {
@@ -557,10 +954,17 @@ public class GraphIndexTransaction extends AbstractTransaction {
                      "large amount of data, please use single index + filter " +
                      "instead of joint index: {}", queries.rootQuery());
         }
+
+        List<Pair<IndexLabel, Long>> estimates = this.estimate(queries);
+        if (estimates != null) {
+            return this.doJointIndexByEstimates(queries, estimates);
+        }
+
         // All queries are joined with AND
         Set<Id> intersectIds = null;
         boolean filtering = false;
         IdHolder resultHolder = null;
+        Map<IndexLabel, IdHolder> exceededHolders = InsertionOrderUtil.newMap();
         for (Map.Entry<IndexLabel, ConditionQuery> e : queries.entrySet()) {
             IndexLabel indexLabel = e.getKey();
             ConditionQuery query = e.getValue();
@@ -593,6 +997,7 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 // Transform into filtering
                 filtering = true;
                 query.optimized(OptimizedType.INDEX_FILTER);
+                exceededHolders.put(indexLabel, holder);
             } else if (filtering) {
                 assert ids.size() < this.indexIntersectThresh;
                 resultHolder = holder;
@@ -611,6 +1016,14 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
 
         if (filtering) {
+            if (exceededHolders.size() == queries.size()) {
+                // All the indexes exceeded the threshold, try to merge them
+                IdHolder holder = this.doJointIndexBySortedMerge(
+                                  queries, exceededHolders);
+                if (holder != null) {
+                    return holder;
+                }
+            }
             return resultHolder;
         } else {
             assert intersectIds != null;
@@ -618,6 +1031,302 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
     }
 
+    /**
+     * Query by joint indexes in the order of the estimated count of ids:
+     * 1 Query by the most selective index, and filter after back-table if
+     *   it's estimated to exceed the threshold.
+     * 2 Else intersect ids of the indexes from the most selective one, until
+     *   an index estimated to exceed the threshold, then filter the results
+     *   by the remaining indexes after back-table.
+     * The ids are still checked with the threshold in case the statistics
+     * are out of date.
+     */
+    private IdHolder doJointIndexByEstimates(
+                     IndexQueries queries,
+                     List<Pair<IndexLabel, Long>> estimates) {
+        assert this.indexIntersectThresh > 0;
+        Set<Id> intersectIds = null;
+        for (Pair<IndexLabel, Long> estimate : estimates) {
+            IndexLabel indexLabel = estimate.getKey();
+            ConditionQuery query = queries.get(indexLabel);
+            assert !query.paging();
+            if (!query.noLimit()) {
+                // Unset limit for intersection operation
+                query.limit(Query.NO_LIMIT);
+            }
+            boolean exceeded = estimate.getValue() >= this.indexIntersectThresh;
+            if (intersectIds == null) {
+                // The most selective index
+                IdHolder holder = this.doIndexQuery(indexLabel, query);
+                this.storeSelectedIndexField(indexLabel, query);
+                if (!exceeded) {
+                    intersectIds = ((BatchIdHolder) holder).peekNext(
+                                   this.indexIntersectThresh).ids();
+                    exceeded = intersectIds.size() >= this.indexIntersectThresh;
+                }
+                if (exceeded) {
+                    query.optimized(OptimizedType.INDEX_FILTER);
+                    IdHolder merged = this.doJointIndexBySortedMerge(
+                                      queries, ImmutableMap.of(indexLabel,
+                                                               holder));
+                    return merged != null ? merged : holder;
+                }
+            } else {
+                Set<Id> ids = null;
+                if (!exceeded) {
+                    IdHolder holder = this.doIndexQuery(indexLabel, query);
+                    ids = ((BatchIdHolder) holder).peekNext(
+                          this.indexIntersectThresh).ids();
+                    exceeded = ids.size() >= this.indexIntersectThresh;
+                }
+                if (exceeded) {
+                    // Filter the intersection ids by the remaining indexes
+                    query.optimized(OptimizedType.INDEX_FILTER);
+                    break;
+                }
+                CollectionUtil.intersectWithModify(intersectIds, ids);
+            }
+            if (intersectIds.isEmpty()) {
+                break;
+            }
+        }
+        assert intersectIds != null;
+        return new FixedIdHolder(queries.asJointQuery(), intersectIds);
+    }
+
+    /**
+     * Intersect the ids of secondary indexes by streaming sorted-merge when
+     * all the indexes exceeded the threshold, instead of filtering all the
+     * elements of one index after back-table. Only one batch of ids of each
+     * index is kept in memory, which requires the backend to return the ids
+     * of a secondary index in the order of them. The indexes which can't be
+     * merged (like range indexes) are still used to filter the results, so
+     * are the secondary indexes if the bitmap indexes are merged, since
+     * their ids are ordered by different keys.
+     * Return null if there are not two indexes to merge.
+     * @param holders the indexes already queried, the others will be queried
+     */
+    private IdHolder doJointIndexBySortedMerge(IndexQueries queries,
+                                               Map<IndexLabel, IdHolder> holders) {
+        IndexType mergeType = this.sortedMergeType(queries);
+        if (mergeType == null) {
+            return null;
+        }
+
+        List<BatchIdHolder> merging = new ArrayList<>();
+        for (Map.Entry<IndexLabel, ConditionQuery> e : queries.entrySet()) {
+            IndexLabel indexLabel = e.getKey();
+            IdHolder holder = holders.get(indexLabel);
+            if (indexLabel.indexType() != mergeType) {
+                if (holder != null) {
+                    ((BatchIdHolder) holder).close();
+                }
+                continue;
+            }
+            if (holder == null) {
+                ConditionQuery query = e.getValue();
+                if (!query.noLimit()) {
+                    query.limit(Query.NO_LIMIT);
+                }
+                holder = this.doIndexQuery(indexLabel, query);
+            }
+            merging.add((BatchIdHolder) holder);
+        }
+
+        IntersectIdIterator ids = new IntersectIdIterator(
+                                  merging, this.indexIntersectThresh,
+                                  mergeType.isBitmap() ?
+                                  BitmapChunk::sortKey :
+                                  GraphIndexTransaction::sortKeyOfId);
+        return new BatchIdHolder(queries.asJointQuery(), ids, batch -> {
+            Set<Id> results = InsertionOrderUtil.newSet();
+            while ((batch == Query.NO_LIMIT || results.size() < batch) &&
+                   ids.hasNext()) {
+                results.add(ids.next());
+            }
+            return results;
+        });
+    }
+
+    private IndexType sortedMergeType(IndexQueries queries) {
+        if (!this.store().features().supportsQueryIndexSortedById()) {
+            return null;
+        }
+        long secondaries = queries.keySet().stream().filter(
+                           il -> il.indexType().isSecondary()).count();
+        long bitmaps = queries.keySet().stream().filter(
+                       il -> il.indexType().isBitmap()).count();
+        if (bitmaps > 1L && bitmaps >= secondaries) {
+            return IndexType.BITMAP;
+        }
+        return secondaries > 1L ? IndexType.SECONDARY : null;
+    }
+
+    private static byte[] sortKeyOfId(Id id) {
+        // The same as the element id written in the index column name
+        return BytesBuffer.allocate(1 + id.length()).writeId(id).bytes();
+    }
+
+    /**
+     * Estimate the count of ids matched by each index query with the index
+     * statistics, sorted from the most selective one, return null if any of
+     * the indexes can't be estimated.
+     */
+    private List<Pair<IndexLabel, Long>> estimate(IndexQueries queries) {
+        IndexStatistics statistics = this.params().indexStatistics();
+        List<Pair<IndexLabel, Long>> estimates = new ArrayList<>(
+                                                 queries.size());
+        for (Map.Entry<IndexLabel, ConditionQuery> e : queries.entrySet()) {
+            long estimate = statistics.estimate(e.getKey(), e.getValue());
+            if (estimate == IndexLabelStats.UNKNOWN) {
+                return null;
+            }
+            estimates.add(Pair.of(e.getKey(), estimate));
+        }
+        estimates.sort(Comparator.comparingLong(Pair::getValue));
+        return estimates;
+    }
+
+    /**
+     * Query the candidate ids of the nearest neighbors of a vector by the
+     * buckets of a vector index, the candidates need to be ranked by the
+     * similarity of the vectors of the elements
+     */
+    @Watched(prefix = "index")
+    public Set<Id> queryVectorIndex(IndexLabel indexLabel, float[] vector) {
+        E.checkArgument(indexLabel.indexType().isVector(),
+                        "The index label '%s' is not a vector index",
+                        indexLabel.name());
+        Set<Id> ids = InsertionOrderUtil.newSet();
+        for (String bucket : VectorUtil.probes(indexLabel.id(), vector)) {
+            ConditionQuery query = new ConditionQuery(
+                                   indexLabel.indexType().type());
+            query.eq(HugeKeys.INDEX_LABEL_ID, indexLabel.id());
+            query.eq(HugeKeys.FIELD_VALUES, bucket);
+            ids.addAll(this.doIndexQueryOnce(indexLabel, query).ids());
+            Query.checkForceCapacity(ids.size());
+        }
+        return ids;
+    }
+
+    /**
+     * Explain how an index query is executed without querying the store:
+     * the matched indexes of each flattened query, the count of ids
+     * estimated by the index statistics and the strategy to join them.
+     */
+    public List<Map<String, Object>> explainIndexQuery(ConditionQuery query) {
+        List<Map<String, Object>> plans = new ArrayList<>();
+        for (ConditionQuery cq : ConditionQueryFlatten.flatten(query)) {
+            Map<String, Object> plan = InsertionOrderUtil.newMap();
+            plan.put("query", cq.toString());
+            if (cq.userpropConditions().isEmpty()) {
+                plan.put("strategy", "label_index");
+                plans.add(plan);
+                continue;
+            }
+
+            Set<MatchedIndex> indexes = this.collectMatchedIndexes(cq);
+            if (indexes.isEmpty()) {
+                plan.put("strategy", "no_index");
+                plans.add(plan);
+                continue;
+            }
+            List<Map<String, Object>> matched = new ArrayList<>();
+            for (MatchedIndex index : indexes) {
+                matched.add(this.explainMatchedIndex(cq, index));
+            }
+            plan.put("matched_indexes", matched);
+            plans.add(plan);
+        }
+        return plans;
+    }
+
+    private Map<String, Object> explainMatchedIndex(ConditionQuery query,
+                                                    MatchedIndex index) {
+        Map<String, Object> plan = InsertionOrderUtil.newMap();
+        plan.put("label", index.schemaLabel().name());
+        if (index.containsSearchIndex()) {
+            List<String> names = new ArrayList<>();
+            for (IndexLabel il : index.indexLabels()) {
+                names.add(il.name());
+            }
+            plan.put("strategy", "search_index");
+            plan.put("indexes", names);
+            return plan;
+        }
+
+        IndexQueries queries = index.constructIndexQueries(query);
+        List<Pair<IndexLabel, Long>> estimates = this.estimate(queries);
+        String strategy;
+        List<Map<String, Object>> indexes = new ArrayList<>();
+        if (estimates == null) {
+            // Probe each index to decide at query time
+            strategy = queries.size() == 1 ? "single_index" : "joint_probe";
+            IndexStatistics statistics = this.params().indexStatistics();
+            for (Map.Entry<IndexLabel, ConditionQuery> e : queries.entrySet()) {
+                long estimate = statistics.estimate(e.getKey(), e.getValue());
+                indexes.add(explainIndex(e.getKey(), estimate, null));
+            }
+        } else if (queries.size() == 1) {
+            strategy = "single_index";
+            Pair<IndexLabel, Long> e = estimates.get(0);
+            indexes.add(explainIndex(e.getKey(), e.getValue(), "query"));
+        } else {
+            // The same as doJointIndexByEstimates()
+            IndexType mergeType = this.sortedMergeType(queries);
+            boolean filtering = false;
+            int intersected = 0;
+            for (Pair<IndexLabel, Long> e : estimates) {
+                boolean exceeded = e.getValue() >= this.indexIntersectThresh;
+                String action;
+                if (intersected == 0) {
+                    action = "query";
+                    intersected++;
+                    filtering = exceeded;
+                } else if (!filtering && !exceeded) {
+                    action = "intersect";
+                    intersected++;
+                } else {
+                    action = "filter";
+                    filtering = true;
+                }
+                indexes.add(explainIndex(e.getKey(), e.getValue(), action));
+            }
+            if (!filtering) {
+                strategy = "intersect";
+            } else if (intersected > 1) {
+                strategy = "intersect_and_filter";
+            } else if (mergeType != null) {
+                // The same as doJointIndexBySortedMerge()
+                strategy = "sorted_merge";
+                for (Map<String, Object> indexPlan : indexes) {
+                    boolean merged = mergeType.string().equals(
+                                     indexPlan.get("index_type"));
+                    indexPlan.put("action", merged ? "merge" : "filter");
+                }
+            } else {
+                strategy = "index_and_filter";
+            }
+        }
+        plan.put("strategy", strategy);
+        plan.put("indexes", indexes);
+        return plan;
+    }
+
+    private static Map<String, Object> explainIndex(IndexLabel indexLabel,
+                                                    long estimate,
+                                                    String action) {
+        Map<String, Object> plan = InsertionOrderUtil.newMap();
+        plan.put("index_label", indexLabel.name());
+        plan.put("index_type", indexLabel.indexType().string());
+        plan.put("estimated_ids", estimate == IndexLabelStats.UNKNOWN ?
+                                  null : estimate);
+        if (action != null) {
+            plan.put("action", action);
+        }
+        return plan;
+    }
+
     private void storeSelectedIndexField(IndexLabel indexLabel,
                                          ConditionQuery query) {
         // Only store range index field
@@ -646,8 +1355,8 @@ public class GraphIndexTransaction extends AbstractTransaction {
     @Watched(prefix = "index")
     private IdHolder doIndexQueryBatch(IndexLabel indexLabel,
                                        ConditionQuery query) {
-        Iterator<BackendEntry> entries = super.query(query).iterator();
-        return new BatchIdHolder(query, entries, batch -> {
+        Iterator<HugeIndex> indexes = this.queryIndexes(indexLabel, query);
+        return new BatchIdHolder(query, indexes, batch -> {
             LockUtil.Locks locks = new LockUtil.Locks(this.graphName());
             try {
                 // Catch lock every batch
@@ -665,10 +1374,8 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 // Iterate one batch, and keep iterator position
                 Set<Id> ids = InsertionOrderUtil.newSet();
                 while ((batch == Query.NO_LIMIT || ids.size() < batch) &&
-                       entries.hasNext()) {
-                    HugeIndex index = this.serializer.readIndex(graph(), query,
-                                                                entries.next());
-                    this.removeExpiredIndexIfNeeded(index, query.showExpired());
+                       indexes.hasNext()) {
+                    HugeIndex index = indexes.next();
                     ids.addAll(index.elementIds());
                     Query.checkForceCapacity(ids.size());
                     this.recordIndexValue(query, index);
@@ -680,6 +1387,48 @@ public class GraphIndexTransaction extends AbstractTransaction {
         });
     }
 
+    private Iterator<HugeIndex> queryIndexes(IndexLabel indexLabel,
+                                             ConditionQuery query) {
+        if (!this.needCacheIndexes(indexLabel, query)) {
+            return this.readIndexes(query);
+        }
+
+        List<Id> labels = ImmutableList.of(indexLabel.id());
+        List<HugeIndex> indexes = this.indexesCache.get(query, labels);
+        if (indexes != null) {
+            return indexes.iterator();
+        }
+        // Get the version before querying, the changes meanwhile are missed
+        long version = this.indexesCache.version(labels);
+        return this.indexesCache.caching(query, version,
+                                         this.readIndexes(query),
+                                         index -> index.elementIds().size());
+    }
+
+    private Iterator<HugeIndex> readIndexes(ConditionQuery query) {
+        Iterator<BackendEntry> entries = super.query(query).iterator();
+        return new MapperIterator<>(entries, entry -> {
+            HugeIndex index = this.serializer.readIndex(graph(), query, entry);
+            this.removeExpiredIndexIfNeeded(index, query.showExpired());
+            return index;
+        });
+    }
+
+    private boolean needCacheIndexes(IndexLabel indexLabel,
+                                     ConditionQuery query) {
+        if (this.indexesCache == null || query.showExpired()) {
+            return false;
+        }
+        /*
+         * The label index is not changed with the index label, and the
+         * element ids of the index with ttl may expire, don't cache them
+         */
+        if (indexLabel.system()) {
+            return false;
+        }
+        return indexLabel.baseLabel().ttl() == 0L;
+    }
+
     private void recordIndexValue(ConditionQuery query, HugeIndex index) {
         if (!shouldRecordIndexValue(query, index)) {
             return;
@@ -796,7 +1545,17 @@ public class GraphIndexTransaction extends AbstractTransaction {
              * because the indexLabel is being created at this time
              * and has not been saved to the backend storage
              */
-            if (indexLabel == null || indexLabel.indexType().isUnique()) {
+            if (indexLabel == null || indexLabel.indexType().isUnique() ||
+                indexLabel.indexType().isVector()) {
+                // Vector index is only used by nearest neighbor query
+                continue;
+            }
+            if (indexLabel.status() == SchemaStatus.REBUILDING ||
+                indexLabel.status() == SchemaStatus.DELETING) {
+                /*
+                 * Skip the shadow index label being rebuilt, and the index
+                 * label being deleted such as the one replaced by a shadow
+                 */
                 continue;
             }
             ils.add(indexLabel);
@@ -824,7 +1583,9 @@ public class GraphIndexTransaction extends AbstractTransaction {
         return null;
     }
 
-    private ConditionQuery constructSearchQuery(ConditionQuery query, MatchedIndex index) {
+    private ConditionQuery constructSearchQuery(
+                           ConditionQuery query, MatchedIndex index,
+                           Map<Id, Map<Id, Long>> textDigests) {
         ConditionQuery newQuery = query;
         Set<Id> indexFields = new HashSet<>();
         // Convert has(key, text) to has(key, textContainsAny(word1, word2))
@@ -853,6 +1614,18 @@ public class GraphIndexTransaction extends AbstractTransaction {
                     Id field = (Id) key;
                     HugeProperty<?> property = element.getProperty(field);
                     String propValue = propertyValueToString(property.value());
+                    /*
+                     * The element was matched by the index with the same
+                     * text if the 64 bits digest is equal, no need to
+                     * segment it again
+                     */
+                    Map<Id, Long> digests = textDigests.get(field);
+                    Long digest = digests == null ?
+                                  null : digests.get(element.id());
+                    if (digest != null &&
+                        digest == HugeIndex.Posting.digest(propValue)) {
+                        continue;
+                    }
                     String fieldValue = (String) query.userpropValue(field);
                     if (this.matchSearchIndexWords(propValue, fieldValue)) {
                         continue;
@@ -876,6 +1649,10 @@ public class GraphIndexTransaction extends AbstractTransaction {
     }
 
     private Set<String> segmentWords(String text) {
+        return this.segmentPostings(text).keySet();
+    }
+
+    private Map<String, HugeIndex.Posting> segmentPostings(String text) {
         /*
          Support 3 kinds of query:
          - Text.contains("(word)"): query by user-specified word;
@@ -883,26 +1660,45 @@ public class GraphIndexTransaction extends AbstractTransaction {
          - Text.contains("words"): query by words splitted from analyzer;
          Note: all kinds support words exact match
          */
-        if (text.startsWith(START_SYMBOL) && text.endsWith(END_SYMBOL)) {
+        boolean specified = text.startsWith(START_SYMBOL) &&
+                            text.endsWith(END_SYMBOL);
+        List<String> words;
+        if (specified) {
             String subText = text.substring(1, text.length() - 1);
             if (subText.contains(WORD_DELIMITER)) {
-                String[] texts = StringUtils.split(subText, WORD_DELIMITER);
-                return ImmutableSet.copyOf(texts);
+                words = Arrays.asList(StringUtils.split(subText,
+                                                        WORD_DELIMITER));
             } else {
-                return ImmutableSet.of(subText);
+                words = ImmutableList.of(subText);
             }
+        } else {
+            words = this.textAnalyzer.tokenize(text);
         }
-        Set<String> segments = this.textAnalyzer.segment(text);
 
-        /*
-         * Add original text to segments at the insertion stage,
-         * in order to can match fully words at the query stage.
-         */
-        segments.add(text);
+        // Count the term frequency of each word
+        Map<String, Integer> frequencies = InsertionOrderUtil.newMap();
+        for (String word : words) {
+            frequencies.merge(word, 1, Integer::sum);
+        }
+        if (!specified) {
+            /*
+             * Add original text to segments at the insertion stage,
+             * in order to can match fully words at the query stage.
+             */
+            frequencies.putIfAbsent(text, 1);
+
+            // Ignore unicode \u0000 to \u0003
+            frequencies.keySet().removeAll(ConditionQuery.IGNORE_SYM_SET);
+        }
 
-        // Ignore unicode \u0000 to \u0003
-        segments.removeAll(ConditionQuery.IGNORE_SYM_SET);
-        return segments;
+        int length = words.size();
+        long digest = HugeIndex.Posting.digest(text);
+        Map<String, HugeIndex.Posting> postings = InsertionOrderUtil.newMap();
+        for (Map.Entry<String, Integer> e : frequencies.entrySet()) {
+            postings.put(e.getKey(),
+                         new HugeIndex.Posting(e.getValue(), length, digest));
+        }
+        return postings;
     }
 
     private boolean needIndexForLabel() {
@@ -914,12 +1710,18 @@ public class GraphIndexTransaction extends AbstractTransaction {
         if (this.store().features().supportsTtl() || showExpired) {
             return;
         }
+        ExpiredSweeper sweeper = this.params().expiredSweeper();
         for (IdWithExpiredTime id : index.expiredElementIds()) {
             HugeIndex removeIndex = index.clone();
             removeIndex.resetElementIds();
             removeIndex.elementIds(id.id(), id.expiredTime());
-            DeleteExpiredJob.asyncDeleteExpiredObject(this.graph(),
-                                                      removeIndex);
+            if (sweeper.sweepsLocally()) {
+                // Let the sweeper delete them with the elements in background
+                sweeper.record(removeIndex);
+            } else {
+                DeleteExpiredJob.asyncDeleteExpiredObject(this.graph(),
+                                                          removeIndex);
+            }
         }
     }
 
@@ -1230,6 +2032,7 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 indexQuery.eq(HugeKeys.FIELD_VALUES, fieldValue);
                 break;
             case SECONDARY:
+            case BITMAP:
                 List<Id> joinedKeys = indexFields.subList(0, queryKeys.size());
                 // Will escape special char inside userpropValuesString()
                 String joinedValues = query.userpropValuesString(joinedKeys);
@@ -1554,9 +2357,15 @@ public class GraphIndexTransaction extends AbstractTransaction {
 
     protected void removeIndex(IndexLabel indexLabel) {
         HugeIndex index = new HugeIndex(this.graph(), indexLabel);
+        this.recordIndexLabelChanged(indexLabel.id());
         this.doRemove(this.serializer.writeIndex(index));
     }
 
+    protected void removeIndex(HugeIndex index) {
+        this.recordIndexLabelChanged(index.indexLabelId());
+        this.doEliminate(this.serializer.writeIndex(index));
+    }
+
     private static class MatchedIndex {
 
         private SchemaLabel schemaLabel;
@@ -1795,12 +2604,11 @@ public class GraphIndexTransaction extends AbstractTransaction {
                                                                    leftIndex);
                 assert indexLabel != null;
 
-                AbstractSerializer serializer = this.tx.serializer;
                 for (Object value : indexValues) {
                     HugeIndex index = new HugeIndex(this.graph(), indexLabel);
                     index.elementIds(element.id());
                     index.fieldValues(value);
-                    this.tx.doEliminate(serializer.writeIndex(index));
+                    this.tx.removeIndex(index);
                     count++;
                 }
             }
@@ -1862,7 +2670,8 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 // Delete index with error property
                 this.tx.updateIndex(il.id(), deletion, true);
                 // Rebuild index if delete correct index part
-                if (il.indexType().isSecondary()) {
+                if (il.indexType().isSecondary() ||
+                    il.indexType().isBitmap()) {
                     /*
                      * When it's a composite secondary index,
                      * if the suffix property is wrong and the prefix property
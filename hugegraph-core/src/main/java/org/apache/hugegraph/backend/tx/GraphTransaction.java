@@ -19,14 +19,17 @@
 
 package org.apache.hugegraph.backend.tx;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -53,11 +56,13 @@ import org.apache.hugegraph.backend.query.IdQuery;
 import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.backend.query.QueryResults;
 import org.apache.hugegraph.backend.store.BackendEntry;
+import org.apache.hugegraph.backend.store.BackendFeatures;
 import org.apache.hugegraph.backend.store.BackendMutation;
 import org.apache.hugegraph.backend.store.BackendStore;
 import org.apache.hugegraph.config.CoreOptions;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.exception.LimitExceedException;
+import org.apache.hugegraph.exception.NoIndexException;
 import org.apache.hugegraph.exception.NotFoundException;
 import org.apache.hugegraph.iterator.BatchMapperIterator;
 import org.apache.hugegraph.iterator.ExtendableIterator;
@@ -67,6 +72,7 @@ import org.apache.hugegraph.iterator.LimitIterator;
 import org.apache.hugegraph.iterator.ListIterator;
 import org.apache.hugegraph.iterator.MapperIterator;
 import org.apache.hugegraph.job.system.DeleteExpiredJob;
+import org.apache.hugegraph.job.system.ExpiredSweeper;
 import org.apache.hugegraph.perf.PerfUtil.Watched;
 import org.apache.hugegraph.schema.EdgeLabel;
 import org.apache.hugegraph.schema.IndexLabel;
@@ -89,6 +95,7 @@ import org.apache.hugegraph.type.define.IdStrategy;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.InsertionOrderUtil;
 import org.apache.hugegraph.util.LockUtil;
+import org.apache.hugegraph.util.VectorUtil;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -98,6 +105,8 @@ import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 
 import jakarta.ws.rs.ForbiddenException;
 
@@ -105,6 +114,10 @@ public class GraphTransaction extends IndexableTransaction {
 
     public static final int COMMIT_BATCH = (int) Query.COMMIT_BATCH;
 
+    private static final Set<HugeKeys> OWNER_IN_KEYS = ImmutableSet.of(
+        HugeKeys.OWNER_VERTEX
+    );
+
     private final GraphIndexTransaction indexTx;
 
     private Map<Id, HugeVertex> addedVertices;
@@ -289,6 +302,14 @@ public class GraphTransaction extends IndexableTransaction {
         return new ArrayList<>(this.removedVertices.values());
     }
 
+    protected final Collection<HugeEdge> edgesInTxChanged() {
+        List<HugeEdge> edges = new ArrayList<>(this.edgesInTxSize());
+        edges.addAll(this.addedEdges.values());
+        edges.addAll(this.removedEdges.values());
+        edges.addAll(this.updatedEdges.values());
+        return edges;
+    }
+
     protected final boolean removingEdgeOwner(HugeEdge edge) {
         for (HugeVertex vertex : this.removedVertices.values()) {
             if (edge.belongToVertex(vertex)) {
@@ -343,6 +364,8 @@ public class GraphTransaction extends IndexableTransaction {
             // Update index of vertex(only include props)
             this.indexTx.updateVertexIndex(v, false);
             this.indexTx.updateLabelIndex(v, false);
+            // Record the expired time to sweep the label when expired
+            this.params().expiredSweeper().record(v);
         }
 
         // Do edge update
@@ -360,6 +383,7 @@ public class GraphTransaction extends IndexableTransaction {
             // Update index of edge
             this.indexTx.updateEdgeIndex(e, false);
             this.indexTx.updateLabelIndex(e, false);
+            this.params().expiredSweeper().record(e);
         }
     }
 
@@ -504,6 +528,22 @@ public class GraphTransaction extends IndexableTransaction {
         removedEdges.clear();
     }
 
+    @Override
+    protected void commitMutation2Backend(BackendMutation... mutations) {
+        try {
+            super.commitMutation2Backend(mutations);
+        } finally {
+            // The index mutation is committed with the graph mutation
+            this.indexTx.invalidateCachedIndexes();
+        }
+
+        // Add values after committed, the filters being built never miss them
+        ExistenceFilters filters = this.params().existenceFilters();
+        if (filters.enabled()) {
+            this.addExistenceValues(filters);
+        }
+    }
+
     @Override
     public void commit() throws BackendException {
         try {
@@ -544,6 +584,9 @@ public class GraphTransaction extends IndexableTransaction {
     public Number queryNumber(Query query) {
         boolean hasUpdate = this.hasUpdate();
         Aggregate aggregate = query.aggregateNotNull();
+        if (aggregate.column() != null) {
+            return this.queryAggregate(query, aggregate);
+        }
 
         QueryList<Number> queries = this.optimizeQueries(query, q -> {
             boolean isIndexQuery = q instanceof IdQuery;
@@ -596,6 +639,48 @@ public class GraphTransaction extends IndexableTransaction {
         return aggregate.reduce(results.iterator());
     }
 
+    /**
+     * Aggregate the values of a property of the queried elements, the result
+     * is null if there is no value (except count)
+     */
+    private Number queryAggregate(Query query, Aggregate aggregate) {
+        Aggregate.Accumulator accumulator = null;
+        if (!this.hasUpdate() && this.optimizeAggrByIndex &&
+            query instanceof ConditionQuery) {
+            // Try to aggregate by the range index entries only
+            accumulator = this.indexTx.queryAggregate((ConditionQuery) query,
+                                                      aggregate);
+        }
+        if (accumulator != null) {
+            return accumulator.result();
+        }
+
+        // Can't be optimized by index, then scan the elements
+        PropertyKey pkey = this.graph().propertyKey(aggregate.column());
+        accumulator = aggregate.accumulator();
+        query.aggregate(null);
+        Iterator<?> elements = query.resultType().isVertex() ?
+                               this.queryVertices(query) :
+                               this.queryEdges(query);
+        try {
+            while (elements.hasNext()) {
+                HugeElement element = (HugeElement) elements.next();
+                Object value = element.getPropertyValue(pkey.id());
+                if (value == null) {
+                    continue;
+                }
+                E.checkArgument(value instanceof Number,
+                                "The %s operator can't be applied on " +
+                                "the non-number property '%s'",
+                                aggregate.func().string(), pkey.name());
+                accumulator.add((Number) value, 1L);
+            }
+        } finally {
+            CloseableIterator.closeIterator(elements);
+        }
+        return accumulator.result();
+    }
+
     @Watched(prefix = "graph")
     public HugeVertex addVertex(Object... keyValues) {
         return this.addVertex(this.constructVertex(true, keyValues));
@@ -1355,9 +1440,9 @@ public class GraphTransaction extends IndexableTransaction {
             return queries;
         }
 
-        boolean supportIn = this.storeFeatures().supportsQueryWithInCondition();
+        Set<HugeKeys> inKeys = this.supportedInKeys(query);
         for (ConditionQuery cq: ConditionQueryFlatten.flatten(
-                                (ConditionQuery) query, supportIn)) {
+                                (ConditionQuery) query, inKeys)) {
             // Optimize by sysprop
             Query q = this.optimizeQuery(cq);
             /*
@@ -1374,6 +1459,24 @@ public class GraphTransaction extends IndexableTransaction {
         return queries;
     }
 
+    private Set<HugeKeys> supportedInKeys(Query query) {
+        BackendFeatures features = this.storeFeatures();
+        if (features.supportsQueryWithInCondition()) {
+            return ConditionQueryFlatten.IN_KEYS;
+        }
+        /*
+         * Keep the IN condition of owner vertices to query the adjacent
+         * edges of a batch of vertices by one query, which is executed by
+         * the backend store like a batch of prefix scans. The paging query
+         * is flattened since the page position can't locate the prefix.
+         */
+        if (query.resultType().isEdge() && !query.paging() &&
+            features.supportsQueryEdgesByBatch()) {
+            return OWNER_IN_KEYS;
+        }
+        return ImmutableSet.of();
+    }
+
     private Query optimizeQuery(ConditionQuery query) {
         if (query.idsSize() > 0) {
             throw new HugeException(
@@ -1471,6 +1574,115 @@ public class GraphTransaction extends IndexableTransaction {
         }
     }
 
+    public List<Map<String, Object>> explainIndexQuery(ConditionQuery query) {
+        this.beforeRead();
+        try {
+            return this.indexTx.explainIndexQuery(query);
+        } finally {
+            this.afterRead();
+        }
+    }
+
+    /**
+     * Query the k nearest vertices of a vector by the vector index of the
+     * property, which are matched by the conditions (like label) of query
+     * @return the ids of the nearest vertices and the cosine similarity,
+     *         sorted by the similarity in descending order
+     */
+    public Map<Id, Double> queryNearestVertices(ConditionQuery query,
+                                                Id propertyKey,
+                                                float[] vector, int k) {
+        E.checkArgument(query.resultType().isVertex(),
+                        "Only support querying nearest vertices, but got %s",
+                        query.resultType());
+        E.checkArgument(k > 0, "The k must be > 0, but got %s", k);
+
+        List<IndexLabel> indexLabels = this.vectorIndexLabels(query,
+                                                              propertyKey);
+        if (indexLabels.isEmpty()) {
+            throw new NoIndexException("Don't accept nearest query based on " +
+                                       "property '%s' that is not indexed " +
+                                       "by any vector index",
+                                       this.graph().propertyKey(propertyKey)
+                                           .name());
+        }
+
+        Set<Id> candidates = InsertionOrderUtil.newSet();
+        this.beforeRead();
+        try {
+            for (IndexLabel indexLabel : indexLabels) {
+                candidates.addAll(this.indexTx.queryVectorIndex(indexLabel,
+                                                                vector));
+            }
+        } finally {
+            this.afterRead();
+        }
+        if (candidates.isEmpty()) {
+            return ImmutableMap.of();
+        }
+
+        // Keep the k most similar vertices by a min-heap
+        PriorityQueue<Map.Entry<Id, Double>> nearest = new PriorityQueue<>(
+                                                       k + 1,
+                                                       Map.Entry.comparingByValue());
+        Iterator<Vertex> vertices = this.queryVertices(candidates.toArray());
+        try {
+            while (vertices.hasNext()) {
+                HugeVertex vertex = (HugeVertex) vertices.next();
+                if (!query.test(vertex)) {
+                    continue;
+                }
+                HugeProperty<?> property = vertex.getProperty(propertyKey);
+                if (property == null) {
+                    continue;
+                }
+                float[] other = VectorUtil.toVector(property.value());
+                if (other.length != vector.length) {
+                    continue;
+                }
+                double similarity = VectorUtil.cosine(vector, other);
+                nearest.add(new AbstractMap.SimpleEntry<>(vertex.id(),
+                                                          similarity));
+                if (nearest.size() > k) {
+                    nearest.poll();
+                }
+            }
+        } finally {
+            CloseableIterator.closeIterator(vertices);
+        }
+
+        List<Map.Entry<Id, Double>> sorted = new ArrayList<>(nearest);
+        sorted.sort(Collections.reverseOrder(Map.Entry.comparingByValue()));
+        Map<Id, Double> results = InsertionOrderUtil.newMap();
+        for (Map.Entry<Id, Double> e : sorted) {
+            results.put(e.getKey(), e.getValue());
+        }
+        return results;
+    }
+
+    private List<IndexLabel> vectorIndexLabels(ConditionQuery query,
+                                               Id propertyKey) {
+        Id label = query.condition(HugeKeys.LABEL);
+        Collection<VertexLabel> vertexLabels;
+        if (label != null) {
+            vertexLabels = ImmutableList.of(this.graph().vertexLabel(label));
+        } else {
+            vertexLabels = this.graph().vertexLabels();
+        }
+
+        List<IndexLabel> indexLabels = new ArrayList<>();
+        for (VertexLabel vertexLabel : vertexLabels) {
+            for (Id il : vertexLabel.indexLabels()) {
+                IndexLabel indexLabel = this.graph().indexLabel(il);
+                if (indexLabel.indexType().isVector() &&
+                    indexLabel.indexField().equals(propertyKey)) {
+                    indexLabels.add(indexLabel);
+                }
+            }
+        }
+        return indexLabels;
+    }
+
     private VertexLabel checkVertexLabel(Object label, boolean verifyLabel) {
         HugeVertexFeatures features = graph().features().vertex();
 
@@ -1581,10 +1793,16 @@ public class GraphTransaction extends IndexableTransaction {
     }
 
     private void checkVertexExistIfCustomizedId(Map<Id, HugeVertex> vertices) {
+        ExistenceFilters filters = this.params().existenceFilters();
         Set<Id> ids = new HashSet<>();
         for (HugeVertex vertex : vertices.values()) {
             VertexLabel vl = vertex.schemaLabel();
             if (!vl.hidden() && vl.idStrategy().isCustomized()) {
+                if (filters.enabled() &&
+                    !filters.mightContainVertex(vertex.id())) {
+                    // The id has never been added
+                    continue;
+                }
                 ids.add(vertex.id());
             }
         }
@@ -1593,23 +1811,40 @@ public class GraphTransaction extends IndexableTransaction {
         }
         IdQuery idQuery = new IdQuery(HugeType.VERTEX, ids);
         Iterator<HugeVertex> results = this.queryVerticesFromBackend(idQuery);
+        int existed = 0;
         try {
-            if (!results.hasNext()) {
-                return;
-            }
-            HugeVertex existedVertex = results.next();
-            HugeVertex newVertex = vertices.get(existedVertex.id());
-            if (!existedVertex.label().equals(newVertex.label())) {
-                throw new HugeException(
-                          "The newly added vertex with id:'%s' label:'%s' " +
-                          "is not allowed to insert, because already exist " +
-                          "a vertex with same id and different label:'%s'",
-                          newVertex.id(), newVertex.label(),
-                          existedVertex.label());
+            while (results.hasNext()) {
+                HugeVertex existedVertex = results.next();
+                HugeVertex newVertex = vertices.get(existedVertex.id());
+                if (!existedVertex.label().equals(newVertex.label())) {
+                    throw new HugeException(
+                              "The newly added vertex with id:'%s' " +
+                              "label:'%s' is not allowed to insert, because " +
+                              "already exist a vertex with same id and " +
+                              "different label:'%s'",
+                              newVertex.id(), newVertex.label(),
+                              existedVertex.label());
+                }
+                existed++;
             }
         } finally {
             CloseableIterator.closeIterator(results);
         }
+        if (filters.enabled()) {
+            filters.vertexFalsePositives(ids.size() - existed);
+        }
+    }
+
+    private void addExistenceValues(ExistenceFilters filters) {
+        if (this.checkCustomVertexExist) {
+            // Any vertex may have the same id as a customized one
+            for (HugeVertex vertex : this.addedVertices.values()) {
+                if (!vertex.schemaLabel().hidden()) {
+                    filters.addVertex(vertex.id());
+                }
+            }
+        }
+        this.indexTx.addExistenceValues(filters);
     }
 
     private void lockForUpdateProperty(SchemaLabel schemaLabel,
@@ -1742,9 +1977,16 @@ public class GraphTransaction extends IndexableTransaction {
             return results;
         }
         // Filter expired vertices/edges with TTL
+        ExpiredSweeper sweeper = this.params().expiredSweeper();
         return new FilterIterator<>(results, elem -> {
             if (elem.expired()) {
-                DeleteExpiredJob.asyncDeleteExpiredObject(this.graph(), elem);
+                if (sweeper.sweepsLocally()) {
+                    // Let the sweeper delete them in background
+                    sweeper.record(elem);
+                } else {
+                    DeleteExpiredJob.asyncDeleteExpiredObject(this.graph(),
+                                                              elem);
+                }
                 return false;
             }
             return true;
@@ -1951,7 +2193,7 @@ public class GraphTransaction extends IndexableTransaction {
         this.checkOwnerThread();
 
         this.beforeWrite();
-        this.indexTx.doEliminate(this.serializer.writeIndex(index));
+        this.indexTx.removeIndex(index);
         this.afterWrite();
     }
 
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.tx;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hugegraph.backend.id.Id;
+
+/**
+ * The ids of elements written by the graph transactions while some index
+ * labels are being rebuilt online, the rebuild job uses them to re-index the
+ * elements which may be changed after it has read them.
+ *
+ * NOTE: the change log is kept in memory of each server, the index left by
+ * writers of other servers is cleared by the left-index check of queries.
+ */
+public class IndexChangeLog {
+
+    private final Map<Id, Set<Id>> changes;
+
+    public IndexChangeLog() {
+        this.changes = new ConcurrentHashMap<>();
+    }
+
+    public void track(Id indexLabel) {
+        this.changes.putIfAbsent(indexLabel, ConcurrentHashMap.newKeySet());
+    }
+
+    public void untrack(Id indexLabel) {
+        this.changes.remove(indexLabel);
+    }
+
+    public boolean tracking() {
+        return !this.changes.isEmpty();
+    }
+
+    public void record(Id indexLabel, Id element) {
+        Set<Id> elements = this.changes.get(indexLabel);
+        if (elements != null) {
+            elements.add(element);
+        }
+    }
+
+    public boolean changed(Collection<Id> indexLabels, Id element) {
+        for (Id indexLabel : indexLabels) {
+            Set<Id> elements = this.changes.get(indexLabel);
+            if (elements != null && elements.contains(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        this.changes.clear();
+    }
+}
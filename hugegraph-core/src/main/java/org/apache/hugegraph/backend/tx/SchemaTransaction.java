@@ -46,6 +46,7 @@ import org.apache.hugegraph.job.JobBuilder;
 import org.apache.hugegraph.job.schema.EdgeLabelRemoveJob;
 import org.apache.hugegraph.job.schema.IndexLabelRebuildJob;
 import org.apache.hugegraph.job.schema.IndexLabelRemoveJob;
+import org.apache.hugegraph.job.schema.IndexStatisticsJob;
 import org.apache.hugegraph.job.schema.OlapPropertyKeyClearJob;
 import org.apache.hugegraph.job.schema.OlapPropertyKeyCreateJob;
 import org.apache.hugegraph.job.schema.OlapPropertyKeyRemoveJob;
@@ -277,6 +278,15 @@ public class SchemaTransaction extends IndexableTransaction {
         this.updateSchema(indexLabel, null);
     }
 
+    @Watched(prefix = "schema")
+    public IndexLabel renameIndexLabel(IndexLabel indexLabel, String name) {
+        IndexLabel renamed = indexLabel.copy(indexLabel.id(), name);
+        // Keep the id to be found by the writers, and replace the name only
+        this.removeSchemaName(indexLabel);
+        this.updateSchema(renamed, null);
+        return renamed;
+    }
+
     @Watched(prefix = "schema")
     public void removeIndexLabelFromBaseLabel(IndexLabel indexLabel) {
         HugeType baseType = indexLabel.baseType();
@@ -338,6 +348,14 @@ public class SchemaTransaction extends IndexableTransaction {
         return asyncRun(this.graph(), schema, callable, dependencies);
     }
 
+    @Watched(prefix = "schema")
+    public Id collectIndexStatistics(SchemaElement schema) {
+        LOG.debug("SchemaTransaction collect index statistics for {} " +
+                  "with id '{}'", schema.type(), schema.id());
+        SchemaJob callable = new IndexStatisticsJob();
+        return asyncRun(this.graph(), schema, callable);
+    }
+
     public void createIndexLabelForOlapPk(PropertyKey propertyKey) {
         WriteType writeType = propertyKey.writeType();
         if (writeType == WriteType.OLTP ||
@@ -548,6 +566,21 @@ public class SchemaTransaction extends IndexableTransaction {
         }
     }
 
+    protected void removeSchemaName(SchemaElement schema) {
+        LOG.debug("SchemaTransaction remove name of {} '{}'",
+                  schema.type(), schema.name());
+        LockUtil.Locks locks = new LockUtil.Locks(this.graphName());
+        try {
+            locks.lockWrites(LockUtil.hugeType2Group(schema.type()),
+                             schema.id());
+            this.beforeWrite();
+            this.indexTx.updateNameIndex(schema, true);
+            this.afterWrite();
+        } finally {
+            locks.unlock();
+        }
+    }
+
     private BackendEntry serialize(SchemaElement schema) {
         switch (schema.type()) {
             case PROPERTY_KEY:
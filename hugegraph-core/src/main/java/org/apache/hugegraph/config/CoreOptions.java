@@ -23,6 +23,7 @@ import static org.apache.hugegraph.backend.tx.GraphTransaction.COMMIT_BATCH;
 import static org.apache.hugegraph.config.OptionChecker.allowValues;
 import static org.apache.hugegraph.config.OptionChecker.disallowEmpty;
 import static org.apache.hugegraph.config.OptionChecker.positiveInt;
+import static org.apache.hugegraph.config.OptionChecker.rangeDouble;
 import static org.apache.hugegraph.config.OptionChecker.rangeInt;
 
 import org.apache.hugegraph.backend.query.Query;
@@ -310,6 +311,45 @@ public class CoreOptions extends OptionHolder {
                     1
             );
 
+    public static final ConfigOption<Integer> TASK_REBUILD_INDEX_WORKERS =
+            new ConfigOption<>(
+                    "task.rebuild_index_workers",
+                    "The number of threads to write index in parallel when " +
+                    "rebuilding index, 1 means writing in the job thread.",
+                    rangeInt(1, 64),
+                    4
+            );
+
+    public static final ConfigOption<Integer> TASK_REBUILD_INDEX_BATCH =
+            new ConfigOption<>(
+                    "task.rebuild_index_batch",
+                    "The number of elements to be indexed and committed " +
+                    "in a batch when rebuilding index.",
+                    rangeInt(1, 100000),
+                    500
+            );
+
+    public static final ConfigOption<Long> TASK_TTL_SWEEP_INTERVAL =
+            new ConfigOption<>(
+                    "task.ttl_sweep_interval",
+                    "The interval in seconds to sweep the expired vertices " +
+                    "and edges in background for the backends which don't " +
+                    "support ttl natively, 0 means deleting the expired " +
+                    "data when they are read.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    600L
+            );
+
+    public static final ConfigOption<Integer> TASK_TTL_SWEEP_RATE =
+            new ConfigOption<>(
+                    "task.ttl_sweep_rate",
+                    "The max number of vertices, edges and index entries " +
+                    "visited per second by the ttl sweeper, including the " +
+                    "ones not expired, 0 means no limit.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    10000
+            );
+
     public static final ConfigOption<Boolean> TASK_SYNC_DELETION =
             new ConfigOption<>(
                     "task.sync_deletion",
@@ -346,6 +386,35 @@ public class CoreOptions extends OptionHolder {
                     false
             );
 
+    public static final ConfigOption<Boolean> EXISTENCE_FILTER_ENABLE =
+            new ConfigOption<>(
+                    "existence_filter.enable",
+                    "Whether to skip the existence checks of the new " +
+                    "customized vertex ids and unique index values by " +
+                    "bloom filters in memory, which must be disabled if " +
+                    "the graph is written by multiple servers.",
+                    disallowEmpty(),
+                    false
+            );
+
+    public static final ConfigOption<Long> EXISTENCE_FILTER_CAPACITY =
+            new ConfigOption<>(
+                    "existence_filter.capacity",
+                    "The expected number of values of each existence " +
+                    "filter, the filter grows when it's exceeded.",
+                    rangeInt(1L, Long.MAX_VALUE),
+                    1000000L
+            );
+
+    public static final ConfigOption<Double> EXISTENCE_FILTER_FPP =
+            new ConfigOption<>(
+                    "existence_filter.fpp",
+                    "The expected false positive probability of each " +
+                    "existence filter.",
+                    rangeDouble(0.0001, 0.5),
+                    0.01
+            );
+
     public static final ConfigOption<Boolean> VERTEX_REMOVE_LEFT_INDEX =
             new ConfigOption<>(
                     "vertex.remove_left_index_at_overwrite",
@@ -543,6 +612,42 @@ public class CoreOptions extends OptionHolder {
                     (60 * 10)
             );
 
+    public static final ConfigOption<Integer> EDGE_CACHE_MAX_EDGES_PER_QUERY =
+            new ConfigOption<>(
+                    "edge.cache_max_edges_per_query",
+                    "The max number of edges of a query to be cached, " +
+                    "the edges of a query with more edges are not cached.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    100
+            );
+
+    public static final ConfigOption<Long> INDEX_CACHE_CAPACITY =
+            new ConfigOption<>(
+                    "index.cache_capacity",
+                    "The max cache size(items) of index query results, " +
+                    "the results are invalidated by the changes of the " +
+                    "index labels, disable the cache if it's 0.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+
+    public static final ConfigOption<Integer> INDEX_CACHE_EXPIRE =
+            new ConfigOption<>(
+                    "index.cache_expire",
+                    "The expiration time in seconds of index query results.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    (60 * 10)
+            );
+
+    public static final ConfigOption<Integer> INDEX_CACHE_MAX_IDS_PER_QUERY =
+            new ConfigOption<>(
+                    "index.cache_max_ids_per_query",
+                    "The max number of element ids of an index query to be " +
+                    "cached, the results with more ids are not cached.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    1000
+            );
+
     public static final ConfigOption<Long> SNOWFLAKE_WORKER_ID =
             new ConfigOption<>(
                     "snowflake.worker_id",
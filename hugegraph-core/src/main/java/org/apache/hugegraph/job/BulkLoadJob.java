@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.job;
+
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.util.Log;
+import org.slf4j.Logger;
+
+/**
+ * Run a gremlin script to load data in bulk loading mode, all the loading
+ * runs in the task thread, since only the mutations committed by the session
+ * which began the bulk loading are sorted into SST files, and then ingested
+ * into the backend (RocksDB only) after the script is finished.
+ */
+public class BulkLoadJob extends GremlinJob {
+
+    private static final Logger LOG = Log.logger(BulkLoadJob.class);
+
+    public static final String TASK_TYPE = "bulkload";
+
+    public static final String META = "bulkload";
+    public static final String BEGIN = "begin";
+    public static final String COMMIT = "commit";
+    public static final String ABORT = "abort";
+
+    @Override
+    public String type() {
+        return TASK_TYPE;
+    }
+
+    @Override
+    public Object execute() throws Exception {
+        HugeGraph graph = this.graph();
+        graph.metadata(null, META, BEGIN);
+        boolean ended = false;
+        try {
+            // The mutations of the script are committed after it finished
+            super.execute();
+            // Sort the loaded data into sst files and ingest them into backend
+            ended = true;
+            return graph.metadata(null, META, COMMIT);
+        } finally {
+            if (!ended) {
+                LOG.info("Abort the bulk loading of graph '{}'", graph.name());
+                graph.metadata(null, META, ABORT);
+            }
+        }
+    }
+}
@@ -19,19 +19,30 @@
 
 package org.apache.hugegraph.job.schema;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.tx.GraphTransaction;
+import org.apache.hugegraph.backend.tx.IndexChangeLog;
 import org.apache.hugegraph.backend.tx.SchemaTransaction;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.type.define.SchemaStatus;
+import org.apache.hugegraph.util.Consumers;
 import org.apache.hugegraph.util.LockUtil;
-import org.apache.tinkerpop.gremlin.structure.Edge;
-import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 
 import org.apache.hugegraph.schema.EdgeLabel;
 import org.apache.hugegraph.schema.IndexLabel;
@@ -86,27 +97,138 @@ public class IndexLabelRebuildJob extends SchemaJob {
 
     private void rebuildIndex(SchemaLabel label, Collection<Id> indexLabelIds) {
         SchemaTransaction schemaTx = this.params().schemaTransaction();
-        GraphTransaction graphTx = this.params().graphTransaction();
+        IndexChangeLog changeLog = this.params().indexChangeLog();
 
-        Consumer<?> indexUpdater = (elem) -> {
-            for (Id id : indexLabelIds) {
-                graphTx.updateIndex(id, (HugeElement) elem, false);
+        /*
+         * The created index labels are rebuilt into the shadow index labels
+         * while they are still queryable, and are replaced by the shadow
+         * ones after built. The index labels being created or of olap are
+         * not queryable anyway, they are rebuilt in place.
+         */
+        Map<Id, IndexLabel> replaced = new HashMap<>();
+        Set<IndexLabel> inPlace = new HashSet<>();
+        for (Id id : indexLabelIds) {
+            IndexLabel il = this.graph().indexLabel(id);
+            if (il.status() == SchemaStatus.REBUILDING) {
+                // It's a shadow index label being rebuilt by another job
+                continue;
+            }
+            if (il.status() == SchemaStatus.CREATING || il.olap()) {
+                inPlace.add(il);
+            } else {
+                IndexLabel shadow = this.addShadowIndexLabel(il);
+                replaced.put(shadow.id(), il);
+            }
+        }
+        Set<Id> rebuildIds = new HashSet<>(replaced.keySet());
+        inPlace.forEach(il -> rebuildIds.add(il.id()));
+        if (rebuildIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            this.removeIndexInPlace(inPlace);
+        } catch (Throwable e) {
+            this.removeShadowIndexLabels(replaced.keySet());
+            throw e;
+        }
+
+        try {
+            this.buildIndex(label, rebuildIds);
+        } catch (Throwable e) {
+            for (IndexLabel il : inPlace) {
+                schemaTx.updateSchemaStatus(il, SchemaStatus.INVALID);
+            }
+            this.removeShadowIndexLabels(replaced.keySet());
+            throw e;
+        } finally {
+            for (Id id : rebuildIds) {
+                changeLog.untrack(id);
             }
-        };
+        }
 
+        LockUtil.Locks locks = new LockUtil.Locks(schemaTx.graphName());
+        try {
+            locks.lockWrites(LockUtil.INDEX_LABEL_REBUILD, rebuildIds);
+            for (IndexLabel il : inPlace) {
+                schemaTx.updateSchemaStatus(il, SchemaStatus.CREATED);
+            }
+        } finally {
+            locks.unlock();
+        }
+        for (Map.Entry<Id, IndexLabel> e : replaced.entrySet()) {
+            this.replaceIndexLabel(e.getValue(), e.getKey());
+        }
+    }
+
+    private IndexLabel addShadowIndexLabel(IndexLabel indexLabel) {
+        SchemaTransaction schemaTx = this.params().schemaTransaction();
+        Id id = schemaTx.getNextId(HugeType.INDEX_LABEL);
+        String name = Graph.Hidden.hide(indexLabel.name() + "-rebuild-" + id);
+        IndexLabel shadow = indexLabel.copy(id, name);
+        /*
+         * The shadow index label is written by the writers as one of the
+         * base label, but is not queried until it's built
+         */
+        shadow.status(SchemaStatus.REBUILDING);
+        // Record the elements written by others since now
+        this.params().indexChangeLog().track(id);
+        schemaTx.addIndexLabel(indexLabel.baseLabel(), shadow);
+        return shadow;
+    }
+
+    private void replaceIndexLabel(IndexLabel indexLabel, Id shadowId) {
+        SchemaTransaction schemaTx = this.params().schemaTransaction();
+        IndexLabel shadow = schemaTx.getIndexLabel(shadowId);
+        LockUtil.Locks locks = new LockUtil.Locks(schemaTx.graphName());
+        try {
+            locks.lockWrites(LockUtil.INDEX_LABEL_REBUILD, shadowId);
+            // Both of the shadow one and the old one are queryable now
+            schemaTx.updateSchemaStatus(shadow, SchemaStatus.CREATED);
+        } finally {
+            locks.unlock();
+        }
+        // Drop the old one, which is not queried since it's deleting
+        IndexLabelRemoveJob.removeIndexLabel(this.params(), indexLabel.id());
+        // The shadow one takes over the name of the old one
+        schemaTx.renameIndexLabel(shadow, indexLabel.name());
+    }
+
+    private void removeShadowIndexLabels(Collection<Id> shadowIds) {
+        for (Id id : shadowIds) {
+            this.params().indexChangeLog().untrack(id);
+            IndexLabelRemoveJob.removeIndexLabel(this.params(), id);
+        }
+    }
+
+    private void removeIndexInPlace(Set<IndexLabel> indexLabels) {
+        if (indexLabels.isEmpty()) {
+            return;
+        }
+        SchemaTransaction schemaTx = this.params().schemaTransaction();
+        GraphTransaction graphTx = this.params().graphTransaction();
+        IndexChangeLog changeLog = this.params().indexChangeLog();
+        Set<Id> indexLabelIds = indexLabels.stream().map(IndexLabel::id)
+                                           .collect(Collectors.toSet());
+        /*
+         * Hold the rebuild lock only while removing the old index, queries
+         * are rejected by the index status until the index is rebuilt, and
+         * the writers are never blocked by the rebuilding
+         */
         LockUtil.Locks locks = new LockUtil.Locks(schemaTx.graphName());
         try {
             locks.lockWrites(LockUtil.INDEX_LABEL_REBUILD, indexLabelIds);
 
-            Set<IndexLabel> ils = indexLabelIds.stream()
-                                               .map(this.graph()::indexLabel)
-                                               .collect(Collectors.toSet());
-            for (IndexLabel il : ils) {
+            for (IndexLabel il : indexLabels) {
                 if (il.status() == SchemaStatus.CREATING) {
                     continue;
                 }
                 schemaTx.updateSchemaStatus(il, SchemaStatus.REBUILDING);
             }
+            // Record the elements written by others since now
+            for (Id id : indexLabelIds) {
+                changeLog.track(id);
+            }
 
             this.removeIndex(indexLabelIds);
             /*
@@ -119,34 +241,108 @@ public class IndexLabelRebuildJob extends SchemaJob {
              * They have different id lead to it can't compare and optimize
              */
             graphTx.commit();
+        } catch (Throwable e) {
+            for (Id id : indexLabelIds) {
+                changeLog.untrack(id);
+            }
+            throw e;
+        } finally {
+            locks.unlock();
+        }
+    }
+
+    private void buildIndex(SchemaLabel label, Collection<Id> indexLabelIds) {
+        GraphTransaction graphTx = this.params().graphTransaction();
+        HugeConfig config = this.params().configuration();
+        int workers = config.get(CoreOptions.TASK_REBUILD_INDEX_WORKERS);
+        int batchSize = config.get(CoreOptions.TASK_REBUILD_INDEX_BATCH);
+
+        // Index the elements read by the job thread in parallel by batch
+        String name = "rebuild-index-" + this.task().id();
+        ExecutorService executor = null;
+        Runnable done = null;
+        if (workers > 1) {
+            executor = Consumers.newThreadPool(name, workers);
+            done = this.params()::closeTx;
+        }
+        Consumers<List<HugeElement>> consumers = new Consumers<>(
+                executor, batch -> this.indexBatch(batch, indexLabelIds),
+                done);
+        IndexBatches batches = new IndexBatches(consumers, batchSize);
 
+        consumers.start(name);
+        try {
+            if (label.type() == HugeType.VERTEX_LABEL) {
+                graphTx.traverseVerticesByLabel((VertexLabel) label,
+                                                batches::accept, false);
+            } else {
+                assert label.type() == HugeType.EDGE_LABEL;
+                graphTx.traverseEdgesByLabel((EdgeLabel) label,
+                                             batches::accept, false);
+            }
+            batches.flush();
+        } catch (Throwable e) {
+            throw Consumers.wrapException(e);
+        } finally {
             try {
-                if (label.type() == HugeType.VERTEX_LABEL) {
-                    @SuppressWarnings("unchecked")
-                    Consumer<Vertex> consumer = (Consumer<Vertex>) indexUpdater;
-                    graphTx.traverseVerticesByLabel((VertexLabel) label,
-                                                    consumer, false);
-                } else {
-                    assert label.type() == HugeType.EDGE_LABEL;
-                    @SuppressWarnings("unchecked")
-                    Consumer<Edge> consumer = (Consumer<Edge>) indexUpdater;
-                    graphTx.traverseEdgesByLabel((EdgeLabel) label,
-                                                 consumer, false);
-                }
-                graphTx.commit();
+                consumers.await();
             } catch (Throwable e) {
-                for (IndexLabel il : ils) {
-                    schemaTx.updateSchemaStatus(il, SchemaStatus.INVALID);
+                throw Consumers.wrapException(e);
+            } finally {
+                if (executor != null) {
+                    executor.shutdown();
                 }
-                throw e;
             }
+        }
+    }
 
-            for (IndexLabel il : ils) {
-                schemaTx.updateSchemaStatus(il, SchemaStatus.CREATED);
+    private void indexBatch(List<HugeElement> elements,
+                            Collection<Id> indexLabelIds) {
+        GraphTransaction graphTx = this.params().graphTransaction();
+        for (HugeElement element : elements) {
+            for (Id id : indexLabelIds) {
+                graphTx.updateIndex(id, element, false);
+            }
+        }
+        graphTx.commit();
+
+        /*
+         * The elements may be updated or removed by others after they are
+         * read by the job, remove the index of the elements read and then
+         * re-index the latest elements
+         */
+        IndexChangeLog changeLog = this.params().indexChangeLog();
+        List<Id> changed = new ArrayList<>();
+        for (HugeElement element : elements) {
+            if (changeLog.changed(indexLabelIds, element.id())) {
+                for (Id id : indexLabelIds) {
+                    graphTx.updateIndex(id, element, true);
+                }
+                changed.add(element.id());
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        graphTx.commit();
+
+        Iterator<?> latest;
+        if (elements.get(0).type().isVertex()) {
+            latest = graphTx.queryVertices(changed.toArray());
+        } else {
+            latest = graphTx.queryEdges(changed.toArray());
+        }
+        try {
+            while (latest.hasNext()) {
+                HugeElement element = (HugeElement) latest.next();
+                for (Id id : indexLabelIds) {
+                    graphTx.updateIndex(id, element, false);
+                }
             }
         } finally {
-            locks.unlock();
+            CloseableIterator.closeIterator(latest);
         }
+        graphTx.commit();
     }
 
     private void removeIndex(Collection<Id> indexLabelIds) {
@@ -190,4 +386,44 @@ public class IndexLabelRebuildJob extends SchemaJob {
                           "Invalid HugeType '%s' for rebuild", type));
         }
     }
+
+    private class IndexBatches implements Consumer<Object> {
+
+        private final Consumers<List<HugeElement>> consumers;
+        private final int batchSize;
+        private List<HugeElement> batch;
+        private long total;
+
+        public IndexBatches(Consumers<List<HugeElement>> consumers,
+                            int batchSize) {
+            this.consumers = consumers;
+            this.batchSize = batchSize;
+            this.batch = new ArrayList<>(batchSize);
+            this.total = 0L;
+        }
+
+        @Override
+        public void accept(Object element) {
+            this.batch.add((HugeElement) element);
+            if (this.batch.size() >= this.batchSize) {
+                this.flush();
+            }
+        }
+
+        public void flush() {
+            if (this.batch.isEmpty()) {
+                return;
+            }
+            try {
+                this.consumers.provide(this.batch);
+            } catch (Throwable e) {
+                throw Consumers.wrapException(e);
+            }
+            this.total += this.batch.size();
+            this.batch = new ArrayList<>(this.batchSize);
+            // The progress is the count of elements read to be indexed
+            IndexLabelRebuildJob.this.updateProgress(
+                    (int) Math.min(this.total, Integer.MAX_VALUE));
+        }
+    }
 }
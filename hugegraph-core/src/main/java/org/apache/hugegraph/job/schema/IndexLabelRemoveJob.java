@@ -73,6 +73,8 @@ public class IndexLabelRemoveJob extends SchemaJob {
                 graph.graph().tx().commit();
                 // Remove index label
                 removeSchema(schemaTx, indexLabel);
+                graph.indexStatistics().remove(id);
+                graph.existenceFilters().remove(id);
             } catch (Throwable e) {
                 schemaTx.updateSchemaStatus(indexLabel, SchemaStatus.UNDELETED);
                 throw e;
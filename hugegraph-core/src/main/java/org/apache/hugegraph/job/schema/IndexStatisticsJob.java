@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.job.schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.stats.IndexLabelStats;
+import org.apache.hugegraph.backend.stats.IndexStatistics;
+import org.apache.hugegraph.backend.tx.GraphTransaction;
+import org.apache.hugegraph.schema.EdgeLabel;
+import org.apache.hugegraph.schema.IndexLabel;
+import org.apache.hugegraph.schema.SchemaElement;
+import org.apache.hugegraph.schema.SchemaLabel;
+import org.apache.hugegraph.schema.VertexLabel;
+import org.apache.hugegraph.structure.HugeElement;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.SchemaStatus;
+
+/**
+ * Collect the statistics of the index labels by traversing the elements of
+ * the base label once, the collected statistics replace the old ones after
+ * all the elements are traversed.
+ */
+public class IndexStatisticsJob extends SchemaJob {
+
+    @Override
+    public String type() {
+        return COLLECT_STATISTICS;
+    }
+
+    @Override
+    public Object execute() {
+        SchemaElement schema = this.schemaElement();
+        // If the schema does not exist, ignore it
+        if (schema == null) {
+            return null;
+        }
+
+        SchemaLabel label;
+        List<IndexLabel> indexLabels = new ArrayList<>();
+        if (schema.type() == HugeType.INDEX_LABEL) {
+            IndexLabel indexLabel = (IndexLabel) schema;
+            label = indexLabel.baseLabel();
+            indexLabels.add(indexLabel);
+        } else {
+            label = (SchemaLabel) schema;
+            for (Id id : label.indexLabels()) {
+                indexLabels.add(this.graph().indexLabel(id));
+            }
+        }
+
+        List<IndexLabelStats.Collector> collectors = new ArrayList<>();
+        for (IndexLabel indexLabel : indexLabels) {
+            if (indexLabel.status() == SchemaStatus.CREATED) {
+                collectors.add(new IndexLabelStats.Collector(indexLabel));
+            }
+        }
+        if (collectors.isEmpty()) {
+            return 0L;
+        }
+
+        long[] count = new long[1];
+        Consumer<HugeElement> collector = element -> {
+            count[0]++;
+            for (IndexLabelStats.Collector c : collectors) {
+                c.add(element);
+            }
+        };
+        GraphTransaction graphTx = this.params().graphTransaction();
+        if (label.type() == HugeType.VERTEX_LABEL) {
+            graphTx.traverseVerticesByLabel((VertexLabel) label, vertex -> {
+                collector.accept((HugeElement) vertex);
+            }, false);
+        } else {
+            assert label.type() == HugeType.EDGE_LABEL;
+            graphTx.traverseEdgesByLabel((EdgeLabel) label, edge -> {
+                collector.accept((HugeElement) edge);
+            }, false);
+        }
+
+        IndexStatistics statistics = this.params().indexStatistics();
+        for (IndexLabelStats.Collector c : collectors) {
+            statistics.put(c.build());
+        }
+        LOG.info("Collected statistics of {} index labels from {} elements " +
+                 "of '{}'", collectors.size(), count[0], label.name());
+        return count[0];
+    }
+
+    private SchemaElement schemaElement() {
+        HugeType type = this.schemaType();
+        Id id = this.schemaId();
+        switch (type) {
+            case VERTEX_LABEL:
+                return this.graph().vertexLabel(id);
+            case EDGE_LABEL:
+                return this.graph().edgeLabel(id);
+            case INDEX_LABEL:
+                return this.graph().indexLabel(id);
+            default:
+                throw new AssertionError(String.format(
+                          "Invalid HugeType '%s' for collecting statistics",
+                          type));
+        }
+    }
+}
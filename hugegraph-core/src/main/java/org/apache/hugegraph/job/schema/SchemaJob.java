@@ -41,6 +41,7 @@ public abstract class SchemaJob extends SysJob<Object> {
     public static final String CREATE_OLAP = "create_olap";
     public static final String CLEAR_OLAP = "clear_olap";
     public static final String REMOVE_OLAP = "remove_olap";
+    public static final String COLLECT_STATISTICS = "collect_statistics";
 
     protected static final Logger LOG = Log.logger(SchemaJob.class);
 
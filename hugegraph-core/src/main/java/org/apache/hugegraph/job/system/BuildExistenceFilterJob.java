@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.job.system;
+
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.backend.tx.ExistenceFilters;
+import org.apache.hugegraph.job.EphemeralJob;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.Log;
+
+public class BuildExistenceFilterJob extends EphemeralJob<Long> {
+
+    private static final Logger LOG = Log.logger(BuildExistenceFilterJob.class);
+
+    private static final String JOB_TYPE = "build_existence_filter";
+
+    private final ExistenceFilters filters;
+    private final String key;
+
+    public BuildExistenceFilterJob(ExistenceFilters filters, String key) {
+        E.checkArgumentNotNull(filters, "The filters can't be null");
+        E.checkArgumentNotNull(key, "The filter key can't be null");
+        this.filters = filters;
+        this.key = key;
+    }
+
+    @Override
+    public String type() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public Long execute() throws Exception {
+        long count = this.filters.build(this.key);
+        LOG.debug("Scanned {} values for existence filter '{}' of graph '{}'",
+                  count, this.key, this.graph().name());
+        return count;
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.job.system;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.HugeGraphParams;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.IdQuery;
+import org.apache.hugegraph.backend.tx.GraphTransaction;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.job.EphemeralJobBuilder;
+import org.apache.hugegraph.schema.EdgeLabel;
+import org.apache.hugegraph.schema.IndexLabel;
+import org.apache.hugegraph.schema.SchemaLabel;
+import org.apache.hugegraph.schema.VertexLabel;
+import org.apache.hugegraph.structure.HugeElement;
+import org.apache.hugegraph.structure.HugeIndex;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.SchemaStatus;
+import org.apache.hugegraph.util.Log;
+import com.google.common.util.concurrent.RateLimiter;
+
+/**
+ * Sweep the expired vertices and edges (and their index) in background for
+ * the backends which don't support ttl natively, instead of deleting them
+ * by the reads which notice them.
+ *
+ * Only the master server sweeps, and the earliest expired time of each
+ * label is recorded when the elements are written or read by it, the labels
+ * having expired elements are swept. The labels never recorded (like after
+ * restarting) are swept once, and since the elements written by the other
+ * servers are not recorded, a label is swept again at most ttl later after
+ * the last sweep (or every interval if the label has a ttl start time).
+ * The expired index entries noticed by the reads are kept to be deleted
+ * directly before sweeping the labels, since the entries whose elements
+ * were deleted are never visited by traversing the labels. Both the
+ * elements traversed and the index entries deleted are rate limited.
+ * The other servers still delete the expired data by the reads.
+ */
+public class ExpiredSweeper {
+
+    private static final Logger LOG = Log.logger(ExpiredSweeper.class);
+
+    private static final int MAX_EXPIRED_INDEXES = 100000;
+
+    private final HugeGraphParams graph;
+    private final long interval;
+    private final RateLimiter rateLimiter;
+
+    private final Map<Id, Long> vertexExpiredTimes;
+    private final Map<Id, Long> edgeExpiredTimes;
+    private final Set<HugeIndex> expiredIndexes;
+
+    private final AtomicBoolean sweeping;
+    private volatile long lastSweepTime;
+
+    public ExpiredSweeper(HugeGraphParams graph) {
+        HugeConfig config = graph.configuration();
+        this.graph = graph;
+        this.interval = config.get(CoreOptions.TASK_TTL_SWEEP_INTERVAL) *
+                        1000L;
+        int rate = config.get(CoreOptions.TASK_TTL_SWEEP_RATE);
+        this.rateLimiter = rate > 0 ? RateLimiter.create(rate) : null;
+
+        this.vertexExpiredTimes = new ConcurrentHashMap<>();
+        this.edgeExpiredTimes = new ConcurrentHashMap<>();
+        this.expiredIndexes = ConcurrentHashMap.newKeySet();
+
+        this.sweeping = new AtomicBoolean(false);
+        this.lastSweepTime = System.currentTimeMillis();
+    }
+
+    public boolean enabled() {
+        return this.interval > 0L &&
+               !this.graph.backendStoreFeatures().supportsTtl();
+    }
+
+    /**
+     * Whether the expired data noticed by this server is left to the sweeper
+     * instead of deleted by the reads, only the master server sweeps it
+     */
+    public boolean sweepsLocally() {
+        return this.enabled() && this.graph.serverManager().master();
+    }
+
+    public void record(HugeElement element) {
+        long expiredTime = element.expiredTime();
+        if (expiredTime <= 0L) {
+            return;
+        }
+        Map<Id, Long> expiredTimes = element.type().isVertex() ?
+                                     this.vertexExpiredTimes :
+                                     this.edgeExpiredTimes;
+        expiredTimes.merge(element.schemaLabel().id(), expiredTime,
+                           Math::min);
+    }
+
+    public void record(HugeIndex index) {
+        IndexLabel indexLabel = index.indexLabel();
+        long expiredTime = index.expiredTime();
+        if (expiredTime <= 0L || indexLabel.system()) {
+            return;
+        }
+        // The entries beyond the limit will be recorded by later reads
+        if (this.expiredIndexes.size() < MAX_EXPIRED_INDEXES) {
+            this.expiredIndexes.add(index);
+        }
+        Map<Id, Long> expiredTimes;
+        if (indexLabel.baseType() == HugeType.VERTEX_LABEL) {
+            expiredTimes = this.vertexExpiredTimes;
+        } else {
+            assert indexLabel.baseType() == HugeType.EDGE_LABEL;
+            expiredTimes = this.edgeExpiredTimes;
+        }
+        expiredTimes.merge(indexLabel.baseValue(), expiredTime, Math::min);
+    }
+
+    public void clear() {
+        this.vertexExpiredTimes.clear();
+        this.edgeExpiredTimes.clear();
+        this.expiredIndexes.clear();
+    }
+
+    public void sweepIfNeeded() {
+        if (!this.enabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - this.lastSweepTime < this.interval) {
+            return;
+        }
+        if (!this.sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        this.lastSweepTime = now;
+        try {
+            EphemeralJobBuilder.<Long>of(this.graph.graph())
+                               .name("sweep_expired")
+                               .job(new SweepExpiredJob(this))
+                               .schedule();
+        } catch (Throwable e) {
+            this.sweeping.set(false);
+            LOG.warn("Failed to schedule sweeping expired data", e);
+        }
+    }
+
+    protected long sweep() {
+        try {
+            GraphTransaction tx = this.graph.graphTransaction();
+            long deleted = this.sweepIndexes(tx);
+            for (VertexLabel label : this.graph.schemaTransaction()
+                                               .getVertexLabels()) {
+                if (this.due(label, this.vertexExpiredTimes)) {
+                    deleted += this.sweep(tx, label, this.vertexExpiredTimes);
+                }
+            }
+            for (EdgeLabel label : this.graph.schemaTransaction()
+                                             .getEdgeLabels()) {
+                if (this.due(label, this.edgeExpiredTimes)) {
+                    deleted += this.sweep(tx, label, this.edgeExpiredTimes);
+                }
+            }
+            return deleted;
+        } finally {
+            this.sweeping.set(false);
+        }
+    }
+
+    private boolean due(SchemaLabel label, Map<Id, Long> expiredTimes) {
+        if (label.ttl() <= 0L || label.status().deleting()) {
+            return false;
+        }
+        Long expiredTime = expiredTimes.get(label.id());
+        return expiredTime == null || expiredTime < this.graph.graph().now();
+    }
+
+    private long sweep(GraphTransaction tx, SchemaLabel label,
+                       Map<Id, Long> expiredTimes) {
+        // The elements written while sweeping will be recorded again
+        expiredTimes.remove(label.id());
+
+        /*
+         * The elements written by the other servers after sweeping expire
+         * after ttl at the earliest, unless the ttl starts at a property
+         */
+        long now = this.graph.graph().now();
+        long nextTime = SchemaLabel.NONE_ID.equals(label.ttlStartTime()) ?
+                        now + label.ttl() : now;
+        long[] counts = new long[]{0L, nextTime};
+        Consumer<HugeElement> consumer = element -> {
+            // Limit the scan itself, not only the deletion
+            this.acquire();
+            if (element.expired()) {
+                element.remove();
+                tx.commitIfGtSize(GraphTransaction.COMMIT_BATCH);
+                counts[0]++;
+            } else if (element.expiredTime() > 0L) {
+                counts[1] = Math.min(counts[1], element.expiredTime());
+            }
+        };
+        // Traverse with the expired elements
+        if (label.type() == HugeType.VERTEX_LABEL) {
+            tx.traverseVerticesByLabel((VertexLabel) label,
+                                       v -> consumer.accept((HugeElement) v),
+                                       true);
+        } else {
+            assert label.type() == HugeType.EDGE_LABEL;
+            tx.traverseEdgesByLabel((EdgeLabel) label,
+                                    e -> consumer.accept((HugeElement) e),
+                                    true);
+        }
+        tx.commit();
+        expiredTimes.merge(label.id(), counts[1], Math::min);
+
+        LOG.debug("Swept {} expired elements of {} '{}'",
+                  counts[0], label.type().readableName(), label.name());
+        return counts[0];
+    }
+
+    private long sweepIndexes(GraphTransaction tx) {
+        long deleted = 0L;
+        Iterator<HugeIndex> iter = this.expiredIndexes.iterator();
+        while (iter.hasNext()) {
+            HugeIndex index = iter.next();
+            iter.remove();
+            this.acquire();
+            if (this.sweepIndex(tx, index)) {
+                tx.commitIfGtSize(GraphTransaction.COMMIT_BATCH);
+                deleted++;
+            }
+        }
+        tx.commit();
+
+        LOG.debug("Swept {} expired index entries", deleted);
+        return deleted;
+    }
+
+    /*
+     * Delete the element of the index entry if it's still expired, or the
+     * entry only if the element is gone, and keep the entry re-written
+     * by the element with a new expired time
+     */
+    private boolean sweepIndex(GraphTransaction tx, HugeIndex index) {
+        IndexLabel indexLabel = this.graph.schemaTransaction()
+                                          .getIndexLabel(index.indexLabelId());
+        if (indexLabel == null || indexLabel.status() != SchemaStatus.CREATED) {
+            // The index is removed or rebuilt with the index label
+            return false;
+        }
+        HugeType type = index.indexLabel().queryType().isVertex() ?
+                        HugeType.VERTEX : HugeType.EDGE;
+        IdQuery query = new IdQuery(type, index.elementId());
+        query.showExpired(true);
+        Iterator<?> elements = type.isVertex() ?
+                               tx.queryVertices(query) :
+                               tx.queryEdges(query);
+        if (!elements.hasNext()) {
+            tx.removeIndex(index);
+            return true;
+        }
+        HugeElement element = (HugeElement) elements.next();
+        if (element.expired()) {
+            element.remove();
+            return true;
+        }
+        return false;
+    }
+
+    private void acquire() {
+        if (this.rateLimiter != null) {
+            this.rateLimiter.acquire();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.job.system;
+
+import org.apache.hugegraph.util.E;
+
+public class SweepExpiredJob extends DeleteExpiredJob<Long> {
+
+    private static final String JOB_TYPE = "sweep_expired";
+
+    private final ExpiredSweeper sweeper;
+
+    public SweepExpiredJob(ExpiredSweeper sweeper) {
+        E.checkArgumentNotNull(sweeper, "The sweeper can't be null");
+        this.sweeper = sweeper;
+    }
+
+    @Override
+    public String type() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public Long execute() throws Exception {
+        long deleted = this.sweeper.sweep();
+        LOG.debug("Swept {} expired elements of graph '{}'",
+                  deleted, this.graph().name());
+        return deleted;
+    }
+}
@@ -134,6 +134,21 @@ public class IndexLabel extends SchemaElement {
         return VertexLabel.OLAP_VL.id().equals(this.baseValue);
     }
 
+    /**
+     * Copy the index label with another id and name, used by the shadow
+     * index label which is rebuilt beside the index label
+     */
+    public IndexLabel copy(Id id, String name) {
+        IndexLabel indexLabel = new IndexLabel(this.graph, id, name);
+        indexLabel.baseType = this.baseType;
+        indexLabel.baseValue = this.baseValue;
+        indexLabel.indexType = this.indexType;
+        indexLabel.indexFields.addAll(this.indexFields);
+        indexLabel.userdata(new Userdata(this.userdata()));
+        indexLabel.status(this.status());
+        return indexLabel;
+    }
+
     public Object validValue(Object value) {
         if (!(value instanceof Number)) {
             return value;
@@ -271,6 +286,10 @@ public class IndexLabel extends SchemaElement {
 
         Builder unique();
 
+        Builder bitmap();
+
+        Builder vector();
+
         Builder on(HugeType baseType, String baseValue);
 
         Builder indexType(IndexType indexType);
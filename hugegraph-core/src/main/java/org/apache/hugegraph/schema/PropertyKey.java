@@ -36,6 +36,7 @@ import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.type.Propertiable;
 import org.apache.hugegraph.type.define.AggregateType;
 import org.apache.hugegraph.type.define.Cardinality;
+import org.apache.hugegraph.type.define.Compression;
 import org.apache.hugegraph.type.define.DataType;
 import org.apache.hugegraph.type.define.WriteType;
 import org.apache.hugegraph.util.E;
@@ -123,6 +124,18 @@ public class PropertyKey extends SchemaElement implements Propertiable {
         return this.userdata().get(Userdata.DEFAULT_VALUE);
     }
 
+    public Compression compression() {
+        /*
+         * Keep the compression in userdata like the default value, which is
+         * stored by the schema serializer of each backend and the APIs
+         */
+        Object compression = this.userdata().get(Userdata.COMPRESSION);
+        if (compression == null) {
+            return Compression.NONE;
+        }
+        return Compression.fromString(compression.toString());
+    }
+
     public boolean hasSameContent(PropertyKey other) {
         return super.hasSameContent(other) &&
                this.dataType == other.dataType() &&
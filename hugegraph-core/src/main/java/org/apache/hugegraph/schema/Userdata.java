@@ -31,6 +31,7 @@ public class Userdata extends HashMap<String, Object> {
 
     public static final String CREATE_TIME = "~create_time";
     public static final String DEFAULT_VALUE = "~default_value";
+    public static final String COMPRESSION = "~compression";
 
     public Userdata() {
     }
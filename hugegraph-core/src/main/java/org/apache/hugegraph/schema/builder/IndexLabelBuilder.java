@@ -36,6 +36,7 @@ import org.apache.hugegraph.config.CoreOptions;
 import org.apache.hugegraph.exception.ExistedException;
 import org.apache.hugegraph.exception.NotAllowException;
 import org.apache.hugegraph.exception.NotFoundException;
+import org.apache.hugegraph.exception.NotSupportException;
 import org.apache.hugegraph.schema.IndexLabel;
 import org.apache.hugegraph.schema.PropertyKey;
 import org.apache.hugegraph.schema.SchemaElement;
@@ -44,8 +45,10 @@ import org.apache.hugegraph.schema.Userdata;
 import org.apache.hugegraph.schema.VertexLabel;
 import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.type.define.Action;
+import org.apache.hugegraph.type.define.Cardinality;
 import org.apache.hugegraph.type.define.CollectionType;
 import org.apache.hugegraph.type.define.DataType;
+import org.apache.hugegraph.type.define.IdStrategy;
 import org.apache.hugegraph.type.define.IndexType;
 import org.apache.hugegraph.type.define.SchemaStatus;
 import org.apache.hugegraph.util.CollectionUtil;
@@ -208,6 +211,8 @@ public class IndexLabelBuilder extends AbstractBuilder
              * the same fields, fail to create new index label.
              */
             this.checkFields(schemaLabel.properties());
+            this.checkBitmapIndex(schemaLabel);
+            this.checkVectorIndex(schemaLabel);
             this.checkRepeatIndex(schemaLabel);
             Userdata.check(this.userdata, Action.INSERT);
 
@@ -390,6 +395,18 @@ public class IndexLabelBuilder extends AbstractBuilder
         return this;
     }
 
+    @Override
+    public IndexLabelBuilder bitmap() {
+        this.indexType = IndexType.BITMAP;
+        return this;
+    }
+
+    @Override
+    public IndexLabelBuilder vector() {
+        this.indexType = IndexType.VECTOR;
+        return this;
+    }
+
     @Override
     public IndexLabelBuilder on(HugeType baseType, String baseValue) {
         E.checkArgument(baseType == HugeType.VERTEX_LABEL ||
@@ -566,6 +583,57 @@ public class IndexLabelBuilder extends AbstractBuilder
         }
     }
 
+    private void checkBitmapIndex(SchemaLabel schemaLabel) {
+        if (!this.indexType.isBitmap()) {
+            return;
+        }
+
+        if (!this.graph().backendStoreFeatures().supportsBitmapIndex()) {
+            throw new NotSupportException("bitmap index '%s' for backend '%s'",
+                                          this.name, this.graph().backend());
+        }
+
+        // The posting lists are chunked by the high bits of numeric ids
+        E.checkArgument(schemaLabel instanceof VertexLabel,
+                        "Bitmap index can only build on vertex label, " +
+                        "but got %s '%s'", schemaLabel.type().readableName(),
+                        schemaLabel.name());
+        VertexLabel vertexLabel = (VertexLabel) schemaLabel;
+        IdStrategy idStrategy = vertexLabel.idStrategy();
+        E.checkArgument(idStrategy.isAutomatic() ||
+                        idStrategy == IdStrategy.CUSTOMIZE_NUMBER,
+                        "Bitmap index can only build on vertex label with " +
+                        "numeric id, but got id strategy '%s' of '%s'",
+                        idStrategy, vertexLabel.name());
+        E.checkArgument(vertexLabel.ttl() == 0L,
+                        "Bitmap index can't build on vertex label '%s' " +
+                        "with ttl", vertexLabel.name());
+    }
+
+    private void checkVectorIndex(SchemaLabel schemaLabel) {
+        if (!this.indexType.isVector()) {
+            return;
+        }
+
+        // The nearest vertices are queried by vector index
+        E.checkArgument(schemaLabel instanceof VertexLabel,
+                        "Vector index can only build on vertex label, " +
+                        "but got %s '%s'", schemaLabel.type().readableName(),
+                        schemaLabel.name());
+        List<String> fields = this.indexFields;
+        E.checkArgument(fields.size() == 1,
+                        "Vector index can only build on " +
+                        "one field, but got %s fields: '%s'",
+                        fields.size(), fields);
+        PropertyKey pkey = this.graph().propertyKey(fields.get(0));
+        E.checkArgument(pkey.cardinality() == Cardinality.LIST &&
+                        (pkey.dataType() == DataType.FLOAT ||
+                         pkey.dataType() == DataType.DOUBLE),
+                        "Vector index can only build on float or double " +
+                        "list property, but got %s %s(%s)",
+                        pkey.cardinality(), pkey.dataType(), pkey.name());
+    }
+
     private void checkRepeatIndex(SchemaLabel schemaLabel) {
         this.checkPrimaryKeyIndex(schemaLabel);
         switch (this.indexType) {
@@ -587,6 +655,12 @@ public class IndexLabelBuilder extends AbstractBuilder
             case UNIQUE:
                 this.checkRepeatUniqueIndex(schemaLabel);
                 break;
+            case BITMAP:
+                this.checkRepeatBitmapIndex(schemaLabel);
+                break;
+            case VECTOR:
+                this.checkRepeatVectorIndex(schemaLabel);
+                break;
             default:
                 throw new AssertionError(String.format(
                           "Unsupported index type: %s", this.indexType));
@@ -659,7 +733,16 @@ public class IndexLabelBuilder extends AbstractBuilder
         this.checkRepeatIndex(schemaLabel, IndexType.RANGE_INT,
                               IndexType.RANGE_FLOAT, IndexType.RANGE_LONG,
                               IndexType.RANGE_DOUBLE, IndexType.SECONDARY,
-                              IndexType.SHARD);
+                              IndexType.SHARD, IndexType.BITMAP);
+    }
+
+    private void checkRepeatBitmapIndex(SchemaLabel schemaLabel) {
+        this.checkRepeatIndex(schemaLabel, IndexType.SECONDARY,
+                              IndexType.BITMAP);
+    }
+
+    private void checkRepeatVectorIndex(SchemaLabel schemaLabel) {
+        this.checkRepeatIndex(schemaLabel, IndexType.VECTOR);
     }
 
     private void checkRepeatShardIndex(SchemaLabel schemaLabel) {
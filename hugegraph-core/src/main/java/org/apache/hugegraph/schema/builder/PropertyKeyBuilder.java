@@ -39,6 +39,7 @@ import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.type.define.Action;
 import org.apache.hugegraph.type.define.AggregateType;
 import org.apache.hugegraph.type.define.Cardinality;
+import org.apache.hugegraph.type.define.Compression;
 import org.apache.hugegraph.type.define.DataType;
 import org.apache.hugegraph.type.define.WriteType;
 import org.apache.hugegraph.util.E;
@@ -146,6 +147,7 @@ public class PropertyKeyBuilder extends AbstractBuilder
             Userdata.check(this.userdata, Action.INSERT);
             this.checkAggregateType();
             this.checkOlap();
+            this.checkCompression();
 
             propertyKey = this.build();
             assert propertyKey.name().equals(name);
@@ -192,6 +194,7 @@ public class PropertyKeyBuilder extends AbstractBuilder
         }
         this.checkStableVars();
         Userdata.check(this.userdata, Action.APPEND);
+        this.checkCompressionUnchanged();
 
         propertyKey.userdata(this.userdata);
         this.graph().updatePropertyKey(propertyKey);
@@ -207,6 +210,7 @@ public class PropertyKeyBuilder extends AbstractBuilder
         }
         this.checkStableVars();
         Userdata.check(this.userdata, Action.ELIMINATE);
+        this.checkCompressionUnchanged();
 
         propertyKey.removeUserdata(this.userdata);
         this.graph().updatePropertyKey(propertyKey);
@@ -403,6 +407,33 @@ public class PropertyKeyBuilder extends AbstractBuilder
         }
     }
 
+    private void checkCompression() {
+        Object value = this.userdata.get(Userdata.COMPRESSION);
+        if (value == null) {
+            return;
+        }
+        Compression compression = Compression.fromString(value.toString());
+        if (compression.none()) {
+            return;
+        }
+        if (this.dataType != DataType.TEXT && this.dataType != DataType.BLOB &&
+            this.dataType != DataType.OBJECT) {
+            throw new NotAllowException(
+                      "Not allowed to set compression '%s' for property " +
+                      "key '%s' with data type '%s', only text, blob and " +
+                      "object are allowed", compression.string(), this.name,
+                      this.dataType);
+        }
+    }
+
+    private void checkCompressionUnchanged() {
+        // The stored values can't be decoded if the compression changed
+        if (this.userdata.containsKey(Userdata.COMPRESSION)) {
+            throw new NotAllowException("Not allowed to update compression " +
+                                        "for property key '%s'", this.name);
+        }
+    }
+
     private void checkAggregateType() {
         if (this.aggregateType.isNone()) {
             return;
@@ -100,9 +100,11 @@ public class HugeSecurityManager extends SecurityManager {
 
     private static final Map<String, Set<String>> BACKEND_SNAPSHOT = ImmutableMap.of(
             "org.apache.hugegraph.backend.store.AbstractBackendStoreProvider",
-            ImmutableSet.of("createSnapshot", "resumeSnapshot"),
+            ImmutableSet.of("createSnapshot", "resumeSnapshot",
+                            "createBackup", "restoreBackup"),
             "org.apache.hugegraph.backend.store.raft.RaftBackendStoreProvider",
-            ImmutableSet.of("createSnapshot", "resumeSnapshot")
+            ImmutableSet.of("createSnapshot", "resumeSnapshot",
+                            "createBackup", "restoreBackup")
     );
 
     private static final Set<String> HBASE_CLASSES = ImmutableSet.of(
@@ -19,9 +19,11 @@
 
 package org.apache.hugegraph.structure;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.hugegraph.HugeException;
@@ -40,12 +42,17 @@ import org.apache.hugegraph.util.HashUtil;
 import org.apache.hugegraph.util.InsertionOrderUtil;
 import org.apache.hugegraph.util.NumericUtil;
 
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
 public class HugeIndex implements GraphType, Cloneable {
 
     private final HugeGraph graph;
     private Object fieldValues;
     private IndexLabel indexLabel;
     private Set<IdWithExpiredTime> elementIds;
+    // The postings of the element ids, only used by search index
+    private Map<Id, Posting> postings;
 
     public HugeIndex(HugeGraph graph, IndexLabel indexLabel) {
         E.checkNotNull(graph, "graph");
@@ -54,6 +61,7 @@ public class HugeIndex implements GraphType, Cloneable {
         this.graph = graph;
         this.indexLabel = indexLabel;
         this.elementIds = new LinkedHashSet<>();
+        this.postings = null;
         this.fieldValues = null;
     }
 
@@ -141,6 +149,24 @@ public class HugeIndex implements GraphType, Cloneable {
 
     public void resetElementIds() {
         this.elementIds = new LinkedHashSet<>();
+        this.postings = null;
+    }
+
+    public Posting posting(Id elementId) {
+        if (this.postings == null) {
+            return null;
+        }
+        return this.postings.get(elementId);
+    }
+
+    public void posting(Id elementId, Posting posting) {
+        E.checkArgument(this.indexLabel.indexType().isSearch(),
+                        "Posting is only supported by search index, " +
+                        "but got %s index", this.indexLabel.indexType());
+        if (this.postings == null) {
+            this.postings = InsertionOrderUtil.newMap();
+        }
+        this.postings.put(elementId, posting);
     }
 
     public long expiredTime() {
@@ -296,4 +322,83 @@ public class HugeIndex implements GraphType, Cloneable {
             return String.format("%s(%s)", this.id, this.expiredTime);
         }
     }
+
+    /**
+     * The posting of a word in the text of an element written with the
+     * search index: the term frequency of the word, the count of words of
+     * the text (field length) and the 64 bits murmur3 digest of the text,
+     * which is used to check if the indexed text is the same as the
+     * property value.
+     */
+    public static class Posting {
+
+        private static final int MAX_VALUE = 0xffff;
+        private static final HashFunction DIGEST = Hashing.murmur3_128();
+
+        private final int termFrequency;
+        private final int fieldLength;
+        private final long fieldDigest;
+
+        public Posting(int termFrequency, int fieldLength, long fieldDigest) {
+            E.checkArgument(termFrequency > 0,
+                            "The term frequency must be > 0, but got %s",
+                            termFrequency);
+            E.checkArgument(fieldLength >= 0,
+                            "The field length must be >= 0, but got %s",
+                            fieldLength);
+            this.termFrequency = Math.min(termFrequency, MAX_VALUE);
+            this.fieldLength = Math.min(fieldLength, MAX_VALUE);
+            this.fieldDigest = fieldDigest;
+        }
+
+        public int termFrequency() {
+            return this.termFrequency;
+        }
+
+        public int fieldLength() {
+            return this.fieldLength;
+        }
+
+        public long fieldDigest() {
+            return this.fieldDigest;
+        }
+
+        /**
+         * Encode the term frequency and the field length, the digest is
+         * saved separately
+         */
+        public int encodeCounts() {
+            return this.termFrequency << 16 | this.fieldLength;
+        }
+
+        public static Posting decode(int counts, long fieldDigest) {
+            return new Posting(counts >>> 16, counts & MAX_VALUE, fieldDigest);
+        }
+
+        public static long digest(String text) {
+            return DIGEST.hashString(text, StandardCharsets.UTF_8).asLong();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Posting)) {
+                return false;
+            }
+            Posting other = (Posting) obj;
+            return this.encodeCounts() == other.encodeCounts() &&
+                   this.fieldDigest == other.fieldDigest;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.encodeCounts() ^ Long.hashCode(this.fieldDigest);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Posting{tf=%s,length=%s,digest=%s}",
+                                 this.termFrequency, this.fieldLength,
+                                 Long.toHexString(this.fieldDigest));
+        }
+    }
 }
@@ -305,6 +305,11 @@ public class StandardTaskScheduler implements TaskScheduler {
         return this.serverManager;
     }
 
+    protected void sweepExpired() {
+        // Master server sweeps the expired data of the graph periodically
+        this.graph.expiredSweeper().sweepIfNeeded();
+    }
+
     protected synchronized void scheduleTasks() {
         // Master server schedule all scheduling tasks to suitable worker nodes
         Collection<HugeServerInfo> scheduleInfos = this.serverManager()
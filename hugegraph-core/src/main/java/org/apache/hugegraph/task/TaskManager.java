@@ -305,6 +305,7 @@ public final class TaskManager {
              */
             if (serverManager.master()) {
                 scheduler.scheduleTasks();
+                scheduler.sweepExpired();
                 if (!serverManager.onlySingleNode()) {
                     return;
                 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.traversal.optimize;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.query.Aggregate;
+import org.apache.hugegraph.schema.PropertyKey;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy.ProviderOptimizationStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MaxGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MeanGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MinGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.SumGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.PropertyType;
+
+/**
+ * Replace g.V().has(...).values(key).count()/min()/max()/sum()/mean() with
+ * HugeAggregateStep, which pushes the aggregate down to the graph tx, then
+ * it can be computed by the range index entries without loading elements
+ */
+public final class HugeAggregateStepStrategy
+             extends AbstractTraversalStrategy<ProviderOptimizationStrategy>
+             implements ProviderOptimizationStrategy {
+
+    private static final long serialVersionUID = 5288464146563472398L;
+
+    private static final HugeAggregateStepStrategy INSTANCE;
+
+    static {
+        INSTANCE = new HugeAggregateStepStrategy();
+    }
+
+    private HugeAggregateStepStrategy() {
+        // pass
+    }
+
+    @Override
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void apply(Traversal.Admin<?, ?> traversal) {
+        // Find HugeGraphStep at the start of the traversal
+        Step<?, ?> step = traversal.getStartStep();
+        if (!(step instanceof HugeGraphStep)) {
+            return;
+        }
+        HugeGraphStep<?, ? extends Element> graphStep = (HugeGraphStep) step;
+        if ((graphStep.getIds() != null && graphStep.getIds().length > 0) ||
+            graphStep.queryInfo().aggregate() != null ||
+            !graphStep.getLabels().isEmpty()) {
+            return;
+        }
+        List<Step<?, ?>> originSteps = new ArrayList<>();
+        originSteps.add(graphStep);
+
+        // Find values(key) after HugeGraphStep
+        step = graphStep.getNextStep();
+        if (!(step instanceof PropertiesStep)) {
+            return;
+        }
+        PropertiesStep<?> propertiesStep = (PropertiesStep<?>) step;
+        if (propertiesStep.getReturnType() != PropertyType.VALUE ||
+            propertiesStep.getPropertyKeys().length != 1 ||
+            !propertiesStep.getLabels().isEmpty()) {
+            return;
+        }
+        originSteps.add(propertiesStep);
+
+        // Find the aggregate step after values(key)
+        step = propertiesStep.getNextStep();
+        while (step instanceof IdentityStep ||
+               step instanceof NoOpBarrierStep) {
+            if (!step.getLabels().isEmpty()) {
+                return;
+            }
+            originSteps.add(step);
+            step = step.getNextStep();
+        }
+        Aggregate.AggregateFunc func = aggregateFunc(step);
+        if (func == null) {
+            return;
+        }
+        originSteps.add(step);
+
+        String key = propertiesStep.getPropertyKeys()[0];
+        if (!aggregatable(TraversalUtil.tryGetGraph(graphStep), key)) {
+            return;
+        }
+
+        // Replace with HugeAggregateStep
+        graphStep.queryInfo().aggregate(func, key);
+        HugeAggregateStep<?> aggregateStep = new HugeAggregateStep<>(
+                                             traversal, graphStep);
+        for (Step<?, ?> origin : originSteps) {
+            TraversalHelper.copyLabels(origin, aggregateStep, false);
+            traversal.removeStep(origin);
+        }
+        traversal.addStep(0, aggregateStep);
+    }
+
+    @Override
+    public Set<Class<? extends ProviderOptimizationStrategy>> applyPrior() {
+        return Collections.singleton(HugeGraphStepStrategy.class);
+    }
+
+    @Override
+    public Set<Class<? extends ProviderOptimizationStrategy>> applyPost() {
+        return Collections.singleton(HugeVertexStepStrategy.class);
+    }
+
+    public static HugeAggregateStepStrategy instance() {
+        return INSTANCE;
+    }
+
+    private static Aggregate.AggregateFunc aggregateFunc(Step<?, ?> step) {
+        if (step instanceof CountGlobalStep) {
+            return Aggregate.AggregateFunc.COUNT;
+        } else if (step instanceof MaxGlobalStep) {
+            return Aggregate.AggregateFunc.MAX;
+        } else if (step instanceof MinGlobalStep) {
+            return Aggregate.AggregateFunc.MIN;
+        } else if (step instanceof MeanGlobalStep) {
+            return Aggregate.AggregateFunc.AVG;
+        } else if (step instanceof SumGlobalStep) {
+            return Aggregate.AggregateFunc.SUM;
+        }
+        return null;
+    }
+
+    private static boolean aggregatable(HugeGraph graph, String key) {
+        if (graph == null || !graph.existsPropertyKey(key)) {
+            return false;
+        }
+        // Only the single number values can be aggregated one by one
+        PropertyKey pkey = graph.propertyKey(key);
+        return pkey.cardinality().single() && pkey.dataType().isNumber();
+    }
+}
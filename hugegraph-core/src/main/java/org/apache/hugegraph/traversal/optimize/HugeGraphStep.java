@@ -84,6 +84,17 @@ public final class HugeGraphStep<S, E extends Element>
         }
     }
 
+    protected Number aggregate() {
+        assert !this.hasIds();
+        if (this.ids == null) {
+            return this.queryInfo.aggregateNotNull().accumulator().result();
+        }
+
+        HugeGraph graph = TraversalUtil.getGraph(this);
+        HugeType type = this.returnsVertex() ? HugeType.VERTEX : HugeType.EDGE;
+        return graph.queryNumber(this.makeQuery(graph, type));
+    }
+
     private long verticesCount() {
         if (!this.hasIds()) {
             HugeGraph graph = TraversalUtil.getGraph(this);
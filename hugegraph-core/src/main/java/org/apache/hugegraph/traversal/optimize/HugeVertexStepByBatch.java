@@ -19,14 +19,25 @@
 
 package org.apache.hugegraph.traversal.optimize;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.query.BatchConditionQuery;
 import org.apache.hugegraph.backend.query.ConditionQuery;
 import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.iterator.BatchMapperIterator;
+import org.apache.hugegraph.iterator.FlatMapperIterator;
+import org.apache.hugegraph.iterator.MapperIterator;
+import org.apache.hugegraph.structure.HugeEdge;
 import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.type.define.HugeKeys;
+import org.apache.hugegraph.util.InsertionOrderUtil;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
@@ -35,21 +46,18 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 
-import org.apache.hugegraph.iterator.BatchMapperIterator;
-
 public class HugeVertexStepByBatch<E extends Element>
        extends HugeVertexStep<E> {
 
     private static final long serialVersionUID = -3609787815053052222L;
 
-    private BatchMapperIterator<Traverser.Admin<Vertex>, E> batchIterator;
-    private Traverser.Admin<Vertex> head;
-    private Iterator<E> iterator;
+    private BatchMapperIterator<Traverser.Admin<Vertex>,
+                                Traverser.Admin<E>> batchIterator;
+    private Iterator<?> iterator;
 
     public HugeVertexStepByBatch(final VertexStep<E> originalVertexStep) {
         super(originalVertexStep);
         this.batchIterator = null;
-        this.head = null;
         this.iterator = null;
     }
 
@@ -63,10 +71,7 @@ public class HugeVertexStepByBatch<E extends Element>
         }
 
         if (this.batchIterator.hasNext()) {
-            assert this.head != null;
-            E item = this.batchIterator.next();
-            // TODO: find the parent node accurately instead the head
-            return this.head.split(item, this);
+            return this.batchIterator.next();
         }
 
         throw FastNoSuchElementException.instance();
@@ -77,7 +82,7 @@ public class HugeVertexStepByBatch<E extends Element>
         super.reset();
         this.closeIterator();
         this.batchIterator = null;
-        this.head = null;
+        this.iterator = null;
     }
 
     @Override
@@ -94,43 +99,91 @@ public class HugeVertexStepByBatch<E extends Element>
         CloseableIterator.closeIterator(this.batchIterator);
     }
 
-    @SuppressWarnings("unchecked")
-    private Iterator<E> flatMap(List<Traverser.Admin<Vertex>> traversers) {
-        if (this.head == null && traversers.size() > 0) {
-            this.head = traversers.get(0);
+    private Iterator<Traverser.Admin<E>> flatMap(
+                                         List<Traverser.Admin<Vertex>> traversers) {
+        /*
+         * Group the traversers by vertex, the parent traversers of a result
+         * are found by the owner vertex of the edge, so that the path of
+         * each traverser is kept. NOTE: the traversers of the same vertex
+         * share the results queried once.
+         */
+        Map<Id, List<Traverser.Admin<Vertex>>> parents;
+        parents = InsertionOrderUtil.newMap();
+        for (Traverser.Admin<Vertex> traverser : traversers) {
+            Id vertex = (Id) traverser.get().id();
+            parents.computeIfAbsent(vertex, k -> new ArrayList<>(1))
+                   .add(traverser);
         }
+
         boolean queryVertex = this.returnsVertex();
         boolean queryEdge = this.returnsEdge();
         assert queryVertex || queryEdge;
+        Iterator<Edge> edges = this.edges(parents.values());
+        this.iterator = edges;
         if (queryVertex) {
-            this.iterator = (Iterator<E>) this.vertices(traversers);
+            return this.vertices(parents, edges);
         } else {
             assert queryEdge;
-            this.iterator = (Iterator<E>) this.edges(traversers);
+            return new FlatMapperIterator<>(edges, edge -> {
+                @SuppressWarnings("unchecked")
+                E element = (E) edge;
+                return this.split(parents, (HugeEdge) edge, element);
+            });
         }
-        return this.iterator;
     }
 
-    private Iterator<Vertex> vertices(
-                             List<Traverser.Admin<Vertex>> traversers) {
-        assert traversers.size() > 0;
+    private Iterator<Traverser.Admin<E>> vertices(
+                                         Map<Id, List<Traverser.Admin<Vertex>>> parents,
+                                         Iterator<Edge> edges) {
+        int batchSize = (int) Query.QUERY_BATCH;
+        return new BatchMapperIterator<>(batchSize, edges, batchEdges -> {
+            // Query the adjacent vertices of a batch of edges at once
+            Map<Object, Vertex> vertices = new HashMap<>(batchEdges.size());
+            Iterator<Vertex> iter = this.queryAdjacentVertices(
+                                    batchEdges.iterator());
+            while (iter.hasNext()) {
+                Vertex vertex = iter.next();
+                vertices.put(vertex.id(), vertex);
+            }
+            CloseableIterator.closeIterator(iter);
+
+            return new FlatMapperIterator<>(batchEdges.iterator(), edge -> {
+                HugeEdge e = (HugeEdge) edge;
+                Vertex vertex = vertices.get(e.otherVertex().id());
+                if (vertex == null) {
+                    // Not existed or filtered by the vertex conditions
+                    return Collections.emptyIterator();
+                }
+                @SuppressWarnings("unchecked")
+                E element = (E) vertex;
+                return this.split(parents, e, element);
+            });
+        });
+    }
 
-        Iterator<Edge> edges = this.edges(traversers);
-        return this.queryAdjacentVertices(edges);
+    private Iterator<Traverser.Admin<E>> split(
+                                         Map<Id, List<Traverser.Admin<Vertex>>> parents,
+                                         HugeEdge edge, E element) {
+        List<Traverser.Admin<Vertex>> traversers;
+        traversers = parents.get(edge.ownerVertex().id());
+        if (traversers == null) {
+            // The edge doesn't belong to any vertex of the batch
+            return Collections.emptyIterator();
+        }
+        return new MapperIterator<>(traversers.iterator(),
+                                    traverser -> traverser.split(element, this));
     }
 
-    private Iterator<Edge> edges(List<Traverser.Admin<Vertex>> traversers) {
+    private Iterator<Edge> edges(
+                           Collection<List<Traverser.Admin<Vertex>>> traversers) {
         assert traversers.size() > 0;
 
         BatchConditionQuery batchQuery = new BatchConditionQuery(
                                          HugeType.EDGE, traversers.size());
 
-        for (Traverser.Admin<Vertex> traverser : traversers) {
-            ConditionQuery query = this.constructEdgesQuery(traverser);
-            /*
-             * Merge each query into batch query through IN condition
-             * NOTE: duplicated results may be removed by backend store
-             */
+        for (List<Traverser.Admin<Vertex>> sameVertex : traversers) {
+            ConditionQuery query = this.constructEdgesQuery(sameVertex.get(0));
+            // Merge each query into batch query through IN condition
             batchQuery.mergeToIN(query, HugeKeys.OWNER_VERTEX);
         }
 
@@ -24,12 +24,8 @@ import java.util.List;
 import org.apache.hugegraph.HugeGraph;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy.ProviderOptimizationStrategy;
-import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
-import org.apache.tinkerpop.gremlin.process.traversal.step.map.PathStep;
-import org.apache.tinkerpop.gremlin.process.traversal.step.map.TreeStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
-import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
 public final class HugeVertexStepStrategy
@@ -58,21 +54,21 @@ public final class HugeVertexStepStrategy
 
         boolean batchOptimize = false;
         if (!steps.isEmpty()) {
-            boolean withPath = HugeVertexStepStrategy.containsPath(traversal);
-            boolean withTree = HugeVertexStepStrategy.containsTree(traversal);
             /*
              * The graph of traversal may be null when `__` step is followed
              * by `count().is(0)` step, like the following gremlin:
              * `g.V(id).repeat(in()).until(or(inE().count().is(0), loops().is(2)))`
              * TODO: remove this `graph!=null` check after fixed the bug #1699
              */
-            boolean supportIn = false;
             HugeGraph graph = TraversalUtil.tryGetGraph(steps.get(0));
             if (graph != null) {
-                supportIn = graph.backendStoreFeatures()
-                                 .supportsQueryWithInCondition();
+                /*
+                 * The batch step keeps the parent of each result, so it's
+                 * also available for the traversal with path or tree
+                 */
+                batchOptimize = graph.backendStoreFeatures()
+                                     .supportsQueryEdgesByBatch();
             }
-            batchOptimize = !withTree && !withPath && supportIn;
         }
 
         for (VertexStep originStep : steps) {
@@ -92,42 +88,6 @@ public final class HugeVertexStepStrategy
         }
     }
 
-    /**
-     * Does a Traversal contain any Path step
-     * @param traversal
-     * @return the traversal or its parents contain at least one Path step
-     */
-    protected static boolean containsPath(Traversal.Admin<?, ?> traversal) {
-        boolean hasPath = TraversalHelper.getStepsOfClass(
-                          PathStep.class, traversal).size() > 0;
-        if (hasPath) {
-            return true;
-        } else if (traversal instanceof EmptyTraversal) {
-            return false;
-        }
-
-        TraversalParent parent = traversal.getParent();
-        return containsPath(parent.asStep().getTraversal());
-    }
-
-    /**
-     * Does a Traversal contain any Tree step
-     * @param traversal
-     * @return the traversal or its parents contain at least one Tree step
-     */
-    protected static boolean containsTree(Traversal.Admin<?, ?> traversal) {
-        boolean hasTree = TraversalHelper.getStepsOfClass(
-                          TreeStep.class, traversal).size() > 0;
-        if (hasTree) {
-            return true;
-        } else if (traversal instanceof EmptyTraversal) {
-            return false;
-        }
-
-        TraversalParent parent = traversal.getParent();
-        return containsTree(parent.asStep().getTraversal());
-    }
-
     public static HugeVertexStepStrategy instance() {
         return INSTANCE;
     }
@@ -59,6 +59,7 @@ public enum HugeType implements SerialEnum {
     SECONDARY_INDEX(150, "SI"),
     VERTEX_LABEL_INDEX(151, "VI"),
     EDGE_LABEL_INDEX(152, "EI"),
+    BITMAP_INDEX(155, "BI"),
     RANGE_INT_INDEX(160, "II"),
     RANGE_FLOAT_INDEX(161, "FI"),
     RANGE_LONG_INDEX(162, "LI"),
@@ -129,13 +130,15 @@ public enum HugeType implements SerialEnum {
                this == SECONDARY_INDEX || this == SEARCH_INDEX ||
                this == RANGE_INT_INDEX || this == RANGE_FLOAT_INDEX ||
                this == RANGE_LONG_INDEX || this == RANGE_DOUBLE_INDEX ||
-               this == SHARD_INDEX || this == UNIQUE_INDEX;
+               this == SHARD_INDEX || this == UNIQUE_INDEX ||
+               this == BITMAP_INDEX;
     }
 
     public boolean isStringIndex() {
         return this == VERTEX_LABEL_INDEX || this == EDGE_LABEL_INDEX ||
                this == SECONDARY_INDEX || this == SEARCH_INDEX ||
-               this == SHARD_INDEX || this == UNIQUE_INDEX;
+               this == SHARD_INDEX || this == UNIQUE_INDEX ||
+               this == BITMAP_INDEX;
     }
 
     public boolean isNumericIndex() {
@@ -174,6 +177,10 @@ public enum HugeType implements SerialEnum {
         return this == UNIQUE_INDEX;
     }
 
+    public boolean isBitmapIndex() {
+        return this == BITMAP_INDEX;
+    }
+
     public boolean isVertexAggregateProperty() {
         return this == AGGR_PROPERTY_V;
     }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.type.define;
+
+import org.apache.hugegraph.backend.serializer.BytesBuffer;
+import org.apache.hugegraph.util.Bytes;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.GZipUtil;
+import org.apache.hugegraph.util.LZ4Util;
+
+public enum Compression implements SerialEnum {
+
+    NONE(0, "none"),
+
+    LZ4(1, "lz4"),
+
+    GZIP(2, "gzip");
+
+    private static final int LZ4_BLOCK_SIZE = (int) (64 * Bytes.KB);
+    private static final int LZ4_MIN_BLOCK_SIZE = 64;
+
+    private byte code = 0;
+    private String name = null;
+
+    static {
+        SerialEnum.register(Compression.class);
+    }
+
+    Compression(int code, String name) {
+        assert code < 256;
+        this.code = (byte) code;
+        this.name = name;
+    }
+
+    @Override
+    public byte code() {
+        return this.code;
+    }
+
+    public String string() {
+        return this.name;
+    }
+
+    public boolean none() {
+        return this == NONE;
+    }
+
+    public byte[] compress(byte[] bytes) {
+        BytesBuffer buffer;
+        switch (this) {
+            case LZ4:
+                buffer = LZ4Util.compress(bytes, lz4BlockSize(bytes.length));
+                break;
+            case GZIP:
+                // The buffer has been flipped for reading
+                buffer = GZipUtil.compress(bytes).forReadAll();
+                break;
+            default:
+                return bytes;
+        }
+        return buffer.bytes();
+    }
+
+    public byte[] decompress(byte[] bytes) {
+        BytesBuffer buffer;
+        switch (this) {
+            case LZ4:
+                // The block size is just the size of the buffer to read
+                buffer = LZ4Util.decompress(bytes,
+                                            lz4BlockSize(bytes.length * 4));
+                break;
+            case GZIP:
+                buffer = GZipUtil.decompress(bytes).forReadAll();
+                break;
+            default:
+                return bytes;
+        }
+        return buffer.bytes();
+    }
+
+    /**
+     * The buffers of a block are allocated for each value, so don't use a
+     * block larger than the value
+     */
+    private static int lz4BlockSize(int size) {
+        return Math.max(LZ4_MIN_BLOCK_SIZE, Math.min(LZ4_BLOCK_SIZE, size));
+    }
+
+    public static Compression fromString(String name) {
+        for (Compression compression : values()) {
+            if (compression.name.equals(name)) {
+                return compression;
+            }
+        }
+        E.checkArgument(false, "Invalid compression '%s', the allowed " +
+                        "values are [none, lz4, gzip]", name);
+        return null;
+    }
+}
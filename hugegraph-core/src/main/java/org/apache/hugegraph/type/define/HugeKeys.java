@@ -68,6 +68,7 @@ public enum HugeKeys {
     FIELD_VALUES(181, "field_values"),
     INDEX_LABEL_ID(182, "index_label_id"),
     ELEMENT_IDS(183, "element_ids"),
+    POSTING(184, "posting"),
 
     /* Column names of data type (Vertex/Edge) */
     LABEL(200, "label"),
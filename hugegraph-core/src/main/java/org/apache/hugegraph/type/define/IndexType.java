@@ -40,7 +40,13 @@ public enum IndexType implements SerialEnum {
     SHARD(4, "shard"),
 
     // For unique index
-    UNIQUE(5, "unique");
+    UNIQUE(5, "unique"),
+
+    // For secondary query by bitmap posting lists of numeric ids
+    BITMAP(6, "bitmap"),
+
+    // For approximate nearest neighbor query of float vectors
+    VECTOR(7, "vector");
 
     private byte code = 0;
     private String name = null;
@@ -82,6 +88,11 @@ public enum IndexType implements SerialEnum {
                 return HugeType.SHARD_INDEX;
             case UNIQUE:
                 return HugeType.UNIQUE_INDEX;
+            case BITMAP:
+                return HugeType.BITMAP_INDEX;
+            case VECTOR:
+                // The hash buckets of vectors are stored as secondary index
+                return HugeType.SECONDARY_INDEX;
             default:
                 throw new AssertionError(String.format(
                           "Unknown index type '%s'", this));
@@ -90,7 +101,8 @@ public enum IndexType implements SerialEnum {
 
     public boolean isString() {
         return this == SECONDARY || this == SEARCH ||
-               this == SHARD || this == UNIQUE;
+               this == SHARD || this == UNIQUE || this == BITMAP ||
+               this == VECTOR;
     }
 
     public boolean isNumeric() {
@@ -119,4 +131,12 @@ public enum IndexType implements SerialEnum {
     public boolean isUnique() {
         return this == UNIQUE;
     }
+
+    public boolean isBitmap() {
+        return this == BITMAP;
+    }
+
+    public boolean isVector() {
+        return this == VECTOR;
+    }
 }
@@ -58,6 +58,7 @@ public interface SerialEnum {
         SerialEnum.register(Action.class);
         SerialEnum.register(AggregateType.class);
         SerialEnum.register(Cardinality.class);
+        SerialEnum.register(Compression.class);
         SerialEnum.register(DataType.class);
         SerialEnum.register(Directions.class);
         SerialEnum.register(Frequency.class);
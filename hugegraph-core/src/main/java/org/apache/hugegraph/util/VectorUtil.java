@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hugegraph.backend.id.Id;
+
+/**
+ * The util of vector index, which hashes a vector into the buckets of
+ * several hash tables by random hyperplanes (locality sensitive hashing
+ * for cosine similarity), so that the similar vectors are likely to be
+ * in the same bucket. The hyperplanes are generated from the index label
+ * id and the dimension of the vectors, so they are never persisted.
+ *
+ * A nearest neighbor query probes the buckets of the query vector and
+ * the buckets with one different bit in each table, then ranks the
+ * candidates by the exact cosine similarity.
+ */
+public final class VectorUtil {
+
+    public static final int HASH_TABLES = 4;
+    public static final int HASH_BITS = 12;
+
+    private static final String BUCKET_PREFIX = "v";
+    private static final String BUCKET_DELIMITER = "_";
+    private static final int MAX_CACHED_HYPERPLANES = 1024;
+
+    private static final Map<String, float[][]> HYPERPLANES =
+                         new ConcurrentHashMap<>();
+
+    private VectorUtil() {
+        // pass
+    }
+
+    public static float[] toVector(Object value) {
+        E.checkArgument(value instanceof Collection,
+                        "The vector must be a list of numbers, but got %s",
+                        value == null ? null : value.getClass());
+        Collection<?> values = (Collection<?>) value;
+        float[] vector = new float[values.size()];
+        int i = 0;
+        for (Object v : values) {
+            E.checkArgument(v instanceof Number,
+                            "The vector must be a list of numbers, " +
+                            "but got item %s", v);
+            vector[i++] = ((Number) v).floatValue();
+        }
+        return vector;
+    }
+
+    public static double cosine(float[] vector1, float[] vector2) {
+        E.checkArgument(vector1.length == vector2.length,
+                        "The dimension of vectors must be the same, " +
+                        "but got %s and %s", vector1.length, vector2.length);
+        double dot = 0.0D;
+        double norm1 = 0.0D;
+        double norm2 = 0.0D;
+        for (int i = 0; i < vector1.length; i++) {
+            dot += (double) vector1[i] * vector2[i];
+            norm1 += (double) vector1[i] * vector1[i];
+            norm2 += (double) vector2[i] * vector2[i];
+        }
+        if (norm1 == 0.0D || norm2 == 0.0D) {
+            return 0.0D;
+        }
+        return dot / Math.sqrt(norm1 * norm2);
+    }
+
+    /**
+     * Get the buckets of a vector to be indexed, one for each hash table
+     */
+    public static List<String> buckets(Id indexLabel, float[] vector) {
+        List<String> buckets = new ArrayList<>(HASH_TABLES);
+        if (vector.length == 0) {
+            return buckets;
+        }
+        float[][] hyperplanes = hyperplanes(indexLabel, vector.length);
+        for (int table = 0; table < HASH_TABLES; table++) {
+            buckets.add(bucket(table, hash(hyperplanes, table, vector)));
+        }
+        return buckets;
+    }
+
+    /**
+     * Get the buckets to be probed for the nearest neighbors of a vector,
+     * including the buckets of the vector and their neighbor buckets
+     */
+    public static List<String> probes(Id indexLabel, float[] vector) {
+        E.checkArgument(vector.length > 0, "The vector can't be empty");
+        List<String> buckets = new ArrayList<>(HASH_TABLES * (HASH_BITS + 1));
+        float[][] hyperplanes = hyperplanes(indexLabel, vector.length);
+        for (int table = 0; table < HASH_TABLES; table++) {
+            int hash = hash(hyperplanes, table, vector);
+            buckets.add(bucket(table, hash));
+            for (int bit = 0; bit < HASH_BITS; bit++) {
+                buckets.add(bucket(table, hash ^ (1 << bit)));
+            }
+        }
+        return buckets;
+    }
+
+    private static int hash(float[][] hyperplanes, int table, float[] vector) {
+        int hash = 0;
+        for (int bit = 0; bit < HASH_BITS; bit++) {
+            float[] hyperplane = hyperplanes[table * HASH_BITS + bit];
+            double dot = 0.0D;
+            for (int i = 0; i < vector.length; i++) {
+                dot += (double) hyperplane[i] * vector[i];
+            }
+            if (dot >= 0.0D) {
+                hash |= 1 << bit;
+            }
+        }
+        return hash;
+    }
+
+    private static String bucket(int table, int hash) {
+        return BUCKET_PREFIX + table + BUCKET_DELIMITER +
+               Integer.toHexString(hash);
+    }
+
+    private static float[][] hyperplanes(Id indexLabel, int dimension) {
+        String key = indexLabel.asString() + BUCKET_DELIMITER + dimension;
+        float[][] hyperplanes = HYPERPLANES.get(key);
+        if (hyperplanes != null) {
+            return hyperplanes;
+        }
+
+        // Generate the same hyperplanes for the same index label
+        Random random = new Random(31L * indexLabel.asString().hashCode() +
+                                   dimension);
+        hyperplanes = new float[HASH_TABLES * HASH_BITS][dimension];
+        for (float[] hyperplane : hyperplanes) {
+            for (int i = 0; i < dimension; i++) {
+                hyperplane[i] = (float) random.nextGaussian();
+            }
+        }
+        if (HYPERPLANES.size() >= MAX_CACHED_HYPERPLANES) {
+            HYPERPLANES.clear();
+        }
+        HYPERPLANES.put(key, hyperplanes);
+        return hyperplanes;
+    }
+}
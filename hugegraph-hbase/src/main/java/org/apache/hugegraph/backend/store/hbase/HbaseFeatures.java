@@ -61,6 +61,12 @@ public class HbaseFeatures implements BackendFeatures {
         return false;
     }
 
+    @Override
+    public boolean supportsQueryEdgesByBatch() {
+        // Scan the prefixes of the owner vertices by one multi-range scan
+        return true;
+    }
+
     @Override
     public boolean supportsQueryWithRangeCondition() {
         return true;
@@ -71,6 +77,11 @@ public class HbaseFeatures implements BackendFeatures {
         return true;
     }
 
+    @Override
+    public boolean supportsQueryIndexSortedById() {
+        return true;
+    }
+
     @Override
     public boolean supportsQueryWithOrderBy() {
         return true;
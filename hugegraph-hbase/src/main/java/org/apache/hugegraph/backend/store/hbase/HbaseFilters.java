@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.store.hbase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FilterList.Operator;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+import org.apache.hadoop.hbase.filter.PrefixFilter;
+
+import org.apache.hugegraph.util.Bytes;
+import org.apache.hugegraph.util.E;
+
+/**
+ * Compile the rowkey conditions of a query into the scan range and filters
+ * of HBase, so that the rows are filtered by the region servers.
+ *
+ * The owner vertex, direction, label and sort-values of an edge are the
+ * prefix of the rowkey, so they are pushed down as a bounded row range:
+ * only the regions which overlap the range are scanned and each region
+ * server stops at the end of the range.
+ */
+public final class HbaseFilters {
+
+    private HbaseFilters() {
+        // Utility class
+    }
+
+    /**
+     * Get the exclusive stop row of the rows with the specified prefix,
+     * return null if there is no upper bound (the prefix is all 0xff)
+     */
+    public static byte[] prefixStopRow(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xff) {
+                byte[] stop = Arrays.copyOf(prefix, i + 1);
+                stop[i]++;
+                return stop;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Scan the rows with the specified prefix from the start row
+     */
+    public static Scan prefixScan(byte[] startRow, boolean inclusiveStart,
+                                  byte[] prefix) {
+        Scan scan = new Scan().withStartRow(startRow, inclusiveStart)
+                              .setFilter(new PrefixFilter(prefix));
+        byte[] stopRow = prefixStopRow(prefix);
+        if (stopRow != null) {
+            scan.withStopRow(stopRow, false);
+        }
+        return scan;
+    }
+
+    /**
+     * Scan the rows with any of the specified prefixes, the region servers
+     * seek to the next prefix instead of filtering the rows between them
+     */
+    public static Scan prefixesScan(Collection<byte[]> prefixes) {
+        E.checkArgument(!prefixes.isEmpty(),
+                        "The prefixes of scan can't be empty");
+        List<RowRange> ranges = new ArrayList<>(prefixes.size());
+        for (byte[] prefix : prefixes) {
+            ranges.add(prefixRange(prefix, true, prefix));
+        }
+        return rangesScan(ranges);
+    }
+
+    /**
+     * Get the row range of the rows with the specified prefix from the
+     * start row
+     */
+    public static RowRange prefixRange(byte[] startRow, boolean inclusiveStart,
+                                       byte[] prefix) {
+        return new RowRange(startRow, inclusiveStart,
+                            prefixStopRow(prefix), false);
+    }
+
+    /**
+     * Scan the rows in any of the specified row ranges by one scan, the
+     * region servers seek to the next range instead of filtering the rows
+     * between them
+     */
+    public static Scan rangesScan(List<RowRange> ranges) {
+        E.checkArgument(!ranges.isEmpty(),
+                        "The ranges of scan can't be empty");
+        RowRange first = null;
+        byte[] stopRow = null;
+        boolean unbounded = false;
+        for (RowRange range : ranges) {
+            if (first == null || Bytes.compare(range.getStartRow(),
+                                               first.getStartRow()) < 0) {
+                first = range;
+            }
+            byte[] stop = range.getStopRow();
+            if (stop.length == 0) {
+                unbounded = true;
+                continue;
+            }
+            if (range.isStopRowInclusive()) {
+                // The rows <= stop are the rows < stop + 0x00
+                stop = Arrays.copyOf(stop, stop.length + 1);
+            }
+            if (stopRow == null || Bytes.compare(stop, stopRow) > 0) {
+                stopRow = stop;
+            }
+        }
+
+        // NOTE: the ranges are sorted and merged by MultiRowRangeFilter
+        Filter filter = new MultiRowRangeFilter(new ArrayList<>(ranges));
+        Scan scan = new Scan().withStartRow(first.getStartRow(),
+                                            first.isStartRowInclusive())
+                              .setFilter(filter);
+        if (!unbounded) {
+            scan.withStopRow(stopRow, false);
+        }
+        return scan;
+    }
+
+    /**
+     * Let the region servers return the first cell of each row without the
+     * value, it's enough for counting or checking the existence of rows
+     */
+    public static Scan keyOnly(Scan scan) {
+        FilterList filters = new FilterList(Operator.MUST_PASS_ALL);
+        Filter filter = scan.getFilter();
+        if (filter != null) {
+            filters.addFilter(filter);
+        }
+        filters.addFilter(new FirstKeyOnlyFilter());
+        filters.addFilter(new KeyOnlyFilter());
+        return scan.setFilter(filters);
+    }
+}
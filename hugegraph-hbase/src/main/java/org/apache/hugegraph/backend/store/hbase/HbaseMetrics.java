@@ -66,6 +66,7 @@ public class HbaseMetrics implements BackendMetrics {
                                   formatMetrics(serverMetrics));
             }
             results.put(SERVERS, regionServers);
+            results.put("client", this.hbase.clientMetrics());
         } catch (Throwable e) {
             results.put(EXCEPTION, e.toString());
         }
@@ -162,4 +162,49 @@ public class HbaseOptions extends OptionHolder {
                     nonNegativeInt(),
                     30
             );
+
+    public static final ConfigOption<Long> WRITE_BUFFER_SIZE =
+            new ConfigOption<>(
+                    "hbase.write_buffer_size",
+                    "The write buffer size in bytes of the buffered mutator " +
+                    "of each session for each table, the buffered " +
+                    "mutations are flushed in background once exceeding " +
+                    "it and flushed synchronously on commit unless " +
+                    "hbase.write_buffer_flush_interval is set, " +
+                    "0 means writing by batch of each session.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+
+    public static final ConfigOption<Long> WRITE_BUFFER_FLUSH_INTERVAL =
+            new ConfigOption<>(
+                    "hbase.write_buffer_flush_interval",
+                    "The max time in ms to keep the committed mutations in " +
+                    "the write buffer, they are flushed in background once " +
+                    "the write buffer is full or timed out, so they may be " +
+                    "invisible to reads until then, and the failures are " +
+                    "reported by the later commits of the session, " +
+                    "0 means flushing synchronously on commit.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+
+    public static final ConfigOption<Integer> GET_PARALLELISM =
+            new ConfigOption<>(
+                    "hbase.get_parallelism",
+                    "The number of threads to get the rows of a batch get " +
+                    "in parallel, the rows are grouped by region, " +
+                    "0 means getting all the rows in a single batch.",
+                    rangeInt(0, 1024),
+                    0
+            );
+
+    public static final ConfigOption<Integer> GET_BATCH_SIZE =
+            new ConfigOption<>(
+                    "hbase.get_batch_size",
+                    "The max number of rows of a region to get in a batch " +
+                    "when getting in parallel.",
+                    rangeInt(1, Integer.MAX_VALUE),
+                    500
+            );
 }
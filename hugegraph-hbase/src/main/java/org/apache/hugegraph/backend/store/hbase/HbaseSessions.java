@@ -30,7 +30,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.hugegraph.util.Log;
 
 import org.apache.hadoop.conf.Configuration;
@@ -40,6 +46,7 @@ import org.apache.hadoop.hbase.CellScanner;
 import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.HBaseConfiguration;
 import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HRegionLocation;
 import org.apache.hadoop.hbase.NamespaceDescriptor;
 import org.apache.hadoop.hbase.RegionMetrics;
 import org.apache.hadoop.hbase.ServerName;
@@ -48,12 +55,16 @@ import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.TableNotDisabledException;
 import org.apache.hadoop.hbase.TableNotEnabledException;
 import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
 import org.apache.hadoop.hbase.client.ColumnFamilyDescriptorBuilder;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Mutation;
 import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Row;
@@ -62,12 +73,7 @@ import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.client.TableDescriptorBuilder;
 import org.apache.hadoop.hbase.client.coprocessor.AggregationClient;
 import org.apache.hadoop.hbase.client.coprocessor.LongColumnInterpreter;
-import org.apache.hadoop.hbase.filter.FilterList;
-import org.apache.hadoop.hbase.filter.FilterList.Operator;
-import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
-import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
 import org.apache.hadoop.hbase.filter.PageFilter;
-import org.apache.hadoop.hbase.filter.PrefixFilter;
 import org.apache.hadoop.hbase.util.VersionInfo;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.slf4j.Logger;
@@ -81,8 +87,12 @@ import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.exception.NotSupportException;
 import org.apache.hugegraph.util.Bytes;
 import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.ExecutorUtil;
+import org.apache.hugegraph.util.InsertionOrderUtil;
 import org.apache.hugegraph.util.StringEncoding;
 import org.apache.hugegraph.util.VersionUtil;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.Futures;
 
 public class HbaseSessions extends BackendSessionPool {
@@ -93,12 +103,30 @@ public class HbaseSessions extends BackendSessionPool {
             "org.apache.hadoop.hbase.coprocessor.AggregateImplementation";
     private static final long SCANNER_CACHING = 1000L;
 
+    private static final double NANOS_PER_MILLI = 1000000D;
+    private static final String GET_WORKER = "hbase-get-worker-%d";
+    private static final int MAX_REGION_LATENCIES = 1000;
+    private static final long MAX_FLUSH_TIMER_TICK = 1000L;
+
     private final String namespace;
     private Connection hbase;
 
+    // The number of the buffered mutators opened by the sessions
+    private final AtomicInteger mutators;
+    private ExecutorService getExecutor;
+    /*
+     * The latency of the parallel gets of each region, the least recently
+     * updated one is evicted if exceeding the limit, since the regions may
+     * be split, merged or moved
+     */
+    private final Map<String, RegionLatency> regionLatencies;
+
     public HbaseSessions(HugeConfig config, String namespace, String store) {
         super(config, namespace + "/" + store);
         this.namespace = namespace;
+        this.mutators = new AtomicInteger(0);
+        this.getExecutor = null;
+        this.regionLatencies = new ConcurrentHashMap<>();
     }
 
     protected Connection hbase() {
@@ -121,6 +149,120 @@ public class HbaseSessions extends BackendSessionPool {
         return new AggregationClient(hConfig);
     }
 
+    /**
+     * Get the rows in parallel, the gets are grouped by region and each
+     * group is split into batches of the configured size, the results are
+     * returned in the order of the gets
+     */
+    private Result[] parallelGet(String table, List<Get> gets)
+                                 throws IOException {
+        int batchSize = this.config().get(HbaseOptions.GET_BATCH_SIZE);
+        // The indexes of the gets of each region
+        Map<String, List<Integer>> regions = new HashMap<>();
+        TableName tableName = TableName.valueOf(this.namespace, table);
+        try (RegionLocator locator = this.hbase().getRegionLocator(tableName)) {
+            for (int i = 0; i < gets.size(); i++) {
+                // The locations are cached by the connection
+                HRegionLocation location = locator.getRegionLocation(
+                                           gets.get(i).getRow());
+                String region = location.getRegion().getEncodedName();
+                regions.computeIfAbsent(region, k -> new ArrayList<>())
+                       .add(i);
+            }
+        }
+
+        List<List<Integer>> batches = new ArrayList<>();
+        List<Future<Result[]>> futures = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> e : regions.entrySet()) {
+            String region = e.getKey();
+            List<Integer> indexes = e.getValue();
+            for (int i = 0; i < indexes.size(); i += batchSize) {
+                int end = Math.min(i + batchSize, indexes.size());
+                List<Integer> batch = indexes.subList(i, end);
+                List<Get> batchGets = new ArrayList<>(batch.size());
+                for (int index : batch) {
+                    batchGets.add(gets.get(index));
+                }
+                batches.add(batch);
+                futures.add(this.getExecutor.submit(() -> {
+                    long start = System.nanoTime();
+                    try (Table htable = this.table(table)) {
+                        return htable.get(batchGets);
+                    } finally {
+                        this.regionLatency(region)
+                            .record(System.nanoTime() - start);
+                    }
+                }));
+            }
+        }
+
+        Result[] results = new Result[gets.size()];
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                Result[] batchResults = futures.get(i).get();
+                List<Integer> batch = batches.get(i);
+                assert batchResults.length == batch.size();
+                for (int j = 0; j < batchResults.length; j++) {
+                    results[batch.get(j)] = batchResults[j];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BackendException("Interrupted while getting rows " +
+                                       "from table '%s'", e, table);
+        } catch (ExecutionException e) {
+            throw new BackendException("Failed to get rows from table '%s'",
+                                       e.getCause(), table);
+        } finally {
+            for (Future<Result[]> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    private RegionLatency regionLatency(String region) {
+        RegionLatency latency = this.regionLatencies.get(region);
+        if (latency != null) {
+            return latency;
+        }
+        if (this.regionLatencies.size() >= MAX_REGION_LATENCIES) {
+            Map.Entry<String, RegionLatency> eldest = null;
+            for (Map.Entry<String, RegionLatency> e :
+                 this.regionLatencies.entrySet()) {
+                if (eldest == null || e.getValue().lastRecordTime() -
+                                      eldest.getValue().lastRecordTime() < 0L) {
+                    eldest = e;
+                }
+            }
+            if (eldest != null) {
+                this.regionLatencies.remove(eldest.getKey(), eldest.getValue());
+            }
+        }
+        return this.regionLatencies.computeIfAbsent(region,
+                                                    k -> new RegionLatency());
+    }
+
+    /**
+     * Get the client side metrics of the sessions
+     */
+    public Map<String, Object> clientMetrics() {
+        Map<String, Object> metrics = InsertionOrderUtil.newMap();
+        metrics.put("write_buffer_size",
+                    this.config().get(HbaseOptions.WRITE_BUFFER_SIZE));
+        metrics.put("write_buffer_flush_interval",
+                    this.config().get(HbaseOptions.WRITE_BUFFER_FLUSH_INTERVAL));
+        metrics.put("buffered_mutators", this.mutators.get());
+
+        Map<String, Object> regions = InsertionOrderUtil.newMap();
+        for (Map.Entry<String, RegionLatency> e :
+             this.regionLatencies.entrySet()) {
+            regions.put(e.getKey(), e.getValue().metrics());
+        }
+        metrics.put("region_gets", regions);
+        return metrics;
+    }
+
     @Override
     public synchronized void open() throws IOException {
         HugeConfig config = this.config();
@@ -156,6 +298,12 @@ public class HbaseSessions extends BackendSessionPool {
             UserGroupInformation.loginUserFromKeytab(principal, keyTab);
         }
         this.hbase = ConnectionFactory.createConnection(hConfig);
+
+        int parallelism = config.get(HbaseOptions.GET_PARALLELISM);
+        if (parallelism > 0) {
+            this.getExecutor = ExecutorUtil.newFixedThreadPool(parallelism,
+                                                               GET_WORKER);
+        }
     }
 
     @Override
@@ -179,7 +327,13 @@ public class HbaseSessions extends BackendSessionPool {
         if (this.hbase == null || this.hbase.isClosed()) {
             return;
         }
+        if (this.getExecutor != null) {
+            this.getExecutor.shutdown();
+            this.getExecutor = null;
+        }
         try {
+            // The buffered mutators of the sessions are flushed on commit,
+            // or in background if the write buffer flush interval is set
             this.hbase.close();
         } catch (IOException e) {
             throw new BackendException("Failed to close HBase connection", e);
@@ -400,19 +554,7 @@ public class HbaseSessions extends BackendSessionPool {
          * Scan records by multi rowkey prefixes from a table
          */
         default R scan(String table, Set<byte[]> prefixes) {
-            FilterList orFilters = new FilterList(Operator.MUST_PASS_ONE);
-            for (byte[] prefix : prefixes) {
-                FilterList andFilters = new FilterList(Operator.MUST_PASS_ALL);
-                List<RowRange> ranges = new ArrayList<>();
-                ranges.add(new RowRange(prefix, true, null, true));
-                andFilters.addFilter(new MultiRowRangeFilter(ranges));
-                andFilters.addFilter(new PrefixFilter(prefix));
-
-                orFilters.addFilter(andFilters);
-            }
-
-            Scan scan = new Scan().setFilter(orFilters);
-            return this.scan(table, scan);
+            return this.scan(table, HbaseFilters.prefixesScan(prefixes));
         }
 
         /**
@@ -420,8 +562,8 @@ public class HbaseSessions extends BackendSessionPool {
          */
         default R scan(String table, byte[] startRow, boolean inclusiveStart,
                        byte[] prefix) {
-            Scan scan = new Scan().withStartRow(startRow, inclusiveStart)
-                                  .setFilter(new PrefixFilter(prefix));
+            Scan scan = HbaseFilters.prefixScan(startRow, inclusiveStart,
+                                                prefix);
             return this.scan(table, scan);
         }
 
@@ -463,9 +605,21 @@ public class HbaseSessions extends BackendSessionPool {
                          implements HbaseSession<RowIterator> {
 
         private final Map<String, List<Row>> batch;
+        private final boolean mutateBuffered;
+        // Flush the buffered mutations in background if > 0
+        private final long flushInterval;
+        private final boolean getParallel;
+        // The buffered mutators owned by the session, one for each table
+        private final Map<String, BufferedMutator> bufferedMutators;
 
         public Session() {
             this.batch = new HashMap<>();
+            this.bufferedMutators = new HashMap<>();
+            HugeConfig config = HbaseSessions.this.config();
+            this.mutateBuffered = config.get(HbaseOptions.WRITE_BUFFER_SIZE) > 0L;
+            this.flushInterval = config.get(
+                                 HbaseOptions.WRITE_BUFFER_FLUSH_INTERVAL);
+            this.getParallel = config.get(HbaseOptions.GET_PARALLELISM) > 0;
         }
 
         private void batch(String table, Row row) {
@@ -517,6 +671,42 @@ public class HbaseSessions extends BackendSessionPool {
         public void close() {
             assert this.closeable();
             this.opened = false;
+            this.closeMutators();
+        }
+
+        private BufferedMutator mutator(String table) throws IOException {
+            BufferedMutator mutator = this.bufferedMutators.get(table);
+            if (mutator == null) {
+                HugeConfig config = HbaseSessions.this.config();
+                long bufferSize = config.get(HbaseOptions.WRITE_BUFFER_SIZE);
+                TableName name = TableName.valueOf(this.namespace(), table);
+                BufferedMutatorParams params = new BufferedMutatorParams(name)
+                                               .writeBufferSize(bufferSize);
+                if (this.flushInterval > 0L) {
+                    long tick = Math.min(this.flushInterval,
+                                         MAX_FLUSH_TIMER_TICK);
+                    params.setWriteBufferPeriodicFlushTimeoutMs(
+                           this.flushInterval);
+                    params.setWriteBufferPeriodicFlushTimerTickMs(tick);
+                }
+                mutator = this.hbase().getBufferedMutator(params);
+                this.bufferedMutators.put(table, mutator);
+                HbaseSessions.this.mutators.incrementAndGet();
+            }
+            return mutator;
+        }
+
+        private void closeMutators() {
+            for (BufferedMutator mutator : this.bufferedMutators.values()) {
+                try {
+                    mutator.close();
+                } catch (IOException e) {
+                    LOG.warn("Failed to close buffered mutator of table {}",
+                             mutator.getName(), e);
+                }
+                HbaseSessions.this.mutators.decrementAndGet();
+            }
+            this.bufferedMutators.clear();
         }
 
         @Override
@@ -542,6 +732,12 @@ public class HbaseSessions extends BackendSessionPool {
                 return 0;
             }
 
+            if (this.mutateBuffered) {
+                this.commitByMutators();
+                this.batch.clear();
+                return count;
+            }
+
             // TODO: this will not be atomic, to be improved
             for (Entry<String, List<Row>> action : this.batch.entrySet()) {
                 List<Row> rows = action.getValue();
@@ -565,6 +761,53 @@ public class HbaseSessions extends BackendSessionPool {
             return count;
         }
 
+        /**
+         * Commit by the buffered mutators of this session, so the failed
+         * mutations flushed in background are reported to the commits of
+         * this session only.
+         * The mutations are flushed synchronously on commit by default. If
+         * the flush interval is set, they are left to be flushed in background
+         * once the write buffer is full or timed out, to reduce the RPCs of
+         * small commits, and the failures are reported by a later commit.
+         */
+        private void commitByMutators() {
+            List<BufferedMutator> usedMutators = new ArrayList<>(
+                                                this.batch.size());
+            try {
+                for (Entry<String, List<Row>> action : this.batch.entrySet()) {
+                    BufferedMutator mutator = this.mutator(action.getKey());
+                    List<Mutation> mutations = new ArrayList<>(
+                                               action.getValue().size());
+                    for (Row row : action.getValue()) {
+                        mutations.add((Mutation) row);
+                    }
+                    // The mutations may be flushed in background if the
+                    // write buffer is full
+                    mutator.mutate(mutations);
+                    usedMutators.add(mutator);
+                }
+                if (this.flushInterval <= 0L) {
+                    // Flush to make sure the mutations are visible after commit
+                    for (BufferedMutator mutator : usedMutators) {
+                        mutator.flush();
+                    }
+                }
+            } catch (IOException e) {
+                /*
+                 * End the failed commit by closing the mutators, instead of
+                 * leaving the rest mutations to be flushed and reported by
+                 * the next commit
+                 */
+                this.closeMutators();
+                if (e instanceof InterruptedIOException) {
+                    throw new BackendException("Interrupted, " +
+                                               "maybe it is timed out", e);
+                }
+                throw new BackendException("Failed to commit, " +
+                          "there may be inconsistent states for HBase", e);
+            }
+        }
+
         /**
          * Rollback all updates(put/delete) not committed
          */
@@ -719,6 +962,16 @@ public class HbaseSessions extends BackendSessionPool {
                 gets.add(get);
             }
 
+            int batchSize = HbaseSessions.this.config().get(
+                            HbaseOptions.GET_BATCH_SIZE);
+            if (this.getParallel && gets.size() > batchSize) {
+                try {
+                    return new RowIterator(parallelGet(table, gets));
+                } catch (IOException e) {
+                    throw new BackendException(e);
+                }
+            }
+
             try (Table htable = table(table)) {
                 return new RowIterator(htable.get(gets));
             } catch (IOException e) {
@@ -857,32 +1110,53 @@ public class HbaseSessions extends BackendSessionPool {
         @Override
         public Number get(String table, byte[] family, byte[] rowkey,
                           byte[] qualifier) {
-            return count(this.origin.get(table, family, rowkey, qualifier));
+            Get get = new Get(rowkey);
+            get.addColumn(family, qualifier);
+            return this.exists(table, ImmutableList.of(get));
         }
 
         @Override
         public Number get(String table, byte[] family, byte[] rowkey) {
-            return count(this.origin.get(table, family, rowkey));
+            return this.get(table, family, ImmutableSet.of(rowkey));
         }
 
         @Override
         public Number get(String table, byte[] family, Set<byte[]> rowkeys) {
-            return count(this.origin.get(table, family, rowkeys));
+            List<Get> gets = new ArrayList<>(rowkeys.size());
+            for (byte[] rowkey : rowkeys) {
+                Get get = new Get(rowkey);
+                if (family != null) {
+                    get.addFamily(family);
+                }
+                gets.add(get);
+            }
+            return this.exists(table, gets);
         }
 
-        private long count(RowIterator iter) {
-            long count = 0L;
-            while (iter.hasNext()) {
-                if (!iter.next().isEmpty()) {
-                    count++;
+        private long exists(String table, List<Get> gets) {
+            // Check the existence by region servers without shipping rows
+            try (Table htable = table(table)) {
+                long count = 0L;
+                for (boolean exist : htable.exists(gets)) {
+                    if (exist) {
+                        count++;
+                    }
                 }
+                return count;
+            } catch (IOException e) {
+                throw new BackendException(e);
             }
-            return count;
         }
 
         @Override
         public Number scan(String table, Scan scan) {
             LongColumnInterpreter ci = new LongColumnInterpreter();
+            /*
+             * The rows are counted by the aggregation coprocessor in each
+             * region, just read the first key of each row like it does if
+             * there is no filter, since the row values are never needed
+             */
+            scan = HbaseFilters.keyOnly(scan);
             try {
                 return this.aggrClient.rowCount(table(table), ci, scan);
             } catch (Throwable e) {
@@ -902,6 +1176,38 @@ public class HbaseSessions extends BackendSessionPool {
         }
     }
 
+    private static class RegionLatency {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos =
+                                      new LongAccumulator(Math::max, 0L);
+        private volatile long lastRecordTime = System.nanoTime();
+
+        public void record(long nanos) {
+            this.count.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulate(nanos);
+            this.lastRecordTime = System.nanoTime();
+        }
+
+        public long lastRecordTime() {
+            return this.lastRecordTime;
+        }
+
+        public Map<String, Object> metrics() {
+            long count = this.count.sum();
+            long total = this.totalNanos.sum();
+            Map<String, Object> metrics = InsertionOrderUtil.newMap();
+            metrics.put("get_count", count);
+            metrics.put("get_latency_avg_ms", count == 0L ? 0D :
+                        (double) total / count / NANOS_PER_MILLI);
+            metrics.put("get_latency_max_ms",
+                        (double) this.maxNanos.get() / NANOS_PER_MILLI);
+            return metrics;
+        }
+    }
+
     protected static class RowIterator implements BackendIterator<Result> {
 
         private final ResultScanner resultScanner;
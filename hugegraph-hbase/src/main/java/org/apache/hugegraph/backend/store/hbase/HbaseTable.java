@@ -39,6 +39,7 @@ import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Admin;
 import org.apache.hadoop.hbase.client.RegionInfo;
 import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
 import org.slf4j.Logger;
 
 import org.apache.hugegraph.backend.BackendException;
@@ -46,6 +47,7 @@ import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.page.PageState;
 import org.apache.hugegraph.backend.query.Aggregate;
 import org.apache.hugegraph.backend.query.Aggregate.AggregateFunc;
+import org.apache.hugegraph.backend.query.BatchScanQuery;
 import org.apache.hugegraph.backend.query.Condition.Relation;
 import org.apache.hugegraph.backend.query.ConditionQuery;
 import org.apache.hugegraph.backend.query.IdPrefixQuery;
@@ -192,6 +194,12 @@ public class HbaseTable extends BackendTable<HbaseSessions.Session, BackendEntry
             return this.queryByRange(session, rq);
         }
 
+        // Query by a batch of prefix/range scans
+        if (query instanceof BatchScanQuery) {
+            BatchScanQuery bq = (BatchScanQuery) query;
+            return this.queryByBatch(session, bq);
+        }
+
         // Query by id
         if (query.conditionsSize() == 0) {
             assert query.idsSize() > 0;
@@ -243,6 +251,27 @@ public class HbaseTable extends BackendTable<HbaseSessions.Session, BackendEntry
                             end, query.inclusiveEnd());
     }
 
+    protected <R> R queryByBatch(HbaseSessions.HbaseSession<R> session,
+                                 BatchScanQuery query) {
+        List<RowRange> ranges = new ArrayList<>(query.scans().size());
+        for (Query scan : query.scans()) {
+            if (scan instanceof IdPrefixQuery) {
+                IdPrefixQuery pq = (IdPrefixQuery) scan;
+                ranges.add(HbaseFilters.prefixRange(pq.start().asBytes(),
+                                                    pq.inclusiveStart(),
+                                                    pq.prefix().asBytes()));
+            } else {
+                IdRangeQuery rq = (IdRangeQuery) scan;
+                byte[] end = rq.end() == null ? null : rq.end().asBytes();
+                ranges.add(new RowRange(rq.start().asBytes(),
+                                        rq.inclusiveStart(),
+                                        end, rq.inclusiveEnd()));
+            }
+        }
+        // Scan all the ranges by one scan request
+        return session.scan(this.table(), HbaseFilters.rangesScan(ranges));
+    }
+
     protected <R> R queryByCond(HbaseSessions.HbaseSession<R> session, ConditionQuery query) {
         if (query.containsScanRelation()) {
             E.checkArgument(query.relations().size() == 1,
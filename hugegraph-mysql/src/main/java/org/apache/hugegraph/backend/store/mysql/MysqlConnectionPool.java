@@ -0,0 +1,299 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.store.mysql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.hugegraph.util.Log;
+
+/**
+ * A pool of JDBC connections shared by the sessions of a store, each
+ * session borrows a connection when it's opened and returns it back when
+ * it's closed. The prepared statements are cached with the connection, so
+ * they can be reused by the sessions of other threads.
+ *
+ * The idle connections are validated before being borrowed, and the broken
+ * ones are discarded.
+ */
+public class MysqlConnectionPool {
+
+    private static final Logger LOG = Log.logger(MysqlConnectionPool.class);
+
+    private static final int VALIDATION_TIMEOUT = 3;
+
+    private final Connector connector;
+    private final int maxSize;
+    private final int maxIdle;
+    private final long borrowTimeout;
+
+    private final Deque<PooledConnection> idle;
+    private int total;
+    private int waiting;
+    private boolean closed;
+
+    private final LongAdder borrowedCount;
+    private final LongAdder createdCount;
+    private final LongAdder discardedCount;
+    private final LongAdder timeoutCount;
+
+    public MysqlConnectionPool(HugeConfig config, Connector connector) {
+        this.connector = connector;
+        this.maxSize = config.get(MysqlOptions.JDBC_POOL_MAX_SIZE);
+        this.maxIdle = config.get(MysqlOptions.JDBC_POOL_MAX_IDLE);
+        this.borrowTimeout = TimeUnit.SECONDS.toMillis(
+                             config.get(MysqlOptions.JDBC_POOL_BORROW_TIMEOUT));
+
+        this.idle = new ArrayDeque<>();
+        this.total = 0;
+        this.waiting = 0;
+        this.closed = false;
+
+        this.borrowedCount = new LongAdder();
+        this.createdCount = new LongAdder();
+        this.discardedCount = new LongAdder();
+        this.timeoutCount = new LongAdder();
+    }
+
+    public PooledConnection borrow() throws SQLException {
+        PooledConnection conn = this.take();
+        if (conn == null) {
+            // Create a new connection out of the lock
+            try {
+                conn = new PooledConnection(this.connector.connect());
+            } catch (SQLException | RuntimeException e) {
+                this.release(null);
+                throw e;
+            }
+            this.createdCount.increment();
+        }
+        this.borrowedCount.increment();
+        return conn;
+    }
+
+    public void release(PooledConnection conn) {
+        boolean discard = conn == null;
+        if (conn != null) {
+            discard = !this.reset(conn);
+        }
+        synchronized (this) {
+            if (!discard && !this.closed && this.idle.size() < this.maxIdle) {
+                this.idle.push(conn);
+                this.notifyAll();
+                return;
+            }
+            this.total--;
+            this.notifyAll();
+        }
+        if (conn != null) {
+            this.close(conn);
+        }
+    }
+
+    public void discard(PooledConnection conn) {
+        synchronized (this) {
+            this.total--;
+            this.notifyAll();
+        }
+        this.close(conn);
+    }
+
+    public void close() {
+        Deque<PooledConnection> conns;
+        synchronized (this) {
+            this.closed = true;
+            conns = new ArrayDeque<>(this.idle);
+            this.total -= this.idle.size();
+            this.idle.clear();
+            this.notifyAll();
+        }
+        for (PooledConnection conn : conns) {
+            this.close(conn);
+        }
+    }
+
+    public synchronized Map<String, Object> metrics() {
+        Map<String, Object> metrics = InsertionOrderUtil.newMap();
+        metrics.put("max_size", this.maxSize);
+        metrics.put("total_connections", this.total);
+        metrics.put("active_connections", this.total - this.idle.size());
+        metrics.put("idle_connections", this.idle.size());
+        metrics.put("waiting_threads", this.waiting);
+        metrics.put("borrowed_count", this.borrowedCount.sum());
+        metrics.put("created_count", this.createdCount.sum());
+        metrics.put("discarded_count", this.discardedCount.sum());
+        metrics.put("timeout_count", this.timeoutCount.sum());
+        return metrics;
+    }
+
+    /**
+     * Take a valid idle connection, or return null if a new connection is
+     * allowed to be created
+     */
+    private PooledConnection take() {
+        long deadline = System.currentTimeMillis() + this.borrowTimeout;
+        while (true) {
+            PooledConnection conn;
+            synchronized (this) {
+                if (this.closed) {
+                    throw new BackendException("The connection pool has " +
+                                               "been closed");
+                }
+                conn = this.idle.poll();
+                if (conn == null) {
+                    if (this.maxSize <= 0 || this.total < this.maxSize) {
+                        this.total++;
+                        return null;
+                    }
+                    this.await(deadline);
+                    continue;
+                }
+            }
+            if (this.validate(conn)) {
+                return conn;
+            }
+            this.discard(conn);
+        }
+    }
+
+    private void await(long deadline) {
+        long timeout = deadline - System.currentTimeMillis();
+        if (timeout <= 0L) {
+            this.timeoutCount.increment();
+            throw new BackendException("Timeout to get a connection in %s " +
+                                       "seconds, the pool max size is %s",
+                                       TimeUnit.MILLISECONDS.toSeconds(
+                                       this.borrowTimeout), this.maxSize);
+        }
+        this.waiting++;
+        try {
+            this.wait(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BackendException("Interrupted while waiting for " +
+                                       "a connection", e);
+        } finally {
+            this.waiting--;
+        }
+    }
+
+    private boolean validate(PooledConnection conn) {
+        try {
+            return conn.connection().isValid(VALIDATION_TIMEOUT);
+        } catch (SQLException e) {
+            LOG.debug("Failed to validate connection", e);
+            return false;
+        }
+    }
+
+    /**
+     * Reset the state of a connection before returning it to the pool,
+     * return false if the connection is broken
+     */
+    private boolean reset(PooledConnection conn) {
+        try {
+            Connection connection = conn.connection();
+            if (connection.isClosed()) {
+                return false;
+            }
+            for (PreparedStatement statement : conn.statements().values()) {
+                statement.clearBatch();
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            LOG.debug("Failed to reset connection", e);
+            return false;
+        }
+    }
+
+    private void close(PooledConnection conn) {
+        this.discardedCount.increment();
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            throw new BackendException("Failed to close connection", e);
+        }
+    }
+
+    public interface Connector {
+
+        Connection connect() throws SQLException;
+    }
+
+    public static class PooledConnection {
+
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements;
+
+        public PooledConnection(Connection connection) {
+            this.connection = connection;
+            this.statements = new HashMap<>();
+        }
+
+        public Connection connection() {
+            return this.connection;
+        }
+
+        /**
+         * The prepared statements cached by sql template, NOTE: it's only
+         * accessed by the session which holds the connection
+         */
+        public Map<String, PreparedStatement> statements() {
+            return this.statements;
+        }
+
+        public void close() throws SQLException {
+            SQLException exception = null;
+            for (PreparedStatement statement : this.statements.values()) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    exception = e;
+                }
+            }
+            this.statements.clear();
+
+            try {
+                this.connection.close();
+            } catch (SQLException e) {
+                exception = e;
+            }
+            if (exception != null) {
+                throw exception;
+            }
+        }
+    }
+}
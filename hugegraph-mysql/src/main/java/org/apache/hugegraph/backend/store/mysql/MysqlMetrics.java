@@ -22,12 +22,23 @@ package org.apache.hugegraph.backend.store.mysql;
 import java.util.Map;
 
 import org.apache.hugegraph.backend.store.BackendMetrics;
-import com.google.common.collect.ImmutableMap;
+import org.apache.hugegraph.util.InsertionOrderUtil;
 
 public class MysqlMetrics implements BackendMetrics {
 
+    private final MysqlSessions sessions;
+
+    public MysqlMetrics(MysqlSessions sessions) {
+        this.sessions = sessions;
+    }
+
     @Override
     public Map<String, Object> metrics() {
-        return ImmutableMap.of(NODES, 1);
+        Map<String, Object> metrics = InsertionOrderUtil.newMap();
+        metrics.put(NODES, 1);
+        if (this.sessions != null) {
+            metrics.putAll(this.sessions.metrics());
+        }
+        return metrics;
     }
 }
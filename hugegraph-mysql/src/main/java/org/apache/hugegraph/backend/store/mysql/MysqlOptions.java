@@ -116,4 +116,54 @@ public class MysqlOptions extends OptionHolder {
                     disallowEmpty(),
                     "InnoDB"
             );
+
+    public static final ConfigOption<Integer> JDBC_POOL_MAX_SIZE =
+            new ConfigOption<>(
+                    "jdbc.pool_max_size",
+                    "The max number of connections of the pool of each " +
+                    "backend store, 0 means no limit. Note that each " +
+                    "thread holds a connection until its session is closed.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    0
+            );
+
+    public static final ConfigOption<Integer> JDBC_POOL_MAX_IDLE =
+            new ConfigOption<>(
+                    "jdbc.pool_max_idle",
+                    "The max number of idle connections kept in the pool " +
+                    "of each backend store.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    16
+            );
+
+    public static final ConfigOption<Integer> JDBC_POOL_BORROW_TIMEOUT =
+            new ConfigOption<>(
+                    "jdbc.pool_borrow_timeout",
+                    "The timeout(seconds) of waiting for a connection when " +
+                    "the pool is exhausted.",
+                    rangeInt(1, Integer.MAX_VALUE),
+                    30
+            );
+
+    public static final ConfigOption<Integer> JDBC_FETCH_SIZE =
+            new ConfigOption<>(
+                    "jdbc.fetch_size",
+                    "The number of rows fetched from database each time " +
+                    "by a query through server side cursor, so the memory " +
+                    "of large results is bounded, 0 means fetch all rows " +
+                    "at once.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    0
+            );
+
+    public static final ConfigOption<Integer> JDBC_BATCH_ROWS =
+            new ConfigOption<>(
+                    "jdbc.batch_rows",
+                    "The max number of rows inserted by one multi-row " +
+                    "INSERT statement when committing, the rows to be " +
+                    "inserted are buffered until commit, 0 or 1 means " +
+                    "insert one row per statement.",
+                    rangeInt(0, 65535),
+                    0
+            );
 }
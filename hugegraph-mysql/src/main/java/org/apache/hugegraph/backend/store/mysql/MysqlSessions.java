@@ -27,7 +27,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
 
@@ -38,9 +41,13 @@ import org.slf4j.Logger;
 import org.apache.hugegraph.backend.BackendException;
 import org.apache.hugegraph.backend.store.BackendSession.AbstractBackendSession;
 import org.apache.hugegraph.backend.store.BackendSessionPool;
+import org.apache.hugegraph.backend.store.mysql.MysqlConnectionPool.PooledConnection;
 import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.type.define.HugeKeys;
 import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.InsertionOrderUtil;
 import org.apache.hugegraph.util.Log;
+import com.google.common.collect.ImmutableMap;
 
 public class MysqlSessions extends BackendSessionPool {
 
@@ -53,12 +60,14 @@ public class MysqlSessions extends BackendSessionPool {
     private HugeConfig config;
     private String database;
     private volatile boolean opened;
+    private volatile MysqlConnectionPool pool;
 
     public MysqlSessions(HugeConfig config, String database, String store) {
         super(config, database + "/" + store);
         this.config = config;
         this.database = database;
         this.opened = false;
+        this.pool = null;
     }
 
     @Override
@@ -83,6 +92,12 @@ public class MysqlSessions extends BackendSessionPool {
         try (Connection conn = this.open(false)) {
             this.opened = true;
         }
+        if (this.pool != null) {
+            this.pool.close();
+        }
+        this.pool = new MysqlConnectionPool(this.config, () -> {
+            return this.open(true);
+        });
     }
 
     @Override
@@ -91,8 +106,36 @@ public class MysqlSessions extends BackendSessionPool {
     }
 
     @Override
-    protected void doClose() {
-        // pass
+    protected synchronized void doClose() {
+        if (this.pool != null) {
+            this.pool.close();
+            this.pool = null;
+        }
+    }
+
+    public Map<String, Object> poolMetrics() {
+        MysqlConnectionPool pool = this.pool;
+        if (pool == null) {
+            return ImmutableMap.of();
+        }
+        return pool.metrics();
+    }
+
+    /**
+     * Get the client side metrics of the sessions
+     */
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = InsertionOrderUtil.newMap();
+        metrics.put("connection_pool", this.poolMetrics());
+        return metrics;
+    }
+
+    private MysqlConnectionPool pool() {
+        MysqlConnectionPool pool = this.pool;
+        E.checkState(pool != null,
+                     "The connection pool of '%s' has not been opened",
+                     this.database);
+        return pool;
     }
 
     @Override
@@ -248,6 +291,10 @@ public class MysqlSessions extends BackendSessionPool {
                    .setParameter("autoReconnect", String.valueOf(autoReconnect))
                    .setParameter("maxReconnects", String.valueOf(maxTimes))
                    .setParameter("initialTimeout", String.valueOf(interval));
+            if (this.config.get(MysqlOptions.JDBC_FETCH_SIZE) > 0) {
+                // Fetch rows through server side cursor with fetch size
+                builder.setParameter("useCursorFetch", "true");
+            }
         }
         if (timeout != null) {
             builder.setParameter("socketTimeout", String.valueOf(timeout));
@@ -293,14 +340,29 @@ public class MysqlSessions extends BackendSessionPool {
 
     public class Session extends AbstractBackendSession {
 
+        private PooledConnection pooled;
         private Connection conn;
         private Map<String, PreparedStatement> statements;
         private int count;
+        // The number of statement rows batched but not executed
+        private int batched;
+        // The number of rows updated before commit to keep mutations order
+        private int updated;
+        private final int fetchSize;
+        private final int batchRows;
+        // The rows to be inserted by multi-row statements, keyed by template
+        private final Map<String, RowsBatch> rowsBatches;
 
         public Session() {
+            this.pooled = null;
             this.conn = null;
             this.statements = new HashMap<>();
             this.count = 0;
+            this.batched = 0;
+            this.updated = 0;
+            this.fetchSize = this.config().get(MysqlOptions.JDBC_FETCH_SIZE);
+            this.batchRows = this.config().get(MysqlOptions.JDBC_BATCH_ROWS);
+            this.rowsBatches = new LinkedHashMap<>();
         }
 
         public HugeConfig config() {
@@ -329,7 +391,13 @@ public class MysqlSessions extends BackendSessionPool {
             if (this.conn != null && !this.conn.isClosed()) {
                 return;
             }
-            this.conn = MysqlSessions.this.open(true);
+            if (this.pooled != null) {
+                // The connection has been closed by the driver
+                this.doClose(true);
+            }
+            this.pooled = MysqlSessions.this.pool().borrow();
+            this.conn = this.pooled.connection();
+            this.statements = this.pooled.statements();
         }
 
         @Override
@@ -340,31 +408,38 @@ public class MysqlSessions extends BackendSessionPool {
             }
 
             this.opened = false;
-            this.doClose();
+            this.doClose(false);
         }
 
-        private void doClose() {
-            SQLException exception = null;
-            for (PreparedStatement statement : this.statements.values()) {
+        /**
+         * Return the connection to the pool, or close it if discard
+         */
+        private void doClose(boolean discard) {
+            PooledConnection pooled = this.pooled;
+            this.pooled = null;
+            this.conn = null;
+            this.statements = new HashMap<>();
+            this.rowsBatches.clear();
+            this.count = 0;
+            this.batched = 0;
+            this.updated = 0;
+            if (pooled == null) {
+                return;
+            }
+
+            MysqlConnectionPool pool = MysqlSessions.this.pool;
+            if (pool == null) {
+                // The pool has been closed
                 try {
-                    statement.close();
+                    pooled.close();
                 } catch (SQLException e) {
-                    exception = e;
+                    throw new BackendException("Failed to close connection",
+                                               e);
                 }
-            }
-            this.statements.clear();
-
-            try {
-                this.conn.close();
-            } catch (SQLException e) {
-                exception = e;
-            } finally {
-                this.conn = null;
-            }
-
-            if (exception != null) {
-                throw new BackendException("Failed to close connection",
-                                           exception);
+            } else if (discard) {
+                pool.discard(pooled);
+            } else {
+                pool.release(pooled);
             }
         }
 
@@ -392,6 +467,9 @@ public class MysqlSessions extends BackendSessionPool {
 
         public void clear() {
             this.count = 0;
+            this.batched = 0;
+            this.updated = 0;
+            this.rowsBatches.clear();
             SQLException exception = null;
             for (PreparedStatement statement : this.statements.values()) {
                 try {
@@ -405,7 +483,7 @@ public class MysqlSessions extends BackendSessionPool {
                  * Will throw exception when the database connection error,
                  * we clear statements because clearBatch() failed
                  */
-                this.statements = new HashMap<>();
+                this.statements.clear();
             }
         }
 
@@ -427,11 +505,12 @@ public class MysqlSessions extends BackendSessionPool {
 
         @Override
         public Integer commit() {
-            int updated = 0;
+            int updated;
             try {
-                for (PreparedStatement statement : this.statements.values()) {
-                    updated += IntStream.of(statement.executeBatch()).sum();
-                }
+                // Only one of them is pending, see add() and addRow()
+                this.writeRows();
+                this.executeBatches();
+                updated = this.updated;
                 this.conn.commit();
                 this.clear();
             } catch (SQLException e) {
@@ -490,7 +569,7 @@ public class MysqlSessions extends BackendSessionPool {
                 return;
             }
             try {
-                this.doClose();
+                this.doClose(true);
             } catch (Throwable e) {
                 LOG.warn("Failed to reset connection", e);
             }
@@ -498,8 +577,13 @@ public class MysqlSessions extends BackendSessionPool {
 
         public ResultSetWrapper select(String sql) throws SQLException {
             assert this.conn.getAutoCommit();
-            Statement statement = this.conn.createStatement();
+            Statement statement = this.conn.createStatement(
+                                  ResultSet.TYPE_FORWARD_ONLY,
+                                  ResultSet.CONCUR_READ_ONLY);
             try {
+                if (this.fetchSize > 0) {
+                    statement.setFetchSize(this.fetchSize);
+                }
                 ResultSet rs = statement.executeQuery(sql);
                 return new ResultSetWrapper(rs, statement);
             } catch (SQLException e) {
@@ -508,6 +592,14 @@ public class MysqlSessions extends BackendSessionPool {
             }
         }
 
+        /**
+         * Select the rows of a query bounded by neither ids nor a limit
+         * within the fetch size, which may read a large number of rows
+         */
+        public ResultSetWrapper scan(String sql) throws SQLException {
+            return this.select(sql);
+        }
+
         public boolean execute(String sql) throws SQLException {
             /*
              * commit() or rollback() failed to set connection to auto-commit
@@ -523,16 +615,97 @@ public class MysqlSessions extends BackendSessionPool {
         }
 
         public void add(PreparedStatement statement) {
+            try {
+                // Write the buffered rows before the later statements
+                this.writeRows();
+            } catch (SQLException e) {
+                throw new BackendException("Failed to write buffered rows", e);
+            }
             try {
                 // Add a row to statement
                 statement.addBatch();
                 this.count++;
+                this.batched++;
             } catch (SQLException e) {
                 throw new BackendException("Failed to add statement '%s' " +
                                            "to batch", e, statement);
             }
         }
 
+        /**
+         * The number of rows fetched from database each time by a query,
+         * all rows are fetched at once if it's 0
+         */
+        public int fetchSize() {
+            return this.fetchSize;
+        }
+
+        /**
+         * The max number of rows inserted by one statement, multi-row
+         * insert is disabled if it's less than 2
+         */
+        public int batchRows() {
+            return this.batchRows;
+        }
+
+        /**
+         * Buffer a row to be inserted by multi-row statements when commit,
+         * the rows with the same key are merged and the last one is kept.
+         * The batched statements added before are executed first, so that
+         * the mutations are applied in the order they are added
+         */
+        public void addRow(String template, List<HugeKeys> columns,
+                           Object key, List<Object> row, RowsWriter writer) {
+            try {
+                this.executeBatches();
+            } catch (SQLException e) {
+                throw new BackendException("Failed to execute batched " +
+                                           "statements", e);
+            }
+            RowsBatch batch = this.rowsBatches.get(template);
+            if (batch == null) {
+                batch = new RowsBatch(columns, writer);
+                this.rowsBatches.put(template, batch);
+            }
+            batch.add(key, row);
+            this.count++;
+        }
+
+        private void writeRows() throws SQLException {
+            if (this.rowsBatches.isEmpty()) {
+                return;
+            }
+            for (RowsBatch batch : this.rowsBatches.values()) {
+                this.updated += batch.write(this);
+            }
+            this.rowsBatches.clear();
+        }
+
+        private void executeBatches() throws SQLException {
+            if (this.batched == 0) {
+                return;
+            }
+            for (PreparedStatement statement : this.statements.values()) {
+                this.updated += IntStream.of(statement.executeBatch()).sum();
+            }
+            this.batched = 0;
+        }
+
+        public int executeUpdate(String sql, List<Object> params)
+                                 throws SQLException {
+            try (PreparedStatement statement = this.conn.prepareStatement(sql)) {
+                int i = 1;
+                for (Object param : params) {
+                    statement.setObject(i++, param);
+                }
+                return statement.executeUpdate();
+            }
+        }
+
+        public Connection connection() {
+            return this.conn;
+        }
+
         public PreparedStatement prepareStatement(String sqlTemplate)
                                                   throws SQLException {
             PreparedStatement statement = this.statements.get(sqlTemplate);
@@ -543,4 +716,36 @@ public class MysqlSessions extends BackendSessionPool {
             return statement;
         }
     }
+
+    public interface RowsWriter {
+
+        /**
+         * Write the rows of the columns, return the number of updated rows
+         */
+        int write(Session session, List<HugeKeys> columns,
+                  Collection<List<Object>> rows) throws SQLException;
+    }
+
+    private static class RowsBatch {
+
+        private final List<HugeKeys> columns;
+        private final RowsWriter writer;
+        private final Map<Object, List<Object>> rows;
+
+        public RowsBatch(List<HugeKeys> columns, RowsWriter writer) {
+            this.columns = columns;
+            this.writer = writer;
+            this.rows = new LinkedHashMap<>();
+        }
+
+        public void add(Object key, List<Object> row) {
+            // Move the latest row of the same key to the end
+            this.rows.remove(key);
+            this.rows.put(key, row);
+        }
+
+        public int write(Session session) throws SQLException {
+            return this.writer.write(session, this.columns, this.rows.values());
+        }
+    }
 }
@@ -77,7 +77,7 @@ public abstract class MysqlStore extends AbstractBackendStore<Session> {
 
     private void registerMetaHandlers() {
         this.registerMetaHandler("metrics", (session, meta, args) -> {
-            MysqlMetrics metrics = new MysqlMetrics();
+            MysqlMetrics metrics = new MysqlMetrics(this.sessions);
             return metrics.metrics();
         });
     }
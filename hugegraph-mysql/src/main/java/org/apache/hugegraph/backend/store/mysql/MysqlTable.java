@@ -59,6 +59,9 @@ public abstract class MysqlTable
 
     private static final Logger LOG = Log.logger(MysqlTable.class);
 
+    // The max number of parameters of a statement (limited by PostgreSQL)
+    private static final int MAX_STATEMENT_PARAMS = 65535;
+
     private static final String DECIMAL = "DECIMAL";
 
     // The template cache for insert and delete statements
@@ -349,10 +352,92 @@ public abstract class MysqlTable
     @Override
     public void insert(MysqlSessions.Session session, MysqlBackendEntry.Row entry) {
         String template = this.buildUpdateTemplate(entry);
+        if (session.batchRows() > 1) {
+            // Insert by multi-row statements when commit
+            List<HugeKeys> columns = new ArrayList<>(entry.columns().keySet());
+            List<Object> key = new ArrayList<>(this.tableDefine().keys().size());
+            for (HugeKeys k : this.tableDefine().keys()) {
+                key.add(entry.columns().get(k));
+            }
+            session.addRow(template, columns, key,
+                           this.buildColumnsParams(entry), this::insertRows);
+            return;
+        }
         List<?> params = this.buildUpdateForcedParams(entry);
         this.insertOrUpdate(session, template, params);
     }
 
+    /**
+     * Insert or replace the rows by multi-row statements, each statement
+     * inserts at most `jdbc.batch_rows` rows
+     */
+    protected int insertRows(MysqlSessions.Session session,
+                             List<HugeKeys> columns,
+                             Collection<List<Object>> rows)
+                             throws SQLException {
+        int batchRows = Math.min(session.batchRows(),
+                                 MAX_STATEMENT_PARAMS / columns.size());
+        int updated = 0;
+        List<Object> params = new ArrayList<>(batchRows * columns.size());
+        int count = 0;
+        for (List<Object> row : rows) {
+            params.addAll(row);
+            if (++count < batchRows) {
+                continue;
+            }
+            // The statement of full rows is cached by the session
+            String sql = this.buildInsertRowsTemplate(columns, count);
+            PreparedStatement statement = session.prepareStatement(sql);
+            int i = 1;
+            for (Object param : params) {
+                statement.setObject(i++, param);
+            }
+            updated += statement.executeUpdate();
+            params.clear();
+            count = 0;
+        }
+        if (count > 0) {
+            String sql = this.buildInsertRowsTemplate(columns, count);
+            updated += session.executeUpdate(sql, params);
+        }
+        return updated;
+    }
+
+    protected String buildInsertRowsTemplate(List<HugeKeys> columns,
+                                             int rows) {
+        StringBuilder insert = new StringBuilder();
+        insert.append("REPLACE INTO ").append(this.table());
+        this.appendInsertRows(insert, columns, rows);
+        return insert.toString();
+    }
+
+    protected void appendInsertRows(StringBuilder insert,
+                                    List<HugeKeys> columns, int rows) {
+        insert.append(" (");
+        int size = columns.size();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                insert.append(", ");
+            }
+            insert.append(formatKey(columns.get(i)));
+        }
+        insert.append(") VALUES ");
+        for (int r = 0; r < rows; r++) {
+            if (r > 0) {
+                insert.append(", ");
+            }
+            insert.append("(");
+            // Fill with '?' as a placeholder
+            for (int i = 0; i < size; i++) {
+                if (i > 0) {
+                    insert.append(", ");
+                }
+                insert.append("?");
+            }
+            insert.append(")");
+        }
+    }
+
     @Override
     public void delete(MysqlSessions.Session session, MysqlBackendEntry.Row entry) {
         List<HugeKeys> idNames = this.idColumnName();
@@ -469,9 +554,12 @@ public abstract class MysqlTable
         }
 
         List<StringBuilder> selections = this.query2Select(this.table(), query);
+        boolean scan = isScan(query, session.fetchSize());
         try {
             for (StringBuilder selection : selections) {
-                ResultSetWrapper results = session.select(selection.toString());
+                String sql = selection.toString();
+                ResultSetWrapper results = scan ? session.scan(sql) :
+                                                  session.select(sql);
                 rs.extend(parser.apply(query, results));
             }
         } catch (SQLException e) {
@@ -488,6 +576,13 @@ public abstract class MysqlTable
         return rs;
     }
 
+    private static boolean isScan(Query query, int fetchSize) {
+        if (query.idsSize() > 0 || query.aggregate() != null) {
+            return false;
+        }
+        return query.noLimit() || query.limit() > fetchSize;
+    }
+
     protected List<StringBuilder> query2Select(String table, Query query) {
         // Build query
         StringBuilder select = new StringBuilder(64);
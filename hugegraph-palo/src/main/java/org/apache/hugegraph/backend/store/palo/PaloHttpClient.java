@@ -20,18 +20,28 @@
 package org.apache.hugegraph.backend.store.palo;
 
 import java.util.Map;
+import java.util.Set;
 
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 
+import org.apache.hugegraph.backend.BackendException;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.rest.AbstractRestClient;
 import org.apache.hugegraph.rest.RestClient;
-import com.google.common.collect.ImmutableMap;
+import org.apache.hugegraph.rest.RestResult;
+import com.google.common.collect.ImmutableSet;
 
 public class PaloHttpClient {
 
+    private static final String FORMAT_JSON = "json";
+    // The data is visible after "Publish Timeout"
+    private static final Set<String> SUCCESS_STATUSES = ImmutableSet.of(
+            "Success", "Publish Timeout");
+    private static final String LABEL_EXISTS = "Label Already Exists";
+
     private final RestClient client;
 
     public PaloHttpClient(HugeConfig config, String database) {
@@ -49,16 +59,58 @@ public class PaloHttpClient {
         return String.format("http://%s:%s/api/%s/", host, port, database);
     }
 
-    public void bulkLoadAsync(String table, String body, String label) {
-        // Format path
-        String path = table + "/_load";
-        // Format headers
+    /**
+     * Load the rows into a table by stream load, the label makes the load
+     * idempotent if it's retried. An existing label means the rows have
+     * been loaded by an earlier attempt only if this is a retry, otherwise
+     * the label is used by another load and LabelExistsException is thrown
+     */
+    public void streamLoad(String table, String label, String format,
+                           String body, boolean retry) {
+        String path = table + "/_stream_load";
         MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
         headers.putSingle("Expect", "100-continue");
-        // Format params
-        Map<String, Object> params = ImmutableMap.of("label", label);
-        // Send request
-        this.client.put(path, body, headers, params);
+        headers.putSingle("Content-Type", MediaType.TEXT_PLAIN);
+        headers.putSingle("label", label);
+        headers.putSingle("format", format);
+        if (FORMAT_JSON.equals(format)) {
+            headers.putSingle("read_json_by_line", "true");
+        }
+        // NOTE: the default column separator of csv is tab
+
+        RestResult result = this.client.put(path, null, body, headers);
+        if (result.status() != Response.Status.OK.getStatusCode()) {
+            throw new BackendException("Failed to load into table '%s' " +
+                                       "with label '%s', status: %s, " +
+                                       "response: %s", table, label,
+                                       result.status(), result.content());
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> response = result.readObject(Map.class);
+        Object status = response.get("Status");
+        if (LABEL_EXISTS.equals(status)) {
+            if (retry) {
+                return;
+            }
+            throw new LabelExistsException("The label '%s' of loading " +
+                                           "into table '%s' is used by " +
+                                           "another load: %s", label,
+                                           table, result.content());
+        }
+        if (!SUCCESS_STATUSES.contains(status)) {
+            throw new BackendException("Failed to load into table '%s' " +
+                                       "with label '%s': %s",
+                                       table, label, result.content());
+        }
+    }
+
+    public static class LabelExistsException extends BackendException {
+
+        private static final long serialVersionUID = -2856318347205437215L;
+
+        public LabelExistsException(String message, Object... args) {
+            super(message, args);
+        }
     }
 
     private static class Client extends AbstractRestClient {
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hugegraph.backend.store.palo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.util.Bytes;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.ExecutorUtil;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.hugegraph.util.JsonUtil;
+import org.apache.hugegraph.util.Log;
+
+/**
+ * Load the committed rows into Palo by stream load, a commit returns after
+ * its rows are loaded, and fails if the load of its rows failed.
+ *
+ * The rows of a table committed while a load of the table is running are
+ * grouped into the next load of the table, until exceeding the batch size.
+ * There are at most `palo.load_streams` loads running in parallel, and a
+ * failed load is retried with the same label, which makes it idempotent.
+ * The writers are blocked once the rows in memory exceed the buffer size.
+ */
+public class PaloLoader {
+
+    private static final Logger LOG = Log.logger(PaloLoader.class);
+
+    private static final String FORMAT_CSV = "csv";
+    private static final String FORMAT_JSON = "json";
+    private static final String COLUMN_SEPARATOR = "\t";
+    private static final String LOAD_WORKER = "palo-load-worker-%d";
+
+    private final PaloHttpClient client;
+    private final String format;
+    private final long batchSize;
+    private final long bufferSize;
+    private final int retries;
+    private final long retryInterval;
+
+    // The batch of each table waiting to be loaded
+    private final Map<String, Batch> pendingBatches;
+    // The number of running loads of each table
+    private final Map<String, Integer> runningTables;
+    // The approximate size of the rows in memory, including the loading ones
+    private long bufferedBytes;
+    private int runningLoads;
+    private boolean closed;
+
+    private final LongAdder loadedRows;
+    private final LongAdder loadedBytes;
+    private final LongAdder retriedLoads;
+    private final LongAdder failedLoads;
+    private final LongAdder blockedWrites;
+
+    private final ExecutorService loadExecutor;
+
+    public PaloLoader(HugeConfig config, PaloHttpClient client) {
+        this.client = client;
+        this.format = config.get(PaloOptions.PALO_LOAD_FORMAT);
+        this.batchSize = config.get(PaloOptions.PALO_LOAD_BATCH_SIZE) *
+                         Bytes.MB;
+        this.bufferSize = config.get(PaloOptions.PALO_LOAD_BUFFER_SIZE) *
+                          Bytes.MB;
+        E.checkArgument(this.bufferSize >= this.batchSize,
+                        "The load buffer size must be >= the batch size");
+        this.retries = config.get(PaloOptions.PALO_LOAD_RETRIES);
+        this.retryInterval = config.get(PaloOptions.PALO_LOAD_RETRY_INTERVAL);
+
+        this.pendingBatches = new HashMap<>();
+        this.runningTables = new HashMap<>();
+        this.bufferedBytes = 0L;
+        this.runningLoads = 0;
+        this.closed = false;
+
+        this.loadedRows = new LongAdder();
+        this.loadedBytes = new LongAdder();
+        this.retriedLoads = new LongAdder();
+        this.failedLoads = new LongAdder();
+        this.blockedWrites = new LongAdder();
+
+        int streams = config.get(PaloOptions.PALO_LOAD_STREAMS);
+        this.loadExecutor = ExecutorUtil.newFixedThreadPool(streams,
+                                                            LOAD_WORKER);
+    }
+
+    /**
+     * Format a row as a line of the load format, the columns must be in
+     * the order of the table define
+     */
+    public String formatRow(Map<String, Object> columns) {
+        if (FORMAT_JSON.equals(this.format)) {
+            return JsonUtil.toJson(columns);
+        }
+        assert FORMAT_CSV.equals(this.format);
+        return StringUtils.join(columns.values(), COLUMN_SEPARATOR);
+    }
+
+    /**
+     * Load the rows of the tables and wait for them to be loaded, it will
+     * be blocked if the rows in memory exceed the buffer size
+     * @return the number of the loaded rows
+     */
+    public synchronized int load(Map<String, ? extends Collection<String>>
+                                 tableRows) {
+        this.checkOpened();
+        long size = 0L;
+        for (Collection<String> rows : tableRows.values()) {
+            for (String row : rows) {
+                size += row.length() + 1L;
+            }
+        }
+        if (this.bufferedBytes > 0L &&
+            this.bufferedBytes + size > this.bufferSize) {
+            this.blockedWrites.increment();
+            while (this.bufferedBytes > 0L &&
+                   this.bufferedBytes + size > this.bufferSize) {
+                this.await();
+                this.checkOpened();
+            }
+        }
+
+        int count = 0;
+        List<Batch> batches = new ArrayList<>(tableRows.size());
+        for (Map.Entry<String, ? extends Collection<String>> e :
+             tableRows.entrySet()) {
+            String table = e.getKey();
+            Batch batch = this.pendingBatches.computeIfAbsent(table,
+                                                              Batch::new);
+            for (String row : e.getValue()) {
+                batch.add(row);
+                this.bufferedBytes += row.length() + 1L;
+                count++;
+            }
+            batches.add(batch);
+            // Group the rows into the next load if the table is loading
+            if (!this.runningTables.containsKey(table) ||
+                batch.size() >= this.batchSize) {
+                this.submit(batch);
+            }
+        }
+
+        BackendException error = null;
+        for (Batch batch : batches) {
+            while (!batch.done) {
+                this.await();
+            }
+            if (batch.error != null && error == null) {
+                error = new BackendException("Failed to load into Palo " +
+                                             "table '%s' with label '%s'",
+                                             batch.error, batch.table,
+                                             batch.label);
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+        return count;
+    }
+
+    /**
+     * Wait for the running loads to complete and close the loader
+     */
+    public void close() {
+        try {
+            synchronized (this) {
+                if (this.closed) {
+                    return;
+                }
+                this.closed = true;
+                // The pending batches are submitted by the running loads
+                while (this.runningLoads > 0) {
+                    this.await();
+                }
+            }
+        } finally {
+            this.loadExecutor.shutdown();
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = InsertionOrderUtil.newMap();
+        synchronized (this) {
+            metrics.put("buffered_bytes", this.bufferedBytes);
+            metrics.put("running_loads", this.runningLoads);
+        }
+        metrics.put("loaded_rows", this.loadedRows.sum());
+        metrics.put("loaded_bytes", this.loadedBytes.sum());
+        metrics.put("retried_loads", this.retriedLoads.sum());
+        metrics.put("failed_loads", this.failedLoads.sum());
+        metrics.put("blocked_writes", this.blockedWrites.sum());
+        return metrics;
+    }
+
+    private void submit(Batch batch) {
+        assert Thread.holdsLock(this);
+        Batch removed = this.pendingBatches.remove(batch.table);
+        assert removed == batch;
+        // The label must be unique among all the servers and restarts
+        batch.label = String.format("%s_%s", batch.table, UUID.randomUUID());
+        this.runningTables.merge(batch.table, 1, Integer::sum);
+        this.runningLoads++;
+        try {
+            this.loadExecutor.execute(() -> this.load(batch));
+        } catch (Throwable e) {
+            this.complete(batch, e);
+        }
+    }
+
+    private void load(Batch batch) {
+        String data = batch.data.toString();
+        Throwable error = null;
+        for (int i = 0; i <= this.retries; i++) {
+            if (i > 0) {
+                this.retriedLoads.increment();
+                try {
+                    Thread.sleep(this.retryInterval);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            try {
+                // Retry with the same label, the rows are loaded only once
+                this.client.streamLoad(batch.table, batch.label,
+                                       this.format, data, i > 0);
+                error = null;
+                break;
+            } catch (PaloHttpClient.LabelExistsException e) {
+                // Not retry since the rows would be taken as loaded
+                LOG.warn("Failed to load into Palo table '{}'",
+                         batch.table, e);
+                error = e;
+                break;
+            } catch (Throwable e) {
+                LOG.warn("Failed to load into Palo table '{}' with " +
+                         "label '{}' (attempt {})",
+                         batch.table, batch.label, i + 1, e);
+                error = e;
+            }
+        }
+        if (error == null) {
+            this.loadedBytes.add(data.getBytes(StandardCharsets.UTF_8).length);
+            this.loadedRows.add(batch.rows);
+            LOG.debug("Loaded {} rows into Palo table '{}' with label '{}'",
+                      batch.rows, batch.table, batch.label);
+        } else {
+            this.failedLoads.increment();
+        }
+        synchronized (this) {
+            this.complete(batch, error);
+        }
+    }
+
+    private void complete(Batch batch, Throwable error) {
+        assert Thread.holdsLock(this);
+        batch.error = error;
+        batch.done = true;
+        this.runningLoads--;
+        this.bufferedBytes -= batch.size();
+        if (this.runningTables.merge(batch.table, -1, Integer::sum) == 0) {
+            this.runningTables.remove(batch.table);
+            // Load the rows committed while the table was loading
+            Batch pending = this.pendingBatches.get(batch.table);
+            if (pending != null) {
+                this.submit(pending);
+            }
+        }
+        this.notifyAll();
+    }
+
+    private void await() {
+        assert Thread.holdsLock(this);
+        try {
+            this.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BackendException("Interrupted while waiting for " +
+                                       "loading into Palo", e);
+        }
+    }
+
+    private void checkOpened() {
+        E.checkState(!this.closed, "The Palo loader has been closed");
+    }
+
+    private static class Batch {
+
+        private final String table;
+        private final StringBuilder data;
+        private long rows;
+        private String label;
+        private boolean done;
+        private Throwable error;
+
+        public Batch(String table) {
+            this.table = table;
+            this.data = new StringBuilder();
+            this.rows = 0L;
+            this.label = null;
+            this.done = false;
+            this.error = null;
+        }
+
+        public void add(String row) {
+            this.data.append(row).append('\n');
+            this.rows++;
+        }
+
+        public long size() {
+            return this.data.length();
+        }
+    }
+}
@@ -19,6 +19,7 @@
 
 package org.apache.hugegraph.backend.store.palo;
 
+import static org.apache.hugegraph.config.OptionChecker.allowValues;
 import static org.apache.hugegraph.config.OptionChecker.disallowEmpty;
 import static org.apache.hugegraph.config.OptionChecker.nonNegativeInt;
 import static org.apache.hugegraph.config.OptionChecker.positiveInt;
@@ -83,28 +84,61 @@ public class PaloOptions extends OptionHolder {
                     ""
             );
 
-    public static final ConfigOption<Integer> PALO_POLL_INTERVAL =
+    public static final ConfigOption<String> PALO_LOAD_FORMAT =
             new ConfigOption<>(
-                    "palo.poll_interval",
-                    "The execution period of the background thread that " +
-                    "check whether need to load file data into Palo.",
-                    rangeInt(5, Integer.MAX_VALUE),
-                    5
+                    "palo.load_format",
+                    "The format of the rows to stream load into Palo, " +
+                    "allowed values are [csv, json], the csv rows are " +
+                    "separated by tab, and the json rows are one json " +
+                    "object per line.",
+                    allowValues("csv", "json"),
+                    "csv"
             );
 
-    public static final ConfigOption<String> PALO_TEMP_DIR =
+    public static final ConfigOption<Long> PALO_LOAD_BATCH_SIZE =
             new ConfigOption<>(
-                    "palo.temp_dir",
-                    "The temporary directory to store table files.",
-                    null,
-                    "palo-data"
+                    "palo.load_batch_size",
+                    "The size(MB) of the rows of a table committed while " +
+                    "the table is loading to trigger another stream load " +
+                    "instead of waiting for the running one.",
+                    rangeInt(1L, 1024L),
+                    16L
+            );
+
+    public static final ConfigOption<Long> PALO_LOAD_BUFFER_SIZE =
+            new ConfigOption<>(
+                    "palo.load_buffer_size",
+                    "The max size(MB) of the rows in memory which are " +
+                    "waiting for or being loaded, the writers are " +
+                    "blocked once exceeding it.",
+                    rangeInt(1L, 65536L),
+                    256L
+            );
+
+    public static final ConfigOption<Integer> PALO_LOAD_RETRIES =
+            new ConfigOption<>(
+                    "palo.load_retries",
+                    "The number of times to retry a failed stream load " +
+                    "with the same label before failing the commits of " +
+                    "the rows.",
+                    rangeInt(0, 100),
+                    3
+            );
+
+    public static final ConfigOption<Long> PALO_LOAD_RETRY_INTERVAL =
+            new ConfigOption<>(
+                    "palo.load_retry_interval",
+                    "The interval in milliseconds to retry a failed " +
+                    "stream load.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    1000L
             );
 
-    public static final ConfigOption<Integer> PALO_FILE_LIMIT_SIZE =
+    public static final ConfigOption<Integer> PALO_LOAD_STREAMS =
             new ConfigOption<>(
-                    "palo.file_limit_size",
-                    "The maximum size(MB) of each file for loading into Palo.",
-                    rangeInt(10, 1000),
-                    50
+                    "palo.load_streams",
+                    "The max number of stream loads running in parallel.",
+                    rangeInt(1, 64),
+                    4
             );
 }
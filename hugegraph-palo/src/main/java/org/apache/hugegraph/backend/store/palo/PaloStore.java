@@ -19,13 +19,9 @@
 
 package org.apache.hugegraph.backend.store.palo;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 import org.slf4j.Logger;
 
 import org.apache.hugegraph.backend.store.BackendStoreProvider;
-import org.apache.hugegraph.backend.store.BackendTable;
 import org.apache.hugegraph.backend.store.mysql.MysqlStore;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.util.Log;
@@ -42,12 +38,6 @@ public abstract class PaloStore extends MysqlStore {
     @Override
     protected PaloSessions openSessionPool(HugeConfig config) {
         LOG.info("Open palo session pool for {}", this);
-        return new PaloSessions(config, this.database(), this.store(),
-                                this.tableNames());
-    }
-
-    private List<String> tableNames() {
-        return this.tables().stream().map(BackendTable::table)
-                   .collect(Collectors.toList());
+        return new PaloSessions(config, this.database(), this.store());
     }
 }
@@ -20,12 +20,9 @@
 package org.apache.hugegraph.backend.store.palo;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 
 import org.apache.hugegraph.backend.BackendException;
@@ -34,6 +31,7 @@ import org.apache.hugegraph.backend.store.mysql.MysqlBackendEntry;
 import org.apache.hugegraph.backend.store.mysql.MysqlSessions;
 import org.apache.hugegraph.backend.store.mysql.MysqlTable;
 import org.apache.hugegraph.type.define.HugeKeys;
+import org.apache.hugegraph.util.InsertionOrderUtil;
 import org.apache.hugegraph.util.Log;
 
 public abstract class PaloTable extends MysqlTable {
@@ -106,11 +104,10 @@ public abstract class PaloTable extends MysqlTable {
 
         Set<HugeKeys> columnNames = this.tableDefine().columnNames();
         // Ensure column order match with table define
-        List<Object> columnValues = new ArrayList<>(columnNames.size());
+        Map<String, Object> columns = InsertionOrderUtil.newMap();
         for (HugeKeys key : columnNames) {
-            columnValues.add(entry.column(key));
+            columns.put(formatKey(key), entry.column(key));
         }
-        String insert = StringUtils.join(columnValues, "\t");
-        paloSession.add(this.table(), insert);
+        paloSession.add(this.table(), columns);
     }
 }
@@ -20,6 +20,7 @@
 package org.apache.hugegraph.backend.store.postgresql;
 
 import static org.apache.hugegraph.config.OptionChecker.disallowEmpty;
+import static org.apache.hugegraph.config.OptionChecker.rangeInt;
 
 import org.apache.hugegraph.backend.store.mysql.MysqlOptions;
 import org.apache.hugegraph.config.ConfigOption;
@@ -48,4 +49,15 @@ public class PostgresqlOptions extends MysqlOptions {
                     disallowEmpty(),
                     "template1"
             );
+
+    public static final ConfigOption<Integer> POSTGRESQL_COPY_THRESHOLD =
+            new ConfigOption<>(
+                    "jdbc.postgresql.copy_threshold",
+                    "The min number of rows of a table in a commit to be " +
+                    "inserted through COPY instead of multi-row INSERT, " +
+                    "it works only if jdbc.batch_rows > 1, 0 means never " +
+                    "use COPY.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    0
+            );
 }
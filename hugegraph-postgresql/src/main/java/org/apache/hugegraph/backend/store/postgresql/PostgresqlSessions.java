@@ -23,6 +23,12 @@ import java.net.URISyntaxException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
 
 import org.apache.http.client.utils.URIBuilder;
 import org.postgresql.core.Utils;
@@ -32,6 +38,7 @@ import org.slf4j.Logger;
 import org.apache.hugegraph.backend.BackendException;
 import org.apache.hugegraph.backend.store.mysql.MysqlSessions;
 import org.apache.hugegraph.backend.store.mysql.MysqlUtil;
+import org.apache.hugegraph.backend.store.mysql.ResultSetWrapper;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.util.Log;
 
@@ -48,6 +55,16 @@ public class PostgresqlSessions extends MysqlSessions {
         super(config, database, store);
     }
 
+    @Override
+    public PostgresqlSession session() {
+        return (PostgresqlSession) super.session();
+    }
+
+    @Override
+    protected PostgresqlSession newSession() {
+        return new PostgresqlSession();
+    }
+
     @Override
     public boolean existsDatabase() {
         String statement = String.format(
@@ -134,4 +151,199 @@ public class PostgresqlSessions extends MysqlSessions {
         builder.append('\'');
         return builder.toString();
     }
+
+    public class PostgresqlSession extends Session {
+
+        // The scans reading rows in the read transaction of this session
+        private final Set<ScanResultSetWrapper> scans;
+        // Whether the read transaction of the scans is in progress
+        private boolean reading;
+
+        public PostgresqlSession() {
+            this.scans = new HashSet<>();
+            this.reading = false;
+        }
+
+        @Override
+        public void close() {
+            // The rows of the scans not read up are discarded
+            for (ScanResultSetWrapper scan : this.scans) {
+                scan.discard();
+            }
+            this.scans.clear();
+            this.reading = false;
+            super.close();
+        }
+
+        @Override
+        public void begin() throws SQLException {
+            this.detachScans();
+            super.begin();
+        }
+
+        @Override
+        public void rollback() {
+            try {
+                this.detachScans();
+            } catch (SQLException e) {
+                throw new BackendException("Failed to read rows of scans", e);
+            }
+            super.rollback();
+        }
+
+        @Override
+        public boolean execute(String sql) throws SQLException {
+            this.detachScans();
+            return super.execute(sql);
+        }
+
+        @Override
+        public ResultSetWrapper select(String sql) throws SQLException {
+            if (!this.reading) {
+                return super.select(sql);
+            }
+            // Read all rows at once in the read transaction of the scans
+            Statement statement = this.connection().createStatement();
+            try {
+                return new ResultSetWrapper(statement.executeQuery(sql),
+                                            statement);
+            } catch (SQLException e) {
+                statement.close();
+                throw e;
+            }
+        }
+
+        /**
+         * The pgjdbc driver ignores the fetch size in auto-commit mode and
+         * reads all rows at once, so scan in a read transaction instead,
+         * which is ended once all the scans are closed
+         */
+        @Override
+        public ResultSetWrapper scan(String sql) throws SQLException {
+            if (this.fetchSize() <= 0 ||
+                !this.reading && !this.connection().getAutoCommit()) {
+                return this.select(sql);
+            }
+            if (!this.reading) {
+                this.connection().setAutoCommit(false);
+                this.reading = true;
+            }
+            Statement statement = this.connection().createStatement(
+                                  ResultSet.TYPE_FORWARD_ONLY,
+                                  ResultSet.CONCUR_READ_ONLY);
+            ScanResultSetWrapper scan;
+            try {
+                statement.setFetchSize(this.fetchSize());
+                scan = new ScanResultSetWrapper(this,
+                                                statement.executeQuery(sql),
+                                                statement);
+            } catch (SQLException e) {
+                statement.close();
+                this.endReading();
+                throw e;
+            }
+            this.scans.add(scan);
+            return scan;
+        }
+
+        /**
+         * A transaction or statement committed on this connection would
+         * close the cursors of the running scans, so read the remaining
+         * rows of them into memory and end the read transaction before it
+         */
+        private void detachScans() throws SQLException {
+            if (!this.reading) {
+                return;
+            }
+            for (ScanResultSetWrapper scan : this.scans) {
+                scan.buffer();
+            }
+            this.scans.clear();
+            this.endReading();
+        }
+
+        private void closeScan(ScanResultSetWrapper scan) throws SQLException {
+            if (this.scans.remove(scan)) {
+                this.endReading();
+            }
+        }
+
+        private void endReading() throws SQLException {
+            if (!this.reading || !this.scans.isEmpty()) {
+                return;
+            }
+            this.reading = false;
+            Connection conn = this.connection();
+            if (conn != null && !conn.isClosed()) {
+                conn.commit();
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static class ScanResultSetWrapper extends ResultSetWrapper {
+
+        private final PostgresqlSession session;
+        private ResultSet resultSet;
+        private Statement statement;
+
+        public ScanResultSetWrapper(PostgresqlSession session,
+                                    ResultSet resultSet, Statement statement) {
+            super(null, null);
+            this.session = session;
+            this.resultSet = resultSet;
+            this.statement = statement;
+        }
+
+        @Override
+        public boolean next() throws SQLException {
+            // NOTE: CachedRowSet doesn't support isClosed()
+            return this.resultSet != null && this.resultSet.next();
+        }
+
+        @Override
+        public ResultSet resultSet() {
+            return this.resultSet;
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.closeStatement();
+                this.resultSet = null;
+                this.session.closeScan(this);
+            } catch (SQLException e) {
+                throw new BackendException("Failed to close scan", e);
+            }
+        }
+
+        private void buffer() throws SQLException {
+            if (this.statement == null) {
+                return;
+            }
+            CachedRowSet rows = RowSetProvider.newFactory()
+                                              .createCachedRowSet();
+            rows.populate(this.resultSet);
+            this.closeStatement();
+            this.resultSet = rows;
+        }
+
+        private void discard() {
+            try {
+                this.closeStatement();
+            } catch (SQLException e) {
+                LOG.warn("Failed to close statement of scan", e);
+            }
+            this.resultSet = null;
+        }
+
+        private void closeStatement() throws SQLException {
+            Statement statement = this.statement;
+            this.statement = null;
+            if (statement != null) {
+                // Close the result set of the statement too
+                statement.close();
+            }
+        }
+    }
 }
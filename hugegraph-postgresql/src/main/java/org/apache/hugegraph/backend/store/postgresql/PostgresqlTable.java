@@ -19,10 +19,15 @@
 
 package org.apache.hugegraph.backend.store.postgresql;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.apache.logging.log4j.util.Strings;
+import org.postgresql.PGConnection;
 
 import org.apache.hugegraph.backend.serializer.TableBackendEntry.Row;
 import org.apache.hugegraph.backend.store.mysql.MysqlBackendEntry;
@@ -30,6 +35,7 @@ import org.apache.hugegraph.backend.store.mysql.MysqlSessions.Session;
 import org.apache.hugegraph.backend.store.mysql.MysqlTable;
 import org.apache.hugegraph.backend.store.mysql.WhereBuilder;
 import org.apache.hugegraph.type.define.HugeKeys;
+import com.google.common.collect.ImmutableList;
 
 public abstract class PostgresqlTable extends MysqlTable {
 
@@ -129,6 +135,105 @@ public abstract class PostgresqlTable extends MysqlTable {
         return insert.toString();
     }
 
+    @Override
+    protected String buildInsertRowsTemplate(List<HugeKeys> columns,
+                                             int rows) {
+        StringBuilder insert = new StringBuilder();
+        insert.append("INSERT INTO ").append(this.table());
+        this.appendInsertRows(insert, columns, rows);
+        this.appendUpsertExcluded(insert, columns);
+        return insert.toString();
+    }
+
+    /**
+     * Insert the rows through COPY if there are enough rows, the rows are
+     * copied into a temporary table and then upserted into the table
+     */
+    @Override
+    protected int insertRows(Session session, List<HugeKeys> columns,
+                             Collection<List<Object>> rows)
+                             throws SQLException {
+        int threshold = session.config().get(
+                        PostgresqlOptions.POSTGRESQL_COPY_THRESHOLD);
+        if (threshold <= 0 || rows.size() < threshold) {
+            return super.insertRows(session, columns, rows);
+        }
+
+        String copyTable = this.table() + "_copy";
+        String columnNames = this.formatColumns(columns);
+        // NOTE: execute() can't be used since it ends the transaction
+        session.executeUpdate(String.format(
+                              "CREATE TEMPORARY TABLE IF NOT EXISTS %s " +
+                              "(LIKE %s INCLUDING DEFAULTS);",
+                              copyTable, this.table()), ImmutableList.of());
+
+        StringBuilder csv = new StringBuilder(rows.size() * 64);
+        for (List<Object> row : rows) {
+            appendCsvRow(csv, row);
+        }
+        String copy = String.format("COPY %s (%s) FROM STDIN WITH (FORMAT csv)",
+                                    copyTable, columnNames);
+        try {
+            session.connection().unwrap(PGConnection.class).getCopyAPI()
+                   .copyIn(copy, new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new SQLException("Failed to copy rows into " + copyTable, e);
+        }
+
+        StringBuilder insert = new StringBuilder();
+        insert.append("INSERT INTO ").append(this.table())
+              .append(" (").append(columnNames).append(") SELECT ")
+              .append(columnNames).append(" FROM ").append(copyTable);
+        this.appendUpsertExcluded(insert, columns);
+        int updated = session.executeUpdate(insert.toString(),
+                                            ImmutableList.of());
+        session.executeUpdate(String.format("DELETE FROM %s;", copyTable),
+                              ImmutableList.of());
+        return updated;
+    }
+
+    private void appendUpsertExcluded(StringBuilder insert,
+                                      List<HugeKeys> columns) {
+        insert.append(" ON CONFLICT (");
+        insert.append(this.formatColumns(this.tableDefine().keys()));
+        insert.append(") DO UPDATE SET ");
+        for (int i = 0, n = columns.size(); i < n; i++) {
+            if (i > 0) {
+                insert.append(", ");
+            }
+            String key = formatKey(columns.get(i));
+            insert.append(key).append(" = EXCLUDED.").append(key);
+        }
+    }
+
+    private String formatColumns(List<HugeKeys> columns) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0, n = columns.size(); i < n; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(formatKey(columns.get(i)));
+        }
+        return sb.toString();
+    }
+
+    private static void appendCsvRow(StringBuilder csv, List<Object> row) {
+        for (int i = 0, n = row.size(); i < n; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            Object value = row.get(i);
+            if (value == null) {
+                // Unquoted empty value means NULL
+                continue;
+            }
+            csv.append('"')
+               .append(value.toString().replace("\"", "\"\""))
+               .append('"');
+        }
+        csv.append('\n');
+    }
+
     @Override
     protected String orderByKeys() {
         // Set order-by to keep results order consistence for PostgreSQL result
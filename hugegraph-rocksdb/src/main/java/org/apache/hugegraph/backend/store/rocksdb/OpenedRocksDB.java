@@ -33,6 +33,7 @@ import org.rocksdb.Checkpoint;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDB;
 import org.rocksdb.SstFileManager;
+import org.rocksdb.Statistics;
 import org.slf4j.Logger;
 
 import org.apache.hugegraph.backend.BackendException;
@@ -47,12 +48,14 @@ public class OpenedRocksDB implements AutoCloseable {
     private final RocksDB rocksdb;
     private final Map<String, CFHandle> cfHandles;
     private final SstFileManager sstFileManager;
+    private final Statistics statistics;
 
     public OpenedRocksDB(RocksDB rocksdb, Map<String, CFHandle> cfHandles,
-                         SstFileManager sstFileManager) {
+                         SstFileManager sstFileManager, Statistics statistics) {
         this.rocksdb = rocksdb;
         this.cfHandles = cfHandles;
         this.sstFileManager = sstFileManager;
+        this.statistics = statistics;
     }
 
     protected final RocksDB rocksdb() {
@@ -93,7 +96,15 @@ public class OpenedRocksDB implements AutoCloseable {
         }
         this.cfHandles.clear();
 
+        RocksDBMemoryManager.instance().unregister(this);
         this.rocksdb.close();
+        if (this.statistics != null) {
+            this.statistics.close();
+        }
+    }
+
+    public Statistics statistics() {
+        return this.statistics;
     }
 
     public long totalSize() {
@@ -151,6 +162,12 @@ public class OpenedRocksDB implements AutoCloseable {
             return this.iterPool.newIterator();
         }
 
+        public synchronized ReusedRocksIterator newIterator(long readaheadSize) {
+            assert this.handle.isOwningHandle();
+            assert this.refs.get() >= 1;
+            return this.iterPool.newIterator(readaheadSize);
+        }
+
         public synchronized void open() {
             this.refs.incrementAndGet();
         }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.store.rocksdb;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.util.ExecutorUtil;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.hugegraph.util.Log;
+
+/**
+ * Collect the KV pairs put into a RocksDB instance during bulk loading,
+ * and sort them into SST files of each table(CF) with external sorting,
+ * the SST files will be ingested into the live RocksDB at the end.
+ */
+public class RocksDBBulkLoader {
+
+    private static final Logger LOG = Log.logger(RocksDBBulkLoader.class);
+
+    private static final String BULKLOAD_SORT = "rocksdb-bulkload-sort-%d";
+
+    private final HugeConfig config;
+    private final Path directory;
+    private final ExecutorService sortPool;
+    private final Map<String, RocksDBSstSorter> sorters;
+
+    public RocksDBBulkLoader(HugeConfig config, Path directory) {
+        this.config = config;
+        this.directory = directory;
+        int threads = config.get(RocksDBOptions.BULKLOAD_SORT_THREADS);
+        this.sortPool = ExecutorUtil.newFixedThreadPool(threads, BULKLOAD_SORT);
+        this.sorters = new ConcurrentHashMap<>();
+
+        // Clear the files left by the last failed bulk loading
+        this.deleteDirectory();
+    }
+
+    public Path directory() {
+        return this.directory;
+    }
+
+    public void put(String table, byte[] key, byte[] value) {
+        RocksDBSstSorter sorter = this.sorters.computeIfAbsent(table, t -> {
+            return new RocksDBSstSorter(this.config, t,
+                                        this.directory.resolve(t),
+                                        this.sortPool);
+        });
+        sorter.put(key, value);
+    }
+
+    /**
+     * Whether any KV pair of the table has been put into the loader
+     */
+    public boolean loaded(String table) {
+        return this.sorters.containsKey(table);
+    }
+
+    public long count() {
+        long count = 0L;
+        for (RocksDBSstSorter sorter : this.sorters.values()) {
+            count += sorter.count();
+        }
+        return count;
+    }
+
+    /**
+     * Sort the KV pairs of all tables in parallel into SST files
+     * @return the mapping from table name to the SST files of it
+     */
+    public Map<String, List<String>> finish() {
+        Map<String, Future<List<String>>> futures = InsertionOrderUtil.newMap();
+        for (RocksDBSstSorter sorter : this.sorters.values()) {
+            futures.put(sorter.table(), this.sortPool.submit(sorter::finish));
+        }
+
+        Map<String, List<String>> ssts = InsertionOrderUtil.newMap();
+        for (Map.Entry<String, Future<List<String>>> e : futures.entrySet()) {
+            try {
+                ssts.put(e.getKey(), e.getValue().get());
+            } catch (Throwable t) {
+                throw new BackendException("Failed to sort sst files of '%s'",
+                                           t, e.getKey());
+            }
+        }
+        return ssts;
+    }
+
+    public void close() {
+        for (RocksDBSstSorter sorter : this.sorters.values()) {
+            try {
+                sorter.abort();
+            } catch (Throwable e) {
+                LOG.warn("Failed to abort sorter of table '{}'",
+                         sorter.table(), e);
+            }
+        }
+        this.sorters.clear();
+        this.sortPool.shutdown();
+        this.deleteDirectory();
+    }
+
+    public List<String> tables() {
+        return new ArrayList<>(this.sorters.keySet());
+    }
+
+    private void deleteDirectory() {
+        File dir = this.directory.toFile();
+        if (!dir.exists()) {
+            return;
+        }
+        try {
+            FileUtils.deleteDirectory(dir);
+        } catch (IOException e) {
+            LOG.warn("Failed to delete bulk load directory '{}'", dir, e);
+        }
+    }
+}
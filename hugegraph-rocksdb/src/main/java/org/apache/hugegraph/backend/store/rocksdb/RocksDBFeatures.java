@@ -65,6 +65,12 @@ public class RocksDBFeatures implements BackendFeatures {
         return false;
     }
 
+    @Override
+    public boolean supportsQueryEdgesByBatch() {
+        // Scan the prefixes of the owner vertices by one iterator
+        return true;
+    }
+
     @Override
     public boolean supportsQueryWithRangeCondition() {
         return true;
@@ -97,6 +103,16 @@ public class RocksDBFeatures implements BackendFeatures {
         return true;
     }
 
+    @Override
+    public boolean supportsQueryIndexSortedById() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsBitmapIndex() {
+        return true;
+    }
+
     @Override
     public boolean supportsDeleteEdgeByLabel() {
         // No index in RocksDB
@@ -23,6 +23,7 @@ import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
@@ -63,6 +64,16 @@ public final class RocksDBIteratorPool implements AutoCloseable {
         return new ReusedRocksIterator();
     }
 
+    /**
+     * Create an iterator with readahead for scanning, which is not pooled
+     */
+    public ReusedRocksIterator newIterator(long readaheadSize) {
+        if (readaheadSize <= 0L) {
+            return new ReusedRocksIterator();
+        }
+        return new ReusedRocksIterator(readaheadSize);
+    }
+
     @Override
     public void close() {
         LOG.debug("Close IteratorPool with pool size {} ({})",
@@ -153,10 +164,12 @@ public final class RocksDBIteratorPool implements AutoCloseable {
 
         private static final boolean EREUSING_ENABLED = false;
         private final RocksIterator iterator;
+        private final ReadOptions options;
         private boolean closed;
 
         public ReusedRocksIterator() {
             this.closed = false;
+            this.options = null;
             if (EREUSING_ENABLED) {
                 this.iterator = allocIterator();
             } else {
@@ -164,6 +177,14 @@ public final class RocksDBIteratorPool implements AutoCloseable {
             }
         }
 
+        public ReusedRocksIterator(long readaheadSize) {
+            this.closed = false;
+            this.options = new ReadOptions().setReadaheadSize(readaheadSize);
+            this.iterator = rocksdb.newIterator(cfh, this.options);
+            LOG.debug("Create iterator with readahead size {}: {}",
+                      readaheadSize, this.iterator);
+        }
+
         public RocksIterator iterator() {
             assert !this.closed;
             return this.iterator;
@@ -175,7 +196,11 @@ public final class RocksDBIteratorPool implements AutoCloseable {
             }
             this.closed = true;
 
-            if (EREUSING_ENABLED) {
+            if (this.options != null) {
+                // Not pooled if created with custom read options
+                closeIterator(this.iterator);
+                this.options.close();
+            } else if (EREUSING_ENABLED) {
                 releaseIterator(this.iterator);
             } else {
                 closeIterator(this.iterator);
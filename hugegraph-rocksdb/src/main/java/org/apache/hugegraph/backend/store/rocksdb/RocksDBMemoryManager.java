@@ -0,0 +1,340 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.store.rocksdb;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.rocksdb.Cache;
+import org.rocksdb.LRUCache;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBufferManager;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.config.ConfigOption;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.hugegraph.util.Log;
+import org.apache.hugegraph.util.UnitUtil;
+
+/**
+ * Process-wide memory budget of all the opened RocksDB instances.
+ *
+ * The shared cache is used as block cache by all CFs of all graphs, and the
+ * memtables are charged to it by the write buffer managers, so the memory
+ * of RocksDB is bounded by the capacity of the shared cache. Each graph
+ * uses the process-wide write buffer manager, or an own one if the graph
+ * sets a quota of write buffer. The quotas are counted against the total
+ * write buffer size if it's set, and the graphs without a quota share the
+ * rest of it.
+ *
+ * NOTE: the shared objects are created by the first graph which enables
+ * them and never released, since they may be reused by reopened graphs.
+ * So the capacities configured by later graphs are ignored, and the quota
+ * of a graph opened after the process-wide write buffer manager must fit
+ * in the part of the total size not used by it.
+ * The write buffer manager of an opened RocksDB instance can't be replaced,
+ * so the quota of a graph can only be changed after all the instances of
+ * the graph are closed, like restarting the graph.
+ */
+public final class RocksDBMemoryManager {
+
+    private static final Logger LOG = Log.logger(RocksDBMemoryManager.class);
+
+    private static final RocksDBMemoryManager INSTANCE =
+                                              new RocksDBMemoryManager();
+
+    private static final String MEM_TABLES = "rocksdb.cur-size-all-mem-tables";
+    private static final String TABLE_READERS = "rocksdb.estimate-table-readers-mem";
+
+    private Cache sharedCache;
+    private long sharedCacheCapacity;
+    private Cache sharedRowCache;
+    private long sharedRowCacheCapacity;
+    private WriteBufferManager sharedWriteBufferManager;
+    private long sharedWriteBufferSize;
+    private long totalWriteBufferSize;
+    private final Map<String, GraphWriteBuffer> graphWriteBuffers;
+    private final Map<String, Long> graphQuotas;
+    // The graph which each opened RocksDB instance belongs to
+    private final Map<OpenedRocksDB, String> dbs;
+
+    private RocksDBMemoryManager() {
+        this.sharedCache = null;
+        this.sharedCacheCapacity = 0L;
+        this.sharedRowCache = null;
+        this.sharedRowCacheCapacity = 0L;
+        this.sharedWriteBufferManager = null;
+        this.sharedWriteBufferSize = 0L;
+        this.totalWriteBufferSize = 0L;
+        this.graphWriteBuffers = new ConcurrentHashMap<>();
+        this.graphQuotas = new ConcurrentHashMap<>();
+        this.dbs = new ConcurrentHashMap<>();
+    }
+
+    public static RocksDBMemoryManager instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the process-wide block cache, return null if it's disabled
+     */
+    public synchronized Cache sharedCache(HugeConfig conf) {
+        long capacity = conf.get(RocksDBOptions.SHARED_CACHE_CAPACITY);
+        if (capacity <= 0L) {
+            return null;
+        }
+        if (this.sharedCache == null) {
+            this.sharedCache = new LRUCache(capacity);
+            this.sharedCacheCapacity = capacity;
+            LOG.info("Create shared block cache of RocksDB with capacity {}",
+                     capacity);
+        } else {
+            warnIfConflicted(conf, RocksDBOptions.SHARED_CACHE_CAPACITY,
+                             capacity, this.sharedCacheCapacity);
+        }
+        return this.sharedCache;
+    }
+
+    /**
+     * Get the process-wide row cache, return null if it's disabled
+     */
+    public synchronized Cache sharedRowCache(HugeConfig conf) {
+        long capacity = conf.get(RocksDBOptions.SHARED_ROW_CACHE_CAPACITY);
+        if (capacity <= 0L) {
+            return null;
+        }
+        if (this.sharedRowCache == null) {
+            this.sharedRowCache = new LRUCache(capacity);
+            this.sharedRowCacheCapacity = capacity;
+            LOG.info("Create shared row cache of RocksDB with capacity {}",
+                     capacity);
+        } else {
+            warnIfConflicted(conf, RocksDBOptions.SHARED_ROW_CACHE_CAPACITY,
+                             capacity, this.sharedRowCacheCapacity);
+        }
+        return this.sharedRowCache;
+    }
+
+    /**
+     * Get the write buffer manager of the graph, return null if neither the
+     * quota of the graph nor the process-wide write buffer size is set
+     */
+    public synchronized WriteBufferManager writeBufferManager(HugeConfig conf) {
+        String graph = conf.get(CoreOptions.STORE);
+        long quota = conf.get(RocksDBOptions.WRITE_BUFFER_QUOTA);
+        long total = conf.get(RocksDBOptions.TOTAL_WRITE_BUFFER_SIZE);
+        this.checkQuotaUnchangedIfOpened(graph, quota);
+        if (total > 0L) {
+            if (this.totalWriteBufferSize == 0L) {
+                this.totalWriteBufferSize = total;
+            } else {
+                warnIfConflicted(conf, RocksDBOptions.TOTAL_WRITE_BUFFER_SIZE,
+                                 total, this.totalWriteBufferSize);
+                total = this.totalWriteBufferSize;
+            }
+        }
+
+        GraphWriteBuffer buffer = this.graphWriteBuffers.get(graph);
+        if (quota > 0L) {
+            if (buffer != null && buffer.quota == quota) {
+                return buffer.manager;
+            }
+            long limit = this.totalWriteBufferSize;
+            if (limit > 0L) {
+                long used = this.reservedQuotas(graph) +
+                            this.sharedWriteBufferSize;
+                E.checkArgument(used + quota <= limit,
+                                "The write buffer quota %s of graph '%s' " +
+                                "exceeds the rest %s of the total write " +
+                                "buffer size %s", quota, graph,
+                                limit - used, limit);
+            }
+            // The quota of a reopened graph may be changed
+            this.releaseWriteBuffer(graph);
+            buffer = new GraphWriteBuffer(quota, this.sharedCache(conf));
+            this.graphWriteBuffers.put(graph, buffer);
+            this.graphQuotas.put(graph, quota);
+            return buffer.manager;
+        }
+
+        // Use the process-wide one if the quota of the graph is removed
+        this.releaseWriteBuffer(graph);
+        if (total <= 0L) {
+            return null;
+        }
+        if (this.sharedWriteBufferManager == null) {
+            long size = total - this.reservedQuotas(null);
+            E.checkArgument(size > 0L,
+                            "The total write buffer size %s is used up by " +
+                            "the quotas of graphs", total);
+            this.sharedWriteBufferManager = new WriteBufferManager(
+                                            size, this.chargedCache(conf, size));
+            this.sharedWriteBufferSize = size;
+            LOG.info("Create shared write buffer manager of RocksDB " +
+                     "with buffer size {}", size);
+        }
+        this.graphQuotas.put(graph, this.sharedWriteBufferSize);
+        return this.sharedWriteBufferManager;
+    }
+
+    public synchronized void register(HugeConfig conf, OpenedRocksDB db) {
+        this.dbs.put(db, conf.get(CoreOptions.STORE));
+    }
+
+    public synchronized void unregister(OpenedRocksDB db) {
+        String graph = this.dbs.remove(db);
+        if (graph != null && !this.dbs.containsValue(graph)) {
+            // Give back the quota after all instances of the graph closed
+            this.releaseWriteBuffer(graph);
+            this.graphQuotas.remove(graph);
+        }
+    }
+
+    /**
+     * Collect the memory metrics of a graph, the memory share is the ratio
+     * of the memtables and table readers of the graph to all the graphs
+     */
+    public Map<String, Object> metrics(String graph) {
+        long graphMemTables = 0L;
+        long graphMemory = 0L;
+        long totalMemory = 0L;
+        for (Map.Entry<OpenedRocksDB, String> e : this.dbs.entrySet()) {
+            OpenedRocksDB db = e.getKey();
+            long memTables;
+            long tableReaders;
+            try {
+                memTables = db.rocksdb().getAggregatedLongProperty(MEM_TABLES);
+                tableReaders = db.rocksdb().getAggregatedLongProperty(
+                                            TABLE_READERS);
+            } catch (RocksDBException | RuntimeException ex) {
+                // The instance may be closing
+                LOG.debug("Failed to get memory usage of RocksDB", ex);
+                continue;
+            }
+            totalMemory += memTables + tableReaders;
+            if (graph.equals(e.getValue())) {
+                graphMemTables += memTables;
+                graphMemory += memTables + tableReaders;
+            }
+        }
+
+        Map<String, Object> metrics = InsertionOrderUtil.newMap();
+        Long quota = this.graphQuotas.get(graph);
+        if (quota != null) {
+            metrics.put("write_buffer_quota", UnitUtil.bytesToMB(quota));
+        }
+        metrics.put("write_buffer_usage", UnitUtil.bytesToMB(graphMemTables));
+        metrics.put("memory_share", totalMemory == 0L ? 0D :
+                                    (double) graphMemory / totalMemory);
+        Cache cache = this.sharedCache;
+        if (cache != null) {
+            metrics.put("shared_cache_usage",
+                        UnitUtil.bytesToMB(cache.getUsage()));
+            metrics.put("shared_cache_pinned_usage",
+                        UnitUtil.bytesToMB(cache.getPinnedUsage()));
+        }
+        Cache rowCache = this.sharedRowCache;
+        if (rowCache != null) {
+            metrics.put("shared_row_cache_usage",
+                        UnitUtil.bytesToMB(rowCache.getUsage()));
+        }
+        return metrics;
+    }
+
+    private Cache chargedCache(HugeConfig conf, long size) {
+        Cache cache = this.sharedCache(conf);
+        if (cache == null) {
+            // Just for accounting the memtables if no shared cache
+            cache = new LRUCache(size);
+        }
+        return cache;
+    }
+
+    private void checkQuotaUnchangedIfOpened(String graph, long quota) {
+        if (!this.dbs.containsValue(graph)) {
+            return;
+        }
+        GraphWriteBuffer buffer = this.graphWriteBuffers.get(graph);
+        long current = buffer == null ? 0L : buffer.quota;
+        E.checkState(current == quota,
+                     "Can't change the write buffer quota of graph '%s' " +
+                     "from %s to %s while it's opened, please restart it",
+                     graph, current, quota);
+    }
+
+    private long reservedQuotas(String exceptGraph) {
+        long reserved = 0L;
+        for (Map.Entry<String, GraphWriteBuffer> e :
+             this.graphWriteBuffers.entrySet()) {
+            if (!e.getKey().equals(exceptGraph)) {
+                reserved += e.getValue().quota;
+            }
+        }
+        return reserved;
+    }
+
+    private void releaseWriteBuffer(String graph) {
+        GraphWriteBuffer buffer = this.graphWriteBuffers.remove(graph);
+        if (buffer != null) {
+            // The instances opened with it still hold the native object
+            buffer.close();
+        }
+    }
+
+    private static void warnIfConflicted(HugeConfig conf,
+                                         ConfigOption<Long> option,
+                                         long value, long used) {
+        if (value != used) {
+            LOG.warn("Ignore the {}={} of graph '{}' since the shared one " +
+                     "has been created with {}", option.name(), value,
+                     conf.get(CoreOptions.STORE), used);
+        }
+    }
+
+    private static class GraphWriteBuffer {
+
+        private final long quota;
+        private final WriteBufferManager manager;
+        // The cache just for accounting, null if charged to shared cache
+        private final Cache accountingCache;
+
+        public GraphWriteBuffer(long quota, Cache sharedCache) {
+            this.quota = quota;
+            if (sharedCache == null) {
+                this.accountingCache = new LRUCache(quota);
+                this.manager = new WriteBufferManager(quota,
+                                                      this.accountingCache);
+            } else {
+                this.accountingCache = null;
+                this.manager = new WriteBufferManager(quota, sharedCache);
+            }
+        }
+
+        public void close() {
+            this.manager.close();
+            if (this.accountingCache != null) {
+                this.accountingCache.close();
+            }
+        }
+    }
+}
@@ -19,10 +19,17 @@
 
 package org.apache.hugegraph.backend.store.rocksdb;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.rocksdb.HistogramData;
+import org.rocksdb.HistogramType;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
+
 import org.apache.hugegraph.backend.store.BackendMetrics;
+import org.apache.hugegraph.config.CoreOptions;
 import org.apache.hugegraph.util.Bytes;
 import org.apache.hugegraph.util.InsertionOrderUtil;
 import org.apache.hugegraph.util.UnitUtil;
@@ -93,6 +100,14 @@ public class RocksDBMetrics implements BackendMetrics {
     public static final String KEY_DISK_USAGE = DISK_USAGE;
     public static final String KEY_NUM_KEYS = NUM_KEYS;
 
+    // internal statistics and sampled perf of read operations
+    private static final String STATISTICS = "statistics";
+    private static final String TICKERS = "tickers";
+    private static final String HISTOGRAMS = "histograms";
+    private static final String PERF = "perf";
+    private static final String ENUM_MAX = "_ENUM_MAX";
+    private static final String SHARED_MEMORY = "shared_memory";
+
     private final List<RocksDBSessions> dbs;
     private final RocksDBSessions.Session session;
 
@@ -162,6 +177,17 @@ public class RocksDBMetrics implements BackendMetrics {
         this.appendMetricsNumber(metrics, NUM_LIVE_VERSIONS);
         this.appendMetricsNumber(metrics, SUPER_VERSION);
 
+        // memory shared with other graphs
+        if (!this.dbs.isEmpty()) {
+            String graph = this.dbs.get(0).config().get(CoreOptions.STORE);
+            metrics.put(SHARED_MEMORY,
+                        RocksDBMemoryManager.instance().metrics(graph));
+        }
+
+        // statistics
+        this.appendStatistics(metrics);
+        this.appendPerf(metrics);
+
         return metrics;
     }
 
@@ -177,6 +203,79 @@ public class RocksDBMetrics implements BackendMetrics {
         metrics.put(name(key), (long) this.sum(this.session, key));
     }
 
+    private void appendStatistics(Map<String, Object> metrics) {
+        List<Statistics> statistics = new ArrayList<>();
+        for (RocksDBSessions db : this.dbs) {
+            Statistics stats = db.statistics();
+            if (stats != null && !statistics.contains(stats)) {
+                statistics.add(stats);
+            }
+        }
+        if (statistics.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> tickers = InsertionOrderUtil.newMap();
+        for (TickerType type : TickerType.values()) {
+            if (type.name().endsWith(ENUM_MAX)) {
+                continue;
+            }
+            long count = 0L;
+            for (Statistics stats : statistics) {
+                count += stats.getTickerCount(type);
+            }
+            tickers.put(type.name().toLowerCase(), count);
+        }
+
+        Map<String, Object> histograms = InsertionOrderUtil.newMap();
+        for (HistogramType type : HistogramType.values()) {
+            if (type.name().endsWith(ENUM_MAX)) {
+                continue;
+            }
+            long count = 0L;
+            long sum = 0L;
+            double p50 = 0D;
+            double p95 = 0D;
+            double p99 = 0D;
+            double max = 0D;
+            for (Statistics stats : statistics) {
+                HistogramData data = stats.getHistogramData(type);
+                count += data.getCount();
+                sum += data.getSum();
+                // The percentiles of multi instances can't be merged exactly
+                p50 = Math.max(p50, data.getMedian());
+                p95 = Math.max(p95, data.getPercentile95());
+                p99 = Math.max(p99, data.getPercentile99());
+                max = Math.max(max, data.getMax());
+            }
+            Map<String, Object> histogram = InsertionOrderUtil.newMap();
+            histogram.put("count", count);
+            histogram.put("sum", sum);
+            histogram.put("avg", count == 0L ? 0D : (double) sum / count);
+            histogram.put("p50", p50);
+            histogram.put("p95", p95);
+            histogram.put("p99", p99);
+            histogram.put("max", max);
+            histograms.put(type.name().toLowerCase(), histogram);
+        }
+
+        metrics.put(STATISTICS, ImmutableMap.of(TICKERS, tickers,
+                                                HISTOGRAMS, histograms));
+    }
+
+    private void appendPerf(Map<String, Object> metrics) {
+        Map<String, Object> perf = InsertionOrderUtil.newMap();
+        for (RocksDBSessions db : this.dbs) {
+            RocksDBPerfSampler sampler = db.perfSampler();
+            if (sampler != null && sampler.enabled()) {
+                perf.putAll(sampler.metrics());
+            }
+        }
+        if (!perf.isEmpty()) {
+            metrics.put(PERF, perf);
+        }
+    }
+
     private String name(String key) {
         return key.replace(PREFIX, "").replace("-", "_");
     }
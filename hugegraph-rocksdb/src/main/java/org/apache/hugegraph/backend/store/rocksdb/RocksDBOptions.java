@@ -95,6 +95,25 @@ public class RocksDBOptions extends OptionHolder {
                     ""
             );
 
+    public static final ConfigOption<String> BACKUP_PATH =
+            new ConfigOption<>(
+                    "rocksdb.backup_path",
+                    "The path for storing incremental backups of RocksDB, " +
+                    "the backups are stored beside the data path if empty.",
+                    null,
+                    ""
+            );
+
+    public static final ConfigOption<Integer> BACKUP_RETAINED =
+            new ConfigOption<>(
+                    "rocksdb.backup_retained",
+                    "The number of latest backups to retain, the older " +
+                    "backups and the SST files only referenced by them " +
+                    "will be purged after creating a backup.",
+                    rangeInt(1, Integer.MAX_VALUE),
+                    24
+            );
+
     // TODO: support ConfigOption<InfoLogLevel>
     public static final ConfigOption<String> LOG_LEVEL =
             new ConfigOption<>(
@@ -104,6 +123,27 @@ public class RocksDBOptions extends OptionHolder {
                     "INFO"
             );
 
+    public static final ConfigOption<String> STATISTICS_LEVEL =
+            new ConfigOption<>(
+                    "rocksdb.statistics_level",
+                    "The level of RocksDB internal statistics(tickers and " +
+                    "histograms) reported by backend metrics, " +
+                    "DISABLE means not to collect statistics.",
+                    allowValues("DISABLE", "EXCEPT_DETAILED_TIMERS",
+                                "EXCEPT_TIME_FOR_MUTEX", "ALL"),
+                    "DISABLE"
+            );
+
+    public static final ConfigOption<Double> PERF_SAMPLE_RATIO =
+            new ConfigOption<>(
+                    "rocksdb.perf_sample_ratio",
+                    "The ratio of read operations(get/multi_get/seek) of " +
+                    "each table to sample latency for backend metrics, " +
+                    "0 means disable sampling.",
+                    rangeDouble(0.0, 1.0),
+                    0.0
+            );
+
     public static final ConfigOption<Integer> NUM_LEVELS =
             new ConfigOption<>(
                     "rocksdb.num_levels",
@@ -137,6 +177,25 @@ public class RocksDBOptions extends OptionHolder {
                     false
             );
 
+    public static final ConfigOption<Long> BULKLOAD_SORT_BUFFER_SIZE =
+            new ConfigOption<>(
+                    "rocksdb.bulkload_sort_buffer_size",
+                    "The memory size in bytes of each table to buffer the " +
+                    "data before sorting and spilling it to disk when bulk " +
+                    "loading data into SST files.",
+                    rangeInt(Bytes.MB, Long.MAX_VALUE),
+                    64L * Bytes.MB
+            );
+
+    public static final ConfigOption<Integer> BULKLOAD_SORT_THREADS =
+            new ConfigOption<>(
+                    "rocksdb.bulkload_sort_threads",
+                    "The number of threads used to sort the data into SST " +
+                    "files when bulk loading data.",
+                    rangeInt(1, Integer.MAX_VALUE),
+                    4
+            );
+
     public static final ConfigListConvOption<String, CompressionType> LEVELS_COMPRESSIONS =
             new ConfigListConvOption<>(
                     "rocksdb.compression_per_level",
@@ -317,6 +376,93 @@ public class RocksDBOptions extends OptionHolder {
                     0L
             );
 
+    public static final ConfigOption<Long> SCAN_READAHEAD_SIZE =
+            new ConfigOption<>(
+                    "rocksdb.scan_readahead_size",
+                    "The readahead size in bytes of the iterators for full " +
+                    "scan or shard scan, 0 means to use the automatic " +
+                    "readahead of RocksDB.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+
+    public static final ConfigOption<Integer> SCAN_PREFETCH_BATCHES =
+            new ConfigOption<>(
+                    "rocksdb.scan_prefetch_batches",
+                    "The max number of batches read ahead by a background " +
+                    "thread for full scan or shard scan, " +
+                    "0 means to scan in the caller thread.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    0
+            );
+
+    public static final ConfigOption<Integer> SCAN_PREFETCH_BATCH_SIZE =
+            new ConfigOption<>(
+                    "rocksdb.scan_prefetch_batch_size",
+                    "The number of columns of each batch read ahead for " +
+                    "full scan or shard scan.",
+                    rangeInt(1, Integer.MAX_VALUE),
+                    256
+            );
+
+    public static final ConfigOption<Long> SCAN_PREFETCH_TIMEOUT =
+            new ConfigOption<>(
+                    "rocksdb.scan_prefetch_timeout",
+                    "The timeout in ms to wait for the consumer to take a " +
+                    "batch read ahead, the prefetching is suspended to " +
+                    "free the iterator after it, and it's resumed when the " +
+                    "consumer comes back.",
+                    rangeInt(1L, Long.MAX_VALUE),
+                    60000L
+            );
+
+    public static final ConfigOption<Long> SHARED_ROW_CACHE_CAPACITY =
+            new ConfigOption<>(
+                    "rocksdb.shared_row_cache_capacity",
+                    "The capacity in bytes of the row cache shared by all " +
+                    "RocksDB instances of all graphs in the process, " +
+                    "0 means not to share and use rocksdb.row_cache_capacity.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+
+    public static final ConfigOption<Long> SHARED_CACHE_CAPACITY =
+            new ConfigOption<>(
+                    "rocksdb.shared_cache_capacity",
+                    "The capacity in bytes of the block cache shared by all " +
+                    "CFs of all graphs in the process, the write buffers " +
+                    "are also charged to it if write buffer manager is " +
+                    "enabled, 0 means not to share and use " +
+                    "rocksdb.block_cache_capacity for each CF.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+
+    public static final ConfigOption<Long> TOTAL_WRITE_BUFFER_SIZE =
+            new ConfigOption<>(
+                    "rocksdb.total_write_buffer_size",
+                    "The total size in bytes of memtables of all RocksDB " +
+                    "instances of all graphs in the process, the quotas " +
+                    "of graphs are counted against it and the graphs " +
+                    "without a quota share the rest, " +
+                    "0 means no limit across instances.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+
+    public static final ConfigOption<Long> WRITE_BUFFER_QUOTA =
+            new ConfigOption<>(
+                    "rocksdb.write_buffer_quota",
+                    "The total size in bytes of memtables of all RocksDB " +
+                    "instances of the graph, which must fit in the rest " +
+                    "of rocksdb.total_write_buffer_size if it's set, " +
+                    "0 means to use rocksdb.total_write_buffer_size, " +
+                    "the change of it takes effect after restarting " +
+                    "the graph.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+
     public static final ConfigOption<Long> DELETE_OBSOLETE_FILE_PERIOD =
             new ConfigOption<>(
                     "rocksdb.delete_obsolete_files_period",
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.store.rocksdb;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.hugegraph.util.InsertionOrderUtil;
+
+/**
+ * Sample the latency of read operations on each table(CF), it's a
+ * lightweight substitute of RocksDB PerfContext which is not exposed by
+ * RocksJava, the samples are reported by {@link RocksDBMetrics}.
+ */
+public class RocksDBPerfSampler {
+
+    public static final String OP_GET = "get";
+    public static final String OP_MULTI_GET = "multi_get";
+    public static final String OP_SEEK = "seek";
+
+    private static final long NOT_SAMPLED = -1L;
+
+    private final double ratio;
+    private final Map<String, Map<String, OpStats>> tables;
+
+    public RocksDBPerfSampler(double ratio) {
+        this.ratio = ratio;
+        this.tables = new ConcurrentHashMap<>();
+    }
+
+    public boolean enabled() {
+        return this.ratio > 0.0D;
+    }
+
+    /**
+     * Begin an operation, return the start time if it's sampled
+     */
+    public long begin() {
+        if (this.ratio <= 0.0D ||
+            (this.ratio < 1.0D &&
+             ThreadLocalRandom.current().nextDouble() >= this.ratio)) {
+            return NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+
+    public void end(String table, String op, long begin) {
+        if (begin == NOT_SAMPLED) {
+            return;
+        }
+        long cost = System.nanoTime() - begin;
+        this.tables.computeIfAbsent(table, t -> new ConcurrentHashMap<>())
+                   .computeIfAbsent(op, o -> new OpStats())
+                   .add(cost);
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = InsertionOrderUtil.newMap();
+        for (Map.Entry<String, Map<String, OpStats>> table :
+             this.tables.entrySet()) {
+            Map<String, Object> ops = InsertionOrderUtil.newMap();
+            for (Map.Entry<String, OpStats> op : table.getValue().entrySet()) {
+                ops.put(op.getKey(), op.getValue().metrics());
+            }
+            metrics.put(table.getKey(), ops);
+        }
+        return metrics;
+    }
+
+    private static class OpStats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        public void add(long nanos) {
+            this.count.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public Map<String, Object> metrics() {
+            long count = this.count.sum();
+            long total = this.totalNanos.sum();
+            Map<String, Object> metrics = InsertionOrderUtil.newMap();
+            metrics.put("sampled_count", count);
+            metrics.put("avg_micros", count == 0L ? 0L : total / count / 1000L);
+            metrics.put("max_micros", this.maxNanos.get() / 1000L);
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.store.rocksdb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.backend.store.BackendEntry.BackendColumn;
+import org.apache.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
+import org.apache.hugegraph.backend.store.BackendEntryIterator;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.Log;
+
+/**
+ * Read ahead the columns of a scan in a background thread, the columns are
+ * handed over to the consumer in batches through a bounded queue, so that
+ * the I/O of RocksDB overlaps with the deserialization of the consumer.
+ *
+ * The prefetching starts at the first hasNext(), and the scan is done in
+ * the caller thread if all the prefetching threads are busy. The prefetching
+ * thread suspends the scan if no batch is taken within the timeout, it frees
+ * the source iterator and the consumer resumes the scan from the last
+ * prefetched column when it comes back.
+ */
+public class RocksDBPrefetchIterator implements BackendColumnIterator,
+                                                RocksDBSessions.Countable {
+
+    private static final Logger LOG = Log.logger(RocksDBPrefetchIterator.class);
+
+    private static final int PREFETCH_THREADS = CoreOptions.CPUS;
+    private static final long OFFER_TIMEOUT = 100L;
+    private static final List<BackendColumn> END = Collections.emptyList();
+    private static final List<BackendColumn> SUSPENDED = new ArrayList<>(0);
+
+    private static final ExecutorService PREFETCH_POOL = new ThreadPoolExecutor(
+            0, PREFETCH_THREADS, 60L, TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            new BasicThreadFactory.Builder()
+                                  .namingPattern("rocksdb-scan-prefetch-%d")
+                                  .daemon(true).build());
+
+    /*
+     * Open a source to scan the columns after the key, or from the beginning
+     * if the key is null
+     */
+    private final Function<byte[], BackendColumnIterator> resumer;
+    private final int batchSize;
+    private final long timeout;
+    private final BlockingQueue<List<BackendColumn>> batches;
+    // The permits of the batches, the last slot of queue is kept for marks
+    private final Semaphore permits;
+
+    private volatile boolean closed;
+    private volatile Throwable error;
+    // The source is owned by the prefetching thread if prefetching
+    private BackendColumnIterator source;
+    private boolean prefetching;
+    private boolean started;
+    private boolean finished;
+    // The key of the last column handed over by the prefetching thread
+    private byte[] prefetched;
+
+    private Iterator<BackendColumn> batch;
+    private BackendColumn current;
+    private byte[] position;
+
+    public RocksDBPrefetchIterator(BackendColumnIterator source,
+                                   Function<byte[], BackendColumnIterator>
+                                   resumer,
+                                   int batches, int batchSize, long timeout) {
+        E.checkArgument(batches > 0, "The prefetch batches must be > 0");
+        E.checkArgument(batchSize > 0, "The prefetch batch size must be > 0");
+        E.checkArgument(timeout > 0L, "The prefetch timeout must be > 0");
+        this.resumer = resumer;
+        this.batchSize = batchSize;
+        this.timeout = timeout;
+        this.batches = new ArrayBlockingQueue<>(batches + 1);
+        this.permits = new Semaphore(batches);
+
+        this.closed = false;
+        this.error = null;
+        this.source = source;
+        this.prefetching = false;
+        this.started = false;
+        this.finished = false;
+        this.prefetched = null;
+
+        this.batch = Collections.emptyIterator();
+        this.current = null;
+        this.position = source.position();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.current != null) {
+            return true;
+        }
+        if (this.finished) {
+            return false;
+        }
+        if (!this.started) {
+            this.start();
+        }
+
+        while (this.current == null) {
+            if (!this.prefetching) {
+                // Fallback to scan in the caller thread
+                if (this.source.hasNext()) {
+                    this.current = this.source.next();
+                }
+                break;
+            }
+            if (this.batch.hasNext()) {
+                this.current = this.batch.next();
+                break;
+            }
+            List<BackendColumn> columns = this.takeBatch();
+            if (columns == END) {
+                break;
+            } else if (columns == SUSPENDED) {
+                this.resume();
+            } else {
+                this.batch = columns.iterator();
+            }
+        }
+
+        if (this.current == null) {
+            this.finished = true;
+            this.position = null;
+            return false;
+        }
+        // Update position for paging like the source
+        this.position = this.current.name;
+        return true;
+    }
+    @Override
+    public BackendColumn next() {
+        if (this.current == null && !this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        BackendColumn column = this.current;
+        this.current = null;
+        return column;
+    }
+
+    @Override
+    public long count() {
+        if (!this.started && this.source instanceof RocksDBSessions.Countable) {
+            // Count by the source directly if not started to prefetch
+            this.started = true;
+            this.finished = true;
+            return ((RocksDBSessions.Countable) this.source).count();
+        }
+        long count = 0L;
+        while (this.hasNext()) {
+            this.next();
+            count++;
+            BackendEntryIterator.checkInterrupted();
+        }
+        return count;
+    }
+
+    @Override
+    public byte[] position() {
+        return this.position;
+    }
+
+    public boolean closed() {
+        return this.closed;
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.finished = true;
+        if (!this.prefetching) {
+            this.source.close();
+        }
+        // Unblock the prefetching thread, it will close the source
+        this.batches.clear();
+    }
+
+    private void start() {
+        this.started = true;
+        try {
+            PREFETCH_POOL.execute(this::prefetch);
+            this.prefetching = true;
+        } catch (RejectedExecutionException e) {
+            LOG.debug("All the prefetching threads are busy, " +
+                      "scan in the caller thread");
+        }
+    }
+
+    private void resume() {
+        // The source has been closed by the prefetching thread
+        LOG.debug("Resume the suspended prefetching scan");
+        this.source = this.resumer.apply(this.prefetched);
+        this.prefetching = false;
+        this.start();
+    }
+
+    private List<BackendColumn> takeBatch() {
+        List<BackendColumn> columns;
+        try {
+            columns = this.batches.take();
+        } catch (InterruptedException e) {
+            this.close();
+            throw new BackendException("Interrupted while waiting for " +
+                                       "prefetching columns", e);
+        }
+        if (columns == END && this.error != null) {
+            throw new BackendException("Failed to prefetch columns",
+                                       this.error);
+        }
+        if (!columns.isEmpty()) {
+            this.permits.release();
+            this.prefetched = columns.get(columns.size() - 1).name;
+        }
+        return columns;
+    }
+
+    private void prefetch() {
+        List<BackendColumn> mark = END;
+        try {
+            while (!this.closed && this.source.hasNext()) {
+                List<BackendColumn> columns = new ArrayList<>(this.batchSize);
+                do {
+                    columns.add(this.source.next());
+                } while (columns.size() < this.batchSize &&
+                         this.source.hasNext());
+                if (!this.offer(columns)) {
+                    if (!this.closed) {
+                        /*
+                         * Free the source(and the snapshot pinned by it)
+                         * until the consumer comes back, the unhanded
+                         * columns will be scanned again after resuming
+                         */
+                        mark = SUSPENDED;
+                    }
+                    break;
+                }
+            }
+        } catch (Throwable e) {
+            LOG.warn("Failed to prefetch columns", e);
+            this.error = e;
+            mark = END;
+        } finally {
+            this.source.close();
+            // The last slot of the queue is always free for the mark
+            boolean offered = this.batches.offer(mark);
+            assert offered || this.closed;
+        }
+    }
+
+    private boolean offer(List<BackendColumn> columns) {
+        try {
+            if (!this.acquire()) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            LOG.debug("Interrupted while prefetching columns", e);
+            return false;
+        }
+        boolean offered = this.batches.offer(columns);
+        assert offered || this.closed;
+        return offered;
+    }
+
+    private boolean acquire() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + this.timeout;
+        while (!this.closed) {
+            if (this.permits.tryAcquire(OFFER_TIMEOUT,
+                                        TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                LOG.debug("Suspend prefetching since no columns are " +
+                          "taken in {} ms", this.timeout);
+                return false;
+            }
+        }
+        return false;
+    }
+}
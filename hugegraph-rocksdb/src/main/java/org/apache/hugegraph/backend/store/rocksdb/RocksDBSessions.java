@@ -24,11 +24,13 @@ import java.util.Set;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.Statistics;
 
 import org.apache.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
 import org.apache.hugegraph.backend.store.BackendSession.AbstractBackendSession;
 import org.apache.hugegraph.backend.store.BackendSessionPool;
 import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.iterator.FlatMapperIterator;
 
 public abstract class RocksDBSessions extends BackendSessionPool {
 
@@ -60,10 +62,30 @@ public abstract class RocksDBSessions extends BackendSessionPool {
     public abstract String hardLinkSnapshot(String snapshotPath)
                                             throws RocksDBException;
 
+    public abstract void createBackup(String backupPath, String backupId)
+                                      throws RocksDBException;
+
+    public abstract List<String> listBackups(String backupPath)
+                                             throws RocksDBException;
+
+    public abstract void restoreBackup(String backupPath, String backupId)
+                                       throws RocksDBException;
+
     public abstract void reloadRocksDB() throws RocksDBException;
 
     public abstract void forceCloseRocksDB();
 
+    public abstract Statistics statistics();
+
+    public abstract RocksDBPerfSampler perfSampler();
+
+    public abstract void beginBulkLoad();
+
+    public abstract RocksDBBulkLoader endBulkLoad();
+
+    public abstract void ingestExternalFile(String table, List<String> ssts)
+                                            throws RocksDBException;
+
     @Override
     public abstract Session session();
 
@@ -79,6 +101,8 @@ public abstract class RocksDBSessions extends BackendSessionPool {
         public static final int SCAN_GTE_BEGIN = 0x0c;
         public static final int SCAN_LT_END = 0x10;
         public static final int SCAN_LTE_END = 0x30;
+        // Hint of scanning many keys, like full scan or shard scan
+        public static final int SCAN_PREFETCH = 0x100;
 
         public abstract String dataPath();
 
@@ -126,6 +150,21 @@ public abstract class RocksDBSessions extends BackendSessionPool {
             return this.scan(table, keyFrom, keyTo, SCAN_LT_END);
         }
 
+        /**
+         * Scan records by a batch of key ranges (keyFrom, keyTo) in the
+         * order of the ranges from a table, each range is scanned by a new
+         * iterator by default
+         */
+        public BackendColumnIterator scan(String table,
+                                          List<Pair<byte[], byte[]>> ranges,
+                                          int scanType) {
+            return BackendColumnIterator.wrap(new FlatMapperIterator<>(
+                   ranges.iterator(), range -> this.scan(table, range.getLeft(),
+                                                         range.getRight(),
+                                                         scanType)
+            ));
+        }
+
         public static boolean matchScanType(int expected, int actual) {
             return (expected & actual) == expected;
         }
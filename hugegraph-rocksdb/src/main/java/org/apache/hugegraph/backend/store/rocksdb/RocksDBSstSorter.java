@@ -0,0 +1,371 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.store.rocksdb;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.util.Bytes;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.Log;
+
+/**
+ * External sorter which turns unordered KV pairs of one table into sorted,
+ * non-overlapping SST files that can be ingested by {@link RocksDBIngester}.
+ *
+ * KV pairs are buffered in memory, each full buffer is sorted and spilled
+ * as a run file by the sort pool, then all runs are k-way merged into SST
+ * files when finishing. If the same key is put more than once the latest
+ * value wins, just like a WriteBatch does.
+ */
+public class RocksDBSstSorter {
+
+    private static final Logger LOG = Log.logger(RocksDBSstSorter.class);
+
+    private static final String RUN = ".run";
+    // Limit the buffers waiting for spilling to bound the memory usage
+    private static final int MAX_PENDING_SPILLS = 2;
+    private static final Comparator<Pair<byte[], byte[]>> KEY_COMPARATOR =
+            (p1, p2) -> Bytes.compare(p1.getKey(), p2.getKey());
+
+    private final HugeConfig config;
+    private final String table;
+    private final Path directory;
+    private final ExecutorService sortPool;
+    private final long bufferSize;
+    private final long sstFileSize;
+
+    private List<Pair<byte[], byte[]>> buffer;
+    private long bufferBytes;
+    private final List<Path> runs;
+    private final List<Future<?>> spills;
+    private long count;
+    private boolean finished;
+
+    public RocksDBSstSorter(HugeConfig config, String table, Path directory,
+                            ExecutorService sortPool) {
+        this.config = config;
+        this.table = table;
+        this.directory = directory;
+        this.sortPool = sortPool;
+        this.bufferSize = config.get(RocksDBOptions.BULKLOAD_SORT_BUFFER_SIZE);
+        this.sstFileSize = config.get(RocksDBOptions.TARGET_FILE_SIZE_BASE);
+
+        this.buffer = new ArrayList<>();
+        this.bufferBytes = 0L;
+        this.runs = new ArrayList<>();
+        this.spills = new ArrayList<>();
+        this.count = 0L;
+        this.finished = false;
+
+        try {
+            FileUtils.forceMkdir(directory.toFile());
+        } catch (IOException e) {
+            throw new BackendException("Can't make directory for sorter: '%s'",
+                                       e, directory);
+        }
+    }
+
+    public String table() {
+        return this.table;
+    }
+
+    public synchronized long count() {
+        return this.count;
+    }
+
+    public synchronized void put(byte[] key, byte[] value) {
+        E.checkState(!this.finished,
+                     "Can't put into finished sorter of table '%s'",
+                     this.table);
+        this.buffer.add(Pair.of(key, value));
+        this.bufferBytes += key.length + value.length;
+        this.count++;
+        if (this.bufferBytes >= this.bufferSize) {
+            this.spill();
+        }
+    }
+
+    /**
+     * Merge all the sorted runs into SST files, return the SST file paths
+     */
+    public synchronized List<String> finish() {
+        E.checkState(!this.finished, "The sorter of table '%s' is finished",
+                     this.table);
+        this.finished = true;
+        this.waitSpills();
+        if (!this.buffer.isEmpty()) {
+            // Spill the last buffer in current thread, may be a sort thread
+            sortAndWrite(this.buffer, this.nextRun());
+            this.buffer = new ArrayList<>();
+            this.bufferBytes = 0L;
+        }
+
+        List<String> ssts = new ArrayList<>();
+        if (this.runs.isEmpty()) {
+            return ssts;
+        }
+
+        PriorityQueue<RunReader> queue = new PriorityQueue<>(this.runs.size());
+        try {
+            for (int i = 0; i < this.runs.size(); i++) {
+                RunReader reader = new RunReader(this.runs.get(i), i);
+                if (reader.advance()) {
+                    queue.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+            this.merge(queue, ssts);
+        } catch (IOException | RocksDBException e) {
+            throw new BackendException("Failed to merge sorted runs of '%s'",
+                                       e, this.table);
+        } finally {
+            for (RunReader reader : queue) {
+                reader.closeQuietly();
+            }
+            this.deleteRuns();
+        }
+        LOG.info("Sorted {} keys of table '{}' into sst files: {}",
+                 this.count, this.table, ssts);
+        return ssts;
+    }
+
+    public synchronized void abort() {
+        this.finished = true;
+        this.buffer = new ArrayList<>();
+        this.waitSpills();
+        this.deleteRuns();
+    }
+
+    private void merge(PriorityQueue<RunReader> queue, List<String> ssts)
+                       throws IOException, RocksDBException {
+        SstFileWriter sst = null;
+        byte[] lastKey = null;
+        try {
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                byte[] key = reader.key();
+                byte[] value = reader.value();
+                if (reader.advance()) {
+                    queue.add(reader);
+                } else {
+                    reader.close();
+                }
+                // The newest run is polled first, skip the older versions
+                if (lastKey != null && Bytes.equals(lastKey, key)) {
+                    continue;
+                }
+                lastKey = key;
+
+                if (sst == null) {
+                    String file = this.directory.resolve(String.format(
+                                  "%04d%s", ssts.size() + 1,
+                                  RocksDBIngester.SST)).toString();
+                    sst = this.newSstWriter(file);
+                    ssts.add(file);
+                }
+                sst.put(key, value);
+                if (sst.fileSize() >= this.sstFileSize) {
+                    sst.finish();
+                    sst.close();
+                    sst = null;
+                }
+            }
+            if (sst != null) {
+                sst.finish();
+            }
+        } finally {
+            if (sst != null) {
+                sst.close();
+            }
+        }
+    }
+
+    private SstFileWriter newSstWriter(String file) throws RocksDBException {
+        EnvOptions env = new EnvOptions();
+        Options options = new Options();
+        RocksDBStdSessions.initOptions(this.config, options, options,
+                                       options, options);
+        // NOTE: unset merge op due to SIGSEGV when cf.setMergeOperatorName()
+        options.setMergeOperatorName("not-exist-merge-op");
+        SstFileWriter sst = new SstFileWriter(env, options);
+        sst.open(file);
+        return sst;
+    }
+
+    private void spill() {
+        List<Pair<byte[], byte[]>> pairs = this.buffer;
+        Path run = this.nextRun();
+        this.buffer = new ArrayList<>();
+        this.bufferBytes = 0L;
+        while (this.spills.size() >= MAX_PENDING_SPILLS) {
+            this.waitSpill(this.spills.remove(0));
+        }
+        this.spills.add(this.sortPool.submit(() -> {
+            sortAndWrite(pairs, run);
+        }));
+    }
+
+    private Path nextRun() {
+        Path run = this.directory.resolve(String.format("%06d%s",
+                                                        this.runs.size(), RUN));
+        this.runs.add(run);
+        return run;
+    }
+
+    private void waitSpills() {
+        try {
+            for (Future<?> future : this.spills) {
+                this.waitSpill(future);
+            }
+        } finally {
+            this.spills.clear();
+        }
+    }
+
+    private void waitSpill(Future<?> future) {
+        try {
+            future.get();
+        } catch (Throwable e) {
+            throw new BackendException("Failed to spill sorted run of '%s'",
+                                       e, this.table);
+        }
+    }
+
+    private void deleteRuns() {
+        for (Path run : this.runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (IOException e) {
+                LOG.warn("Failed to delete sorted run file '{}'", run, e);
+            }
+        }
+        this.runs.clear();
+    }
+
+    private static void sortAndWrite(List<Pair<byte[], byte[]>> pairs,
+                                     Path run) {
+        // NOTE: List.sort() is stable, so the later put is kept behind
+        pairs.sort(KEY_COMPARATOR);
+        try (DataOutputStream output = new DataOutputStream(
+                                       new BufferedOutputStream(
+                                       Files.newOutputStream(run)))) {
+            int size = pairs.size();
+            for (int i = 0; i < size; i++) {
+                Pair<byte[], byte[]> pair = pairs.get(i);
+                if (i + 1 < size && Bytes.equals(pair.getKey(),
+                                                 pairs.get(i + 1).getKey())) {
+                    // Overwritten by the next one
+                    continue;
+                }
+                output.writeInt(pair.getKey().length);
+                output.write(pair.getKey());
+                output.writeInt(pair.getValue().length);
+                output.write(pair.getValue());
+            }
+        } catch (IOException e) {
+            throw new BackendException("Failed to write sorted run '%s'",
+                                       e, run);
+        }
+    }
+
+    private static class RunReader implements Comparable<RunReader> {
+
+        private final DataInputStream input;
+        private final int sequence;
+        private byte[] key;
+        private byte[] value;
+
+        public RunReader(Path run, int sequence) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(
+                                             Files.newInputStream(run)));
+            this.sequence = sequence;
+        }
+
+        public byte[] key() {
+            return this.key;
+        }
+
+        public byte[] value() {
+            return this.value;
+        }
+
+        public boolean advance() throws IOException {
+            int keyLength;
+            try {
+                keyLength = this.input.readInt();
+            } catch (EOFException e) {
+                this.key = null;
+                this.value = null;
+                return false;
+            }
+            this.key = new byte[keyLength];
+            this.input.readFully(this.key);
+            this.value = new byte[this.input.readInt()];
+            this.input.readFully(this.value);
+            return true;
+        }
+
+        public void close() throws IOException {
+            this.input.close();
+        }
+
+        public void closeQuietly() {
+            try {
+                this.close();
+            } catch (IOException ignored) {
+                // pass
+            }
+        }
+
+        @Override
+        public int compareTo(RunReader other) {
+            int cmp = Bytes.compare(this.key, other.key);
+            if (cmp != 0) {
+                return cmp;
+            }
+            // The newer run (with bigger sequence) goes first
+            return Integer.compare(other.sequence, this.sequence);
+        }
+    }
+}
@@ -20,11 +20,15 @@
 package org.apache.hugegraph.backend.store.rocksdb;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -34,8 +38,12 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.rocksdb.BackupEngine;
+import org.rocksdb.BackupEngineOptions;
+import org.rocksdb.BackupInfo;
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
@@ -52,15 +60,20 @@ import org.rocksdb.MutableDBOptionsInterface;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.RestoreOptions;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.SstFileManager;
+import org.rocksdb.Statistics;
+import org.rocksdb.StatsLevel;
 import org.rocksdb.TableFormatConfig;
 import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteBufferManager;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 
 import org.apache.hugegraph.backend.BackendException;
 import org.apache.hugegraph.backend.serializer.BinarySerializer;
+import org.apache.hugegraph.backend.serializer.BitmapChunk;
 import org.apache.hugegraph.backend.store.BackendEntry.BackendColumn;
 import org.apache.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
 import org.apache.hugegraph.backend.store.BackendEntryIterator;
@@ -77,12 +90,19 @@ public class RocksDBStdSessions extends RocksDBSessions {
 
     private static final Logger LOG = Log.logger(RocksDBStdSessions.class);
 
+    private static final String BULKLOAD_SUFFIX = "_bulkload";
+    private static final String RESTORE_SUFFIX = "_restore";
+    private static final String REPLACED_SUFFIX = "_replaced";
+
     private final HugeConfig config;
     private final String dataPath;
     private final String walPath;
 
     private volatile OpenedRocksDB rocksdb;
     private final AtomicInteger refCount;
+    // The session which began the bulk loading and owns the bulk loader
+    private volatile StdSession bulkLoadSession;
+    private final RocksDBPerfSampler perfSampler;
 
     public RocksDBStdSessions(HugeConfig config, String database, String store,
                               String dataPath, String walPath)
@@ -94,6 +114,8 @@ public class RocksDBStdSessions extends RocksDBSessions {
         this.rocksdb = RocksDBStdSessions.openRocksDB(config, dataPath,
                                                       walPath);
         this.refCount = new AtomicInteger(1);
+        this.perfSampler = new RocksDBPerfSampler(
+                           config.get(RocksDBOptions.PERF_SAMPLE_RATIO));
     }
 
     public RocksDBStdSessions(HugeConfig config, String database, String store,
@@ -106,6 +128,8 @@ public class RocksDBStdSessions extends RocksDBSessions {
         this.rocksdb = RocksDBStdSessions.openRocksDB(config, cfNames,
                                                       dataPath, walPath);
         this.refCount = new AtomicInteger(1);
+        this.perfSampler = new RocksDBPerfSampler(
+                           config.get(RocksDBOptions.PERF_SAMPLE_RATIO));
 
         this.ingestExternalFile();
     }
@@ -119,6 +143,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
         this.rocksdb = origin.rocksdb;
         this.refCount = origin.refCount;
         this.refCount.incrementAndGet();
+        this.perfSampler = origin.perfSampler;
     }
 
     @Override
@@ -150,6 +175,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
                                          encode(table));
             ColumnFamilyOptions options = cfd.getOptions();
             initOptions(this.config(), null, null, options, options);
+            initMergeOperator(table, options);
             cfds.add(cfd);
         }
 
@@ -220,7 +246,75 @@ public class RocksDBStdSessions extends RocksDBSessions {
 
     @Override
     public void forceCloseRocksDB() {
-        this.rocksdb().close();
+        this.checkValid();
+        // Close with the column families and unregister from memory manager
+        this.rocksdb.close();
+    }
+
+    @Override
+    public Statistics statistics() {
+        return this.rocksdb.statistics();
+    }
+
+    @Override
+    public RocksDBPerfSampler perfSampler() {
+        return this.perfSampler;
+    }
+
+    /**
+     * Begin bulk loading by the session of current thread, only the puts
+     * committed by the session are sorted into SST files, the other sessions
+     * keep writing through write-batch
+     */
+    @Override
+    public synchronized void beginBulkLoad() {
+        this.checkValid();
+        E.checkState(this.bulkLoadSession == null,
+                     "The bulk loading of '%s' has been began", this.dataPath);
+        StdSession session = (StdSession) this.session();
+        // Keep SST files on the same disk to ingest them by moving(hard link)
+        Path directory = Paths.get(this.dataPath + BULKLOAD_SUFFIX);
+        session.bulkLoader = new RocksDBBulkLoader(this.config, directory);
+        this.bulkLoadSession = session;
+        LOG.info("Begin bulk loading into '{}' with sort directory '{}'",
+                 this.dataPath, directory);
+    }
+
+    /**
+     * End bulk loading by the session which began it
+     * @return the bulk loader, or null if not in bulk loading
+     */
+    @Override
+    public synchronized RocksDBBulkLoader endBulkLoad() {
+        StdSession session = this.bulkLoadSession;
+        if (session == null) {
+            return null;
+        }
+        E.checkState(session == this.session(),
+                     "The bulk loading of '%s' can only be ended by " +
+                     "the session which began it", this.dataPath);
+        return this.detachBulkLoader(session);
+    }
+
+    private synchronized RocksDBBulkLoader detachBulkLoader(
+                                           StdSession session) {
+        if (this.bulkLoadSession != session) {
+            return null;
+        }
+        RocksDBBulkLoader loader = session.bulkLoader;
+        session.bulkLoader = null;
+        session.bulkPuts.clear();
+        this.bulkLoadSession = null;
+        return loader;
+    }
+
+    @Override
+    public void ingestExternalFile(String table, List<String> ssts)
+                                   throws RocksDBException {
+        RocksDBIngester ingester = new RocksDBIngester(this.rocksdb());
+        try (OpenedRocksDB.CFHandle cfh = this.cf(table)) {
+            ingester.ingest(cfh.get(), ssts);
+        }
     }
 
     @Override
@@ -293,6 +387,142 @@ public class RocksDBStdSessions extends RocksDBSessions {
         }
     }
 
+    @Override
+    public void createBackup(String backupPath, String backupId)
+                             throws RocksDBException {
+        try {
+            FileUtils.forceMkdir(new File(backupPath));
+        } catch (IOException e) {
+            throw new BackendException("Can't make directory for backup: '%s'",
+                                       e, backupPath);
+        }
+        int retained = this.config.get(RocksDBOptions.BACKUP_RETAINED);
+        try (BackupEngineOptions options = new BackupEngineOptions(backupPath);
+             BackupEngine engine = openBackupEngine(options)) {
+            /*
+             * Flush memtables before backup to avoid backing up WAL, the SST
+             * files are immutable and shared by backups, so only the SST
+             * files created since last backup will be copied
+             */
+            engine.createNewBackupWithMetadata(this.rocksdb(), backupId, true);
+            // Purge the old backups and the SST files only referenced by them
+            engine.purgeOldBackups(retained);
+        }
+        LOG.info("Create backup '{}' of '{}' into '{}'",
+                 backupId, this.dataPath, backupPath);
+    }
+
+    @Override
+    public List<String> listBackups(String backupPath)
+                                    throws RocksDBException {
+        if (!new File(backupPath).exists()) {
+            return ImmutableList.of();
+        }
+        List<String> backupIds = new ArrayList<>();
+        try (BackupEngineOptions options = new BackupEngineOptions(backupPath);
+             BackupEngine engine = openBackupEngine(options)) {
+            for (BackupInfo info : engine.getBackupInfo()) {
+                backupIds.add(info.appMetadata());
+            }
+        }
+        return backupIds;
+    }
+
+    @Override
+    public void restoreBackup(String backupPath, String backupId)
+                              throws RocksDBException {
+        try (BackupEngineOptions options = new BackupEngineOptions(backupPath);
+             BackupEngine engine = openBackupEngine(options);
+             RestoreOptions restoreOptions = new RestoreOptions(false)) {
+            Integer engineBackupId = null;
+            for (BackupInfo info : engine.getBackupInfo()) {
+                if (backupId.equals(info.appMetadata())) {
+                    engineBackupId = info.backupId();
+                }
+            }
+            E.checkArgument(engineBackupId != null,
+                            "The backup '%s' doesn't exist in '%s'",
+                            backupId, backupPath);
+
+            /*
+             * Restore into directories next to the data and wal directories
+             * first, the current data is kept until the restored one opened
+             */
+            boolean separateWal = this.separateWal();
+            File restoreDataDir = new File(this.dataPath + RESTORE_SUFFIX);
+            File restoreWalDir = separateWal ?
+                                 new File(this.walPath + RESTORE_SUFFIX) :
+                                 restoreDataDir;
+            FileUtils.deleteDirectory(restoreDataDir);
+            FileUtils.deleteDirectory(restoreWalDir);
+            engine.restoreDbFromBackup(engineBackupId,
+                                       restoreDataDir.getPath(),
+                                       restoreWalDir.getPath(),
+                                       restoreOptions);
+
+            Map<File, File> restoreDirs = new LinkedHashMap<>();
+            restoreDirs.put(restoreDataDir, new File(this.dataPath));
+            if (separateWal) {
+                restoreDirs.put(restoreWalDir, new File(this.walPath));
+            }
+            this.replaceRocksDBDirs(restoreDirs);
+        } catch (IOException e) {
+            throw new BackendException("Failed to restore backup '%s' to '%s'",
+                                       e, backupPath, this.dataPath);
+        }
+        LOG.info("Restore '{}' from backup '{}' of '{}'",
+                 this.dataPath, backupId, backupPath);
+    }
+
+    private boolean separateWal() throws IOException {
+        File dataDir = new File(this.dataPath).getCanonicalFile();
+        File walDir = new File(this.walPath).getCanonicalFile();
+        return !dataDir.equals(walDir);
+    }
+
+    /**
+     * Move the current directories aside and replace them with the new ones,
+     * then reopen rocksdb. The replaced directories are moved back if the
+     * reopening fails, and they are deleted only after it succeeds.
+     */
+    private void replaceRocksDBDirs(Map<File, File> newDirs)
+                                    throws IOException, RocksDBException {
+        Map<File, File> replacedDirs = new LinkedHashMap<>();
+        for (File dir : newDirs.values()) {
+            File replacedDir = new File(dir.getPath() + REPLACED_SUFFIX);
+            FileUtils.deleteDirectory(replacedDir);
+            replacedDirs.put(dir, replacedDir);
+        }
+
+        // Must close rocksdb instance before moving file directory
+        this.forceCloseRocksDB();
+        try {
+            for (Map.Entry<File, File> e : replacedDirs.entrySet()) {
+                if (e.getKey().exists()) {
+                    FileUtils.moveDirectory(e.getKey(), e.getValue());
+                }
+            }
+            for (Map.Entry<File, File> e : newDirs.entrySet()) {
+                FileUtils.moveDirectory(e.getKey(), e.getValue());
+            }
+            this.reloadRocksDB();
+        } catch (IOException | RocksDBException e) {
+            LOG.warn("Failed to open restored rocksdb '{}', reopen the " +
+                     "replaced one", this.dataPath, e);
+            for (Map.Entry<File, File> entry : replacedDirs.entrySet()) {
+                if (entry.getValue().exists()) {
+                    FileUtils.deleteDirectory(entry.getKey());
+                    FileUtils.moveDirectory(entry.getValue(), entry.getKey());
+                }
+            }
+            this.reloadRocksDB();
+            throw e;
+        }
+        for (File replacedDir : replacedDirs.values()) {
+            FileUtils.deleteDirectory(replacedDir);
+        }
+    }
+
     @Override
     public String buildSnapshotPath(String snapshotPrefix) {
         // Like: parent_path/rocksdb-data/*, * can be g,m,s
@@ -338,6 +568,15 @@ public class RocksDBStdSessions extends RocksDBSessions {
     protected synchronized void doClose() {
         this.checkValid();
 
+        StdSession session = this.bulkLoadSession;
+        RocksDBBulkLoader loader = session == null ? null :
+                                   this.detachBulkLoader(session);
+        if (loader != null) {
+            LOG.warn("Abort the uncommitted bulk loading of '{}'",
+                     this.dataPath);
+            loader.close();
+        }
+
         if (this.refCount.decrementAndGet() > 0) {
             return;
         }
@@ -391,13 +630,20 @@ public class RocksDBStdSessions extends RocksDBSessions {
         options.setWalDir(walPath);
         SstFileManager sstFileManager = new SstFileManager(Env.getDefault());
         options.setSstFileManager(sstFileManager);
+        Statistics statistics = newStatistics(config);
+        if (statistics != null) {
+            options.setStatistics(statistics);
+        }
         /*
          * Open RocksDB at the first time
          * Don't merge old CFs, we expect a clear DB when using this one
          */
         RocksDB rocksdb = RocksDB.open(options, dataPath);
         Map<String, OpenedRocksDB.CFHandle> cfs = new ConcurrentHashMap<>();
-        return new OpenedRocksDB(rocksdb, cfs, sstFileManager);
+        OpenedRocksDB opened = new OpenedRocksDB(rocksdb, cfs, sstFileManager,
+                                                 statistics);
+        RocksDBMemoryManager.instance().register(config, opened);
+        return opened;
     }
 
     private static OpenedRocksDB openRocksDB(HugeConfig config,
@@ -416,6 +662,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
             ColumnFamilyOptions options = cfd.getOptions();
             RocksDBStdSessions.initOptions(config, null, null,
                                            options, options);
+            RocksDBStdSessions.initMergeOperator(cf, options);
             cfds.add(cfd);
         }
 
@@ -427,6 +674,10 @@ public class RocksDBStdSessions extends RocksDBSessions {
         }
         SstFileManager sstFileManager = new SstFileManager(Env.getDefault());
         options.setSstFileManager(sstFileManager);
+        Statistics statistics = newStatistics(config);
+        if (statistics != null) {
+            options.setStatistics(statistics);
+        }
 
         // Open RocksDB with CFs
         List<ColumnFamilyHandle> cfhs = new ArrayList<>();
@@ -439,7 +690,29 @@ public class RocksDBStdSessions extends RocksDBSessions {
         for (int i = 0; i < cfs.size(); i++) {
             cfHandles.put(cfs.get(i), new OpenedRocksDB.CFHandle(rocksdb, cfhs.get(i)));
         }
-        return new OpenedRocksDB(rocksdb, cfHandles, sstFileManager);
+        OpenedRocksDB opened = new OpenedRocksDB(rocksdb, cfHandles,
+                                                 sstFileManager, statistics);
+        RocksDBMemoryManager.instance().register(config, opened);
+        return opened;
+    }
+
+    private static BackupEngine openBackupEngine(BackupEngineOptions options)
+                                                 throws RocksDBException {
+        // The SST files are shared by backups and named with checksum
+        options.setShareTableFiles(true);
+        options.setShareFilesWithChecksum(true);
+        options.setBackupLogFiles(false);
+        return BackupEngine.open(Env.getDefault(), options);
+    }
+
+    private static Statistics newStatistics(HugeConfig config) {
+        String level = config.get(RocksDBOptions.STATISTICS_LEVEL);
+        if ("DISABLE".equals(level)) {
+            return null;
+        }
+        Statistics statistics = new Statistics();
+        statistics.setStatsLevel(StatsLevel.valueOf(level));
+        return statistics;
     }
 
     private static Set<String> mergeOldCFs(String path, List<String> cfNames)
@@ -463,6 +736,14 @@ public class RocksDBStdSessions extends RocksDBSessions {
         return cfs;
     }
 
+    public static void initMergeOperator(String cf,
+                                         ColumnFamilyOptions options) {
+        if (RocksDBTables.BitmapIndex.isBitmapIndexTable(cf)) {
+            // The chunks of bitmap index are appended instead of added
+            options.setMergeOperatorName(BitmapChunk.MERGE_OPERATOR);
+        }
+    }
+
     public static void initOptions(HugeConfig conf,
                                    DBOptionsInterface<?> db,
                                    MutableDBOptionsInterface<?> mdb,
@@ -523,10 +804,24 @@ public class RocksDBStdSessions extends RocksDBSessions {
             db.setLogReadaheadSize(conf.get(RocksDBOptions.LOG_READAHEAD_SIZE));
 
             // A global cache for table-level rows
+            RocksDBMemoryManager memory = RocksDBMemoryManager.instance();
+            Cache sharedRowCache = memory.sharedRowCache(conf);
             long cacheCapacity = conf.get(RocksDBOptions.ROW_CACHE_CAPACITY);
-            if (cacheCapacity > 0) {
+            if (sharedRowCache != null) {
+                db.setRowCache(sharedRowCache);
+            } else if (cacheCapacity > 0) {
                 db.setRowCache(new LRUCache(cacheCapacity));
             }
+
+            /*
+             * Limit the memtables across instances(overrides the option
+             * db_write_buffer_size), see RocksDBMemoryManager
+             */
+            WriteBufferManager writeBufferManager =
+                               memory.writeBufferManager(conf);
+            if (writeBufferManager != null) {
+                db.setWriteBufferManager(writeBufferManager);
+            }
         }
 
         if (mdb != null) {
@@ -704,8 +999,11 @@ public class RocksDBStdSessions extends RocksDBSessions {
                 conf.get(RocksDBOptions.BLOCK_RESTART_INTERVAL));
 
         // https://github.com/facebook/rocksdb/wiki/Block-Cache
+        Cache sharedCache = RocksDBMemoryManager.instance().sharedCache(conf);
         long cacheCapacity = conf.get(RocksDBOptions.BLOCK_CACHE_CAPACITY);
-        if (cacheCapacity <= 0L) {
+        if (sharedCache != null) {
+            tableConfig.setBlockCache(sharedCache);
+        } else if (cacheCapacity <= 0L) {
             // Bypassing bug https://github.com/facebook/rocksdb/pull/5465
             tableConfig.setNoBlockCache(true);
         } else {
@@ -758,10 +1056,31 @@ public class RocksDBStdSessions extends RocksDBSessions {
 
         private WriteBatch batch;
         private final WriteOptions writeOptions;
+        // The bulk loader if the bulk loading is began by this session
+        private RocksDBBulkLoader bulkLoader;
+        // The puts to be routed into the bulk loader when committing
+        private final Map<String, List<Pair<byte[], byte[]>>> bulkPuts;
+        private final long scanReadaheadSize;
+        private final int scanPrefetchBatches;
+        private final int scanPrefetchBatchSize;
+        private final long scanPrefetchTimeout;
+        // The prefetching scans to be closed with the session
+        private final List<RocksDBPrefetchIterator> prefetchIterators;
 
         public StdSession(HugeConfig conf) {
             this.batch = new WriteBatch();
             this.writeOptions = new WriteOptions();
+            this.scanReadaheadSize = conf.get(
+                                     RocksDBOptions.SCAN_READAHEAD_SIZE);
+            this.scanPrefetchBatches = conf.get(
+                                       RocksDBOptions.SCAN_PREFETCH_BATCHES);
+            this.scanPrefetchBatchSize = conf.get(
+                                         RocksDBOptions.SCAN_PREFETCH_BATCH_SIZE);
+            this.scanPrefetchTimeout = conf.get(
+                                       RocksDBOptions.SCAN_PREFETCH_TIMEOUT);
+            this.prefetchIterators = new ArrayList<>();
+            this.bulkLoader = null;
+            this.bulkPuts = new HashMap<>();
             /*
              * When work under raft mode. if store crashed, the state-machine
              * can restore by snapshot + raft log, doesn't need wal and sync
@@ -782,6 +1101,18 @@ public class RocksDBStdSessions extends RocksDBSessions {
         public void close() {
             assert this.closeable();
             this.opened = false;
+            // Stop the prefetching scans which are abandoned without closing
+            for (RocksDBPrefetchIterator iterator : this.prefetchIterators) {
+                iterator.close();
+            }
+            this.prefetchIterators.clear();
+            // Abort the bulk loading began by the session
+            RocksDBBulkLoader loader = detachBulkLoader(this);
+            if (loader != null) {
+                LOG.warn("Abort the bulk loading of '{}' since the session " +
+                         "which began it is closed", dataPath);
+                loader.close();
+            }
         }
 
         @Override
@@ -792,6 +1123,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
         @Override
         public void reset() {
             this.batch = new WriteBatch();
+            this.bulkPuts.clear();
         }
 
         /**
@@ -799,7 +1131,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
          */
         @Override
         public boolean hasChanges() {
-            return this.batch.count() > 0;
+            return this.batch.count() > 0 || !this.bulkPuts.isEmpty();
         }
 
         @Override
@@ -861,7 +1193,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
         public Integer commit() {
             int count = this.batch.count();
             if (count <= 0) {
-                return 0;
+                return this.commitBulkPuts();
             }
 
             try {
@@ -874,6 +1206,29 @@ public class RocksDBStdSessions extends RocksDBSessions {
             // Clear batch if write() successfully (retained if failed)
             this.batch.clear();
 
+            return count + this.commitBulkPuts();
+        }
+
+        private int commitBulkPuts() {
+            if (this.bulkPuts.isEmpty()) {
+                return 0;
+            }
+            /*
+             * Sort the puts into SST files instead, which are ingested after
+             * the other writes of the session when the bulk loading is
+             * committed
+             */
+            assert this.bulkLoader != null;
+            int count = 0;
+            for (Map.Entry<String, List<Pair<byte[], byte[]>>> e :
+                 this.bulkPuts.entrySet()) {
+                String table = e.getKey();
+                for (Pair<byte[], byte[]> kv : e.getValue()) {
+                    this.bulkLoader.put(table, kv.getKey(), kv.getValue());
+                }
+                count += e.getValue().size();
+            }
+            this.bulkPuts.clear();
             return count;
         }
 
@@ -883,6 +1238,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
         @Override
         public void rollback() {
             this.batch.clear();
+            this.bulkPuts.clear();
         }
 
         /**
@@ -890,6 +1246,12 @@ public class RocksDBStdSessions extends RocksDBSessions {
          */
         @Override
         public void put(String table, byte[] key, byte[] value) {
+            if (this.bulkLoader != null) {
+                // Route into the bulk loader when committing
+                this.bulkPuts.computeIfAbsent(table, t -> new ArrayList<>())
+                             .add(Pair.of(key, value));
+                return;
+            }
             try (OpenedRocksDB.CFHandle cf = cf(table)) {
                 this.batch.put(cf.get(), key, value);
             } catch (RocksDBException e) {
@@ -904,6 +1266,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
          */
         @Override
         public void merge(String table, byte[] key, byte[] value) {
+            this.checkNotBulkLoaded(table, "merge");
             try (OpenedRocksDB.CFHandle cf = cf(table)) {
                 this.batch.merge(cf.get(), key, value);
             } catch (RocksDBException e) {
@@ -916,6 +1279,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
          */
         @Override
         public void increase(String table, byte[] key, byte[] value) {
+            this.checkNotBulkLoaded(table, "increase");
             try (OpenedRocksDB.CFHandle cf = cf(table)) {
                 rocksdb().merge(cf.get(), key, value);
             } catch (RocksDBException e) {
@@ -928,6 +1292,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
          */
         @Override
         public void delete(String table, byte[] key) {
+            this.checkNotBulkLoaded(table, "delete");
             try (OpenedRocksDB.CFHandle cf = cf(table)) {
                 this.batch.delete(cf.get(), key);
             } catch (RocksDBException e) {
@@ -941,6 +1306,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
          */
         @Override
         public void deleteSingle(String table, byte[] key) {
+            this.checkNotBulkLoaded(table, "delete");
             try (OpenedRocksDB.CFHandle cf = cf(table)) {
                 this.batch.singleDelete(cf.get(), key);
             } catch (RocksDBException e) {
@@ -953,6 +1319,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
          */
         @Override
         public void deletePrefix(String table, byte[] key) {
+            this.checkNotBulkLoaded(table, "delete");
             byte[] keyFrom = key;
             byte[] keyTo = Arrays.copyOf(keyFrom, keyFrom.length);
             BinarySerializer.increaseOne(keyTo);
@@ -968,6 +1335,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
          */
         @Override
         public void deleteRange(String table, byte[] keyFrom, byte[] keyTo) {
+            this.checkNotBulkLoaded(table, "delete");
             try (OpenedRocksDB.CFHandle cf = cf(table)) {
                 this.batch.deleteRange(cf.get(), keyFrom, keyTo);
             } catch (RocksDBException e) {
@@ -975,6 +1343,22 @@ public class RocksDBStdSessions extends RocksDBSessions {
             }
         }
 
+        private void checkNotBulkLoaded(String table, String action) {
+            if (this.bulkLoader == null) {
+                return;
+            }
+            /*
+             * The KV pairs put into the bulk loader are ingested after all
+             * the other writes, so any following merge or delete of a table
+             * with bulk loaded data would be applied before the puts
+             */
+            E.checkState(!this.bulkLoader.loaded(table) &&
+                         !this.bulkPuts.containsKey(table),
+                         "Can't %s the table '%s' with bulk loaded data " +
+                         "before the bulk loading is committed",
+                         action, table);
+        }
+
         /**
          * Get a record by key from a table
          */
@@ -982,10 +1366,13 @@ public class RocksDBStdSessions extends RocksDBSessions {
         public byte[] get(String table, byte[] key) {
             assert !this.hasChanges();
 
+            long begin = perfSampler.begin();
             try (OpenedRocksDB.CFHandle cf = cf(table)) {
                 return rocksdb().get(cf.get(), key);
             } catch (RocksDBException e) {
                 throw new BackendException(e);
+            } finally {
+                perfSampler.end(table, RocksDBPerfSampler.OP_GET, begin);
             }
         }
 
@@ -996,6 +1383,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
         public BackendColumnIterator get(String table, List<byte[]> keys) {
             assert !this.hasChanges();
 
+            long begin = perfSampler.begin();
             try (OpenedRocksDB.CFHandle cf = cf(table)) {
                 // Fill ColumnFamilyHandle list
                 List<ColumnFamilyHandle> cfs = new ArrayList<>(keys.size());
@@ -1013,6 +1401,8 @@ public class RocksDBStdSessions extends RocksDBSessions {
                 return new MgetIterator(keys, values);
             } catch (RocksDBException e) {
                 throw new BackendException(e);
+            } finally {
+                perfSampler.end(table, RocksDBPerfSampler.OP_MULTI_GET, begin);
             }
         }
 
@@ -1022,9 +1412,12 @@ public class RocksDBStdSessions extends RocksDBSessions {
         @Override
         public BackendColumnIterator scan(String table) {
             assert !this.hasChanges();
+            long begin = perfSampler.begin();
             try (OpenedRocksDB.CFHandle cf = cf(table)) {
                 ReusedRocksIterator iter = cf.newIterator();
                 return new ScanIterator(table, iter, null, null, SCAN_ANY);
+            } finally {
+                perfSampler.end(table, RocksDBPerfSampler.OP_SEEK, begin);
             }
         }
 
@@ -1044,10 +1437,13 @@ public class RocksDBStdSessions extends RocksDBSessions {
              *  options.setAutoPrefixMode(true);
              *  options.setIterateUpperBound(prefix + 1);
              */
+            long begin = perfSampler.begin();
             try (OpenedRocksDB.CFHandle cf = cf(table)) {
                 ReusedRocksIterator iter = cf.newIterator();
                 return new ScanIterator(table, iter, prefix, null,
                                         SCAN_PREFIX_BEGIN);
+            } finally {
+                perfSampler.end(table, RocksDBPerfSampler.OP_SEEK, begin);
             }
         }
 
@@ -1068,9 +1464,81 @@ public class RocksDBStdSessions extends RocksDBSessions {
              *  options.setAutoPrefixMode(true);
              *  options.setIterateUpperBound(keyTo);
              */
+            if (matchScanType(SCAN_PREFETCH, scanType)) {
+                return this.scanAhead(table, keyFrom, keyTo, scanType);
+            }
+            long begin = perfSampler.begin();
             try (OpenedRocksDB.CFHandle cf = cf(table)) {
                 ReusedRocksIterator iter = cf.newIterator();
                 return new ScanIterator(table, iter, keyFrom, keyTo, scanType);
+            } finally {
+                perfSampler.end(table, RocksDBPerfSampler.OP_SEEK, begin);
+            }
+        }
+
+        /**
+         * Scan records by a batch of key ranges from a table, the ranges
+         * share one iterator which seeks forward from a range to the next
+         */
+        @Override
+        public BackendColumnIterator scan(String table,
+                                          List<Pair<byte[], byte[]>> ranges,
+                                          int scanType) {
+            assert !this.hasChanges();
+            E.checkArgument(!ranges.isEmpty(), "The ranges can't be empty");
+            if (ranges.size() == 1) {
+                Pair<byte[], byte[]> range = ranges.get(0);
+                return this.scan(table, range.getLeft(), range.getRight(),
+                                 scanType);
+            }
+            long begin = perfSampler.begin();
+            try (OpenedRocksDB.CFHandle cf = cf(table)) {
+                ReusedRocksIterator iter = cf.newIterator();
+                return new ScanIterator(table, iter, ranges, scanType);
+            } finally {
+                perfSampler.end(table, RocksDBPerfSampler.OP_SEEK, begin);
+            }
+        }
+
+        private BackendColumnIterator scanAhead(String table, byte[] keyFrom,
+                                                byte[] keyTo, int scanType) {
+            BackendColumnIterator iterator = this.scanAheadFrom(table, keyFrom,
+                                                                keyTo,
+                                                                scanType);
+            if (this.scanPrefetchBatches > 0) {
+                E.checkArgument(!matchScanType(SCAN_PREFIX_BEGIN, scanType),
+                                "Can't prefetch the scan with " +
+                                "SCAN_PREFIX_WITH_BEGIN");
+                // Resume the suspended scan after the last prefetched key
+                int resumeType = (scanType & ~SCAN_GTE_BEGIN) | SCAN_GT_BEGIN;
+                RocksDBPrefetchIterator prefetch = new RocksDBPrefetchIterator(
+                        iterator,
+                        key -> key == null ?
+                               this.scanAheadFrom(table, keyFrom, keyTo,
+                                                  scanType) :
+                               this.scanAheadFrom(table, key, keyTo,
+                                                  resumeType),
+                        this.scanPrefetchBatches,
+                        this.scanPrefetchBatchSize,
+                        this.scanPrefetchTimeout);
+                this.prefetchIterators.removeIf(RocksDBPrefetchIterator::closed);
+                this.prefetchIterators.add(prefetch);
+                iterator = prefetch;
+            }
+            return iterator;
+        }
+
+        private BackendColumnIterator scanAheadFrom(String table,
+                                                    byte[] keyFrom,
+                                                    byte[] keyTo,
+                                                    int scanType) {
+            long begin = perfSampler.begin();
+            try (OpenedRocksDB.CFHandle cf = cf(table)) {
+                ReusedRocksIterator iter = cf.newIterator(
+                                           this.scanReadaheadSize);
+                return new ScanIterator(table, iter, keyFrom, keyTo, scanType);
+            } finally {
+                perfSampler.end(table, RocksDBPerfSampler.OP_SEEK, begin);
             }
         }
     }
@@ -1084,25 +1552,38 @@ public class RocksDBStdSessions extends RocksDBSessions {
         private final String table;
         private final ReusedRocksIterator reusedIter;
         private final RocksIterator iter;
-        private final byte[] keyBegin;
-        private final byte[] keyEnd;
+        private final List<Pair<byte[], byte[]>> ranges;
         private final int scanType;
 
+        private int range;
+        private byte[] keyBegin;
+        private byte[] keyEnd;
+
         private byte[] position;
         private boolean matched;
 
         public ScanIterator(String table, ReusedRocksIterator reusedIter,
                             byte[] keyBegin, byte[] keyEnd, int scanType) {
+            this(table, reusedIter,
+                 Collections.singletonList(Pair.of(keyBegin, keyEnd)),
+                 scanType);
+        }
+
+        public ScanIterator(String table, ReusedRocksIterator reusedIter,
+                            List<Pair<byte[], byte[]>> ranges, int scanType) {
             E.checkNotNull(reusedIter, "reusedIter");
             this.table = table;
 
             this.reusedIter = reusedIter;
             this.iter = reusedIter.iterator();
-            this.keyBegin = keyBegin;
-            this.keyEnd = keyEnd;
+            this.ranges = ranges;
             this.scanType = scanType;
 
-            this.position = keyBegin;
+            this.range = 0;
+            this.keyBegin = ranges.get(0).getLeft();
+            this.keyEnd = ranges.get(0).getRight();
+
+            this.position = this.keyBegin;
             this.matched = false;
 
             this.checkArguments();
@@ -1185,15 +1666,17 @@ public class RocksDBStdSessions extends RocksDBSessions {
                 return this.matched;
             }
 
-            this.matched = this.iter.isValid();
-            if (this.matched) {
-                // Update position for paging
-                this.position = this.iter.key();
-                // Do filter if not SCAN_ANY
-                if (!this.match(Session.SCAN_ANY)) {
-                    this.matched = this.filter(this.position);
+            do {
+                this.matched = this.iter.isValid();
+                if (this.matched) {
+                    // Update position for paging
+                    this.position = this.iter.key();
+                    // Do filter if not SCAN_ANY
+                    if (!this.match(Session.SCAN_ANY)) {
+                        this.matched = this.filter(this.position);
+                    }
                 }
-            }
+            } while (!this.matched && this.seekNextRange());
             if (!this.matched) {
                 // The end
                 this.position = null;
@@ -1203,6 +1686,19 @@ public class RocksDBStdSessions extends RocksDBSessions {
             return this.matched;
         }
 
+        private boolean seekNextRange() {
+            if (this.range + 1 >= this.ranges.size()) {
+                return false;
+            }
+            // Seek forward to the next range by the same iterator
+            Pair<byte[], byte[]> next = this.ranges.get(++this.range);
+            this.keyBegin = next.getLeft();
+            this.keyEnd = next.getRight();
+            this.checkArguments();
+            this.seek();
+            return true;
+        }
+
         private void seek() {
             if (this.keyBegin == null || this.keyBegin.length <= 0) {
                 // Seek to the first if no `keyBegin`
@@ -38,7 +38,9 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -72,6 +74,7 @@ import org.apache.hugegraph.util.ExecutorUtil;
 import org.apache.hugegraph.util.InsertionOrderUtil;
 import org.apache.hugegraph.util.Log;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.Session> {
 
@@ -92,8 +95,13 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
     // DataPath:RocksDB mapping
     private final ConcurrentMap<String, RocksDBSessions> dbs;
     private final ReadWriteLock storeLock;
+    private final AtomicBoolean bitmapCompacting;
+    private ExecutorService bitmapCompactor;
 
     private static final String TABLE_GENERAL_KEY = "general";
+    private static final String BULKLOAD_BEGIN = "begin";
+    private static final String BULKLOAD_COMMIT = "commit";
+    private static final String BULKLOAD_ABORT = "abort";
     private static final String DB_OPEN = "db-open-%s";
     private static final long OPEN_TIMEOUT = 600L;
     /*
@@ -102,6 +110,9 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
      * disk number of one machine
      */
     private static final int OPEN_POOL_THREADS = 8;
+    private static final String BITMAP_COMPACT = "bitmap-compact-%s";
+    // The number of bitmap chunks compacted under the store lock each time
+    private static final int BITMAP_COMPACT_BATCH = 1000;
     private boolean isGraphStore;
 
     public RocksDBStore(final BackendStoreProvider provider,
@@ -116,6 +127,8 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
         this.tableDiskMapping = new HashMap<>();
         this.dbs = new ConcurrentHashMap<>();
         this.storeLock = new ReentrantReadWriteLock();
+        this.bitmapCompacting = new AtomicBoolean(false);
+        this.bitmapCompactor = null;
 
         this.registerMetaHandlers();
     }
@@ -137,6 +150,25 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
             RocksDBMetrics metrics = new RocksDBMetrics(dbsGet.get(), session);
             return metrics.compact();
         });
+
+        this.registerMetaHandler("bulkload", (session, meta, args) -> {
+            E.checkArgument(args.length == 1 && args[0] instanceof String,
+                            "The bulkload meta expect an action, but got %s",
+                            Arrays.asList(args));
+            String action = (String) args[0];
+            switch (action) {
+                case BULKLOAD_BEGIN:
+                    return this.beginBulkLoad();
+                case BULKLOAD_COMMIT:
+                    return this.commitBulkLoad();
+                case BULKLOAD_ABORT:
+                    return this.abortBulkLoad();
+                default:
+                    throw new IllegalArgumentException(String.format(
+                              "Invalid bulkload action '%s', expect one of " +
+                              "[begin, commit, abort]", action));
+            }
+        });
     }
 
     protected void registerTableManager(HugeType type, RocksDBTable table) {
@@ -421,7 +453,14 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
         LOG.debug("Store close: {}", this.store);
 
         this.checkOpened();
-        this.closeSessions();
+        // Wait for the running bitmap compaction which holds the sessions
+        synchronized (this) {
+            this.closeSessions();
+            if (this.dbs.isEmpty() && this.bitmapCompactor != null) {
+                this.bitmapCompactor.shutdown();
+                this.bitmapCompactor = null;
+            }
+        }
     }
 
     @Override
@@ -691,6 +730,87 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
         } finally {
             readLock.unlock();
         }
+
+        this.compactBitmapIndexIfNeeded();
+    }
+
+    /**
+     * The bitmap chunks are appended by the string-append merge operator,
+     * and RocksJava can't run a compaction filter written in Java to fold
+     * them, so the updated chunks are compacted by a background thread
+     * instead of the readers or writers
+     */
+    private void compactBitmapIndexIfNeeded() {
+        RocksDBTable table = this.tables.get(HugeType.BITMAP_INDEX);
+        if (!(table instanceof RocksDBTables.BitmapIndex)) {
+            return;
+        }
+        RocksDBTables.BitmapIndex index = (RocksDBTables.BitmapIndex) table;
+        if (index.dirtyChunks() < BITMAP_COMPACT_BATCH ||
+            !this.bitmapCompacting.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            this.bitmapCompactor().execute(() -> {
+                try {
+                    this.compactBitmapIndex(index);
+                } catch (Throwable e) {
+                    LOG.warn("Failed to compact bitmap index of store {}",
+                             this.store, e);
+                } finally {
+                    this.bitmapCompacting.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The store is being closed
+            this.bitmapCompacting.set(false);
+        }
+    }
+
+    private synchronized ExecutorService bitmapCompactor() {
+        if (this.bitmapCompactor == null) {
+            this.bitmapCompactor = ExecutorUtil.newFixedThreadPool(
+                                   1, BITMAP_COMPACT);
+        }
+        return this.bitmapCompactor;
+    }
+
+    /**
+     * Compact the bitmap chunks updated so far, batch by batch. Each batch
+     * holds the store write lock, so that no merge is committed between
+     * reading the chunks and writing them back, while the merges still
+     * uncommitted are appended to the compacted chunks later
+     */
+    private synchronized void compactBitmapIndex(
+                              RocksDBTables.BitmapIndex index) {
+        // Keep the store from being closed until the compaction is done
+        if (this.sessions == null || this.sessions.closed()) {
+            return;
+        }
+        this.useSessions();
+        try {
+            RocksDBSessions.Session session = this.session(
+                                              HugeType.BITMAP_INDEX);
+            int count = 0;
+            int rounds = index.dirtyChunks() / BITMAP_COMPACT_BATCH + 1;
+            for (int i = 0; i < rounds && index.dirtyChunks() > 0; i++) {
+                Lock writeLock = this.storeLock.writeLock();
+                writeLock.lock();
+                try {
+                    count += index.compact(session, BITMAP_COMPACT_BATCH);
+                } catch (Throwable e) {
+                    session.rollback();
+                    throw e;
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+            LOG.debug("Store {} compacted {} bitmap chunks",
+                      this.store, count);
+        } finally {
+            this.closeSessions();
+        }
     }
 
     @Override
@@ -797,6 +917,204 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
         }
     }
 
+    @Override
+    public Map<String, Object> createBackup(String backupPrefix,
+                                            String backupId) {
+        Lock readLock = this.storeLock.readLock();
+        readLock.lock();
+        try {
+            this.checkOpened();
+            Map<String, Object> backupPaths = new HashMap<>();
+            // Every rocksdb instance should create a backup with same id
+            for (Map.Entry<String, RocksDBSessions> entry : this.dbs.entrySet()) {
+                RocksDBSessions sessions = entry.getValue();
+                String backupPath = this.buildBackupPath(sessions,
+                                                         backupPrefix,
+                                                         entry.getKey());
+                sessions.createBackup(backupPath, backupId);
+                backupPaths.put(entry.getKey(), backupPath);
+            }
+            LOG.info("The store '{}' create backup '{}' successfully",
+                     this, backupId);
+            return backupPaths;
+        } catch (RocksDBException e) {
+            throw new BackendException("Failed to create backup '%s'",
+                                       e, backupId);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public List<String> listBackups(String backupPrefix) {
+        Lock readLock = this.storeLock.readLock();
+        readLock.lock();
+        try {
+            this.checkOpened();
+            // Only the backups which exist in all instances are complete
+            List<String> backupIds = null;
+            for (Map.Entry<String, RocksDBSessions> entry : this.dbs.entrySet()) {
+                RocksDBSessions sessions = entry.getValue();
+                String backupPath = this.buildBackupPath(sessions,
+                                                         backupPrefix,
+                                                         entry.getKey());
+                List<String> ids = sessions.listBackups(backupPath);
+                if (backupIds == null) {
+                    backupIds = new ArrayList<>(ids);
+                } else {
+                    backupIds.retainAll(ids);
+                }
+            }
+            return backupIds == null ? ImmutableList.of() : backupIds;
+        } catch (RocksDBException e) {
+            throw new BackendException("Failed to list backups", e);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void restoreBackup(String backupPrefix, String backupId) {
+        // Exclude all the readers and writers while replacing the data
+        Lock writeLock = this.storeLock.writeLock();
+        writeLock.lock();
+        try {
+            this.checkOpened();
+            for (Map.Entry<String, RocksDBSessions> entry : this.dbs.entrySet()) {
+                RocksDBSessions sessions = entry.getValue();
+                String backupPath = this.buildBackupPath(sessions,
+                                                         backupPrefix,
+                                                         entry.getKey());
+                sessions.restoreBackup(backupPath, backupId);
+            }
+            LOG.info("The store '{}' restore backup '{}' successfully",
+                     this, backupId);
+        } catch (RocksDBException e) {
+            throw new BackendException("Failed to restore backup '%s'",
+                                       e, backupId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private String buildBackupPath(RocksDBSessions sessions,
+                                   String backupPrefix, String dataPath) {
+        // Like: parent_path/rocksdb-data/*, * maybe g,m,s
+        Path originDataPath = Paths.get(dataPath).toAbsolutePath();
+        Path parentParentPath = originDataPath.getParent().getParent();
+        // Like: rocksdb-data/*
+        Path pureDataPath = parentParentPath.relativize(originDataPath);
+        String backupRoot = sessions.config().get(RocksDBOptions.BACKUP_PATH);
+        if (!backupRoot.isEmpty()) {
+            parentParentPath = Paths.get(backupRoot).toAbsolutePath();
+        }
+        // Like: parent_path/backup_rocksdb-data/*
+        return parentParentPath.resolve(backupPrefix + "_" + pureDataPath)
+                               .toString();
+    }
+
+    /**
+     * Begin bulk loading by the sessions of current thread, the KV pairs put
+     * by the following mutations committed in this thread will be sorted into
+     * SST files rather than written via write-batch, and they are invisible
+     * until {@link #commitBulkLoad()} is called in the same thread.
+     * The mutations of the other threads are written via write-batch as usual.
+     * NOTE: merging or deleting a table after putting into it is rejected
+     * until committed, since the puts are ingested after the other writes
+     */
+    protected Map<String, Object> beginBulkLoad() {
+        Lock writeLock = this.storeLock.writeLock();
+        writeLock.lock();
+        try {
+            this.checkOpened();
+            for (RocksDBSessions db : this.sessions()) {
+                db.beginBulkLoad();
+            }
+            LOG.info("The store '{}' begin bulk loading", this);
+            return ImmutableMap.of(this.store, BULKLOAD_BEGIN);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Sort the bulk loaded data of each table into SST files, then ingest
+     * them into the opened RocksDB instances.
+     * NOTE: the ingestion is atomic for each table(CF) but not across tables
+     */
+    protected Map<String, Object> commitBulkLoad() {
+        for (RocksDBSessions db : this.sessions()) {
+            E.checkState(!db.session().hasChanges(),
+                         "Can't commit the bulk loading of '%s' with " +
+                         "uncommitted changes", this.store);
+        }
+        Map<RocksDBSessions, RocksDBBulkLoader> loaders = this.endBulkLoad();
+
+        Map<String, Object> results = InsertionOrderUtil.newMap();
+        Lock readLock = this.storeLock.readLock();
+        readLock.lock();
+        try {
+            this.checkOpened();
+            // Sort all the tables before ingesting any of them
+            Map<RocksDBSessions, Map<String, List<String>>> dbSsts =
+                                                InsertionOrderUtil.newMap();
+            for (Entry<RocksDBSessions, RocksDBBulkLoader> e :
+                 loaders.entrySet()) {
+                dbSsts.put(e.getKey(), e.getValue().finish());
+            }
+            for (Entry<RocksDBSessions, Map<String, List<String>>> e :
+                 dbSsts.entrySet()) {
+                RocksDBSessions db = e.getKey();
+                for (Entry<String, List<String>> ssts :
+                     e.getValue().entrySet()) {
+                    db.ingestExternalFile(ssts.getKey(), ssts.getValue());
+                    results.put(ssts.getKey(), ssts.getValue().size());
+                }
+            }
+            LOG.info("The store '{}' commit bulk loading: {}", this, results);
+            return results;
+        } catch (RocksDBException e) {
+            throw new BackendException("Failed to ingest sst files of '%s'",
+                                       e, this.store);
+        } finally {
+            readLock.unlock();
+            loaders.values().forEach(RocksDBBulkLoader::close);
+        }
+    }
+
+    protected Map<String, Object> abortBulkLoad() {
+        Map<RocksDBSessions, RocksDBBulkLoader> loaders = this.endBulkLoad();
+        long count = 0L;
+        for (RocksDBBulkLoader loader : loaders.values()) {
+            count += loader.count();
+            loader.close();
+        }
+        LOG.info("The store '{}' abort bulk loading with {} keys discarded",
+                 this, count);
+        return ImmutableMap.of(this.store, BULKLOAD_ABORT);
+    }
+
+    private Map<RocksDBSessions, RocksDBBulkLoader> endBulkLoad() {
+        // Wait for the mutations in progress, then stop collecting data
+        Lock writeLock = this.storeLock.writeLock();
+        writeLock.lock();
+        try {
+            this.checkOpened();
+            Map<RocksDBSessions, RocksDBBulkLoader> loaders = new HashMap<>();
+            for (RocksDBSessions db : this.sessions()) {
+                RocksDBBulkLoader loader = db.endBulkLoad();
+                if (loader != null) {
+                    loaders.put(db, loader);
+                }
+            }
+            E.checkState(!loaders.isEmpty(),
+                         "The store '%s' is not in bulk loading", this);
+            return loaders;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     private void useSessions() {
         for (RocksDBSessions sessions : this.sessions()) {
             sessions.useSession();
@@ -1034,6 +1352,8 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
                                  new RocksDBTables.ShardIndex(database));
             registerTableManager(HugeType.UNIQUE_INDEX,
                                  new RocksDBTables.UniqueIndex(database));
+            registerTableManager(HugeType.BITMAP_INDEX,
+                                 new RocksDBTables.BitmapIndex(database));
 
             registerTableManager(this.olapTableName(HugeType.SECONDARY_INDEX),
                                  new RocksDBTables.OlapSecondaryIndex(store));
@@ -34,6 +34,7 @@ import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.page.PageState;
 import org.apache.hugegraph.backend.query.Aggregate;
 import org.apache.hugegraph.backend.query.Aggregate.AggregateFunc;
+import org.apache.hugegraph.backend.query.BatchScanQuery;
 import org.apache.hugegraph.backend.query.Condition.Relation;
 import org.apache.hugegraph.backend.query.ConditionQuery;
 import org.apache.hugegraph.backend.query.IdPrefixQuery;
@@ -171,6 +172,12 @@ public class RocksDBTable extends BackendTable<RocksDBSessions.Session, BackendE
             return this.queryByRange(session, rq);
         }
 
+        // Query by a batch of prefix/range scans
+        if (query instanceof BatchScanQuery) {
+            BatchScanQuery bq = (BatchScanQuery) query;
+            return this.queryByBatch(session, bq);
+        }
+
         // Query by id
         if (query.conditionsSize() == 0) {
             assert query.idsSize() > 0;
@@ -186,9 +193,13 @@ public class RocksDBTable extends BackendTable<RocksDBSessions.Session, BackendE
         if (query.paging()) {
             PageState page = PageState.fromString(query.page());
             byte[] begin = page.position();
-            return session.scan(this.table(), begin, null, RocksDBSessions.Session.SCAN_ANY);
+            return session.scan(this.table(), begin, null,
+                                RocksDBSessions.Session.SCAN_ANY |
+                                RocksDBSessions.Session.SCAN_PREFETCH);
         } else {
-            return session.scan(this.table());
+            return session.scan(this.table(), null, null,
+                                RocksDBSessions.Session.SCAN_ANY |
+                                RocksDBSessions.Session.SCAN_PREFETCH);
         }
     }
 
@@ -232,24 +243,44 @@ public class RocksDBTable extends BackendTable<RocksDBSessions.Session, BackendE
 
     protected BackendColumnIterator queryByPrefix(RocksDBSessions.Session session,
                                                   IdPrefixQuery query) {
-        int type = query.inclusiveStart() ?
-                   RocksDBSessions.Session.SCAN_GTE_BEGIN : RocksDBSessions.Session.SCAN_GT_BEGIN;
-        type |= RocksDBSessions.Session.SCAN_PREFIX_END;
         return session.scan(this.table(), query.start().asBytes(),
-                            query.prefix().asBytes(), type);
+                            query.prefix().asBytes(), scanType(query));
     }
 
     protected BackendColumnIterator queryByRange(RocksDBSessions.Session session,
                                                  IdRangeQuery query) {
         byte[] start = query.start().asBytes();
         byte[] end = query.end() == null ? null : query.end().asBytes();
-        int type = query.inclusiveStart() ?
-                   RocksDBSessions.Session.SCAN_GTE_BEGIN : RocksDBSessions.Session.SCAN_GT_BEGIN;
-        if (end != null) {
-            type |= query.inclusiveEnd() ?
-                    RocksDBSessions.Session.SCAN_LTE_END : RocksDBSessions.Session.SCAN_LT_END;
+        return session.scan(this.table(), start, end, scanType(query));
+    }
+
+    protected BackendColumnIterator queryByBatch(RocksDBSessions.Session session,
+                                                 BatchScanQuery query) {
+        List<Query> scans = query.scans();
+        List<Pair<byte[], byte[]>> ranges = new ArrayList<>(scans.size());
+        int type = 0;
+        for (Query scan : scans) {
+            int scanType;
+            if (scan instanceof IdPrefixQuery) {
+                IdPrefixQuery pq = (IdPrefixQuery) scan;
+                scanType = scanType(pq);
+                ranges.add(Pair.of(pq.start().asBytes(), pq.prefix().asBytes()));
+            } else {
+                IdRangeQuery rq = (IdRangeQuery) scan;
+                scanType = scanType(rq);
+                byte[] end = rq.end() == null ? null : rq.end().asBytes();
+                ranges.add(Pair.of(rq.start().asBytes(), end));
+            }
+            if (type != 0 && type != scanType) {
+                // Can't share an iterator by the scans of different types
+                return BackendColumnIterator.wrap(new FlatMapperIterator<>(
+                       scans.iterator(), q -> this.queryBy(session, q)
+                ));
+            }
+            type = scanType;
         }
-        return session.scan(this.table(), start, end, type);
+        // The scans are sorted by the start keys, share one iterator by them
+        return session.scan(this.table(), ranges, type);
     }
 
     protected BackendColumnIterator queryByCond(RocksDBSessions.Session session,
@@ -278,7 +309,8 @@ public class RocksDBTable extends BackendTable<RocksDBSessions.Session, BackendE
         if (start == null) {
             start = ShardSplitter.START_BYTES;
         }
-        int type = RocksDBSessions.Session.SCAN_GTE_BEGIN;
+        int type = RocksDBSessions.Session.SCAN_GTE_BEGIN |
+                   RocksDBSessions.Session.SCAN_PREFETCH;
         if (end != null) {
             type |= RocksDBSessions.Session.SCAN_LT_END;
         }
@@ -289,6 +321,23 @@ public class RocksDBTable extends BackendTable<RocksDBSessions.Session, BackendE
         return false;
     }
 
+    protected static int scanType(IdPrefixQuery query) {
+        int type = query.inclusiveStart() ?
+                   RocksDBSessions.Session.SCAN_GTE_BEGIN : RocksDBSessions.Session.SCAN_GT_BEGIN;
+        type |= RocksDBSessions.Session.SCAN_PREFIX_END;
+        return type;
+    }
+
+    protected static int scanType(IdRangeQuery query) {
+        int type = query.inclusiveStart() ?
+                   RocksDBSessions.Session.SCAN_GTE_BEGIN : RocksDBSessions.Session.SCAN_GT_BEGIN;
+        if (query.end() != null) {
+            type |= query.inclusiveEnd() ?
+                    RocksDBSessions.Session.SCAN_LTE_END : RocksDBSessions.Session.SCAN_LT_END;
+        }
+        return type;
+    }
+
     protected static BackendEntryIterator newEntryIterator(BackendColumnIterator cols,
                                                            Query query) {
         return new BinaryEntryIterator<>(cols, query, (entry, col) -> {
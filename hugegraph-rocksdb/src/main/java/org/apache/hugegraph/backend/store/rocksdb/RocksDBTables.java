@@ -21,14 +21,20 @@ package org.apache.hugegraph.backend.store.rocksdb;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.query.Condition;
 import org.apache.hugegraph.backend.query.Condition.Relation;
 import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.backend.serializer.BinarySerializer;
+import org.apache.hugegraph.backend.serializer.BitmapChunk;
 import org.apache.hugegraph.backend.store.BackendEntry;
 import org.apache.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
 import org.apache.hugegraph.type.HugeType;
@@ -283,6 +289,102 @@ public class RocksDBTables {
         }
     }
 
+    public static class BitmapIndex extends IndexTable {
+
+        public static final String TABLE = HugeType.BITMAP_INDEX.string();
+
+        // The max number of updated chunks remembered to be compacted
+        private static final int MAX_DIRTY_CHUNKS = 100000;
+
+        private final Set<ByteBuffer> dirtyChunks;
+
+        public BitmapIndex(String database) {
+            super(database, TABLE);
+            this.dirtyChunks = ConcurrentHashMap.newKeySet();
+        }
+
+        @Override
+        public void insert(RocksDBSessions.Session session, BackendEntry entry) {
+            // Append to the chunk by merge-operator without reading it
+            for (BackendEntry.BackendColumn col : entry.columns()) {
+                session.merge(this.table(), col.name,
+                              BitmapChunk.addOperand(col.value));
+                this.markDirty(col.name);
+            }
+        }
+
+        @Override
+        public void eliminate(RocksDBSessions.Session session, BackendEntry entry) {
+            assert entry.columns().size() == 1;
+            for (BackendEntry.BackendColumn col : entry.columns()) {
+                session.merge(this.table(), col.name,
+                              BitmapChunk.removeOperand(col.value));
+                this.markDirty(col.name);
+            }
+        }
+
+        private void markDirty(byte[] chunk) {
+            /*
+             * A chunk not remembered is still read correctly, and would be
+             * compacted once it's updated again after the backlog is drained
+             */
+            if (this.dirtyChunks.size() < MAX_DIRTY_CHUNKS) {
+                this.dirtyChunks.add(ByteBuffer.wrap(chunk));
+            }
+        }
+
+        public int dirtyChunks() {
+            return this.dirtyChunks.size();
+        }
+
+        /**
+         * Fold the logs of at most `batch` chunks updated since they were
+         * compacted last time, and delete the chunks which become empty.
+         * The caller must prevent merges from being committed meanwhile,
+         * otherwise the merges committed after reading a chunk would be lost.
+         * @return the number of chunks compacted
+         */
+        public int compact(RocksDBSessions.Session session, int batch) {
+            List<byte[]> chunks = new ArrayList<>(batch);
+            Iterator<ByteBuffer> iter = this.dirtyChunks.iterator();
+            while (chunks.size() < batch && iter.hasNext()) {
+                chunks.add(iter.next().array());
+                iter.remove();
+            }
+
+            List<byte[]> logs = new ArrayList<>(chunks.size());
+            for (byte[] chunk : chunks) {
+                logs.add(session.get(this.table(), chunk));
+            }
+            for (int i = 0; i < chunks.size(); i++) {
+                byte[] log = logs.get(i);
+                if (log == null) {
+                    // The chunk has been deleted with the index label
+                    continue;
+                }
+                byte[] compacted = compact(log);
+                if (compacted == null) {
+                    session.delete(this.table(), chunks.get(i));
+                } else if (compacted != log) {
+                    session.put(this.table(), chunks.get(i), compacted);
+                }
+            }
+            session.commit();
+            return chunks.size();
+        }
+
+        private static byte[] compact(byte[] log) {
+            byte[] chunk = BitmapChunk.compact(log);
+            // Keep the log unless it's larger than the bitmap or empty
+            return chunk == null || chunk.length < log.length ? chunk : log;
+        }
+
+        public static boolean isBitmapIndexTable(String table) {
+            // The table name is lower case, see BackendTable()
+            return table.endsWith("+" + TABLE.toLowerCase());
+        }
+    }
+
     public static class RangeIndex extends IndexTable {
 
         public RangeIndex(String database, String table) {
@@ -37,10 +37,13 @@ import org.rocksdb.EnvOptions;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.SstFileWriter;
+import org.rocksdb.Statistics;
 
 import org.apache.hugegraph.backend.BackendException;
 import org.apache.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBBulkLoader;
 import org.apache.hugegraph.backend.store.rocksdb.RocksDBIngester;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBPerfSampler;
 import org.apache.hugegraph.backend.store.rocksdb.RocksDBSessions;
 import org.apache.hugegraph.backend.store.rocksdb.RocksDBStdSessions;
 import org.apache.hugegraph.config.HugeConfig;
@@ -193,6 +196,46 @@ public class RocksDBSstSessions extends RocksDBSessions {
         throw new UnsupportedOperationException("forceCloseRocksDB");
     }
 
+    @Override
+    public void createBackup(String backupPath, String backupId) {
+        throw new UnsupportedOperationException("createBackup");
+    }
+
+    @Override
+    public List<String> listBackups(String backupPath) {
+        throw new UnsupportedOperationException("listBackups");
+    }
+
+    @Override
+    public void restoreBackup(String backupPath, String backupId) {
+        throw new UnsupportedOperationException("restoreBackup");
+    }
+
+    @Override
+    public Statistics statistics() {
+        return null;
+    }
+
+    @Override
+    public RocksDBPerfSampler perfSampler() {
+        return null;
+    }
+
+    @Override
+    public void beginBulkLoad() {
+        throw new UnsupportedOperationException("beginBulkLoad");
+    }
+
+    @Override
+    public RocksDBBulkLoader endBulkLoad() {
+        throw new UnsupportedOperationException("endBulkLoad");
+    }
+
+    @Override
+    public void ingestExternalFile(String table, List<String> ssts) {
+        throw new UnsupportedOperationException("ingestExternalFile");
+    }
+
     private SstFileWriter table(String table) {
         SstFileWriter sst = this.tables.get(table);
         if (sst == null) {